@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Generates payloads from the entry templates recorded from Consul, the {@code {{i}}} placeholder
+ * of a template is replaced by the position of the entry.
+ */
+final class Fixtures {
+
+  static final String KV = "kv";
+  static final String NODE = "node";
+  static final String CHECK = "check";
+  static final String SERVICE_ENTRY = "service-entry";
+  static final String TXN_RESULT = "txn-result";
+
+  private Fixtures() {
+  }
+
+  /**
+   * @return the JSON array of {@code size} entries built from the template
+   */
+  static JsonArray array(String template, int size) {
+    String json = template(template);
+    JsonArray array = new JsonArray();
+    for (int i = 0; i < size; i++) {
+      array.add(new JsonObject(json.replace("{{i}}", Integer.toString(i + 1))));
+    }
+    return array;
+  }
+
+  /**
+   * @return the encoded JSON array of {@code size} entries built from the template
+   */
+  static Buffer body(String template, int size) {
+    return array(template, size).toBuffer();
+  }
+
+  /**
+   * @return the encoded response of a transaction with {@code size} results
+   */
+  static Buffer txnBody(int size) {
+    return new JsonObject()
+      .put("Results", array(TXN_RESULT, size))
+      .putNull("Errors")
+      .toBuffer();
+  }
+
+  private static String template(String name) {
+    try (InputStream in = Fixtures.class.getResourceAsStream("/fixtures/" + name + ".json")) {
+      if (in == null) {
+        throw new IllegalArgumentException("Unknown fixture: " + name);
+      }
+      return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+    } catch (IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+}
@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.consul.Check;
+import io.vertx.ext.consul.KeyValue;
+import io.vertx.ext.consul.Node;
+import io.vertx.ext.consul.ServiceEntry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decodes the response bodies and maps their entries, through the {@code JsonArray} tree and with the streaming
+ * {@link JsonReader} used by {@link ConsulClientImpl} for the list responses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+  @Param({"10", "100", "1000", "10000", "100000"})
+  public int size;
+
+  private Buffer kvBody;
+  private Buffer nodeBody;
+  private Buffer checkBody;
+  private Buffer serviceEntryBody;
+  private Buffer txnBody;
+
+  @Setup
+  public void setup() {
+    kvBody = Fixtures.body(Fixtures.KV, size);
+    nodeBody = Fixtures.body(Fixtures.NODE, size);
+    checkBody = Fixtures.body(Fixtures.CHECK, size);
+    serviceEntryBody = Fixtures.body(Fixtures.SERVICE_ENTRY, size);
+    txnBody = Fixtures.txnBody(size);
+  }
+
+  @Benchmark
+  public JsonArray jsonDecode() {
+    return kvBody.toJsonArray();
+  }
+
+  @Benchmark
+  public void kv(Blackhole bh) {
+    JsonArray array = kvBody.toJsonArray();
+    List<KeyValue> list = new ArrayList<>(array.size());
+    for (int i = 0; i < array.size(); i++) {
+      list.add(KVParser.parse(array.getJsonObject(i)));
+    }
+    bh.consume(list);
+  }
+
+  @Benchmark
+  public void kvStreaming(Blackhole bh) {
+    bh.consume(JsonReader.readArray(kvBody, KVParser::read));
+  }
+
+  @Benchmark
+  public void kvWithValues(Blackhole bh) {
+    JsonArray array = kvBody.toJsonArray();
+    for (int i = 0; i < array.size(); i++) {
+      bh.consume(KVParser.parse(array.getJsonObject(i)).getValue());
+    }
+  }
+
+  @Benchmark
+  public void node(Blackhole bh) {
+    JsonArray array = nodeBody.toJsonArray();
+    List<Node> list = new ArrayList<>(array.size());
+    for (int i = 0; i < array.size(); i++) {
+      list.add(NodeParser.parse(array.getJsonObject(i)));
+    }
+    bh.consume(list);
+  }
+
+  @Benchmark
+  public void nodeStreaming(Blackhole bh) {
+    bh.consume(JsonReader.readArray(nodeBody, NodeParser::read));
+  }
+
+  @Benchmark
+  public void check(Blackhole bh) {
+    JsonArray array = checkBody.toJsonArray();
+    List<Check> list = new ArrayList<>(array.size());
+    for (int i = 0; i < array.size(); i++) {
+      list.add(CheckParser.parse(array.getJsonObject(i)));
+    }
+    bh.consume(list);
+  }
+
+  @Benchmark
+  public void checkStreaming(Blackhole bh) {
+    bh.consume(JsonReader.readArray(checkBody, CheckParser::read));
+  }
+
+  @Benchmark
+  public void serviceEntry(Blackhole bh) {
+    JsonArray array = serviceEntryBody.toJsonArray();
+    List<ServiceEntry> list = new ArrayList<>(array.size());
+    for (int i = 0; i < array.size(); i++) {
+      list.add(ServiceEntryParser.parse(array.getJsonObject(i)));
+    }
+    bh.consume(list);
+  }
+
+  @Benchmark
+  public void serviceEntryStreaming(Blackhole bh) {
+    bh.consume(JsonReader.readArray(serviceEntryBody, ServiceEntryParser::read));
+  }
+
+  @Benchmark
+  public void txnResponse(Blackhole bh) {
+    bh.consume(TxnResponseParser.parse(new JsonObject(txnBody)));
+  }
+}
@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.ext.consul.BlockingQueryOptions;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Builds the path and the full request URI of a blocking query, as done for every request. The {@code legacy}
+ * benchmarks build them the way the client did before the precompiled templates, with a {@link HashMap}
+ * and {@link java.net.URLEncoder}. Run with {@code -prof gc} to compare the allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class QueryBenchmark {
+
+  private final BlockingQueryOptions options = new BlockingQueryOptions().setIndex(1234567L).setWait("5m");
+  private final String key = "bench/flags/feature toggles/ünicode";
+  private final String asciiKey = "bench/flags/feature-toggles";
+
+  @Benchmark
+  public String blockingQuery() {
+    Query query = Query.of("recurse", true).put(options);
+    StringBuilder uri = new StringBuilder(64).append("/v1/kv/bench");
+    query.appendTo(uri);
+    return uri.append("&dc=dc1").toString();
+  }
+
+  @Benchmark
+  public String legacyBlockingQuery() {
+    Map<String, String> query = new HashMap<>();
+    query.put("recurse", "true");
+    query.put("index", Long.toUnsignedString(options.getIndex()));
+    query.put("wait", options.getWait());
+    query.put("dc", "dc1");
+    StringBuilder uri = new StringBuilder(64).append("/v1/kv/bench");
+    char separator = '?';
+    for (Map.Entry<String, String> entry : query.entrySet()) {
+      uri.append(separator).append(Utils.urlEncode(entry.getKey())).append('=').append(Utils.urlEncode(entry.getValue()));
+      separator = '&';
+    }
+    return uri.toString();
+  }
+
+  @Benchmark
+  public String path() {
+    return PathTemplate.KV.expand(key);
+  }
+
+  @Benchmark
+  public String asciiPath() {
+    return PathTemplate.KV.expand(asciiKey);
+  }
+
+  @Benchmark
+  public String legacyPath() {
+    return "/v1/kv/" + Utils.urlEncode(key);
+  }
+
+  @Benchmark
+  public String legacyAsciiPath() {
+    return "/v1/kv/" + Utils.urlEncode(asciiKey);
+  }
+}
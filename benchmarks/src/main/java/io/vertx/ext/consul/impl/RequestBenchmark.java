@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpServer;
+import io.vertx.ext.consul.ConsulClient;
+import io.vertx.ext.consul.ConsulClientOptions;
+import io.vertx.ext.consul.KeyValueList;
+import io.vertx.ext.consul.ServiceEntryList;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs requests end to end, from {@link ConsulClientImpl} to an in-process HTTP server
+ * that answers with the recorded payloads.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestBenchmark {
+
+  @Param({"10", "1000", "100000"})
+  public int size;
+
+  private Vertx vertx;
+  private HttpServer server;
+  private ConsulClient client;
+
+  @Setup
+  public void setup() throws Exception {
+    Buffer kvBody = Fixtures.body(Fixtures.KV, size);
+    Buffer serviceEntryBody = Fixtures.body(Fixtures.SERVICE_ENTRY, size);
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer()
+      .requestHandler(req -> {
+        Buffer body;
+        if (req.path().equals("/v1/kv/bench")) {
+          body = kvBody;
+        } else if (req.path().equals("/v1/health/service/web")) {
+          body = serviceEntryBody;
+        } else {
+          req.response().setStatusCode(404).end();
+          return;
+        }
+        req.response()
+          .putHeader("Content-Type", "application/json")
+          .putHeader("X-Consul-Index", String.valueOf(size))
+          .end(body);
+      })
+      .listen(0, "localhost")
+      .toCompletionStage()
+      .toCompletableFuture()
+      .get(10, TimeUnit.SECONDS);
+    client = ConsulClient.create(vertx, new ConsulClientOptions()
+      .setHost("localhost")
+      .setPort(server.actualPort()));
+  }
+
+  @TearDown
+  public void tearDown() throws Exception {
+    client.close();
+    vertx.close().toCompletionStage().toCompletableFuture().get(10, TimeUnit.SECONDS);
+  }
+
+  @Benchmark
+  public KeyValueList getValues() throws Exception {
+    return client.getValues("bench").toCompletionStage().toCompletableFuture().get();
+  }
+
+  @Benchmark
+  public ServiceEntryList healthServiceNodes() throws Exception {
+    return client.healthServiceNodes("web", true).toCompletionStage().toCompletableFuture().get();
+  }
+}
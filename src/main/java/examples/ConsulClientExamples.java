@@ -38,6 +38,36 @@ public class ConsulClientExamples {
 
   }
 
+  public void exampleMetrics(Vertx vertx) {
+
+    ConsulClientOptions options = new ConsulClientOptions()
+      .setMetrics(new ConsulMetrics() {
+        @Override
+        public void requestEnd(String method, String endpoint, int statusCode, long durationNanos,
+                               long requestBytes, long responseBytes, boolean blocking) {
+          if (!blocking) {
+            System.out.println(method + " " + endpoint + " took " + durationNanos / 1_000_000 + "ms");
+          }
+        }
+      });
+
+    ConsulClient client = ConsulClient.create(vertx, options);
+
+  }
+
+  public void exampleHedging(Vertx vertx) {
+
+    ConsulClientOptions options = new ConsulClientOptions()
+      .addEndpoint("consul-1:8500")
+      .addEndpoint("consul-2:8500")
+      .setHedgingOptions(new HedgingOptions()
+        .setPercentile(99)
+        .setMaxDelay(200));
+
+    ConsulClient client = ConsulClient.create(vertx, options);
+
+  }
+
   public void blockingOptions(long lastIndex) {
 
     BlockingQueryOptions opts = new BlockingQueryOptions()
@@ -46,4 +76,23 @@ public class ConsulClientExamples {
 
   }
 
+  public void cachedRead(ConsulClient consulClient) {
+
+    ServiceQueryOptions opts = new ServiceQueryOptions()
+      .setBlockingOptions(new BlockingQueryOptions()
+        .setCached(true)
+        .setMaxAge(30)
+        .setStaleIfError(300));
+
+    consulClient.healthServiceNodesWithOptions("web", true, opts)
+      .onComplete(res -> {
+        if (res.succeeded()) {
+          System.out.println("cache hit: " + res.result().isCacheHit() + ", age: " + res.result().getCacheAge() + "s");
+        } else {
+          res.cause().printStackTrace();
+        }
+      });
+
+  }
+
 }
@@ -15,6 +15,8 @@
  */
 package examples;
 
+import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.*;
 
 /**
@@ -88,4 +90,20 @@ public class Events {
 
   }
 
+  public void eventStream(Vertx vertx) {
+
+    EventStream stream = EventStream.create(vertx, new ConsulClientOptions(), new EventStreamOptions()
+      .setName("deploy")
+      .addAddress("consul.events.deploy"));
+
+    stream.handler(event -> System.out.println("Event " + event.getId() + ": " + event.getPayload()));
+    stream.start();
+
+    // in any verticle
+    vertx.eventBus().<JsonObject>consumer("consul.events.deploy", msg -> {
+      Event event = new Event(msg.body());
+      System.out.println("Event " + event.getId() + ": " + event.getPayload());
+    });
+
+  }
 }
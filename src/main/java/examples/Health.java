@@ -15,8 +15,12 @@
  */
 package examples;
 
+import io.vertx.core.Vertx;
 import io.vertx.ext.consul.CheckOptions;
+import io.vertx.ext.consul.CheckStatus;
 import io.vertx.ext.consul.ConsulClient;
+import io.vertx.ext.consul.TtlHeartbeater;
+import io.vertx.ext.consul.TtlHeartbeaterOptions;
 
 /**
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
@@ -43,4 +47,28 @@ public class Health {
 
   }
 
+  public void ttlHeartbeats(Vertx vertx, ConsulClient consulClient) {
+
+    TtlHeartbeater heartbeater = TtlHeartbeater.create(vertx, consulClient, new TtlHeartbeaterOptions()
+      .setIntervalRatio(0.5)
+      .setJitter(0.1)
+      .setMaxConcurrentHeartbeats(8));
+
+    CheckOptions opts = new CheckOptions()
+      .setId("worker-1")
+      .setName("Worker")
+      .setTtl("10s")
+      .setStatus(CheckStatus.PASSING);
+
+    heartbeater.register(opts).onComplete(res -> {
+      if (res.succeeded()) {
+        // sent at once, before the pending heartbeats
+        heartbeater.update("worker-1", CheckStatus.CRITICAL, "queue is full");
+      } else {
+        res.cause().printStackTrace();
+      }
+    });
+
+  }
+
 }
@@ -15,6 +15,8 @@
  */
 package examples;
 
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.consul.*;
 
 /**
@@ -35,6 +37,21 @@ public class KV {
 
   }
 
+  public void putBuffer(ConsulClient consulClient) {
+
+    Buffer value = Buffer.buffer(new byte[]{ 0x00, (byte) 0xCA, (byte) 0xFE });
+
+    consulClient.putValue("key", value).onComplete(res -> {
+      if (res.succeeded()) {
+        String opResult = res.result() ? "success" : "fail";
+        System.out.println("result of the operation: " + opResult);
+      } else {
+        res.cause().printStackTrace();
+      }
+    });
+
+  }
+
   public void putWithOptions(ConsulClient consulClient, long modifyIndex) {
 
     KeyValueOptions opts = new KeyValueOptions()
@@ -82,6 +99,16 @@ public class KV {
 
   }
 
+  public void streamValues(ConsulClient consulClient) {
+
+    KeyValueStream stream = consulClient.streamValues("prefix");
+    stream
+      .handler(kv -> System.out.println("retrieved value: " + kv.getValue()))
+      .exceptionHandler(Throwable::printStackTrace)
+      .endHandler(v -> System.out.println("modify index: " + stream.getIndex()));
+
+  }
+
   public void deleteValue(ConsulClient consulClient) {
 
     consulClient.deleteValue("key").onComplete(res -> {
@@ -138,4 +165,21 @@ public class KV {
       }
     });
   }
+
+  public void batch(Vertx vertx, ConsulClient consulClient) {
+
+    KvBatcher batcher = KvBatcher.create(vertx, consulClient, new KvBatcherOptions()
+      .setMaxOperations(64)
+      .setFlushInterval(10));
+
+    for (int i = 0; i < 1000; i++) {
+      batcher.putValue("config/key" + i, "value" + i).onComplete(res -> {
+        if (res.failed()) {
+          res.cause().printStackTrace();
+        }
+      });
+    }
+
+    batcher.flush().onComplete(res -> System.out.println("all the writes are completed"));
+  }
 }
@@ -15,6 +15,7 @@
  */
 package examples;
 
+import io.vertx.core.Vertx;
 import io.vertx.ext.consul.*;
 
 /**
@@ -85,4 +86,67 @@ public class Sessions {
     });
 
   }
+
+  public void lock(Vertx vertx, ConsulClient consulClient) {
+
+    ConsulLock lock = ConsulLock.create(vertx, consulClient, new LockOptions()
+      .setKey("service/my-service/leader")
+      .setValue("instance-1"));
+
+    lock.lostHandler(v -> System.out.println("Lock lost"));
+
+    lock.tryAcquire(10_000).onComplete(res -> {
+      if (res.succeeded() && res.result()) {
+        System.out.println("Lock acquired");
+        // ...
+        lock.release();
+      } else {
+        System.out.println("Lock not acquired");
+      }
+    });
+
+  }
+
+  public void leaderElection(Vertx vertx, ConsulClient consulClient) {
+
+    LeaderElection election = LeaderElection.create(vertx, consulClient, new LockOptions()
+      .setKey("service/my-service/leader")
+      .setValue("instance-1")
+      .setSessionOptions(new SessionOptions()
+        .setTtl(10)
+        .setLockDelay(1)
+        .setBehavior(SessionBehavior.RELEASE)));
+
+    election.leadershipHandler(leader -> {
+      if (leader) {
+        System.out.println("Elected");
+      } else {
+        System.out.println("No longer the leader");
+      }
+    }).start();
+
+    // on shutdown, step down
+    election.stop();
+
+  }
+
+  public void sessionKeeper(Vertx vertx, ConsulClient consulClient) {
+
+    SessionKeeper keeper = SessionKeeper.create(vertx, consulClient, new SessionKeeperOptions()
+      .setMaxConcurrentRenewals(8)
+      .setRetryInterval(500));
+
+    keeper
+      .atRiskHandler(id -> System.out.println("Renewal of session " + id + " failed"))
+      .expiredHandler(id -> System.out.println("Session " + id + " expired"));
+
+    keeper.createSession(new SessionOptions().setTtl(10)).onComplete(res -> {
+      if (res.succeeded()) {
+        System.out.println("Session " + res.result() + " kept");
+      } else {
+        res.cause().printStackTrace();
+      }
+    });
+
+  }
 }
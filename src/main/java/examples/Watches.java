@@ -16,7 +16,17 @@
 package examples;
 
 import io.vertx.core.Vertx;
+import io.vertx.ext.consul.ConsulClientOptions;
+import io.vertx.ext.consul.ConsulKvCache;
+import io.vertx.ext.consul.HealthIndex;
+import io.vertx.ext.consul.LoadBalancingStrategy;
+import io.vertx.ext.consul.ServiceDiscoveryCache;
+import io.vertx.ext.consul.ServiceEntry;
 import io.vertx.ext.consul.Watch;
+import io.vertx.ext.consul.WatchManager;
+import io.vertx.ext.consul.WatchOptions;
+
+import java.util.Arrays;
 
 /**
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
@@ -34,4 +44,108 @@ public class Watches {
       })
       .start();
   }
+
+  public void watchDelta(Vertx vertx) {
+    Watch.keyPrefix("config/", vertx)
+      .setDeltaHandler(delta -> {
+        delta.added().getList().forEach(kv -> System.out.println("added: " + kv.getKey()));
+        delta.modified().getList().forEach(kv -> System.out.println("modified: " + kv.getKey()));
+        delta.removed().getList().forEach(kv -> System.out.println("removed: " + kv.getKey()));
+      })
+      .start();
+  }
+
+  public void watchPacing(Vertx vertx) {
+    WatchOptions pacing = new WatchOptions()
+      .setMinInterval(500)
+      .setRateLimit(1)
+      .setRateBurst(5)
+      .setJitter(0.5);
+    ConsulClientOptions options = new ConsulClientOptions().setWatchOptions(pacing);
+
+    Watch.service("payments", vertx, options)
+      .setHandler(res -> {
+        if (res.succeeded()) {
+          System.out.println("instances: " + res.nextResult().getList().size());
+        }
+      })
+      .start();
+  }
+
+  public void watchSnapshots(Vertx vertx) {
+    WatchOptions snapshots = new WatchOptions().setSnapshotDir("/var/lib/myapp/consul-watches");
+    ConsulClientOptions options = new ConsulClientOptions().setWatchOptions(snapshots);
+
+    WatchManager manager = WatchManager.create(vertx, options);
+    manager.keyPrefix("config/")
+      .setHandler(res -> {
+        if (res.succeeded()) {
+          // the first result is the persisted one when the application restarts
+          System.out.println("keys: " + res.nextResult().getList().size());
+        }
+      })
+      .start();
+  }
+
+  public void watchManager(Vertx vertx) {
+    WatchManager manager = WatchManager.create(vertx, new ConsulClientOptions());
+
+    manager.service("payments")
+      .setHandler(res -> {
+        if (res.succeeded()) {
+          System.out.println("instances: " + res.nextResult().getList().size());
+        } else {
+          res.cause().printStackTrace();
+        }
+      })
+      .start();
+
+    // shares the blocking query of the watch above
+    manager.service("payments")
+      .setHandler(res -> System.out.println("notified"))
+      .start();
+
+    System.out.println("watches: " + manager.watchCount() + ", queries: " + manager.queryCount());
+  }
+
+  public void kvCache(Vertx vertx) {
+    ConsulKvCache cache = ConsulKvCache.create(vertx, new ConsulClientOptions(), Arrays.asList("flags/", "config/"));
+
+    cache.start().onComplete(res -> {
+      if (res.succeeded()) {
+        String flag = cache.getValue("flags/new-checkout");
+        System.out.println("flag: " + flag + ", age: " + cache.age() + "ms");
+      } else {
+        res.cause().printStackTrace();
+      }
+    });
+  }
+
+  public void discoveryCache(Vertx vertx) {
+    ServiceDiscoveryCache cache = ServiceDiscoveryCache.create(vertx, new ConsulClientOptions());
+
+    cache.watch("payments").onComplete(res -> {
+      if (res.succeeded()) {
+        ServiceEntry entry = cache.select("payments", LoadBalancingStrategy.POWER_OF_TWO_CHOICES);
+        if (entry != null) {
+          System.out.println("selected: " + entry.getService().getAddress() + ":" + entry.getService().getPort());
+        }
+      } else {
+        res.cause().printStackTrace();
+      }
+    });
+  }
+
+  public void healthIndex(Vertx vertx) {
+    HealthIndex index = HealthIndex.create(vertx, new ConsulClientOptions());
+
+    index.start().onComplete(res -> {
+      if (res.succeeded()) {
+        System.out.println("payments: " + index.status("payments"));
+        index.subscribe("payments", checks -> System.out.println("payments is now " + index.status("payments")));
+      } else {
+        res.cause().printStackTrace();
+      }
+    });
+  }
 }
@@ -21,6 +21,7 @@ import io.vertx.core.json.JsonObject;
 
 /**
  * Options used to perform blocking query that used to wait for a potential change using long polling.
+ * They also set the consistency mode of the read and whether it may be served from the cache of the agent.
  *
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
  * @see <a href="https://www.consul.io/docs/agent/http.html">Blocking Queries documentation</a>
@@ -31,6 +32,11 @@ public class BlockingQueryOptions {
 
   private long index;
   private String wait;
+  private ConsistencyMode consistencyMode = ConsistencyMode.DEFAULT;
+  private String maxStale;
+  private boolean cached;
+  private long maxAge;
+  private long staleIfError;
 
   /**
    * Default constructor
@@ -45,6 +51,11 @@ public class BlockingQueryOptions {
   public BlockingQueryOptions(BlockingQueryOptions options) {
     this.index = options.index;
     this.wait = options.wait;
+    this.consistencyMode = options.consistencyMode;
+    this.maxStale = options.maxStale;
+    this.cached = options.cached;
+    this.maxAge = options.maxAge;
+    this.staleIfError = options.staleIfError;
   }
 
   /**
@@ -108,4 +119,109 @@ public class BlockingQueryOptions {
     this.wait = wait;
     return this;
   }
+
+  /**
+   * Get the consistency mode of the read
+   *
+   * @return the consistency mode
+   */
+  public ConsistencyMode getConsistencyMode() {
+    return consistencyMode;
+  }
+
+  /**
+   * Set the consistency mode of the read. Defaults to {@link ConsistencyMode#DEFAULT}
+   *
+   * @param consistencyMode the consistency mode
+   * @return reference to this, for fluency
+   */
+  public BlockingQueryOptions setConsistencyMode(ConsistencyMode consistencyMode) {
+    this.consistencyMode = consistencyMode;
+    return this;
+  }
+
+  /**
+   * Get the maximum staleness of a stale read
+   *
+   * @return the maximum staleness
+   */
+  public String getMaxStale() {
+    return maxStale;
+  }
+
+  /**
+   * Set the maximum staleness of a {@link ConsistencyMode#STALE} read, e.g. "10s". A server whose last contact
+   * with the leader is older forwards the read to the leader. This value can be specified in the form of "10s" or "5m".
+   *
+   * @param maxStale the maximum staleness
+   * @return reference to this, for fluency
+   */
+  public BlockingQueryOptions setMaxStale(String maxStale) {
+    this.maxStale = maxStale;
+    return this;
+  }
+
+  /**
+   * Get whether the read may be served from the cache of the agent
+   *
+   * @return {@code true} if the cache of the agent is used
+   */
+  public boolean isCached() {
+    return cached;
+  }
+
+  /**
+   * Set whether the read may be served from the cache of the agent. Only the health and catalog service endpoints
+   * and the execution of prepared queries support agent caching, the option is ignored by the other endpoints.
+   * A cached read does not reach the servers, the staleness of the result is reported by its cache age.
+   *
+   * @param cached {@code true} to use the cache of the agent
+   * @return reference to this, for fluency
+   */
+  public BlockingQueryOptions setCached(boolean cached) {
+    this.cached = cached;
+    return this;
+  }
+
+  /**
+   * Get the maximum age of a cached result
+   *
+   * @return the maximum age in seconds, {@code 0} if not set
+   */
+  public long getMaxAge() {
+    return maxAge;
+  }
+
+  /**
+   * Set the maximum age of a cached result, an older result is fetched again from the servers.
+   * It is sent as the {@code max-age} directive of the {@code Cache-Control} header.
+   *
+   * @param maxAge the maximum age in seconds
+   * @return reference to this, for fluency
+   */
+  public BlockingQueryOptions setMaxAge(long maxAge) {
+    this.maxAge = maxAge;
+    return this;
+  }
+
+  /**
+   * Get the maximum age of a cached result that is served when the servers cannot be reached
+   *
+   * @return the maximum age in seconds, {@code 0} if not set
+   */
+  public long getStaleIfError() {
+    return staleIfError;
+  }
+
+  /**
+   * Set the maximum age of a cached result that is served when the servers cannot be reached.
+   * It is sent as the {@code stale-if-error} directive of the {@code Cache-Control} header.
+   *
+   * @param staleIfError the maximum age in seconds
+   * @return reference to this, for fluency
+   */
+  public BlockingQueryOptions setStaleIfError(long staleIfError) {
+    this.staleIfError = staleIfError;
+    return this;
+  }
 }
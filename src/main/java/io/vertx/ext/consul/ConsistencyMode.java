@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * The consistency modes of the read endpoints. The modes trade the consistency of a read for its latency
+ * and for the load of the leader of the cluster.
+ *
+ * @see <a href="https://developer.hashicorp.com/consul/api-docs/features/consistency">Consistency modes</a>
+ */
+@VertxGen
+public enum ConsistencyMode {
+
+  /**
+   * Strongly consistent in almost all cases, reads are served by the leader
+   */
+  DEFAULT(null),
+
+  /**
+   * Any server can service the read, results may be arbitrarily stale.
+   * Reads are spread across the followers and are available without a leader.
+   */
+  STALE("stale"),
+
+  /**
+   * The leader verifies with a quorum of peers that it is still the leader before servicing the read
+   */
+  CONSISTENT("consistent");
+
+  /**
+   * The query parameter of the mode, {@code null} for the default mode
+   */
+  public final String key;
+
+  ConsistencyMode(String key) {
+    this.key = key;
+  }
+}
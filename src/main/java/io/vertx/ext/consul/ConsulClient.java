@@ -18,6 +18,7 @@ package io.vertx.ext.consul;
 import io.vertx.codegen.annotations.VertxGen;
 import io.vertx.core.Future;
 import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.impl.ConsulClientImpl;
 import io.vertx.ext.consul.policy.AclPolicy;
@@ -161,6 +162,32 @@ public interface ConsulClient {
    */
   Future<KeyValueList> getValuesWithOptions(String keyPrefix, BlockingQueryOptions options);
 
+  /**
+   * Returns the key/value pairs that corresponding to the specified key prefix as a stream.
+   * The response is decoded incrementally, so the whole list is never held in memory.
+   * The request is sent when a handler is set on the returned stream.
+   * An empty stream will be returned if no such key prefix is found.
+   *
+   * @param keyPrefix the prefix
+   * @return the stream of key/value pairs
+   * @see <a href="https://www.consul.io/api/kv.html#read-key">/v1/kv/:key</a> endpoint
+   */
+  KeyValueStream streamValues(String keyPrefix);
+
+  /**
+   * Returns the key/value pairs that corresponding to the specified key prefix as a stream.
+   * The response is decoded incrementally, so the whole list is never held in memory.
+   * The request is sent when a handler is set on the returned stream.
+   * An empty stream will be returned if no such key prefix is found.
+   * This is blocking query unlike {@link ConsulClient#streamValues(String)}
+   *
+   * @param keyPrefix the prefix
+   * @param options   the blocking options
+   * @return the stream of key/value pairs
+   * @see <a href="https://www.consul.io/api/kv.html#read-key">/v1/kv/:key</a> endpoint
+   */
+  KeyValueStream streamValuesWithOptions(String keyPrefix, BlockingQueryOptions options);
+
   /**
    * Removes all the key/value pair that corresponding to the specified key prefix
    *
@@ -189,6 +216,25 @@ public interface ConsulClient {
    */
   Future<Boolean> putValueWithOptions(String key, String value, KeyValueOptions options);
 
+  /**
+   * Adds specified key/value pair, the bytes of the value are sent as is
+   *
+   * @param key   the key
+   * @param value the value
+   * @return a future provided with success of operation
+   * @see <a href="https://www.consul.io/api/kv.html#create-update-key">/v1/kv/:key</a> endpoint
+   */
+  Future<Boolean> putValue(String key, Buffer value);
+
+  /**
+   * @param key     the key
+   * @param value   the value, the bytes are sent as is
+   * @param options options used to push pair
+   * @return a future provided with success of operation
+   * @see <a href="https://www.consul.io/api/kv.html#create-update-key">/v1/kv/:key</a> endpoint
+   */
+  Future<Boolean> putValueWithOptions(String key, Buffer value, KeyValueOptions options);
+
   /**
    * Manages multiple operations inside a single, atomic transaction.
    *
@@ -46,6 +46,11 @@ public class ConsulClientOptions extends WebClientOptions {
   private String aclToken;
   private String dc;
   private long timeoutMs;
+  private ConsulMetrics metrics;
+  private List<String> endpoints;
+  private HedgingOptions hedgingOptions;
+  private boolean coalesceReads;
+  private WatchOptions watchOptions;
 
   /**
    * Default constructor
@@ -68,6 +73,11 @@ public class ConsulClientOptions extends WebClientOptions {
     setAclToken(options.getAclToken());
     setDc(options.getDc());
     setTimeout(options.getTimeout());
+    setMetrics(options.getMetrics());
+    setEndpoints(options.getEndpoints() == null ? null : new ArrayList<>(options.getEndpoints()));
+    setHedgingOptions(options.getHedgingOptions() == null ? null : new HedgingOptions(options.getHedgingOptions()));
+    setCoalesceReads(options.isCoalesceReads());
+    setWatchOptions(options.getWatchOptions() == null ? null : new WatchOptions(options.getWatchOptions()));
   }
 
   /**
@@ -204,6 +214,52 @@ public class ConsulClientOptions extends WebClientOptions {
     return timeoutMs;
   }
 
+  /**
+   * Get the addresses of the Consul agents or servers
+   *
+   * @return the list of {@code host:port} addresses, {@code null} if only the host and port are used
+   */
+  public List<String> getEndpoints() {
+    return endpoints;
+  }
+
+  /**
+   * Get the options of the hedged reads
+   *
+   * @return the hedging options, {@code null} if the reads are not hedged
+   */
+  public HedgingOptions getHedgingOptions() {
+    return hedgingOptions;
+  }
+
+  /**
+   * Get whether identical concurrent reads share a single request
+   *
+   * @return whether the reads are coalesced
+   */
+  public boolean isCoalesceReads() {
+    return coalesceReads;
+  }
+
+  /**
+   * Get the options of the pacing of the watches
+   *
+   * @return the watch options, {@code null} if the defaults are used
+   */
+  public WatchOptions getWatchOptions() {
+    return watchOptions;
+  }
+
+  /**
+   * Get the metrics of the client
+   *
+   * @return the metrics, {@code null} if none
+   */
+  @GenIgnore
+  public ConsulMetrics getMetrics() {
+    return metrics;
+  }
+
   /**
    * Set Consul host. Defaults to `localhost`
    *
@@ -265,6 +321,84 @@ public class ConsulClientOptions extends WebClientOptions {
     return this;
   }
 
+  /**
+   * Set the addresses of several Consul agents or servers of the same datacenter, in order of preference, e.g. the local
+   * agent first. When set, the host and port are ignored: each request is sent to the endpoint with the lowest latency
+   * and error rate, and a request that cannot reach an endpoint is sent again to the next one. Watches keep their
+   * last index when their queries are moved to another endpoint.
+   *
+   * @param endpoints the list of {@code host:port} addresses
+   * @return reference to this, for fluency
+   */
+  public ConsulClientOptions setEndpoints(List<String> endpoints) {
+    this.endpoints = endpoints;
+    return this;
+  }
+
+  /**
+   * Add the address of a Consul agent or server
+   *
+   * @param endpoint the {@code host:port} address
+   * @return reference to this, for fluency
+   * @see #setEndpoints(List)
+   */
+  public ConsulClientOptions addEndpoint(String endpoint) {
+    if (endpoints == null) {
+      endpoints = new ArrayList<>();
+    }
+    endpoints.add(endpoint);
+    return this;
+  }
+
+  /**
+   * Set the options of the hedged reads, the reads are not hedged by default
+   *
+   * @param hedgingOptions the hedging options
+   * @return reference to this, for fluency
+   */
+  public ConsulClientOptions setHedgingOptions(HedgingOptions hedgingOptions) {
+    this.hedgingOptions = hedgingOptions;
+    return this;
+  }
+
+  /**
+   * Set whether identical concurrent reads share a single request. A read with the same path and parameters
+   * as a read in flight does not send a request, it completes with the result of the read in flight: the callers
+   * get the same result object and must not modify it. Defaults to {@code false}.
+   *
+   * @param coalesceReads whether the reads are coalesced
+   * @return reference to this, for fluency
+   */
+  public ConsulClientOptions setCoalesceReads(boolean coalesceReads) {
+    this.coalesceReads = coalesceReads;
+    return this;
+  }
+
+  /**
+   * Set the options of the pacing of the watches built on the client: minimum interval and rate limit
+   * of the requests, jitter of the delays
+   *
+   * @param watchOptions the watch options
+   * @return reference to this, for fluency
+   */
+  public ConsulClientOptions setWatchOptions(WatchOptions watchOptions) {
+    this.watchOptions = watchOptions;
+    return this;
+  }
+
+  /**
+   * Set the metrics that record the requests of the client and its watches. The metrics are not part
+   * of the JSON representation of the options.
+   *
+   * @param metrics the metrics
+   * @return reference to this, for fluency
+   */
+  @GenIgnore
+  public ConsulClientOptions setMetrics(ConsulMetrics metrics) {
+    this.metrics = metrics;
+    return this;
+  }
+
   /**
    * Set the TCP send buffer size
    *
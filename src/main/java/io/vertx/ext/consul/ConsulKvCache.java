@@ -0,0 +1,105 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.impl.ConsulKvCacheImpl;
+
+import java.util.List;
+
+/**
+ * A local mirror of one or more prefixes of the KV store. Reads are served from memory,
+ * the mirror is kept up to date by a single blocking query per prefix.
+ * <p>
+ * When Consul is not reachable the cache keeps serving the last known values,
+ * use {@link #age()} and {@link #lastIndex(String)} to find out how stale they are.
+ *
+ * @see Watch#keyPrefix(String, Vertx, ConsulClientOptions)
+ */
+@VertxGen
+public interface ConsulKvCache {
+
+  /**
+   * Create a cache of the KV store.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param options the options to create the underlying Consul client
+   * @param prefixes the key prefixes to mirror
+   * @return the cache, not started
+   */
+  static ConsulKvCache create(Vertx vertx, ConsulClientOptions options, List<String> prefixes) {
+    return new ConsulKvCacheImpl(vertx, options, prefixes);
+  }
+
+  /**
+   * Start watching the prefixes.
+   *
+   * @return a future completed when every prefix is loaded, failed with the first failure of a watch
+   * before its prefix is loaded
+   */
+  Future<Void> start();
+
+  /**
+   * Get the key/value pair from the cache, no request is made to Consul.
+   *
+   * @param key the key
+   * @return the key/value pair or {@code null} if the key is unknown
+   */
+  @Nullable KeyValue get(String key);
+
+  /**
+   * Get the value from the cache, no request is made to Consul.
+   *
+   * @param key the key
+   * @return the value or {@code null} if the key is unknown
+   */
+  @Nullable String getValue(String key);
+
+  /**
+   * Get the Consul index of the last snapshot of the prefix.
+   *
+   * @param prefix the prefix
+   * @return the index, {@code 0} if the prefix is not loaded yet
+   */
+  long lastIndex(String prefix);
+
+  /**
+   * Get the time elapsed since the least recently confirmed prefix was confirmed by Consul.
+   * Blocking queries return at least once per wait time, so under normal operation the age
+   * does not exceed the request timeout.
+   *
+   * @return the age in milliseconds
+   */
+  long age();
+
+  /**
+   * @return the number of lookups that found the key
+   */
+  long hits();
+
+  /**
+   * @return the number of lookups of unknown keys
+   */
+  long misses();
+
+  /**
+   * Stop watching the prefixes and close the underlying client
+   */
+  void close();
+}
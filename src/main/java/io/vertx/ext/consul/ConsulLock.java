@@ -0,0 +1,89 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.impl.ConsulLockImpl;
+
+/**
+ * A distributed lock held by a Consul session on a key, see the
+ * <a href="https://developer.hashicorp.com/consul/docs/dynamic-app-config/sessions/application-leader-election">leader election guide</a>.
+ * <p>
+ * A session is created when the lock is acquired and renewed at half its TTL until the lock is released
+ * or lost. While the lock is held by another session, the lock waits for its release with a blocking query on the key
+ * rather than polling it. When the session of the previous holder was invalidated, Consul does not give the lock
+ * to another session before the lock-delay of the session has elapsed, the lock waits for it.
+ * <p>
+ * Once acquired, the key is watched: the lost handler is called when the key is no longer held by the session,
+ * e.g. the session was invalidated by Consul or destroyed by an operator.
+ */
+@VertxGen
+public interface ConsulLock {
+
+  /**
+   * Create a lock, it is not acquired.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param consulClient the Consul client
+   * @param options the options of the lock
+   * @return the lock
+   */
+  static ConsulLock create(Vertx vertx, ConsulClient consulClient, LockOptions options) {
+    return new ConsulLockImpl(vertx, consulClient, options);
+  }
+
+  /**
+   * Acquire the lock, waiting as long as needed for its release by the current holder.
+   *
+   * @return a future completed when the lock is held
+   */
+  Future<Void> acquire();
+
+  /**
+   * Try to acquire the lock, waiting at most for the timeout for its release by the current holder.
+   *
+   * @param timeout the timeout in milliseconds, {@code 0} makes a single attempt
+   * @return a future completed with {@code true} when the lock is held, {@code false} when the timeout elapsed
+   */
+  Future<Boolean> tryAcquire(long timeout);
+
+  /**
+   * Release the lock and destroy its session. The key is released before the session is destroyed, the waiters
+   * can acquire the lock at once. A pending acquisition is cancelled, it fails with an {@link IllegalStateException}.
+   * Does nothing when the lock is neither held nor being acquired.
+   *
+   * @return a future completed when the lock is released
+   */
+  Future<Void> release();
+
+  /**
+   * @return whether the lock is held
+   */
+  boolean isHeld();
+
+  /**
+   * Set the handler called on the context of the acquisition when the lock is lost without being released.
+   *
+   * @param handler the handler
+   * @return reference to this, for fluency
+   */
+  @Fluent
+  ConsulLock lostHandler(Handler<Void> handler);
+}
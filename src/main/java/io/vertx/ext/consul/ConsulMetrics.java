@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+/**
+ * Receives measurements of the calls made by a {@link ConsulClient} and of the watches built on it,
+ * e.g. to record them with Micrometer. Endpoints are reported as templates such as {@code /v1/kv/:key},
+ * never as raw paths, so that they can be used as metric tags.
+ * <p>
+ * Every method does nothing by default. The methods are called on event loop threads and must not block.
+ *
+ * @see ConsulClientOptions#setMetrics(ConsulMetrics)
+ */
+public interface ConsulMetrics {
+
+  /**
+   * Metrics that record nothing
+   */
+  ConsulMetrics NOOP = new ConsulMetrics() {
+  };
+
+  /**
+   * A request is sent, it is followed by exactly one call of {@link #requestEnd} or {@link #requestFailed}
+   *
+   * @param method the HTTP method
+   * @param endpoint the endpoint template
+   */
+  default void requestBegin(String method, String endpoint) {
+  }
+
+  /**
+   * A response has been received
+   *
+   * @param method the HTTP method
+   * @param endpoint the endpoint template
+   * @param statusCode the status code of the response
+   * @param durationNanos the time elapsed since the request was sent, this is the wait time of blocking queries
+   * @param requestBytes the size of the request body
+   * @param responseBytes the size of the response body, {@code -1} if the body was streamed
+   * @param blocking whether the request was a blocking query
+   */
+  default void requestEnd(String method, String endpoint, int statusCode, long durationNanos,
+                          long requestBytes, long responseBytes, boolean blocking) {
+  }
+
+  /**
+   * No response has been received, e.g. the connection failed or the request timed out
+   *
+   * @param method the HTTP method
+   * @param endpoint the endpoint template
+   * @param cause the failure
+   * @param durationNanos the time elapsed since the request was sent
+   * @param blocking whether the request was a blocking query
+   */
+  default void requestFailed(String method, String endpoint, Throwable cause, long durationNanos, boolean blocking) {
+  }
+
+  /**
+   * A read shares the request of an identical read in flight, no request is sent
+   *
+   * @param method the HTTP method
+   * @param endpoint the endpoint template
+   */
+  default void requestCoalesced(String method, String endpoint) {
+  }
+
+  /**
+   * A read did not complete in time and a duplicate has been sent, the ratio of the hedges to the
+   * reads of an endpoint is its hedge rate
+   *
+   * @param endpoint the endpoint template
+   */
+  default void hedgeSent(String endpoint) {
+  }
+
+  /**
+   * The duplicate of a read completed first, the ratio of the wins to the hedges of an endpoint is its win rate
+   *
+   * @param endpoint the endpoint template
+   */
+  default void hedgeWon(String endpoint) {
+  }
+
+  /**
+   * A watch failed to query Consul and will retry
+   *
+   * @param endpoint the endpoint template of the watch
+   * @param attempt the number of consecutive failures
+   * @param cause the failure
+   */
+  default void watchRetry(String endpoint, long attempt, Throwable cause) {
+  }
+
+  /**
+   * The index returned to a watch went backwards, e.g. after a restore of a snapshot, the watch reads
+   * the current state again without blocking
+   *
+   * @param endpoint the endpoint template of the watch
+   * @param previous the index before the reset
+   * @param next the index returned by Consul
+   */
+  default void watchIndexReset(String endpoint, long previous, long next) {
+  }
+
+  /**
+   * A watch delivered a new result to its handler
+   *
+   * @param endpoint the endpoint template of the watch
+   * @param lagNanos the time elapsed between the reception of the new index and the delivery to the handler
+   */
+  default void watchDelivered(String endpoint, long lagNanos) {
+  }
+
+  /**
+   * A session kept by a {@link SessionKeeper} has been renewed
+   *
+   * @param marginNanos the time that was left before the expiry of the session, negative when the TTL had elapsed
+   */
+  default void sessionRenewed(long marginNanos) {
+  }
+
+  /**
+   * The renewal of a session kept by a {@link SessionKeeper} failed, the renewal is retried until the session expires
+   *
+   * @param marginNanos the time left before the expiry of the session
+   * @param cause the failure
+   */
+  default void sessionRenewalFailed(long marginNanos, Throwable cause) {
+  }
+
+  /**
+   * A {@link TtlHeartbeater} sent the heartbeat of a check, recording the lags in a histogram shows whether
+   * the heartbeats keep up with their schedule
+   *
+   * @param lagNanos the time elapsed between the due time of the heartbeat and its sending
+   * @param transition whether the heartbeat carries a new status
+   */
+  default void heartbeatSent(long lagNanos, boolean transition) {
+  }
+}
@@ -16,11 +16,17 @@
 package io.vertx.ext.consul;
 
 import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.json.annotations.JsonGen;
 import io.vertx.core.json.JsonObject;
+import io.vertx.ext.consul.impl.Utils;
 
 /**
  * Holds properties of Consul event
+ * <p>
+ * The payload received from Consul is kept Base64 encoded and is decoded on the first call of {@link #getPayload()}.
+ * The decoded payload is cached in a volatile field and the encoded one is never cleared by a read, so an event
+ * shared between threads is always seen either undecoded or fully decoded.
  *
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
  */
@@ -30,7 +36,8 @@ public class Event {
 
   private String id;
   private String name;
-  private String payload;
+  private volatile String payload;
+  private volatile String encodedPayload;
   private String node;
   private String service;
   private String tag;
@@ -51,6 +58,7 @@ public class Event {
     this.id = other.id;
     this.name = other.name;
     this.payload = other.payload;
+    this.encodedPayload = other.encodedPayload;
     this.node = other.node;
     this.service = other.service;
     this.tag = other.tag;
@@ -124,6 +132,14 @@ public class Event {
    * @return payload
    */
   public String getPayload() {
+    String payload = this.payload;
+    if (payload == null) {
+      String encoded = encodedPayload;
+      if (encoded != null) {
+        payload = Utils.decode64(encoded);
+        this.payload = payload;
+      }
+    }
     return payload;
   }
 
@@ -135,6 +151,20 @@ public class Event {
    */
   public Event setPayload(String payload) {
     this.payload = payload;
+    this.encodedPayload = null;
+    return this;
+  }
+
+  /**
+   * Set the payload of event as received from Consul, it is decoded on the first call of {@link #getPayload()}
+   *
+   * @param encodedPayload payload of event encoded in base64
+   * @return reference to this, for fluency
+   */
+  @GenIgnore
+  public Event setEncodedPayload(String encodedPayload) {
+    this.payload = null;
+    this.encodedPayload = encodedPayload;
     return this;
   }
 
@@ -249,7 +279,8 @@ public class Event {
     if (lTime != event.lTime) return false;
     if (id != null ? !id.equals(event.id) : event.id != null) return false;
     if (name != null ? !name.equals(event.name) : event.name != null) return false;
-    if (payload != null ? !payload.equals(event.payload) : event.payload != null) return false;
+    String payload = getPayload();
+    if (payload != null ? !payload.equals(event.getPayload()) : event.getPayload() != null) return false;
     if (node != null ? !node.equals(event.node) : event.node != null) return false;
     if (service != null ? !service.equals(event.service) : event.service != null) return false;
     return tag != null ? tag.equals(event.tag) : event.tag == null;
@@ -259,6 +290,7 @@ public class Event {
   public int hashCode() {
     int result = id != null ? id.hashCode() : 0;
     result = 31 * result + (name != null ? name.hashCode() : 0);
+    String payload = getPayload();
     result = 31 * result + (payload != null ? payload.hashCode() : 0);
     result = 31 * result + (node != null ? node.hashCode() : 0);
     result = 31 * result + (service != null ? service.hashCode() : 0);
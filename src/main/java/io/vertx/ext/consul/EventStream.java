@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.impl.EventStreamImpl;
+
+/**
+ * A stream of the user events that emits each event once. It is fed by a watch of
+ * <a href="https://developer.hashicorp.com/consul/api-docs/event#list-events">/v1/event/list</a>, which returns
+ * the most recent events every time one is fired: the ids of the events emitted are remembered in a bounded window,
+ * with the highest Lamport time of the ids evicted from it.
+ * <p>
+ * The payloads are decoded when read. The events can also be published on event bus addresses, many verticles
+ * then share a single query.
+ *
+ * @see Watch#events(String, Vertx, ConsulClientOptions)
+ */
+@VertxGen
+public interface EventStream {
+
+  /**
+   * Create a stream.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param clientOptions the options to create the underlying Consul client
+   * @param options the options of the stream
+   * @return the stream, not started
+   */
+  static EventStream create(Vertx vertx, ConsulClientOptions clientOptions, EventStreamOptions options) {
+    return new EventStreamImpl(vertx, clientOptions, options);
+  }
+
+  /**
+   * Set the handler of the events, called on the context of the caller in the order of the Lamport times.
+   *
+   * @param handler the handler
+   * @return reference to this, for fluency
+   */
+  @Fluent
+  EventStream handler(Handler<Event> handler);
+
+  /**
+   * Set the handler of the failures of the query, the query is retried.
+   *
+   * @param handler the handler
+   * @return reference to this, for fluency
+   */
+  @Fluent
+  EventStream exceptionHandler(Handler<Throwable> handler);
+
+  /**
+   * Start watching the events.
+   *
+   * @return a future completed when the first events are loaded, failed with the first failure of the query
+   * before they are loaded
+   */
+  Future<Void> start();
+
+  /**
+   * Stop watching the events and close the underlying client
+   */
+  void close();
+}
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Options of an {@link EventStream}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class EventStreamOptions {
+
+  /**
+   * The default number of event ids remembered to detect the events already emitted
+   */
+  public static final int DEFAULT_WINDOW_SIZE = 1024;
+
+  private String name;
+  private List<String> addresses;
+  private int windowSize = DEFAULT_WINDOW_SIZE;
+  private boolean replay;
+
+  /**
+   * Default constructor
+   */
+  public EventStreamOptions() {
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public EventStreamOptions(EventStreamOptions options) {
+    this.name = options.name;
+    this.addresses = options.addresses == null ? null : new ArrayList<>(options.addresses);
+    this.windowSize = options.windowSize;
+    this.replay = options.replay;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public EventStreamOptions(JsonObject options) {
+    this();
+    EventStreamOptionsConverter.fromJson(options, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject jsonObject = new JsonObject();
+    EventStreamOptionsConverter.toJson(this, jsonObject);
+    return jsonObject;
+  }
+
+  /**
+   * Get the name of the events
+   *
+   * @return the event name, {@code null} for all the events
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * Set the name of the events, all the events are streamed when not set
+   *
+   * @param name the event name
+   * @return reference to this, for fluency
+   */
+  public EventStreamOptions setName(String name) {
+    this.name = name;
+    return this;
+  }
+
+  /**
+   * Get the event bus addresses the events are published to
+   *
+   * @return the addresses, {@code null} if the events are not published
+   */
+  public List<String> getAddresses() {
+    return addresses;
+  }
+
+  /**
+   * Set the event bus addresses the events are published to, as JSON objects with the event name
+   * in the {@code name} header. The consumers of the addresses share the query of the stream.
+   *
+   * @param addresses the addresses
+   * @return reference to this, for fluency
+   */
+  public EventStreamOptions setAddresses(List<String> addresses) {
+    this.addresses = addresses;
+    return this;
+  }
+
+  /**
+   * Add an event bus address the events are published to
+   *
+   * @param address the address
+   * @return reference to this, for fluency
+   * @see #setAddresses(List)
+   */
+  public EventStreamOptions addAddress(String address) {
+    if (addresses == null) {
+      addresses = new ArrayList<>();
+    }
+    addresses.add(address);
+    return this;
+  }
+
+  /**
+   * Get the number of event ids remembered to detect the events already emitted
+   *
+   * @return the window size
+   */
+  public int getWindowSize() {
+    return windowSize;
+  }
+
+  /**
+   * Set the number of event ids remembered to detect the events already emitted. Consul returns
+   * up to 256 of the most recent events, the window should not be smaller. An event that is older than
+   * the events of the window according to its Lamport time is not emitted either.
+   *
+   * @param windowSize the window size
+   * @return reference to this, for fluency
+   */
+  public EventStreamOptions setWindowSize(int windowSize) {
+    this.windowSize = windowSize;
+    return this;
+  }
+
+  /**
+   * Get whether the events returned by the first query are emitted
+   *
+   * @return whether the past events are emitted
+   */
+  public boolean isReplay() {
+    return replay;
+  }
+
+  /**
+   * Set whether the events returned by the first query, fired before the stream started, are emitted.
+   * By default only the events fired after the start are emitted.
+   *
+   * @param replay whether the past events are emitted
+   * @return reference to this, for fluency
+   */
+  public EventStreamOptions setReplay(boolean replay) {
+    this.replay = replay;
+    return this;
+  }
+}
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.impl.HealthIndexImpl;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * An in-memory index of the health of every service of the datacenter, fed by a single blocking query
+ * of all the health checks. It replaces a watch of the health of each service: the health of any number
+ * of services is read and observed locally.
+ * <p>
+ * The status of a service is the aggregated status of its checks and of the checks of the nodes that run it,
+ * see {@link ServiceEntry#aggregatedStatus()}. Only the services with at least one check are known.
+ * The index is updated with the checks that changed since the previous result, the status of the other
+ * services is not recomputed.
+ *
+ * @see ConsulClient#healthStateWithOptions(HealthState, CheckQueryOptions)
+ */
+@VertxGen
+public interface HealthIndex {
+
+  /**
+   * Create a health index.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param options the options to create the underlying Consul client
+   * @return the index, not started
+   */
+  static HealthIndex create(Vertx vertx, ConsulClientOptions options) {
+    return new HealthIndexImpl(vertx, options);
+  }
+
+  /**
+   * Start watching the health checks.
+   *
+   * @return a future completed when the checks are loaded, failed with the first failure of the watch
+   * before they are loaded
+   */
+  Future<Void> start();
+
+  /**
+   * Get the aggregated status of the service, no request is made to Consul.
+   *
+   * @param service the service name
+   * @return the status or {@code null} if the service is unknown
+   */
+  @Nullable CheckStatus status(String service);
+
+  /**
+   * Get the checks of the service and of the nodes that run it, no request is made to Consul.
+   *
+   * @param service the service name
+   * @return the checks, empty if the service is unknown
+   */
+  List<Check> checks(String service);
+
+  /**
+   * @return the names of the known services
+   */
+  Set<String> services();
+
+  /**
+   * Get the Consul index of the checks.
+   *
+   * @return the index, {@code 0} if the checks are not loaded yet
+   */
+  long lastIndex();
+
+  /**
+   * Subscribe to the changes of the checks of the service. The handler is called on the context of the caller
+   * with the checks of the service and of the nodes that run it every time one of them changes, it is called at once
+   * when the service is already known. An empty list means the service is no longer known.
+   *
+   * @param service the service name
+   * @param handler the handler
+   * @return the id of the subscription
+   */
+  long subscribe(String service, Handler<CheckList> handler);
+
+  /**
+   * Cancel a subscription.
+   *
+   * @param id the id of the subscription
+   * @return whether the subscription existed
+   */
+  boolean unsubscribe(long id);
+
+  /**
+   * Stop watching the health checks and close the underlying client
+   */
+  void close();
+}
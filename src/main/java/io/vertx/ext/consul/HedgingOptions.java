@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of the hedged reads of a {@link ConsulClient}. When a read of the catalog, of the health endpoints or
+ * of the KV store did not complete after a delay derived from the latency percentile of its endpoint, a duplicate
+ * is sent to another endpoint, or as a stale read when a single endpoint is configured. The first successful
+ * response is used and the other one is discarded.
+ * <p>
+ * Blocking queries are never hedged, their latency is their wait time.
+ *
+ * @see ConsulClientOptions#setHedgingOptions(HedgingOptions)
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class HedgingOptions {
+
+  /**
+   * The default latency percentile after which a read is hedged
+   */
+  public static final double DEFAULT_PERCENTILE = 95;
+
+  /**
+   * The default minimum delay before a read is hedged, in milliseconds
+   */
+  public static final long DEFAULT_MIN_DELAY = 5;
+
+  /**
+   * The default maximum delay before a read is hedged, in milliseconds
+   */
+  public static final long DEFAULT_MAX_DELAY = 500;
+
+  /**
+   * The default value of whether a read is hedged as a stale read when a single endpoint is configured
+   */
+  public static final boolean DEFAULT_STALE = true;
+
+  private double percentile = DEFAULT_PERCENTILE;
+  private long minDelay = DEFAULT_MIN_DELAY;
+  private long maxDelay = DEFAULT_MAX_DELAY;
+  private boolean stale = DEFAULT_STALE;
+
+  /**
+   * Default constructor
+   */
+  public HedgingOptions() {}
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public HedgingOptions(HedgingOptions options) {
+    this.percentile = options.percentile;
+    this.minDelay = options.minDelay;
+    this.maxDelay = options.maxDelay;
+    this.stale = options.stale;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public HedgingOptions(JsonObject options) {
+    this();
+    HedgingOptionsConverter.fromJson(options, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject jsonObject = new JsonObject();
+    HedgingOptionsConverter.toJson(this, jsonObject);
+    return jsonObject;
+  }
+
+  /**
+   * Get the latency percentile after which a read is hedged
+   *
+   * @return the percentile, between 0 and 100
+   */
+  public double getPercentile() {
+    return percentile;
+  }
+
+  /**
+   * Set the latency percentile after which a read is hedged. The percentile is computed over the recent reads
+   * of each endpoint template, e.g. {@code /v1/health/service/:service}. With the 95th percentile about one read
+   * out of twenty is duplicated.
+   *
+   * @param percentile the percentile, between 0 and 100
+   * @return reference to this, for fluency
+   */
+  public HedgingOptions setPercentile(double percentile) {
+    this.percentile = percentile;
+    return this;
+  }
+
+  /**
+   * Get the minimum delay before a read is hedged
+   *
+   * @return the delay in milliseconds
+   */
+  public long getMinDelay() {
+    return minDelay;
+  }
+
+  /**
+   * Set the minimum delay before a read is hedged, it bounds the number of duplicates when the endpoints are fast
+   *
+   * @param minDelay the delay in milliseconds
+   * @return reference to this, for fluency
+   */
+  public HedgingOptions setMinDelay(long minDelay) {
+    this.minDelay = minDelay;
+    return this;
+  }
+
+  /**
+   * Get the maximum delay before a read is hedged
+   *
+   * @return the delay in milliseconds
+   */
+  public long getMaxDelay() {
+    return maxDelay;
+  }
+
+  /**
+   * Set the maximum delay before a read is hedged, it is also the delay used until enough reads
+   * of an endpoint template have been measured
+   *
+   * @param maxDelay the delay in milliseconds
+   * @return reference to this, for fluency
+   */
+  public HedgingOptions setMaxDelay(long maxDelay) {
+    this.maxDelay = maxDelay;
+    return this;
+  }
+
+  /**
+   * Get whether a read is hedged as a stale read when a single endpoint is configured
+   *
+   * @return whether stale duplicates are sent
+   */
+  public boolean isStale() {
+    return stale;
+  }
+
+  /**
+   * Set whether a read is hedged as a stale read when a single endpoint is configured, any server can answer
+   * a stale read while the other reads are answered by the leader. Consistent reads are never hedged this way.
+   *
+   * @param stale whether stale duplicates are sent
+   * @return reference to this, for fluency
+   */
+  public HedgingOptions setStale(boolean stale) {
+    this.stale = stale;
+    return this;
+  }
+}
@@ -18,10 +18,19 @@ package io.vertx.ext.consul;
 import io.vertx.codegen.annotations.DataObject;
 import io.vertx.codegen.annotations.GenIgnore;
 import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Objects;
+
 /**
- * Represents key/value pair stored in Consul
+ * Represents key/value pair stored in Consul.
+ * <p>
+ * The value received from Consul is kept Base64 encoded and is decoded on the first call
+ * of {@link #getValue()} or {@link #getValueAsBuffer()}. The decoded forms are cached in volatile
+ * fields, so a result shared between threads is always seen either undecoded or fully decoded.
  *
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
  * @see <a href="https://www.consul.io/docs/agent/http/kv.html">Consul key/value store</a>
@@ -31,7 +40,9 @@ import io.vertx.core.json.JsonObject;
 public class KeyValue implements TxnResult {
 
   private String key;
-  private String value;
+  private volatile String value;
+  private volatile Buffer valueBuffer;
+  private volatile String encodedValue;
   private String session;
   private long flags;
   private long createIndex;
@@ -51,6 +62,9 @@ public class KeyValue implements TxnResult {
   public KeyValue(KeyValue other) {
     this.key = other.key;
     this.value = other.value;
+    Buffer buffer = other.valueBuffer;
+    this.valueBuffer = buffer != null ? buffer.copy() : null;
+    this.encodedValue = other.encodedValue;
     this.session = other.session;
     this.flags = other.flags;
     this.createIndex = other.createIndex;
@@ -109,11 +123,19 @@ public class KeyValue implements TxnResult {
   }
 
   /**
-   * Get the value. In case if KeyValue is result of transaction, value can be empty
+   * Get the value decoded as UTF-8 string. In case if KeyValue is result of transaction, value can be empty
    *
    * @return the value
    */
   public String getValue() {
+    String value = this.value;
+    if (value == null) {
+      Buffer buffer = getValueAsBuffer();
+      if (buffer != null) {
+        value = buffer.toString(StandardCharsets.UTF_8);
+        this.value = value;
+      }
+    }
     return value;
   }
 
@@ -125,6 +147,57 @@ public class KeyValue implements TxnResult {
    */
   public KeyValue setValue(String value) {
     this.value = value;
+    this.valueBuffer = null;
+    this.encodedValue = null;
+    return this;
+  }
+
+  /**
+   * Get the raw bytes of the value. In case if KeyValue is result of transaction, value can be empty
+   *
+   * @return the value
+   */
+  @GenIgnore
+  public Buffer getValueAsBuffer() {
+    Buffer buffer = valueBuffer;
+    if (buffer == null) {
+      String encoded = encodedValue;
+      String value = this.value;
+      if (encoded != null) {
+        buffer = Buffer.buffer(Base64.getDecoder().decode(encoded));
+      } else if (value != null) {
+        buffer = Buffer.buffer(value.getBytes(StandardCharsets.UTF_8));
+      }
+      valueBuffer = buffer;
+    }
+    return buffer;
+  }
+
+  /**
+   * Set the raw bytes of the value
+   *
+   * @param value the value
+   * @return reference to this, for fluency
+   */
+  @GenIgnore
+  public KeyValue setValueAsBuffer(Buffer value) {
+    this.value = null;
+    this.valueBuffer = value;
+    this.encodedValue = null;
+    return this;
+  }
+
+  /**
+   * Set the value as it is returned by Consul, i.e. Base64 encoded. It is decoded on demand.
+   *
+   * @param encodedValue the Base64 encoded value
+   * @return reference to this, for fluency
+   */
+  @GenIgnore
+  public KeyValue setEncodedValue(String encodedValue) {
+    this.value = null;
+    this.valueBuffer = null;
+    this.encodedValue = encodedValue;
     return this;
   }
 
@@ -246,14 +319,15 @@ public class KeyValue implements TxnResult {
     if (modifyIndex != keyValue.modifyIndex) return false;
     if (lockIndex != keyValue.lockIndex) return false;
     if (key != null ? !key.equals(keyValue.key) : keyValue.key != null) return false;
-    if (value != null ? !value.equals(keyValue.value) : keyValue.value != null) return false;
+    if (!valueEquals(keyValue)) return false;
     return session != null ? session.equals(keyValue.session) : keyValue.session == null;
   }
 
   @Override
   public int hashCode() {
     int result = key != null ? key.hashCode() : 0;
-    result = 31 * result + (value != null ? value.hashCode() : 0);
+    String encoded = encodedForm();
+    result = 31 * result + (encoded != null ? encoded.hashCode() : 0);
     result = 31 * result + (session != null ? session.hashCode() : 0);
     result = 31 * result + (int) (flags ^ (flags >>> 32));
     result = 31 * result + (int) (createIndex ^ (createIndex >>> 32));
@@ -261,4 +335,32 @@ public class KeyValue implements TxnResult {
     result = 31 * result + (int) (lockIndex ^ (lockIndex >>> 32));
     return result;
   }
+
+  /**
+   * The value in Consul's Base64 form. Values received from Consul are hashed and compared
+   * in this form without being decoded; values set locally are encoded, which is the same for equal bytes.
+   */
+  private String encodedForm() {
+    String encoded = encodedValue;
+    if (encoded == null) {
+      Buffer buffer = getValueAsBuffer();
+      if (buffer != null) {
+        encoded = Base64.getEncoder().encodeToString(buffer.getBytes());
+      }
+    }
+    return encoded;
+  }
+
+  private boolean valueEquals(KeyValue other) {
+    String encoded = encodedValue;
+    String otherEncoded = other.encodedValue;
+    if (encoded != null && otherEncoded != null) {
+      return encoded.equals(otherEncoded);
+    }
+    if (encoded != null || otherEncoded != null) {
+      return Objects.equals(encodedForm(), other.encodedForm());
+    }
+    Buffer buffer = getValueAsBuffer();
+    return buffer != null ? buffer.equals(other.getValueAsBuffer()) : other.getValueAsBuffer() == null;
+  }
 }
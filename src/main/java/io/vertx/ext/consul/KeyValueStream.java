@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Handler;
+import io.vertx.core.streams.ReadStream;
+
+/**
+ * A stream of key/value pairs decoded incrementally from the response of Consul.
+ * The request is sent when a handler is set on the stream, the response body is never
+ * buffered in full: entries are emitted as soon as they are decoded and the stream honors back-pressure.
+ *
+ * @see ConsulClient#streamValuesWithOptions(String, BlockingQueryOptions)
+ */
+@VertxGen
+public interface KeyValueStream extends ReadStream<KeyValue> {
+
+  @Fluent
+  @Override
+  KeyValueStream exceptionHandler(@Nullable Handler<Throwable> handler);
+
+  @Fluent
+  @Override
+  KeyValueStream handler(@Nullable Handler<KeyValue> handler);
+
+  @Fluent
+  @Override
+  KeyValueStream pause();
+
+  @Fluent
+  @Override
+  KeyValueStream resume();
+
+  @Fluent
+  @Override
+  KeyValueStream fetch(long amount);
+
+  @Fluent
+  @Override
+  KeyValueStream endHandler(@Nullable Handler<Void> endHandler);
+
+  /**
+   * Get Consul index returned with the response. It is available when the end handler is called.
+   *
+   * @return the consul index
+   */
+  long getIndex();
+}
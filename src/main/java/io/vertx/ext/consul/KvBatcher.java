@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.impl.KvBatcherImpl;
+
+/**
+ * Coalesces key/value writes into transactions. The writes are buffered for a short interval,
+ * or until the maximum number of operations of a transaction is reached, then they are sent as
+ * a single {@link ConsulClient#transaction(TxnRequest)}. The future of every write is completed
+ * from the response of its transaction.
+ * <p>
+ * Consul applies a transaction atomically: when an operation fails, none is applied. The batcher completes
+ * the futures of the failed operations and sends the other ones again, so a failed operation does not
+ * affect the writes that were batched with it. The writes are applied in the order they are made,
+ * a single transaction is in flight at any time.
+ *
+ * @see <a href="https://www.consul.io/api/txn.html">/v1/txn</a> endpoint
+ */
+@VertxGen
+public interface KvBatcher {
+
+  /**
+   * Create a batcher with default options.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param consulClient the client used to send the transactions
+   * @return the batcher
+   */
+  static KvBatcher create(Vertx vertx, ConsulClient consulClient) {
+    return create(vertx, consulClient, new KvBatcherOptions());
+  }
+
+  /**
+   * Create a batcher.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param consulClient the client used to send the transactions
+   * @param options the options
+   * @return the batcher
+   */
+  static KvBatcher create(Vertx vertx, ConsulClient consulClient, KvBatcherOptions options) {
+    return new KvBatcherImpl(vertx, consulClient, options);
+  }
+
+  /**
+   * Adds specified key/value pair
+   *
+   * @param key the key
+   * @param value the value
+   * @return a future provided with success of operation
+   * @see ConsulClient#putValue(String, String)
+   */
+  Future<Boolean> putValue(String key, String value);
+
+  /**
+   * Adds specified key/value pair. A session to acquire or release is sent as a {@code lock} or {@code unlock}
+   * operation, a check-and-set index as a {@code cas} operation. The future is completed with {@code false}
+   * when such an operation fails.
+   *
+   * @param key the key
+   * @param value the value
+   * @param options options used to push pair
+   * @return a future provided with success of operation
+   * @see ConsulClient#putValueWithOptions(String, String, KeyValueOptions)
+   */
+  Future<Boolean> putValueWithOptions(String key, String value, KeyValueOptions options);
+
+  /**
+   * Remove the key/value pair that corresponding to the specified key
+   *
+   * @param key the key
+   * @return a future notified on complete
+   * @see ConsulClient#deleteValue(String)
+   */
+  Future<Void> deleteValue(String key);
+
+  /**
+   * Removes all the key/value pair that corresponding to the specified key prefix
+   *
+   * @param keyPrefix the prefix
+   * @return a future notified on complete
+   * @see ConsulClient#deleteValues(String)
+   */
+  Future<Void> deleteValues(String keyPrefix);
+
+  /**
+   * Send the buffered operations without waiting for the flush interval
+   *
+   * @return a future completed when all the operations buffered so far are completed
+   */
+  Future<Void> flush();
+
+  /**
+   * @return the number of operations that are buffered or in flight
+   */
+  int pending();
+
+  /**
+   * Send the buffered operations, further writes are rejected
+   *
+   * @return a future completed when all the operations are completed
+   */
+  Future<Void> close();
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options used to create {@link KvBatcher}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class KvBatcherOptions {
+
+  /**
+   * The default maximum number of operations of a transaction, it is the limit of Consul
+   */
+  public static final int DEFAULT_MAX_OPERATIONS = 64;
+
+  /**
+   * The default time to wait for more operations before a transaction is sent, in milliseconds
+   */
+  public static final long DEFAULT_FLUSH_INTERVAL = 10;
+
+  private int maxOperations = DEFAULT_MAX_OPERATIONS;
+  private long flushInterval = DEFAULT_FLUSH_INTERVAL;
+
+  /**
+   * Default constructor
+   */
+  public KvBatcherOptions() {}
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public KvBatcherOptions(KvBatcherOptions options) {
+    this.maxOperations = options.maxOperations;
+    this.flushInterval = options.flushInterval;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public KvBatcherOptions(JsonObject options) {
+    this();
+    KvBatcherOptionsConverter.fromJson(options, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject jsonObject = new JsonObject();
+    KvBatcherOptionsConverter.toJson(this, jsonObject);
+    return jsonObject;
+  }
+
+  /**
+   * Get the maximum number of operations of a transaction
+   *
+   * @return the maximum number of operations
+   */
+  public int getMaxOperations() {
+    return maxOperations;
+  }
+
+  /**
+   * Set the maximum number of operations of a transaction, a transaction is sent as soon as
+   * this number of operations is buffered. Consul accepts at most 64 operations per transaction.
+   *
+   * @param maxOperations the maximum number of operations
+   * @return reference to this, for fluency
+   */
+  public KvBatcherOptions setMaxOperations(int maxOperations) {
+    this.maxOperations = maxOperations;
+    return this;
+  }
+
+  /**
+   * Get the time to wait for more operations before a transaction is sent
+   *
+   * @return the flush interval in milliseconds
+   */
+  public long getFlushInterval() {
+    return flushInterval;
+  }
+
+  /**
+   * Set the time to wait for more operations before a transaction is sent, it starts with the first buffered operation.
+   * A shorter interval lowers the latency of the writes, a longer one makes bigger transactions.
+   *
+   * @param flushInterval the flush interval in milliseconds
+   * @return reference to this, for fluency
+   */
+  public KvBatcherOptions setFlushInterval(long flushInterval) {
+    this.flushInterval = flushInterval;
+    return this;
+  }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.impl.LeaderElectionImpl;
+
+/**
+ * A leader election among the candidates that share a key, built on a {@link ConsulLock}: the leader is
+ * the candidate that holds the lock. A candidate campaigns until it is stopped: when it loses the leadership,
+ * e.g. its session was invalidated, it campaigns again.
+ * <p>
+ * The session of the candidate is renewed at half its TTL. When the leader is stopped, it releases the key
+ * before destroying its session: Consul does not apply the lock-delay and a waiting candidate is elected at once.
+ * When the leader crashes, the key is released once its session is invalidated, twice the TTL later, and given to
+ * another candidate after the lock-delay of the session: both should be kept short for a fast handover.
+ */
+@VertxGen
+public interface LeaderElection {
+
+  /**
+   * Create a candidate, the leadership events are delivered on the context of the caller.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param consulClient the Consul client
+   * @param options the options of the lock held by the leader, the value identifies the candidate
+   * @return the candidate, not started
+   */
+  static LeaderElection create(Vertx vertx, ConsulClient consulClient, LockOptions options) {
+    return new LeaderElectionImpl(vertx, consulClient, options, vertx.getOrCreateContext());
+  }
+
+  /**
+   * Create a candidate.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param consulClient the Consul client
+   * @param options the options of the lock held by the leader, the value identifies the candidate
+   * @param context the context the leadership events are delivered on
+   * @return the candidate, not started
+   */
+  static LeaderElection create(Vertx vertx, ConsulClient consulClient, LockOptions options, Context context) {
+    return new LeaderElectionImpl(vertx, consulClient, options, context);
+  }
+
+  /**
+   * Set the handler of the leadership events, called with {@code true} when the candidate is elected
+   * and with {@code false} when it is no longer the leader.
+   *
+   * @param handler the handler
+   * @return reference to this, for fluency
+   */
+  @Fluent
+  LeaderElection leadershipHandler(Handler<Boolean> handler);
+
+  /**
+   * Start campaigning.
+   *
+   * @return reference to this, for fluency
+   */
+  @Fluent
+  LeaderElection start();
+
+  /**
+   * Stop campaigning and step down when the candidate is the leader.
+   *
+   * @return a future completed when the key is released and the session destroyed
+   */
+  Future<Void> stop();
+
+  /**
+   * @return whether the candidate is the leader
+   */
+  boolean isLeader();
+}
@@ -0,0 +1,44 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * The strategies used by {@link ServiceDiscoveryCache} to select an instance of a service.
+ * The estimated round trip time to an instance is computed from the network coordinates
+ * of the local agent and of the node of the instance.
+ *
+ * @see <a href="https://www.consul.io/docs/internals/coordinates.html">Network coordinates</a>
+ */
+@VertxGen
+public enum LoadBalancingStrategy {
+
+  /**
+   * Instances are selected in turn
+   */
+  ROUND_ROBIN,
+
+  /**
+   * Two instances are picked at random, the one with the lowest round trip time is selected
+   */
+  POWER_OF_TWO_CHOICES,
+
+  /**
+   * Instances are selected at random, with a probability inversely proportional to their round trip time
+   */
+  WEIGHTED_RTT
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of a {@link ConsulLock}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class LockOptions {
+
+  /**
+   * The default TTL of the session of a lock, in seconds
+   */
+  public static final long DEFAULT_SESSION_TTL = 15;
+
+  /**
+   * The default lock-delay of the session of a lock, in seconds
+   */
+  public static final long DEFAULT_LOCK_DELAY = 15;
+
+  /**
+   * The default maximum wait time of the blocking queries of a lock, in milliseconds
+   */
+  public static final long DEFAULT_WAIT_TIME = 60_000;
+
+  private String key;
+  private String value;
+  private SessionOptions sessionOptions;
+  private long waitTime = DEFAULT_WAIT_TIME;
+
+  /**
+   * Default constructor
+   */
+  public LockOptions() {
+    sessionOptions = new SessionOptions()
+      .setName("Vert.x Consul lock")
+      .setTtl(DEFAULT_SESSION_TTL)
+      .setLockDelay(DEFAULT_LOCK_DELAY)
+      .setBehavior(SessionBehavior.RELEASE);
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public LockOptions(LockOptions options) {
+    this.key = options.key;
+    this.value = options.value;
+    this.sessionOptions = options.sessionOptions == null ? null : new SessionOptions(options.sessionOptions);
+    this.waitTime = options.waitTime;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public LockOptions(JsonObject options) {
+    this();
+    LockOptionsConverter.fromJson(options, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject jsonObject = new JsonObject();
+    LockOptionsConverter.toJson(this, jsonObject);
+    return jsonObject;
+  }
+
+  /**
+   * Get the key of the lock
+   *
+   * @return the key
+   */
+  public String getKey() {
+    return key;
+  }
+
+  /**
+   * Set the key of the lock, the key is held by the session of the lock holder
+   *
+   * @param key the key
+   * @return reference to this, for fluency
+   */
+  public LockOptions setKey(String key) {
+    this.key = key;
+    return this;
+  }
+
+  /**
+   * Get the value written to the key when the lock is acquired
+   *
+   * @return the value
+   */
+  public String getValue() {
+    return value;
+  }
+
+  /**
+   * Set the value written to the key when the lock is acquired, e.g. the identity of the holder
+   *
+   * @param value the value
+   * @return reference to this, for fluency
+   */
+  public LockOptions setValue(String value) {
+    this.value = value;
+    return this;
+  }
+
+  /**
+   * Get the options of the session created to hold the lock
+   *
+   * @return the session options
+   */
+  public SessionOptions getSessionOptions() {
+    return sessionOptions;
+  }
+
+  /**
+   * Set the options of the session created to hold the lock. The session is renewed at half its TTL while
+   * the lock is held or being acquired. When the session of a holder is invalidated, Consul refuses to give the lock
+   * to another session during the lock-delay of the session, the lock waits for it to elapse.
+   * Defaults to a session with a TTL and a lock-delay of 15 seconds that releases its locks when invalidated.
+   *
+   * @param sessionOptions the session options
+   * @return reference to this, for fluency
+   */
+  public LockOptions setSessionOptions(SessionOptions sessionOptions) {
+    this.sessionOptions = sessionOptions;
+    return this;
+  }
+
+  /**
+   * Get the maximum wait time of the blocking queries of the lock
+   *
+   * @return the wait time in milliseconds
+   */
+  public long getWaitTime() {
+    return waitTime;
+  }
+
+  /**
+   * Set the maximum wait time of the blocking queries that wait for the release of the lock and that monitor
+   * the lock once held. It should be lower than the timeout of the client.
+   *
+   * @param waitTime the wait time in milliseconds
+   * @return reference to this, for fluency
+   */
+  public LockOptions setWaitTime(long waitTime) {
+    this.waitTime = waitTime;
+    return this;
+  }
+}
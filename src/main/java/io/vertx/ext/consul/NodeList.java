@@ -33,6 +33,8 @@ import java.util.List;
 public class NodeList {
 
   private long index;
+  private boolean knownLeader;
+  private long lastContact;
   private List<Node> list;
 
   /**
@@ -47,6 +49,8 @@ public class NodeList {
    */
   public NodeList(NodeList other) {
     this.index = other.index;
+    this.knownLeader = other.knownLeader;
+    this.lastContact = other.lastContact;
     this.list = other.list;
   }
 
@@ -90,6 +94,48 @@ public class NodeList {
     return this;
   }
 
+  /**
+   * Get whether the server that answered the query knew the leader of the cluster
+   *
+   * @return {@code true} if the leader was known
+   */
+  public boolean isKnownLeader() {
+    return knownLeader;
+  }
+
+  /**
+   * Set whether the server that answered the query knew the leader of the cluster, a stale read from a server
+   * that does not know the leader can be arbitrarily old
+   *
+   * @param knownLeader {@code true} if the leader was known
+   * @return reference to this, for fluency
+   */
+  public NodeList setKnownLeader(boolean knownLeader) {
+    this.knownLeader = knownLeader;
+    return this;
+  }
+
+  /**
+   * Get the time elapsed since the server that answered the query last contacted the leader
+   *
+   * @return the time in milliseconds, {@code 0} if the server is the leader
+   */
+  public long getLastContact() {
+    return lastContact;
+  }
+
+  /**
+   * Set the time elapsed since the server that answered the query last contacted the leader,
+   * it bounds the staleness of a stale read
+   *
+   * @param lastContact the time in milliseconds
+   * @return reference to this, for fluency
+   */
+  public NodeList setLastContact(long lastContact) {
+    this.lastContact = lastContact;
+    return this;
+  }
+
   /**
    * Get list of nodes
    *
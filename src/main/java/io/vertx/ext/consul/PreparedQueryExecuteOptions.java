@@ -30,6 +30,9 @@ public class PreparedQueryExecuteOptions {
 
   private int limit;
   private String near;
+  private boolean cached;
+  private long maxAge;
+  private long staleIfError;
 
   /**
    * Default constructor
@@ -97,4 +100,68 @@ public class PreparedQueryExecuteOptions {
     this.limit = limit;
     return this;
   }
+
+  /**
+   * Get whether the read may be served from the cache of the agent
+   *
+   * @return {@code true} if the cache of the agent is used
+   */
+  public boolean isCached() {
+    return cached;
+  }
+
+  /**
+   * Set whether the read may be served from the cache of the agent. Only the health and catalog service endpoints
+   * and the execution of prepared queries support agent caching, the option is ignored by the other endpoints.
+   * A cached read does not reach the servers, the staleness of the result is reported by its cache age.
+   *
+   * @param cached {@code true} to use the cache of the agent
+   * @return reference to this, for fluency
+   */
+  public PreparedQueryExecuteOptions setCached(boolean cached) {
+    this.cached = cached;
+    return this;
+  }
+
+  /**
+   * Get the maximum age of a cached result
+   *
+   * @return the maximum age in seconds, {@code 0} if not set
+   */
+  public long getMaxAge() {
+    return maxAge;
+  }
+
+  /**
+   * Set the maximum age of a cached result, an older result is fetched again from the servers.
+   * It is sent as the {@code max-age} directive of the {@code Cache-Control} header.
+   *
+   * @param maxAge the maximum age in seconds
+   * @return reference to this, for fluency
+   */
+  public PreparedQueryExecuteOptions setMaxAge(long maxAge) {
+    this.maxAge = maxAge;
+    return this;
+  }
+
+  /**
+   * Get the maximum age of a cached result that is served when the servers cannot be reached
+   *
+   * @return the maximum age in seconds, {@code 0} if not set
+   */
+  public long getStaleIfError() {
+    return staleIfError;
+  }
+
+  /**
+   * Set the maximum age of a cached result that is served when the servers cannot be reached.
+   * It is sent as the {@code stale-if-error} directive of the {@code Cache-Control} header.
+   *
+   * @param staleIfError the maximum age in seconds
+   * @return reference to this, for fluency
+   */
+  public PreparedQueryExecuteOptions setStaleIfError(long staleIfError) {
+    this.staleIfError = staleIfError;
+    return this;
+  }
 }
@@ -35,6 +35,8 @@ public class PreparedQueryExecuteResponse {
   private String dnsTtl;
   private int failovers;
   private List<ServiceEntry> nodes;
+  private boolean cacheHit;
+  private long cacheAge;
 
   /**
    * Default constructor
@@ -163,4 +165,44 @@ public class PreparedQueryExecuteResponse {
     this.nodes = nodes;
     return this;
   }
+
+  /**
+   * Get whether the result was served from the cache of the agent
+   *
+   * @return {@code true} if the result was served from the cache
+   */
+  public boolean isCacheHit() {
+    return cacheHit;
+  }
+
+  /**
+   * Set whether the result was served from the cache of the agent, from the {@code X-Cache} header
+   *
+   * @param cacheHit {@code true} if the result was served from the cache
+   * @return reference to this, for fluency
+   */
+  public PreparedQueryExecuteResponse setCacheHit(boolean cacheHit) {
+    this.cacheHit = cacheHit;
+    return this;
+  }
+
+  /**
+   * Get the age of the cached result
+   *
+   * @return the age in seconds, {@code 0} if the result was not served from the cache
+   */
+  public long getCacheAge() {
+    return cacheAge;
+  }
+
+  /**
+   * Set the age of the cached result, from the {@code Age} header
+   *
+   * @param cacheAge the age in seconds
+   * @return reference to this, for fluency
+   */
+  public PreparedQueryExecuteResponse setCacheAge(long cacheAge) {
+    this.cacheAge = cacheAge;
+    return this;
+  }
 }
@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.impl.ServiceDiscoveryCacheImpl;
+
+import java.util.List;
+
+/**
+ * Keeps the healthy instances of services in memory and selects one of them on demand.
+ * Each service is monitored with a watch, the instances whose checks are all passing are kept
+ * in an immutable snapshot that is replaced when the watch reports a change.
+ * Selecting an instance reads the current snapshot only, it does not block and does not allocate.
+ *
+ * @see WatchManager#service(String)
+ */
+@VertxGen
+public interface ServiceDiscoveryCache {
+
+  /**
+   * Create a service discovery cache.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param options the options to create the underlying Consul client
+   * @return the cache
+   */
+  static ServiceDiscoveryCache create(Vertx vertx, ConsulClientOptions options) {
+    return new ServiceDiscoveryCacheImpl(vertx, options);
+  }
+
+  /**
+   * Start monitoring the service.
+   *
+   * @param service the service name
+   * @return a future completed when the instances of the service are known, failed with the first failure
+   * of the watch before they are known
+   */
+  Future<Void> watch(String service);
+
+  /**
+   * Stop monitoring the service.
+   *
+   * @param service the service name
+   */
+  void unwatch(String service);
+
+  /**
+   * Select a healthy instance of the service in turn.
+   *
+   * @param service the service name
+   * @return the instance or {@code null} if the service is not monitored or none of its instances is healthy
+   */
+  @Nullable ServiceEntry select(String service);
+
+  /**
+   * Select a healthy instance of the service.
+   *
+   * @param service the service name
+   * @param strategy the strategy of selection
+   * @return the instance or {@code null} if the service is not monitored or none of its instances is healthy
+   */
+  @Nullable ServiceEntry select(String service, LoadBalancingStrategy strategy);
+
+  /**
+   * Get the healthy instances of the service.
+   *
+   * @param service the service name
+   * @return the instances, empty if the service is not monitored
+   */
+  List<ServiceEntry> healthyEntries(String service);
+
+  /**
+   * Stop monitoring all the services and close the underlying client
+   */
+  void close();
+}
@@ -33,6 +33,10 @@ import java.util.List;
 public class ServiceList {
 
   private long index;
+  private boolean knownLeader;
+  private long lastContact;
+  private boolean cacheHit;
+  private long cacheAge;
   private List<Service> list;
 
   /**
@@ -47,6 +51,10 @@ public class ServiceList {
    */
   public ServiceList(ServiceList other) {
     this.index = other.index;
+    this.knownLeader = other.knownLeader;
+    this.lastContact = other.lastContact;
+    this.cacheHit = other.cacheHit;
+    this.cacheAge = other.cacheAge;
     this.list = other.list;
   }
 
@@ -90,6 +98,88 @@ public class ServiceList {
     return this;
   }
 
+  /**
+   * Get whether the server that answered the query knew the leader of the cluster
+   *
+   * @return {@code true} if the leader was known
+   */
+  public boolean isKnownLeader() {
+    return knownLeader;
+  }
+
+  /**
+   * Set whether the server that answered the query knew the leader of the cluster, a stale read from a server
+   * that does not know the leader can be arbitrarily old
+   *
+   * @param knownLeader {@code true} if the leader was known
+   * @return reference to this, for fluency
+   */
+  public ServiceList setKnownLeader(boolean knownLeader) {
+    this.knownLeader = knownLeader;
+    return this;
+  }
+
+  /**
+   * Get the time elapsed since the server that answered the query last contacted the leader
+   *
+   * @return the time in milliseconds, {@code 0} if the server is the leader
+   */
+  public long getLastContact() {
+    return lastContact;
+  }
+
+  /**
+   * Set the time elapsed since the server that answered the query last contacted the leader,
+   * it bounds the staleness of a stale read
+   *
+   * @param lastContact the time in milliseconds
+   * @return reference to this, for fluency
+   */
+  public ServiceList setLastContact(long lastContact) {
+    this.lastContact = lastContact;
+    return this;
+  }
+
+  /**
+   * Get whether the result was served from the cache of the agent
+   *
+   * @return {@code true} if the result was served from the cache
+   */
+  public boolean isCacheHit() {
+    return cacheHit;
+  }
+
+  /**
+   * Set whether the result was served from the cache of the agent, from the {@code X-Cache} header
+   *
+   * @param cacheHit {@code true} if the result was served from the cache
+   * @return reference to this, for fluency
+   */
+  public ServiceList setCacheHit(boolean cacheHit) {
+    this.cacheHit = cacheHit;
+    return this;
+  }
+
+  /**
+   * Get the age of the cached result
+   *
+   * @return the age in seconds, {@code 0} if the result was not served from the cache
+   */
+  public long getCacheAge() {
+    return cacheAge;
+  }
+
+  /**
+   * Set the age of the cached result, from the {@code Age} header
+   *
+   * @param cacheAge the age in seconds
+   * @return reference to this, for fluency
+   */
+  public ServiceList setCacheAge(long cacheAge) {
+    this.cacheAge = cacheAge;
+    return this;
+  }
+
   /**
    * Get list of services
    *
@@ -0,0 +1,109 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.impl.SessionKeeperImpl;
+
+import java.util.Set;
+
+/**
+ * Renews any number of sessions from a single timer. Each session is renewed at half its TTL,
+ * the renewals of the sessions that share a TTL are spread evenly over that period rather than sent in bursts,
+ * and the number of renewals in flight is bounded.
+ * <p>
+ * A failed renewal is retried until the session expires, the TTL after its last successful renewal: the session
+ * is at risk until a renewal succeeds, it is given up when it expires. The time left before the expiry
+ * at each renewal is reported to {@link ConsulMetrics#sessionRenewed(long)}.
+ */
+@VertxGen
+public interface SessionKeeper {
+
+  /**
+   * Create a keeper, the handlers are called on the context of the caller.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param consulClient the Consul client
+   * @param options the options
+   * @return the keeper
+   */
+  static SessionKeeper create(Vertx vertx, ConsulClient consulClient, SessionKeeperOptions options) {
+    return new SessionKeeperImpl(vertx, consulClient, options);
+  }
+
+  /**
+   * Create a session and keep it.
+   *
+   * @param options the options of the session, the TTL must be set
+   * @return a future completed with the id of the session
+   */
+  Future<String> createSession(SessionOptions options);
+
+  /**
+   * Keep a session created elsewhere, it has just been created or renewed.
+   *
+   * @param id the id of the session
+   * @param ttl the TTL of the session in seconds
+   * @return reference to this, for fluency
+   */
+  @Fluent
+  SessionKeeper keep(String id, long ttl);
+
+  /**
+   * Stop renewing a session, it is not destroyed.
+   *
+   * @param id the id of the session
+   * @return whether the session was kept
+   */
+  boolean remove(String id);
+
+  /**
+   * @return the ids of the kept sessions
+   */
+  Set<String> sessions();
+
+  /**
+   * @return the ids of the sessions whose last renewal failed
+   */
+  Set<String> atRisk();
+
+  /**
+   * Set the handler called with the id of a session when a renewal fails while the previous one succeeded.
+   *
+   * @param handler the handler
+   * @return reference to this, for fluency
+   */
+  @Fluent
+  SessionKeeper atRiskHandler(Handler<String> handler);
+
+  /**
+   * Set the handler called with the id of a session that expired without a successful renewal, it is no longer kept.
+   *
+   * @param handler the handler
+   * @return reference to this, for fluency
+   */
+  @Fluent
+  SessionKeeper expiredHandler(Handler<String> handler);
+
+  /**
+   * Stop renewing all the sessions, they are not destroyed
+   */
+  void close();
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of a {@link SessionKeeper}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class SessionKeeperOptions {
+
+  /**
+   * The default resolution of the renewal schedule, in milliseconds
+   */
+  public static final long DEFAULT_TICK_INTERVAL = 100;
+
+  /**
+   * The default maximum number of renewals in flight
+   */
+  public static final int DEFAULT_MAX_CONCURRENT_RENEWALS = 16;
+
+  /**
+   * The default delay before the retry of a failed renewal, in milliseconds
+   */
+  public static final long DEFAULT_RETRY_INTERVAL = 1000;
+
+  private long tickInterval = DEFAULT_TICK_INTERVAL;
+  private int maxConcurrentRenewals = DEFAULT_MAX_CONCURRENT_RENEWALS;
+  private long retryInterval = DEFAULT_RETRY_INTERVAL;
+
+  /**
+   * Default constructor
+   */
+  public SessionKeeperOptions() {
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public SessionKeeperOptions(SessionKeeperOptions options) {
+    this.tickInterval = options.tickInterval;
+    this.maxConcurrentRenewals = options.maxConcurrentRenewals;
+    this.retryInterval = options.retryInterval;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public SessionKeeperOptions(JsonObject options) {
+    this();
+    SessionKeeperOptionsConverter.fromJson(options, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject jsonObject = new JsonObject();
+    SessionKeeperOptionsConverter.toJson(this, jsonObject);
+    return jsonObject;
+  }
+
+  /**
+   * Get the resolution of the renewal schedule
+   *
+   * @return the tick interval in milliseconds
+   */
+  public long getTickInterval() {
+    return tickInterval;
+  }
+
+  /**
+   * Set the resolution of the renewal schedule: the renewals are run by a single periodic timer that fires
+   * at this interval, a renewal is late by at most one tick.
+   *
+   * @param tickInterval the tick interval in milliseconds
+   * @return reference to this, for fluency
+   */
+  public SessionKeeperOptions setTickInterval(long tickInterval) {
+    this.tickInterval = tickInterval;
+    return this;
+  }
+
+  /**
+   * Get the maximum number of renewals in flight
+   *
+   * @return the maximum number of renewals
+   */
+  public int getMaxConcurrentRenewals() {
+    return maxConcurrentRenewals;
+  }
+
+  /**
+   * Set the maximum number of renewals in flight, the due renewals wait for a slot
+   *
+   * @param maxConcurrentRenewals the maximum number of renewals
+   * @return reference to this, for fluency
+   */
+  public SessionKeeperOptions setMaxConcurrentRenewals(int maxConcurrentRenewals) {
+    this.maxConcurrentRenewals = maxConcurrentRenewals;
+    return this;
+  }
+
+  /**
+   * Get the delay before the retry of a failed renewal
+   *
+   * @return the retry interval in milliseconds
+   */
+  public long getRetryInterval() {
+    return retryInterval;
+  }
+
+  /**
+   * Set the delay before the retry of a failed renewal. The retries are shortened to land before the expiry
+   * of the session, the session is given up when it expires without a successful renewal.
+   *
+   * @param retryInterval the retry interval in milliseconds
+   * @return reference to this, for fluency
+   */
+  public SessionKeeperOptions setRetryInterval(long retryInterval) {
+    this.retryInterval = retryInterval;
+    return this;
+  }
+}
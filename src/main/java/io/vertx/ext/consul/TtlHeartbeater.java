@@ -0,0 +1,90 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.Fluent;
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.impl.TtlHeartbeaterImpl;
+
+/**
+ * Sends the heartbeats of any number of TTL checks from a single timer. The heartbeat of a check is sent
+ * at a fraction of its TTL with some jitter, with the last status and note given to {@link #update}.
+ * <p>
+ * An update that changes neither the status nor the note sends nothing, the next heartbeat carries it.
+ * An update that changes the note is sent at once, an update that changes the status is sent at once before
+ * any other pending heartbeat. The number of heartbeats in flight is bounded.
+ * The lag of each heartbeat behind its schedule is reported to {@link ConsulMetrics#heartbeatSent(long, boolean)}.
+ */
+@VertxGen
+public interface TtlHeartbeater {
+
+  /**
+   * Create a heartbeater.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param consulClient the Consul client
+   * @param options the options
+   * @return the heartbeater
+   */
+  static TtlHeartbeater create(Vertx vertx, ConsulClient consulClient, TtlHeartbeaterOptions options) {
+    return new TtlHeartbeaterImpl(vertx, consulClient, options);
+  }
+
+  /**
+   * Register a TTL check and send its heartbeats.
+   *
+   * @param checkOptions the options of the check, the TTL must be set
+   * @return a future completed when the check is registered
+   */
+  Future<Void> register(CheckOptions checkOptions);
+
+  /**
+   * Send the heartbeats of a check registered elsewhere, with the status {@link CheckStatus#PASSING} until updated.
+   *
+   * @param checkId the id of the check
+   * @param ttl the TTL of the check, e.g. {@code 10s}
+   * @return reference to this, for fluency
+   */
+  @Fluent
+  TtlHeartbeater track(String checkId, String ttl);
+
+  /**
+   * Update the status and the note of a check.
+   *
+   * @param checkId the id of the check
+   * @param status the status
+   * @param note the note, a human-readable message returned as the output of the check
+   * @return reference to this, for fluency
+   */
+  @Fluent
+  TtlHeartbeater update(String checkId, CheckStatus status, @Nullable String note);
+
+  /**
+   * Stop sending the heartbeats of a check, it is not deregistered.
+   *
+   * @param checkId the id of the check
+   * @return whether the check was tracked
+   */
+  boolean untrack(String checkId);
+
+  /**
+   * Stop sending the heartbeats of all the checks, they are not deregistered
+   */
+  void close();
+}
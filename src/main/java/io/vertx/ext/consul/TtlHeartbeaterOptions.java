@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of a {@link TtlHeartbeater}.
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class TtlHeartbeaterOptions {
+
+  /**
+   * The default fraction of the TTL of a check between two heartbeats
+   */
+  public static final double DEFAULT_INTERVAL_RATIO = 0.5;
+
+  /**
+   * The default jitter of the heartbeats, as a fraction of their interval
+   */
+  public static final double DEFAULT_JITTER = 0.1;
+
+  /**
+   * The default maximum number of heartbeats in flight
+   */
+  public static final int DEFAULT_MAX_CONCURRENT_HEARTBEATS = 16;
+
+  /**
+   * The default resolution of the heartbeat schedule, in milliseconds
+   */
+  public static final long DEFAULT_TICK_INTERVAL = 100;
+
+  private double intervalRatio = DEFAULT_INTERVAL_RATIO;
+  private double jitter = DEFAULT_JITTER;
+  private int maxConcurrentHeartbeats = DEFAULT_MAX_CONCURRENT_HEARTBEATS;
+  private long tickInterval = DEFAULT_TICK_INTERVAL;
+
+  /**
+   * Default constructor
+   */
+  public TtlHeartbeaterOptions() {
+  }
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public TtlHeartbeaterOptions(TtlHeartbeaterOptions options) {
+    this.intervalRatio = options.intervalRatio;
+    this.jitter = options.jitter;
+    this.maxConcurrentHeartbeats = options.maxConcurrentHeartbeats;
+    this.tickInterval = options.tickInterval;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public TtlHeartbeaterOptions(JsonObject options) {
+    this();
+    TtlHeartbeaterOptionsConverter.fromJson(options, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject jsonObject = new JsonObject();
+    TtlHeartbeaterOptionsConverter.toJson(this, jsonObject);
+    return jsonObject;
+  }
+
+  /**
+   * Get the fraction of the TTL of a check between two heartbeats
+   *
+   * @return the ratio
+   */
+  public double getIntervalRatio() {
+    return intervalRatio;
+  }
+
+  /**
+   * Set the fraction of the TTL of a check between two heartbeats, e.g. {@code 0.5} sends a heartbeat
+   * every 5 seconds to a check with a TTL of 10 seconds
+   *
+   * @param intervalRatio the ratio between {@code 0} and {@code 1}
+   * @return reference to this, for fluency
+   */
+  public TtlHeartbeaterOptions setIntervalRatio(double intervalRatio) {
+    this.intervalRatio = intervalRatio;
+    return this;
+  }
+
+  /**
+   * Get the jitter of the heartbeats
+   *
+   * @return the jitter as a fraction of the interval
+   */
+  public double getJitter() {
+    return jitter;
+  }
+
+  /**
+   * Set the jitter of the heartbeats: each interval is shortened by a random fraction of itself up to the jitter,
+   * so that the heartbeats of the checks registered together do not stay synchronized
+   *
+   * @param jitter the jitter between {@code 0} and {@code 1}
+   * @return reference to this, for fluency
+   */
+  public TtlHeartbeaterOptions setJitter(double jitter) {
+    this.jitter = jitter;
+    return this;
+  }
+
+  /**
+   * Get the maximum number of heartbeats in flight
+   *
+   * @return the maximum number of heartbeats
+   */
+  public int getMaxConcurrentHeartbeats() {
+    return maxConcurrentHeartbeats;
+  }
+
+  /**
+   * Set the maximum number of heartbeats in flight, the due heartbeats wait for a slot.
+   * The status transitions are sent before the periodic heartbeats.
+   *
+   * @param maxConcurrentHeartbeats the maximum number of heartbeats
+   * @return reference to this, for fluency
+   */
+  public TtlHeartbeaterOptions setMaxConcurrentHeartbeats(int maxConcurrentHeartbeats) {
+    this.maxConcurrentHeartbeats = maxConcurrentHeartbeats;
+    return this;
+  }
+
+  /**
+   * Get the resolution of the heartbeat schedule
+   *
+   * @return the tick interval in milliseconds
+   */
+  public long getTickInterval() {
+    return tickInterval;
+  }
+
+  /**
+   * Set the resolution of the heartbeat schedule: the heartbeats are run by a single periodic timer that fires
+   * at this interval, a heartbeat is late by at most one tick
+   *
+   * @param tickInterval the tick interval in milliseconds
+   * @return reference to this, for fluency
+   */
+  public TtlHeartbeaterOptions setTickInterval(long tickInterval) {
+    this.tickInterval = tickInterval;
+    return this;
+  }
+}
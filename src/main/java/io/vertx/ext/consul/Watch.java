@@ -220,6 +220,17 @@ public interface Watch<T> {
   @Fluent
   Watch<T> setHandler(Handler<WatchResult<T>> handler);
 
+  /**
+   * Set the handler to be notified with the difference between the previous and the new result.
+   * The difference is computed once per change, only when a delta handler is set.
+   * The first result is reported as a delta where every entry is added.
+   *
+   * @param handler the delta handler
+   * @return reference to this, for fluency
+   */
+  @Fluent
+  Watch<T> setDeltaHandler(Handler<WatchDelta<T>> handler);
+
   /**
    * Start this {@code Watch}
    *
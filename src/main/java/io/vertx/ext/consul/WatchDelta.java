@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.Nullable;
+import io.vertx.codegen.annotations.VertxGen;
+
+/**
+ * The difference between two consecutive results of a {@link Watch}. Entries are matched by their identity:
+ * the key for key/value pairs, the node and the service ID for service entries, the node and the check ID
+ * for health checks, the name for nodes and services, the ID for events.
+ * <p>
+ * For list results every method returns a list of the same type holding the matched entries, with the index
+ * of the new result. For a single key/value pair the methods return the pair or {@code null}.
+ *
+ * @see Watch#setDeltaHandler(io.vertx.core.Handler)
+ */
+@VertxGen
+public interface WatchDelta<T> {
+
+  /**
+   * @return the entries that are present in the new result only
+   */
+  @Nullable T added();
+
+  /**
+   * @return the entries that are present in the previous result only, as they were
+   */
+  @Nullable T removed();
+
+  /**
+   * @return the entries that are present in both results and have changed, as they are now
+   */
+  @Nullable T modified();
+
+  /**
+   * @return {@code true} if no entry has been added, removed or modified
+   */
+  boolean isEmpty();
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.VertxGen;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.ext.consul.impl.WatchManagerImpl;
+
+/**
+ * Creates {@link Watch}es that share a single Consul client and its connection pool.
+ * Identical watches (same endpoint and same query) are backed by a single blocking query,
+ * its results are fanned out to every started watch.
+ * <p>
+ * Each distinct blocking query holds a connection of the pool while it is waiting for a change,
+ * so the pool should be sized according to the number of distinct watches.
+ *
+ * @see Watch
+ */
+@VertxGen
+public interface WatchManager {
+
+  /**
+   * The default maximum size of the connection pool of the manager
+   */
+  int DEFAULT_MAX_POOL_SIZE = 1024;
+
+  /**
+   * Create a watch manager with default Consul client options.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @return the watch manager
+   */
+  static WatchManager create(Vertx vertx) {
+    return create(vertx, new ConsulClientOptions());
+  }
+
+  /**
+   * Create a watch manager, the connection pool holds at most {@link #DEFAULT_MAX_POOL_SIZE} connections.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param options the options to create the shared Consul client
+   * @return the watch manager
+   */
+  static WatchManager create(Vertx vertx, ConsulClientOptions options) {
+    return create(vertx, options, new PoolOptions().setHttp1MaxSize(DEFAULT_MAX_POOL_SIZE));
+  }
+
+  /**
+   * Create a watch manager.
+   *
+   * @param vertx the {@code Vertx} instance
+   * @param options the options to create the shared Consul client
+   * @param poolOptions the options of the shared connection pool
+   * @return the watch manager
+   */
+  static WatchManager create(Vertx vertx, ConsulClientOptions options, PoolOptions poolOptions) {
+    return new WatchManagerImpl(vertx, options, poolOptions);
+  }
+
+  /**
+   * Creates {@code Watch} to monitoring a specific key in the KV store.
+   *
+   * @param key the key
+   * @return the {@code Watch} instance
+   * @see Watch#key(String, Vertx, ConsulClientOptions)
+   */
+  Watch<KeyValue> key(String key);
+
+  /**
+   * Creates {@code Watch} to monitoring a prefix of keys in the KV store.
+   *
+   * @param keyPrefix the key
+   * @return the {@code Watch} instance
+   * @see Watch#keyPrefix(String, Vertx, ConsulClientOptions)
+   */
+  Watch<KeyValueList> keyPrefix(String keyPrefix);
+
+  /**
+   * Creates {@code Watch} to monitoring the list of available services.
+   *
+   * @return the {@code Watch} instance
+   * @see Watch#services(Vertx, ConsulClientOptions)
+   */
+  Watch<ServiceList> services();
+
+  /**
+   * Creates {@code Watch} to monitoring the nodes providing the service.
+   *
+   * @param service the service name
+   * @return the {@code Watch} instance
+   * @see Watch#service(String, Vertx, ConsulClientOptions)
+   */
+  Watch<ServiceEntryList> service(String service);
+
+  /**
+   * Creates {@code Watch} to monitoring the custom user events.
+   *
+   * @param event the event name
+   * @return the {@code Watch} instance
+   * @see Watch#events(String, Vertx, ConsulClientOptions)
+   */
+  Watch<EventList> events(String event);
+
+  /**
+   * Creates {@code Watch} to monitoring the list of available nodes.
+   *
+   * @return the {@code Watch} instance
+   * @see Watch#nodes(Vertx, ConsulClientOptions)
+   */
+  Watch<NodeList> nodes();
+
+  /**
+   * Creates {@code Watch} to monitoring the health checks of the node.
+   *
+   * @param node node name or ID
+   * @param options options like namespace, datacenter and filter
+   * @return the {@code Watch} instance
+   * @see Watch#nodeHealthChecks(String, CheckQueryOptions, Vertx, ConsulClientOptions)
+   */
+  Watch<CheckList> nodeHealthChecks(String node, CheckQueryOptions options);
+
+  /**
+   * Creates {@code Watch} to monitoring the health checks of the service.
+   *
+   * @param service the service name
+   * @param options options used to request checks
+   * @return the {@code Watch} instance
+   * @see Watch#serviceHealthChecks(String, CheckQueryOptions, Vertx, ConsulClientOptions)
+   */
+  Watch<CheckList> serviceHealthChecks(String service, CheckQueryOptions options);
+
+  /**
+   * @return the number of started watches
+   */
+  int watchCount();
+
+  /**
+   * @return the number of distinct blocking queries backing the started watches
+   */
+  int queryCount();
+
+  /**
+   * @return the number of requests to Consul that are currently in flight, each of them holds a pooled connection
+   */
+  int inFlightRequests();
+
+  /**
+   * @return the maximum number of connections of the shared pool
+   */
+  int maxPoolSize();
+
+  /**
+   * Stop all the watches and close the shared client
+   */
+  void close();
+}
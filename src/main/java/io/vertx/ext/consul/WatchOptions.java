@@ -0,0 +1,294 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul;
+
+import io.vertx.codegen.annotations.DataObject;
+import io.vertx.codegen.json.annotations.JsonGen;
+import io.vertx.core.json.JsonObject;
+
+/**
+ * Options of the pacing of the watches built on a {@link ConsulClient}. A watch sends a new blocking query as soon as
+ * the index changes, these options bound its request rate and spread the requests of many watches over time,
+ * e.g. after the restart of a whole fleet.
+ * <p>
+ * The results of the watches can also be persisted, so that they are available at once after a restart.
+ * <p>
+ * The defaults keep the historical behavior: no minimum interval, no rate limit, no jitter and no persistence.
+ *
+ * @see ConsulClientOptions#setWatchOptions(WatchOptions)
+ */
+@DataObject
+@JsonGen(publicConverter = false)
+public class WatchOptions {
+
+  /**
+   * The default minimum interval between two requests of a watch, in milliseconds
+   */
+  public static final long DEFAULT_MIN_INTERVAL = 0;
+
+  /**
+   * The default delay before a watch queries Consul again when a response did not change its state, in milliseconds
+   */
+  public static final long DEFAULT_UNCHANGED_DELAY = 1000;
+
+  /**
+   * The default maximum delay between two attempts of a failing watch, in milliseconds
+   */
+  public static final long DEFAULT_MAX_RETRY_DELAY = 180_000;
+
+  /**
+   * The default jitter of the delays and of the wait time of a watch
+   */
+  public static final double DEFAULT_JITTER = 0;
+
+  /**
+   * The default maximum rate of the requests of a watch, in requests per second
+   */
+  public static final double DEFAULT_RATE_LIMIT = 0;
+
+  /**
+   * The default number of requests a watch can send at once before its rate limit applies
+   */
+  public static final int DEFAULT_RATE_BURST = 1;
+
+  /**
+   * The default interval between two writes of the snapshots of the watches, in milliseconds
+   */
+  public static final long DEFAULT_SNAPSHOT_SYNC_INTERVAL = 1000;
+
+  private long minInterval = DEFAULT_MIN_INTERVAL;
+  private long unchangedDelay = DEFAULT_UNCHANGED_DELAY;
+  private long maxRetryDelay = DEFAULT_MAX_RETRY_DELAY;
+  private double jitter = DEFAULT_JITTER;
+  private double rateLimit = DEFAULT_RATE_LIMIT;
+  private int rateBurst = DEFAULT_RATE_BURST;
+  private String snapshotDir;
+  private long snapshotSyncInterval = DEFAULT_SNAPSHOT_SYNC_INTERVAL;
+
+  /**
+   * Default constructor
+   */
+  public WatchOptions() {}
+
+  /**
+   * Copy constructor
+   *
+   * @param options the one to copy
+   */
+  public WatchOptions(WatchOptions options) {
+    this.minInterval = options.minInterval;
+    this.unchangedDelay = options.unchangedDelay;
+    this.maxRetryDelay = options.maxRetryDelay;
+    this.jitter = options.jitter;
+    this.rateLimit = options.rateLimit;
+    this.rateBurst = options.rateBurst;
+    this.snapshotDir = options.snapshotDir;
+    this.snapshotSyncInterval = options.snapshotSyncInterval;
+  }
+
+  /**
+   * Constructor from JSON
+   *
+   * @param options the JSON
+   */
+  public WatchOptions(JsonObject options) {
+    this();
+    WatchOptionsConverter.fromJson(options, this);
+  }
+
+  /**
+   * Convert to JSON
+   *
+   * @return the JSON
+   */
+  public JsonObject toJson() {
+    JsonObject jsonObject = new JsonObject();
+    WatchOptionsConverter.toJson(this, jsonObject);
+    return jsonObject;
+  }
+
+  /**
+   * Get the minimum interval between two requests of a watch
+   *
+   * @return the interval in milliseconds
+   */
+  public long getMinInterval() {
+    return minInterval;
+  }
+
+  /**
+   * Set the minimum interval between two requests of a watch. A watch whose data changes continuously
+   * sends at most one request per interval instead of one per change.
+   *
+   * @param minInterval the interval in milliseconds
+   * @return reference to this, for fluency
+   */
+  public WatchOptions setMinInterval(long minInterval) {
+    this.minInterval = minInterval;
+    return this;
+  }
+
+  /**
+   * Get the delay before a watch queries Consul again when a response did not change its state
+   *
+   * @return the delay in milliseconds
+   */
+  public long getUnchangedDelay() {
+    return unchangedDelay;
+  }
+
+  /**
+   * Set the delay before a watch queries Consul again when a response did not change its state,
+   * e.g. when the wait time of the blocking query elapsed
+   *
+   * @param unchangedDelay the delay in milliseconds
+   * @return reference to this, for fluency
+   */
+  public WatchOptions setUnchangedDelay(long unchangedDelay) {
+    this.unchangedDelay = unchangedDelay;
+    return this;
+  }
+
+  /**
+   * Get the maximum delay between two attempts of a failing watch
+   *
+   * @return the delay in milliseconds
+   */
+  public long getMaxRetryDelay() {
+    return maxRetryDelay;
+  }
+
+  /**
+   * Set the maximum delay between two attempts of a failing watch. The delay grows with the square
+   * of the number of consecutive failures, in seconds, up to this value.
+   *
+   * @param maxRetryDelay the delay in milliseconds
+   * @return reference to this, for fluency
+   */
+  public WatchOptions setMaxRetryDelay(long maxRetryDelay) {
+    this.maxRetryDelay = maxRetryDelay;
+    return this;
+  }
+
+  /**
+   * Get the jitter of the delays and of the wait time of a watch
+   *
+   * @return the jitter, between 0 and 1
+   */
+  public double getJitter() {
+    return jitter;
+  }
+
+  /**
+   * Set the jitter of the delays and of the wait time of a watch. Each retry delay, each delay after an unchanged
+   * response and the {@code wait} parameter of each blocking query is shortened by a random fraction of itself,
+   * up to the jitter: with {@code 0.5} a retry delay of 4 seconds becomes a random delay between 2 and 4 seconds,
+   * with {@code 1} it can be anything up to 4 seconds.
+   *
+   * @param jitter the jitter, between 0 and 1
+   * @return reference to this, for fluency
+   */
+  public WatchOptions setJitter(double jitter) {
+    this.jitter = jitter;
+    return this;
+  }
+
+  /**
+   * Get the maximum rate of the requests of a watch
+   *
+   * @return the rate in requests per second, {@code 0} if unlimited
+   */
+  public double getRateLimit() {
+    return rateLimit;
+  }
+
+  /**
+   * Set the maximum rate of the requests of a watch, each watch is limited on its own. The requests that exceed
+   * the rate are delayed, not dropped.
+   *
+   * @param rateLimit the rate in requests per second, {@code 0} if unlimited
+   * @return reference to this, for fluency
+   */
+  public WatchOptions setRateLimit(double rateLimit) {
+    this.rateLimit = rateLimit;
+    return this;
+  }
+
+  /**
+   * Get the number of requests a watch can send at once before its rate limit applies
+   *
+   * @return the burst
+   */
+  public int getRateBurst() {
+    return rateBurst;
+  }
+
+  /**
+   * Set the number of requests a watch can send at once before its rate limit applies
+   *
+   * @param rateBurst the burst, at least 1
+   * @return reference to this, for fluency
+   */
+  public WatchOptions setRateBurst(int rateBurst) {
+    this.rateBurst = rateBurst;
+    return this;
+  }
+
+  /**
+   * Get the directory where the watches persist their last result
+   *
+   * @return the directory, {@code null} if the results are not persisted
+   */
+  public String getSnapshotDir() {
+    return snapshotDir;
+  }
+
+  /**
+   * Set the directory where the watches persist their last result and its index. A watch started with a snapshot
+   * delivers the persisted result immediately, then blocks on the persisted index instead of reading everything
+   * again: a restarted application gets its state without a burst of requests. The directory is created if needed,
+   * it must not be shared by applications watching different Consul clusters with the same client options.
+   *
+   * @param snapshotDir the directory, {@code null} to not persist the results
+   * @return reference to this, for fluency
+   */
+  public WatchOptions setSnapshotDir(String snapshotDir) {
+    this.snapshotDir = snapshotDir;
+    return this;
+  }
+
+  /**
+   * Get the interval between two writes of the snapshots
+   *
+   * @return the interval in milliseconds
+   */
+  public long getSnapshotSyncInterval() {
+    return snapshotSyncInterval;
+  }
+
+  /**
+   * Set the interval between two writes of the snapshots. The new results of the watches are written and synced
+   * to the disk together once per interval, only the last result of a watch is written. A longer interval
+   * means fewer writes but a staler snapshot after a crash.
+   *
+   * @param snapshotSyncInterval the interval in milliseconds
+   * @return reference to this, for fluency
+   */
+  public WatchOptions setSnapshotSyncInterval(long snapshotSyncInterval) {
+    this.snapshotSyncInterval = snapshotSyncInterval;
+    return this;
+  }
+}
@@ -15,10 +15,13 @@
  */
 package io.vertx.ext.consul.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.Check;
 import io.vertx.ext.consul.CheckStatus;
 
+import java.io.IOException;
+
 /**
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
  */
@@ -37,10 +40,46 @@ class CheckParser {
     return new Check()
       .setId(check.getString(ID_KEY))
       .setName(check.getString(NAME_KEY))
+      .setNode(check.getString(NODE_KEY))
       .setStatus(CheckStatus.of(check.getString(STATUS_KEY)))
       .setNotes(check.getString(NOTES_KEY))
       .setOutput(check.getString(OUTPUT_KEY))
       .setServiceId(check.getString(SERVICE_ID_KEY))
       .setServiceName(check.getString(SERVICE_NAME_KEY));
   }
+
+  static Check read(JsonParser parser) throws IOException {
+    Check check = new Check();
+    JsonReader.readFields(parser, name -> {
+      switch (name) {
+        case ID_KEY:
+          check.setId(JsonReader.string(parser));
+          break;
+        case NAME_KEY:
+          check.setName(JsonReader.string(parser));
+          break;
+        case NODE_KEY:
+          check.setNode(JsonReader.string(parser));
+          break;
+        case STATUS_KEY:
+          check.setStatus(CheckStatus.of(JsonReader.string(parser)));
+          break;
+        case NOTES_KEY:
+          check.setNotes(JsonReader.string(parser));
+          break;
+        case OUTPUT_KEY:
+          check.setOutput(JsonReader.string(parser));
+          break;
+        case SERVICE_ID_KEY:
+          check.setServiceId(JsonReader.string(parser));
+          break;
+        case SERVICE_NAME_KEY:
+          check.setServiceName(JsonReader.string(parser));
+          break;
+        default:
+          parser.skipChildren();
+      }
+    });
+    return check;
+  }
 }
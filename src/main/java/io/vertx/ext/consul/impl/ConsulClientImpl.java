@@ -16,12 +16,15 @@
 package io.vertx.ext.consul.impl;
 
 import io.netty.handler.codec.http.HttpResponseStatus;
+import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.MultiMap;
+import io.vertx.core.Promise;
 import io.vertx.core.Vertx;
 import io.vertx.core.VertxException;
 import io.vertx.core.buffer.Buffer;
 import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.PoolOptions;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.*;
@@ -31,14 +34,17 @@ import io.vertx.ext.consul.token.CloneAclTokenOptions;
 import io.vertx.ext.web.client.HttpRequest;
 import io.vertx.ext.web.client.HttpResponse;
 import io.vertx.ext.web.client.WebClient;
+import io.vertx.ext.web.codec.BodyCodec;
 
+import java.net.ConnectException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static io.vertx.ext.consul.impl.Utils.listOf;
-import static io.vertx.ext.consul.impl.Utils.urlEncode;
 
 /**
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
@@ -47,23 +53,92 @@ public class ConsulClientImpl implements ConsulClient {
 
   private static final String TOKEN_HEADER = "X-Consul-Token";
   private static final String INDEX_HEADER = "X-Consul-Index";
+  private static final String KNOWN_LEADER_HEADER = "X-Consul-KnownLeader";
+  private static final String LAST_CONTACT_HEADER = "X-Consul-LastContact";
+  private static final String CACHE_HEADER = "X-Cache";
+  private static final String AGE_HEADER = "Age";
+  private static final String CACHE_CONTROL_HEADER = "Cache-Control";
 
   private static final List<Integer> DEFAULT_VALID_CODES = Collections.singletonList(HttpResponseStatus.OK.code());
   private static final List<Integer> TXN_VALID_CODES = Arrays.asList(HttpResponseStatus.OK.code(), HttpResponseStatus.CONFLICT.code());
   private static final List<Integer> KV_VALID_CODES = Arrays.asList(HttpResponseStatus.OK.code(), HttpResponseStatus.NOT_FOUND.code());
 
+  private final Vertx vertx;
   private final WebClient webClient;
   private final String aclToken;
-  private final String dc;
+  // the encoded datacenter parameter, appended to every request
+  private final String dcParam;
   private final long timeoutMs;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final ConsulMetrics metrics;
+  private final EndpointSelector endpoints;
+  private final Hedging hedging;
+  // the reads in flight by method, path and parameters, null when the reads are not coalesced
+  private final Map<String, Future<?>> readsInFlight;
+  private final WatchOptions watchOptions;
+  private final WatchSnapshotStore snapshots;
 
   public ConsulClientImpl(Vertx vertx, ConsulClientOptions options) {
+    this(vertx, options, new PoolOptions());
+  }
+
+  public ConsulClientImpl(Vertx vertx, ConsulClientOptions options, PoolOptions poolOptions) {
     Objects.requireNonNull(vertx);
     Objects.requireNonNull(options);
-    webClient = WebClient.create(vertx, options);
+    Objects.requireNonNull(poolOptions);
+    this.vertx = vertx;
+    webClient = WebClient.create(vertx, options, poolOptions);
     aclToken = options.getAclToken();
-    dc = options.getDc();
+    dcParam = options.getDc() == null ? null : "dc=" + UriEncoder.encodeSegment(options.getDc(), false);
     timeoutMs = options.getTimeout();
+    metrics = options.getMetrics() != null ? options.getMetrics() : ConsulMetrics.NOOP;
+    endpoints = options.getEndpoints() == null || options.getEndpoints().isEmpty()
+      ? null
+      : new EndpointSelector(options.getEndpoints());
+    hedging = options.getHedgingOptions() == null ? null : new Hedging(options.getHedgingOptions());
+    readsInFlight = options.isCoalesceReads() ? new ConcurrentHashMap<>() : null;
+    watchOptions = options.getWatchOptions() == null ? new WatchOptions() : new WatchOptions(options.getWatchOptions());
+    snapshots = watchOptions.getSnapshotDir() == null
+      ? null
+      : new WatchSnapshotStore(vertx, watchOptions.getSnapshotDir(), scope(options), watchOptions.getSnapshotSyncInterval());
+  }
+
+  /**
+   * @return the number of requests sent by this client that are not completed yet
+   */
+  public int inFlightRequests() {
+    return inFlight.get();
+  }
+
+  /**
+   * @return the metrics of this client
+   */
+  ConsulMetrics metrics() {
+    return metrics;
+  }
+
+  /**
+   * @return the pacing of the watches built on this client
+   */
+  WatchOptions watchOptions() {
+    return watchOptions;
+  }
+
+  /**
+   * @return the store of the snapshots of the watches built on this client, {@code null} if they are not persisted
+   */
+  WatchSnapshotStore snapshots() {
+    return snapshots;
+  }
+
+  /**
+   * @return the identity of the Consul cluster the client is connected to
+   */
+  private static String scope(ConsulClientOptions options) {
+    String servers = options.getEndpoints() == null || options.getEndpoints().isEmpty()
+      ? options.getHost() + ":" + options.getPort()
+      : String.join(",", options.getEndpoints());
+    return options.getDc() == null ? servers : servers + "/" + options.getDc();
   }
 
   @Override
@@ -78,9 +153,9 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<CoordinateList> coordinateNodesWithOptions(BlockingQueryOptions options) {
-    return requestArray(HttpMethod.GET, "/v1/coordinate/nodes", new Query().put(options), null, (arr, headers) -> {
-      List<Coordinate> list = arr.stream().map(obj -> CoordinateParser.parse((JsonObject) obj)).collect(Collectors.toList());
-      return new CoordinateList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)));
+    return requestList(HttpMethod.GET, "/v1/coordinate/nodes", new Query().put(options), null, CoordinateParser::read, (list, headers) -> {
+      return new CoordinateList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)))
+        .setKnownLeader(knownLeader(headers)).setLastContact(lastContact(headers));
     });
   }
 
@@ -98,7 +173,7 @@ public class ConsulClientImpl implements ConsulClient {
   @Override
   public Future<List<String>> getKeysWithOptions(String keyPrefix, BlockingQueryOptions options) {
     Query query = Query.of("recurse", true).put("keys", true).put(options);
-    return request(KV_VALID_CODES, HttpMethod.GET, "/v1/kv/" + urlEncode(keyPrefix), query, null, resp -> {
+    return request(KV_VALID_CODES, HttpMethod.GET, PathTemplate.KV.expand(keyPrefix), query, null, resp -> {
       if (resp.statusCode() == HttpResponseStatus.NOT_FOUND.code()) {
         return new ArrayList<>();
       } else {
@@ -114,7 +189,7 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<KeyValue> getValueWithOptions(String key, BlockingQueryOptions options) {
-    return request(KV_VALID_CODES, HttpMethod.GET, "/v1/kv/" + urlEncode(key), new Query().put(options), null, resp -> {
+    return request(KV_VALID_CODES, HttpMethod.GET, PathTemplate.KV.expand(key), new Query().put(options), null, resp -> {
       if (resp.statusCode() == HttpResponseStatus.NOT_FOUND.code()) {
         return new KeyValue();
       } else {
@@ -125,7 +200,7 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<Void> deleteValue(String key) {
-    return requestVoid(HttpMethod.DELETE, "/v1/kv/" + urlEncode(key), null, null);
+    return requestVoid(HttpMethod.DELETE, PathTemplate.KV.expand(key), null, null);
   }
 
   @Override
@@ -136,19 +211,36 @@ public class ConsulClientImpl implements ConsulClient {
   @Override
   public Future<KeyValueList> getValuesWithOptions(String keyPrefix, BlockingQueryOptions options) {
     Query query = Query.of("recurse", true).put(options);
-    return request(KV_VALID_CODES, HttpMethod.GET, "/v1/kv/" + urlEncode(keyPrefix), query, null, resp -> {
+    return request(KV_VALID_CODES, HttpMethod.GET, PathTemplate.KV.expand(keyPrefix), query, null, resp -> {
       if (resp.statusCode() == HttpResponseStatus.NOT_FOUND.code()) {
         return new KeyValueList();
       } else {
-        List<KeyValue> list = resp.bodyAsJsonArray().stream().map(obj -> KVParser.parse((JsonObject) obj)).collect(Collectors.toList());
-        return new KeyValueList().setList(list).setIndex(Long.parseLong(resp.headers().get(INDEX_HEADER)));
+        List<KeyValue> list = JsonReader.readArray(resp.body(), KVParser::read);
+        return new KeyValueList().setList(list).setIndex(Long.parseLong(resp.headers().get(INDEX_HEADER)))
+          .setKnownLeader(knownLeader(resp.headers())).setLastContact(lastContact(resp.headers()));
       }
     });
   }
 
+  @Override
+  public KeyValueStream streamValues(String keyPrefix) {
+    return streamValuesWithOptions(keyPrefix, null);
+  }
+
+  @Override
+  public KeyValueStream streamValuesWithOptions(String keyPrefix, BlockingQueryOptions options) {
+    Query query = Query.of("recurse", true).put(options);
+    return new KeyValueStreamImpl(KV_VALID_CODES, sink -> {
+      String path = PathTemplate.KV.expand(keyPrefix);
+      Call call = new Call(HttpMethod.GET, path, query, 0);
+      return send(HttpMethod.GET, path, query, true, rq -> rq.as(BodyCodec.pipe(sink, false)).send())
+        .andThen(ar -> call.end(ar.succeeded() ? ar.result().statusCode() : 0, -1, ar.cause()));
+    });
+  }
+
   @Override
   public Future<Void> deleteValues(String keyPrefix) {
-    return requestVoid(HttpMethod.DELETE, "/v1/kv/" + urlEncode(keyPrefix), Query.of("recurse", true), null);
+    return requestVoid(HttpMethod.DELETE, PathTemplate.KV.expand(keyPrefix), Query.of("recurse", true), null);
   }
 
   @Override
@@ -158,6 +250,16 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<Boolean> putValueWithOptions(String key, String value, KeyValueOptions options) {
+    return putValueWithOptions(key, value == null ? null : Buffer.buffer(value), options);
+  }
+
+  @Override
+  public Future<Boolean> putValue(String key, Buffer value) {
+    return putValueWithOptions(key, value, null);
+  }
+
+  @Override
+  public Future<Boolean> putValueWithOptions(String key, Buffer value, KeyValueOptions options) {
     Query query = new Query();
     if (options != null) {
       query.put("flags", Long.toUnsignedString(options.getFlags()))
@@ -168,13 +270,14 @@ public class ConsulClientImpl implements ConsulClient {
         query.put("cas", cas);
       }
     }
-    return requestString(HttpMethod.PUT, "/v1/kv/" + urlEncode(key), query, value, (bool, headers) -> Boolean.valueOf(bool));
+    return request(DEFAULT_VALID_CODES, HttpMethod.PUT, PathTemplate.KV.expand(key), query, value,
+      resp -> Boolean.valueOf(resp.bodyAsString().trim()));
   }
 
   @Override
   public Future<TxnResponse> transaction(TxnRequest request) {
     String boby = request.toJson().getJsonArray("operations").encode();
-    return request(TXN_VALID_CODES, HttpMethod.PUT, "/v1/txn", null, boby, resp -> TxnResponseParser.parse(resp.bodyAsJsonObject()));
+    return request(TXN_VALID_CODES, HttpMethod.PUT, "/v1/txn", null, Buffer.buffer(boby), resp -> TxnResponseParser.parse(resp.bodyAsJsonObject()));
   }
 
   @Override
@@ -192,28 +295,28 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<AclPolicy> readPolicy(String id) {
-    return requestObject(HttpMethod.GET, "/v1/acl/policy/" + urlEncode(id), null, null, (obj, headers) ->
+    return requestObject(HttpMethod.GET, PathTemplate.ACL_POLICY.expand(id), null, null, (obj, headers) ->
       new AclPolicy(obj)
     );
   }
 
   @Override
   public Future<AclPolicy> readPolicyByName(String name) {
-    return requestObject(HttpMethod.GET, "/v1/acl/policy/name/" + urlEncode(name), null, null, (obj, headers) ->
+    return requestObject(HttpMethod.GET, PathTemplate.ACL_POLICY_NAME.expand(name), null, null, (obj, headers) ->
       new AclPolicy(obj)
     );
   }
 
   @Override
   public Future<AclPolicy> updatePolicy(String id, AclPolicy policy) {
-    return requestObject(HttpMethod.PUT, "/v1/acl/policy/" + urlEncode(id), null, policy.toJson().encode(), (obj, headers) ->
+    return requestObject(HttpMethod.PUT, PathTemplate.ACL_POLICY.expand(id), null, policy.toJson().encode(), (obj, headers) ->
       new AclPolicy(obj)
     );
   }
 
   @Override
   public Future<Boolean> deletePolicy(String id) {
-    return requestString(HttpMethod.DELETE, "/v1/acl/policy/" + urlEncode(id), null, null, (str, headers) ->
+    return requestString(HttpMethod.DELETE, PathTemplate.ACL_POLICY.expand(id), null, null, (str, headers) ->
       Boolean.parseBoolean(str)
     );
   }
@@ -235,14 +338,14 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<AclToken> updateAclToken(String accessorId, AclToken token) {
-    return requestObject(HttpMethod.PUT, "/v1/acl/token/" + urlEncode(accessorId), null, token.toJson().encode(),
+    return requestObject(HttpMethod.PUT, PathTemplate.ACL_TOKEN.expand(accessorId), null, token.toJson().encode(),
       (obj, headers) -> new AclToken(obj)
     );
   }
 
   @Override
   public Future<AclToken> cloneAclToken(String accessorId, CloneAclTokenOptions cloneAclTokenOptions) {
-    return requestObject(HttpMethod.PUT, "/v1/acl/token/" + urlEncode(accessorId) + "/clone", null,
+    return requestObject(HttpMethod.PUT, PathTemplate.ACL_TOKEN.expand(accessorId, "/clone"), null,
       cloneAclTokenOptions.toJson().encode(),
       (obj, headers) -> new AclToken(obj)
     );
@@ -258,14 +361,14 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<AclToken> readAclToken(String accessorId) {
-    return requestObject(HttpMethod.GET, "/v1/acl/token/" + urlEncode(accessorId), null, null,
+    return requestObject(HttpMethod.GET, PathTemplate.ACL_TOKEN.expand(accessorId), null, null,
       (obj, headers) -> new AclToken(obj)
     );
   }
 
   @Override
   public Future<Boolean> deleteAclToken(String accessorId) {
-    return requestString(HttpMethod.DELETE, "/v1/acl/token/" + urlEncode(accessorId), null, null,
+    return requestString(HttpMethod.DELETE, PathTemplate.ACL_TOKEN.expand(accessorId), null, null,
       (str, headers) -> Boolean.parseBoolean(str)
     );
   }
@@ -284,7 +387,7 @@ public class ConsulClientImpl implements ConsulClient {
     String body = options == null || options.getPayload() == null ? "" : options.getPayload();
     return requestObject(
       HttpMethod.PUT,
-      "/v1/event/fire/" + urlEncode(name),
+      PathTemplate.EVENT_FIRE.expand(name),
       query,
       body,
       (jsonObject, headers) -> EventParser.parse(jsonObject)
@@ -299,11 +402,7 @@ public class ConsulClientImpl implements ConsulClient {
   @Override
   public Future<EventList> listEventsWithOptions(EventListOptions options) {
     Query query = options == null ? null : Query.of(options.getBlockingOptions()).put("name", options.getName());
-    return requestArray(HttpMethod.GET, "/v1/event/list", query, null, (jsonArray, headers) -> {
-      List<Event> list = jsonArray
-        .stream()
-        .map(obj -> EventParser.parse(((JsonObject) obj)))
-        .collect(Collectors.toList());
+    return requestList(HttpMethod.GET, "/v1/event/list", query, null, EventParser::read, (list, headers) -> {
       return new EventList().setList(list).setIndex(Long.parseUnsignedLong(headers.get(INDEX_HEADER)));
     });
   }
@@ -334,12 +433,12 @@ public class ConsulClientImpl implements ConsulClient {
   @Override
   public Future<Void> maintenanceService(MaintenanceOptions opts) {
     Query query = Query.of("enable", opts.isEnable()).put("reason", opts.getReason());
-    return requestVoid(HttpMethod.PUT, "/v1/agent/service/maintenance/" + urlEncode(opts.getId()), query, null);
+    return requestVoid(HttpMethod.PUT, PathTemplate.AGENT_SERVICE_MAINTENANCE.expand(opts.getId()), query, null);
   }
 
   @Override
   public Future<Void> deregisterService(String id) {
-    return requestVoid(HttpMethod.PUT, "/v1/agent/service/deregister/" + urlEncode(id), null, null);
+    return requestVoid(HttpMethod.PUT, PathTemplate.AGENT_SERVICE_DEREGISTER.expand(id), null, null);
   }
 
   @Override
@@ -352,10 +451,13 @@ public class ConsulClientImpl implements ConsulClient {
     Query query = options == null ? null : Query
       .of("tag", options.getTag())
       .put("near", options.getNear())
-      .put(options.getBlockingOptions());
-    return requestArray(HttpMethod.GET, "/v1/catalog/service/" + urlEncode(service), query, null, (arr, headers) -> {
+      .put(options.getBlockingOptions())
+      .cached(options.getBlockingOptions());
+    return requestArray(HttpMethod.GET, PathTemplate.CATALOG_SERVICE.expand(service), query, null, (arr, headers) -> {
       List<Service> list = arr.stream().map(obj -> new Service((JsonObject) obj)).collect(Collectors.toList());
-      return new ServiceList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)));
+      return new ServiceList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)))
+        .setKnownLeader(knownLeader(headers)).setLastContact(lastContact(headers))
+        .setCacheHit(cacheHit(headers)).setCacheAge(cacheAge(headers));
     });
   }
 
@@ -372,9 +474,9 @@ public class ConsulClientImpl implements ConsulClient {
   @Override
   public Future<NodeList> catalogNodesWithOptions(NodeQueryOptions options) {
     Query query = options == null ? null : Query.of("near", options.getNear()).put(options.getBlockingOptions());
-    return requestArray(HttpMethod.GET, "/v1/catalog/nodes", query, null, (arr, headers) -> {
-      List<Node> list = arr.stream().map(obj -> NodeParser.parse((JsonObject) obj)).collect(Collectors.toList());
-      return new NodeList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)));
+    return requestList(HttpMethod.GET, "/v1/catalog/nodes", query, null, NodeParser::read, (list, headers) -> {
+      return new NodeList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)))
+        .setKnownLeader(knownLeader(headers)).setLastContact(lastContact(headers));
     });
   }
 
@@ -404,10 +506,10 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<CheckList> healthChecksWithOptions(String service, CheckQueryOptions options) {
-    return requestArray(HttpMethod.GET, "/v1/health/checks/" + urlEncode(service), fromCheckQueryOptions(options), null,
-      (arr, headers) -> {
-        List<Check> list = arr.stream().map(obj -> CheckParser.parse((JsonObject) obj)).collect(Collectors.toList());
-        return new CheckList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)));
+    return requestList(HttpMethod.GET, PathTemplate.HEALTH_CHECKS.expand(service), fromCheckQueryOptions(options), null,
+      CheckParser::read, (list, headers) -> {
+        return new CheckList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)))
+          .setKnownLeader(knownLeader(headers)).setLastContact(lastContact(headers));
       });
   }
 
@@ -418,10 +520,10 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<CheckList> healthStateWithOptions(HealthState healthState, CheckQueryOptions options) {
-    return requestArray(HttpMethod.GET, "/v1/health/state/" + healthState.key, fromCheckQueryOptions(options), null,
-      (arr, headers) -> {
-        List<Check> list = arr.stream().map(obj -> CheckParser.parse((JsonObject) obj)).collect(Collectors.toList());
-        return new CheckList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)));
+    return requestList(HttpMethod.GET, "/v1/health/state/" + healthState.key, fromCheckQueryOptions(options), null,
+      CheckParser::read, (list, headers) -> {
+        return new CheckList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)))
+          .setKnownLeader(knownLeader(headers)).setLastContact(lastContact(headers));
       });
   }
 
@@ -438,24 +540,24 @@ public class ConsulClientImpl implements ConsulClient {
   ) {
     Query query = new Query().put("passing", passing ? 1 : null);
     if (options != null) {
-      query.put(options.getBlockingOptions()).put("near", options.getNear()).put("tag", options.getTag());
-    }
-    return requestArray(HttpMethod.GET, "/v1/health/service/" + urlEncode(service), query, null, (arr, headers) -> {
-      List<ServiceEntry> list = arr
-        .stream()
-        .map(obj -> ServiceEntryParser.parse((JsonObject) obj))
-        .collect(Collectors.toList());
-      return new ServiceEntryList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)));
+      query.put(options.getBlockingOptions()).put("near", options.getNear()).put("tag", options.getTag())
+        .cached(options.getBlockingOptions());
+    }
+    return requestList(HttpMethod.GET, PathTemplate.HEALTH_SERVICE.expand(service), query, null, ServiceEntryParser::read, (list, headers) -> {
+      return new ServiceEntryList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)))
+        .setKnownLeader(knownLeader(headers)).setLastContact(lastContact(headers))
+        .setCacheHit(cacheHit(headers)).setCacheAge(cacheAge(headers));
     });
   }
 
   @Override
   public Future<CheckList> healthNodesWithOptions(String node, CheckQueryOptions options) {
-    return requestArray(HttpMethod.GET, "/v1/health/node/" + urlEncode(node), fromCheckQueryOptions(options),
+    return requestList(HttpMethod.GET, PathTemplate.HEALTH_NODE.expand(node), fromCheckQueryOptions(options),
       options.toJson().encode(),
-      (arr, headers) -> {
-        List<Check> list = arr.stream().map(obj -> CheckParser.parse((JsonObject) obj)).collect(Collectors.toList());
-        return new CheckList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)));
+      CheckParser::read,
+      (list, headers) -> {
+        return new CheckList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)))
+          .setKnownLeader(knownLeader(headers)).setLastContact(lastContact(headers));
       }
     );
   }
@@ -467,9 +569,11 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<ServiceList> catalogServicesWithOptions(BlockingQueryOptions options) {
-    return requestObject(HttpMethod.GET, "/v1/catalog/services", Query.of(options), null, (json, headers) -> {
+    return requestObject(HttpMethod.GET, "/v1/catalog/services", Query.of(options).cached(options), null, (json, headers) -> {
       List<Service> list = json.stream().map(ServiceParser::parseCatalogInfo).collect(Collectors.toList());
-      return new ServiceList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)));
+      return new ServiceList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)))
+        .setKnownLeader(knownLeader(headers)).setLastContact(lastContact(headers))
+        .setCacheHit(cacheHit(headers)).setCacheAge(cacheAge(headers));
     });
   }
 
@@ -496,7 +600,7 @@ public class ConsulClientImpl implements ConsulClient {
   public Future<ServiceList> catalogNodeServicesWithOptions(String node, BlockingQueryOptions options) {
     return requestObject(
       HttpMethod.GET,
-      "/v1/catalog/node/" + urlEncode(node),
+      PathTemplate.CATALOG_NODE.expand(node),
       Query.of(options),
       null,
       (json, headers) -> {
@@ -506,7 +610,8 @@ public class ConsulClientImpl implements ConsulClient {
         List<Service> list = json.getJsonObject("Services").stream()
           .map(obj -> ServiceParser.parseNodeInfo(nodeName, nodeAddress, (JsonObject) obj.getValue()))
           .collect(Collectors.toList());
-        return new ServiceList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)));
+        return new ServiceList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)))
+          .setKnownLeader(knownLeader(headers)).setLastContact(lastContact(headers));
       }
     );
   }
@@ -552,7 +657,7 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<Void> deregisterCheck(String checkId) {
-    return requestVoid(HttpMethod.PUT, "/v1/agent/check/deregister/" + urlEncode(checkId), null, null);
+    return requestVoid(HttpMethod.PUT, PathTemplate.AGENT_CHECK_DEREGISTER.expand(checkId), null, null);
   }
 
   @Override
@@ -562,7 +667,7 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<Void> passCheckWithNote(String checkId, String note) {
-    return requestVoid(HttpMethod.PUT, "/v1/agent/check/pass/" + urlEncode(checkId), Query.of("note", note), null);
+    return requestVoid(HttpMethod.PUT, PathTemplate.AGENT_CHECK_PASS.expand(checkId), Query.of("note", note), null);
   }
 
   @Override
@@ -572,7 +677,7 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<Void> warnCheckWithNote(String checkId, String note) {
-    return requestVoid(HttpMethod.PUT, "/v1/agent/check/warn/" + urlEncode(checkId), Query.of("note", note), null);
+    return requestVoid(HttpMethod.PUT, PathTemplate.AGENT_CHECK_WARN.expand(checkId), Query.of("note", note), null);
   }
 
   @Override
@@ -582,7 +687,7 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<Void> failCheckWithNote(String checkId, String note) {
-    return requestVoid(HttpMethod.PUT, "/v1/agent/check/fail/" + urlEncode(checkId), Query.of("note", note), null);
+    return requestVoid(HttpMethod.PUT, PathTemplate.AGENT_CHECK_FAIL.expand(checkId), Query.of("note", note), null);
   }
 
   @Override
@@ -596,7 +701,7 @@ public class ConsulClientImpl implements ConsulClient {
     if (note != null) {
       put.put("Output", note);
     }
-    return requestVoid(HttpMethod.PUT, "/v1/agent/check/update/" + urlEncode(checkId), null, put.encode());
+    return requestVoid(HttpMethod.PUT, PathTemplate.AGENT_CHECK_UPDATE.expand(checkId), null, put.encode());
   }
 
   @Override
@@ -632,7 +737,7 @@ public class ConsulClientImpl implements ConsulClient {
   public Future<Session> infoSessionWithOptions(String id, BlockingQueryOptions options) {
     return requestArray(
       HttpMethod.GET,
-      "/v1/session/info/" + urlEncode(id),
+      PathTemplate.SESSION_INFO.expand(id),
       Query.of(options),
       null,
       (sessions, headers) -> {
@@ -647,7 +752,7 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<Session> renewSession(String id) {
-    return requestArray(HttpMethod.PUT, "/v1/session/renew/" + urlEncode(id), null, null, (arr, headers) ->
+    return requestArray(HttpMethod.PUT, PathTemplate.SESSION_RENEW.expand(id), null, null, (arr, headers) ->
       SessionParser.parse(arr.getJsonObject(0)));
   }
 
@@ -658,9 +763,9 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<SessionList> listSessionsWithOptions(BlockingQueryOptions options) {
-    return requestArray(HttpMethod.GET, "/v1/session/list", Query.of(options), null, (arr, headers) -> {
-      List<Session> list = arr.stream().map(obj -> SessionParser.parse((JsonObject) obj)).collect(Collectors.toList());
-      return new SessionList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)));
+    return requestList(HttpMethod.GET, "/v1/session/list", Query.of(options), null, SessionParser::read, (list, headers) -> {
+      return new SessionList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)))
+        .setKnownLeader(knownLeader(headers)).setLastContact(lastContact(headers));
     });
   }
 
@@ -671,24 +776,22 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<SessionList> listNodeSessionsWithOptions(String nodeId, BlockingQueryOptions options) {
-    return requestArray(
+    return requestList(
       HttpMethod.GET,
-      "/v1/session/node/" + urlEncode(nodeId),
+      PathTemplate.SESSION_NODE.expand(nodeId),
       Query.of(options),
       null,
-      (arr, headers) -> {
-        List<Session> list = arr
-          .stream()
-          .map(obj -> SessionParser.parse((JsonObject) obj))
-          .collect(Collectors.toList());
-        return new SessionList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)));
+      SessionParser::read,
+      (list, headers) -> {
+        return new SessionList().setList(list).setIndex(Long.parseLong(headers.get(INDEX_HEADER)))
+          .setKnownLeader(knownLeader(headers)).setLastContact(lastContact(headers));
       }
     );
   }
 
   @Override
   public Future<Void> destroySession(String id) {
-    return requestVoid(HttpMethod.PUT, "/v1/session/destroy/" + urlEncode(id), null, null);
+    return requestVoid(HttpMethod.PUT, PathTemplate.SESSION_DESTROY.expand(id), null, null);
   }
 
   @Override
@@ -714,19 +817,19 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public Future<Void> updatePreparedQuery(PreparedQueryDefinition definition) {
-    String path = "/v1/query/" + urlEncode(definition.getId());
+    String path = PathTemplate.QUERY.expand(definition.getId());
     return requestVoid(HttpMethod.PUT, path, null, definition.toJson().encode());
   }
 
   private Future<List<PreparedQueryDefinition>> getPreparedQueryList(String id) {
-    String path = "/v1/query" + (id == null ? "" : "/" + urlEncode(id));
+    String path = id == null ? "/v1/query" : PathTemplate.QUERY.expand(id);
     return requestArray(HttpMethod.GET, path, null, null, (arr, headers) -> arr.stream()
       .map(obj -> new PreparedQueryDefinition((JsonObject) obj)).collect(Collectors.toList()));
   }
 
   @Override
   public Future<Void> deletePreparedQuery(String id) {
-    return requestVoid(HttpMethod.DELETE, "/v1/query/" + urlEncode(id), null, null);
+    return requestVoid(HttpMethod.DELETE, PathTemplate.QUERY.expand(id), null, null);
   }
 
   @Override
@@ -739,10 +842,11 @@ public class ConsulClientImpl implements ConsulClient {
     String query,
     PreparedQueryExecuteOptions options
   ) {
-    String path = "/v1/query/" + urlEncode(query) + "/execute";
+    String path = PathTemplate.QUERY.expand(query, "/execute");
     Query q = new Query();
     if (options != null) {
-      q.put("near", options.getNear()).put("limit", options.getLimit());
+      q.put("near", options.getNear()).put("limit", options.getLimit())
+        .cached(options.isCached(), options.getMaxAge(), options.getStaleIfError());
     }
     return requestObject(HttpMethod.GET, path, q, null, (obj, headers) -> {
       return new PreparedQueryExecuteResponse()
@@ -752,7 +856,8 @@ public class ConsulClientImpl implements ConsulClient {
         .setDnsTtl(obj.getJsonObject("DNS").getString("TTL"))
         .setNodes(obj.getJsonArray("Nodes").stream()
           .map(o -> ServiceEntryParser.parse((JsonObject) o))
-          .collect(Collectors.toList()));
+          .collect(Collectors.toList()))
+        .setCacheHit(cacheHit(headers)).setCacheAge(cacheAge(headers));
     });
   }
 
@@ -822,6 +927,9 @@ public class ConsulClientImpl implements ConsulClient {
 
   @Override
   public void close() {
+    if (snapshots != null) {
+      snapshots.close();
+    }
     webClient.close();
   }
 
@@ -834,11 +942,25 @@ public class ConsulClientImpl implements ConsulClient {
       method,
       path,
       query,
-      body,
+      toBuffer(body),
       resp -> mapper.apply(resp.bodyAsJsonArray(), resp.headers())
     );
   }
 
+  private <E, T> Future<T> requestList(
+    HttpMethod method, String path, Query query, String body,
+    JsonReader.Reader<E> reader, BiFunction<List<E>, MultiMap, T> mapper
+  ) {
+    return request(
+      DEFAULT_VALID_CODES,
+      method,
+      path,
+      query,
+      toBuffer(body),
+      resp -> mapper.apply(JsonReader.readArray(resp.body(), reader), resp.headers())
+    );
+  }
+
   private <T> Future<T> requestObject(
     HttpMethod method, String path, Query query, String body,
     BiFunction<JsonObject, MultiMap, T> mapper
@@ -848,7 +970,7 @@ public class ConsulClientImpl implements ConsulClient {
       method,
       path,
       query,
-      body,
+      toBuffer(body),
       resp -> mapper.apply(resp.bodyAsJsonObject(), resp.headers())
     );
   }
@@ -862,34 +984,86 @@ public class ConsulClientImpl implements ConsulClient {
       method,
       path,
       query,
-      body,
+      toBuffer(body),
       resp -> mapper.apply(resp.bodyAsString().trim(), resp.headers())
     );
   }
 
   private <T> Future<T> requestVoid(HttpMethod method, String path, Query query, String body) {
-    return request(DEFAULT_VALID_CODES, method, path, query, body, resp -> null);
+    return request(DEFAULT_VALID_CODES, method, path, query, toBuffer(body), resp -> null);
   }
 
+  private static boolean knownLeader(MultiMap headers) {
+    return Boolean.parseBoolean(headers.get(KNOWN_LEADER_HEADER));
+  }
+
+  private static long lastContact(MultiMap headers) {
+    String lastContact = headers.get(LAST_CONTACT_HEADER);
+    return lastContact == null ? 0 : Long.parseLong(lastContact);
+  }
+
+  private static boolean cacheHit(MultiMap headers) {
+    return "HIT".equalsIgnoreCase(headers.get(CACHE_HEADER));
+  }
+
+  private static long cacheAge(MultiMap headers) {
+    String age = headers.get(AGE_HEADER);
+    return age == null ? 0 : Long.parseLong(age);
+  }
+
+  private static Buffer toBuffer(String body) {
+    return body == null ? null : Buffer.buffer(body);
+  }
+
+  /**
+   * Send a request, or share the result of an identical read in flight when the reads are coalesced.
+   * A path and its parameters are always mapped to the same type of result by this client.
+   */
+  @SuppressWarnings("unchecked")
   private <T> Future<T> request(
-    List<Integer> validCodes, HttpMethod method, String path, Query query, String body,
+    List<Integer> validCodes, HttpMethod method, String path, Query query, Buffer body,
     Function<HttpResponse<Buffer>, T> mapper
   ) {
-    if (query == null) {
-      query = new Query();
+    if (readsInFlight == null || method != HttpMethod.GET) {
+      return execute(validCodes, method, path, query, body, mapper);
     }
-    if (dc != null) {
-      query.put("dc", dc);
+    String key = method.name() + ' ' + path + '?' + (query == null ? "" : query.canonical());
+    Promise<T> promise = Promise.promise();
+    Future<?> shared = readsInFlight.putIfAbsent(key, promise.future());
+    if (shared != null) {
+      metrics.requestCoalesced(method.name(), EndpointTemplates.of(path));
+      return (Future<T>) shared;
     }
-    HttpRequest<Buffer> rq = webClient.request(method, path);
-    query.entrySet().forEach(e -> rq.addQueryParam(e.getKey(), e.getValue()));
-    if (aclToken != null) {
-      rq.putHeader(TOKEN_HEADER, aclToken);
-    }
-    if (timeoutMs > 0) {
-      rq.timeout(timeoutMs);
+    execute(validCodes, method, path, query, body, mapper).onComplete(ar -> {
+      // a read that starts from now on sends a new request
+      readsInFlight.remove(key, promise.future());
+      promise.handle(ar);
+    });
+    return promise.future();
+  }
+
+  private <T> Future<T> execute(
+    List<Integer> validCodes, HttpMethod method, String path, Query query, Buffer body,
+    Function<HttpResponse<Buffer>, T> mapper
+  ) {
+    Buffer payload = body == null ? Buffer.buffer() : body;
+    Call call = new Call(method, path, query, payload.length());
+    Function<HttpRequest<Buffer>, Future<HttpResponse<Buffer>>> sender = rq -> rq.sendBuffer(payload);
+    Future<HttpResponse<Buffer>> response;
+    if (hedging != null && Hedging.canHedge(method, path, query == null ? new Query() : query)) {
+      response = new Hedge(method, path, query == null ? new Query() : query, call.endpoint, sender).start();
+    } else {
+      response = send(method, path, query, false, sender);
     }
-    return rq.sendBuffer(body == null ? Buffer.buffer() : Buffer.buffer(body))
+    return response
+      .andThen(ar -> {
+        if (ar.succeeded()) {
+          Buffer respBody = ar.result().body();
+          call.end(ar.result().statusCode(), respBody == null ? 0 : respBody.length(), null);
+        } else {
+          call.end(0, 0, ar.cause());
+        }
+      })
       .map(resp -> {
         if (validCodes.contains(resp.statusCode())) {
           return mapper.apply(resp);
@@ -902,4 +1076,210 @@ public class ConsulClientImpl implements ConsulClient {
         }
       });
   }
+
+  /**
+   * Send the request to the best endpoint, then to the next ones while the endpoints cannot be reached
+   *
+   * @param streamed whether the body of the response is streamed, such a request is sent again only when
+   * no connection could be established
+   */
+  private <R> Future<HttpResponse<R>> send(
+    HttpMethod method, String path, Query query, boolean streamed,
+    Function<HttpRequest<Buffer>, Future<HttpResponse<R>>> sender
+  ) {
+    if (endpoints == null) {
+      return sender.apply(createRequest(method, path, query, null));
+    }
+    return sendTo(endpoints.select(0L), 0L, method, path, query, streamed, sender);
+  }
+
+  private <R> Future<HttpResponse<R>> sendTo(
+    int index, long tried, HttpMethod method, String path, Query query, boolean streamed,
+    Function<HttpRequest<Buffer>, Future<HttpResponse<R>>> sender
+  ) {
+    boolean blocking = query != null && query.isBlocking();
+    long start = System.nanoTime();
+    return sender.apply(createRequest(method, path, query, endpoints.get(index))).transform(ar -> {
+      if (ar.succeeded()) {
+        endpoints.onResponse(index, System.nanoTime() - start, ar.result().statusCode() >= 500, blocking);
+        return Future.succeededFuture(ar.result());
+      }
+      Throwable cause = ar.cause();
+      boolean unreachable = EndpointSelector.canFailover(method, cause);
+      endpoints.onFailure(index, unreachable);
+      long nowTried = tried | (1L << index);
+      int next = unreachable && (!streamed || cause instanceof ConnectException) ? endpoints.select(nowTried) : -1;
+      if (next < 0) {
+        return Future.failedFuture(cause);
+      }
+      return sendTo(next, nowTried, method, path, query, streamed, sender);
+    });
+  }
+
+  private HttpRequest<Buffer> createRequest(HttpMethod method, String path, Query query, EndpointSelector.Endpoint endpoint) {
+    String uri = requestUri(path, query);
+    HttpRequest<Buffer> rq = endpoint == null
+      ? webClient.request(method, uri)
+      : webClient.request(method, endpoint.port, endpoint.host, uri);
+    if (query != null && query.cacheControl() != null) {
+      rq.putHeader(CACHE_CONTROL_HEADER, query.cacheControl());
+    }
+    if (aclToken != null) {
+      rq.putHeader(TOKEN_HEADER, aclToken);
+    }
+    if (timeoutMs > 0) {
+      rq.timeout(timeoutMs);
+    }
+    return rq;
+  }
+
+  /**
+   * @return the path followed by the encoded parameters, the path itself when there are none
+   */
+  private String requestUri(String path, Query query) {
+    boolean hasParams = query != null && !query.isEmpty();
+    // the datacenter of a request overrides the one of the client
+    boolean appendDc = dcParam != null && (query == null || !query.contains("dc"));
+    if (!hasParams && !appendDc) {
+      return path;
+    }
+    StringBuilder uri = new StringBuilder(path.length() + 64).append(path);
+    if (hasParams) {
+      query.appendTo(uri);
+    }
+    if (appendDc) {
+      uri.append(hasParams ? '&' : '?').append(dcParam);
+    }
+    return uri.toString();
+  }
+
+  /**
+   * A read that is sent again to another endpoint, or as a stale read, when it did not complete after the
+   * hedging delay. The first response that is not a server error completes the read, the other one is discarded.
+   */
+  private class Hedge {
+
+    private final HttpMethod method;
+    private final String path;
+    private final Query query;
+    private final String endpoint;
+    private final Function<HttpRequest<Buffer>, Future<HttpResponse<Buffer>>> sender;
+    private final Promise<HttpResponse<Buffer>> promise = Promise.promise();
+    private int primary = -1;
+    private int pending;
+    // -1 when no duplicate can be sent anymore
+    private long timer = -1;
+
+    private Hedge(HttpMethod method, String path, Query query, String endpoint,
+                  Function<HttpRequest<Buffer>, Future<HttpResponse<Buffer>>> sender) {
+      this.method = method;
+      this.path = path;
+      this.query = query;
+      this.endpoint = endpoint;
+      this.sender = sender;
+    }
+
+    private Future<HttpResponse<Buffer>> start() {
+      if (endpoints != null) {
+        primary = endpoints.select(0L);
+      }
+      if ((endpoints != null && endpoints.size() > 1) || hedging.canHedgeStale(query)) {
+        synchronized (this) {
+          timer = vertx.setTimer(hedging.delay(endpoint), id -> hedge());
+        }
+      }
+      send(primary, query, false);
+      return promise.future();
+    }
+
+    private void hedge() {
+      synchronized (this) {
+        if (timer < 0 || promise.future().isComplete()) {
+          return;
+        }
+        vertx.cancelTimer(timer);
+        timer = -1;
+      }
+      metrics.hedgeSent(endpoint);
+      int alternate = primary < 0 ? -1 : endpoints.select(1L << primary);
+      if (alternate >= 0) {
+        send(alternate, query, true);
+      } else {
+        send(primary, query.stale(), true);
+      }
+    }
+
+    private void send(int index, Query q, boolean duplicate) {
+      synchronized (this) {
+        pending++;
+      }
+      long start = System.nanoTime();
+      Future<HttpResponse<Buffer>> response = index < 0
+        ? sender.apply(createRequest(method, path, q, null))
+        : sendTo(index, 0L, method, path, q, false, sender);
+      response.onComplete(ar -> completed(ar, System.nanoTime() - start, duplicate));
+    }
+
+    private void completed(AsyncResult<HttpResponse<Buffer>> ar, long latencyNanos, boolean duplicate) {
+      if (ar.succeeded() && ar.result().statusCode() < 500) {
+        hedging.record(endpoint, latencyNanos);
+        synchronized (this) {
+          pending--;
+          if (timer >= 0) {
+            vertx.cancelTimer(timer);
+            timer = -1;
+          }
+        }
+        if (promise.tryComplete(ar.result()) && duplicate) {
+          metrics.hedgeWon(endpoint);
+        }
+        return;
+      }
+      boolean hedgeNow;
+      boolean last;
+      synchronized (this) {
+        pending--;
+        hedgeNow = timer >= 0;
+        last = pending == 0 && !hedgeNow;
+      }
+      if (hedgeNow) {
+        // no need to wait for the delay, the first attempt failed
+        hedge();
+      } else if (last) {
+        promise.tryHandle(ar);
+      }
+    }
+  }
+
+  /**
+   * Tracks a request in flight and reports it to the metrics.
+   */
+  private class Call {
+
+    private final String method;
+    private final String endpoint;
+    private final boolean blocking;
+    private final long requestBytes;
+    private final long start;
+
+    private Call(HttpMethod method, String path, Query query, long requestBytes) {
+      this.method = method.name();
+      this.endpoint = EndpointTemplates.of(path);
+      this.blocking = query != null && query.isBlocking();
+      this.requestBytes = requestBytes;
+      inFlight.incrementAndGet();
+      metrics.requestBegin(this.method, endpoint);
+      start = System.nanoTime();
+    }
+
+    private void end(int statusCode, long responseBytes, Throwable failure) {
+      long duration = System.nanoTime() - start;
+      inFlight.decrementAndGet();
+      if (failure == null) {
+        metrics.requestEnd(method, endpoint, statusCode, duration, requestBytes, responseBytes, blocking);
+      } else {
+        metrics.requestFailed(method, endpoint, failure, duration, blocking);
+      }
+    }
+  }
 }
@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public class ConsulKvCacheImpl implements ConsulKvCache {
+
+  private final ConsulClient consulClient;
+  private final Mirror[] mirrors;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final long created = System.nanoTime();
+  private boolean started;
+  private boolean closed;
+
+  public ConsulKvCacheImpl(Vertx vertx, ConsulClientOptions options, List<String> prefixes) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(options);
+    if (prefixes == null || prefixes.isEmpty()) {
+      throw new IllegalArgumentException("At least one prefix is required");
+    }
+    this.consulClient = new ConsulClientImpl(vertx, options);
+    this.mirrors = new Mirror[prefixes.size()];
+    for (int i = 0; i < mirrors.length; i++) {
+      String prefix = prefixes.get(i);
+      mirrors[i] = new Mirror(prefix, new WatchImpl.KeyPrefix(prefix, vertx, consulClient, options.getTimeout()));
+    }
+  }
+
+  @Override
+  public synchronized Future<Void> start() {
+    if (closed) {
+      throw new IllegalStateException("Cache closed");
+    }
+    if (started) {
+      throw new IllegalStateException("Cache already started");
+    }
+    started = true;
+    List<Future<Void>> loaded = new ArrayList<>(mirrors.length);
+    for (Mirror mirror : mirrors) {
+      loaded.add(mirror.loaded.future());
+      mirror.watch.start();
+    }
+    return Future.all(loaded).mapEmpty();
+  }
+
+  @Override
+  public KeyValue get(String key) {
+    for (Mirror mirror : mirrors) {
+      if (key.startsWith(mirror.prefix)) {
+        KeyValue kv = mirror.entries.get(key);
+        if (kv != null) {
+          hits.increment();
+          return kv;
+        }
+      }
+    }
+    misses.increment();
+    return null;
+  }
+
+  @Override
+  public String getValue(String key) {
+    KeyValue kv = get(key);
+    return kv != null ? kv.getValue() : null;
+  }
+
+  @Override
+  public long lastIndex(String prefix) {
+    for (Mirror mirror : mirrors) {
+      if (mirror.prefix.equals(prefix)) {
+        return mirror.index;
+      }
+    }
+    throw new IllegalArgumentException("Unknown prefix: " + prefix);
+  }
+
+  @Override
+  public long age() {
+    long oldest = Long.MAX_VALUE;
+    for (Mirror mirror : mirrors) {
+      long contact = mirror.watch.lastContact();
+      oldest = Math.min(oldest, contact != 0 ? contact : created);
+    }
+    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - oldest);
+  }
+
+  @Override
+  public long hits() {
+    return hits.sum();
+  }
+
+  @Override
+  public long misses() {
+    return misses.sum();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (started) {
+      for (Mirror mirror : mirrors) {
+        mirror.watch.stop();
+      }
+    }
+    consulClient.close();
+  }
+
+  /**
+   * The entries of a single prefix, updated by its watch.
+   */
+  private static class Mirror {
+
+    private final String prefix;
+    private final WatchImpl<KeyValueList> watch;
+    private final ConcurrentHashMap<String, KeyValue> entries = new ConcurrentHashMap<>();
+    private final Promise<Void> loaded = Promise.promise();
+    private volatile long index;
+
+    private Mirror(String prefix, WatchImpl<KeyValueList> watch) {
+      this.prefix = prefix;
+      this.watch = watch;
+      watch.setHandler(res -> {
+        if (res.succeeded()) {
+          apply(res.nextResult());
+          loaded.tryComplete();
+        } else {
+          // the watch keeps retrying, the cache catches up once Consul answers
+          loaded.tryFail(res.cause());
+        }
+      });
+    }
+
+    private void apply(KeyValueList snapshot) {
+      List<KeyValue> list = snapshot.getList();
+      if (list == null || list.isEmpty()) {
+        entries.clear();
+      } else {
+        Set<String> keys = new HashSet<>(list.size() * 2);
+        for (KeyValue kv : list) {
+          keys.add(kv.getKey());
+          KeyValue known = entries.get(kv.getKey());
+          if (known == null || known.getModifyIndex() != kv.getModifyIndex()) {
+            entries.put(kv.getKey(), kv);
+          }
+        }
+        entries.keySet().retainAll(keys);
+      }
+      index = snapshot.getIndex();
+    }
+  }
+}
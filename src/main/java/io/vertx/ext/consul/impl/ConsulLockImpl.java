@@ -0,0 +1,354 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+
+public class ConsulLockImpl implements ConsulLock {
+
+  // Consul applies a lock-delay of 15 seconds when the session does not set one
+  private static final long DEFAULT_LOCK_DELAY = TimeUnit.SECONDS.toMillis(15);
+  // the retry delay when the key is free but refused and the time of its release is unknown
+  private static final long MAX_REFUSED_DELAY = TimeUnit.SECONDS.toMillis(5);
+  private static final long MONITOR_RETRY_DELAY = 1000;
+
+  private final Vertx vertx;
+  private final ConsulClient consulClient;
+  private final String key;
+  private final String value;
+  private final SessionOptions sessionOptions;
+  private final long waitTime;
+  private final long lockDelay;
+  private final long ttl;
+
+  private Context context;
+  private Handler<Void> lostHandler;
+  private String sessionId;
+  private long renewTimer = -1;
+  private long lastRenewal;
+  private long releasedAt;
+  private boolean acquiring;
+  private boolean held;
+  // incremented when the lock is released or lost or when an acquisition is cancelled, the pending queries are ignored
+  private int epoch;
+
+  public ConsulLockImpl(Vertx vertx, ConsulClient consulClient, LockOptions options) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(consulClient);
+    Objects.requireNonNull(options);
+    Objects.requireNonNull(options.getKey(), "key");
+    this.vertx = vertx;
+    this.consulClient = consulClient;
+    this.key = options.getKey();
+    this.value = options.getValue() == null ? "" : options.getValue();
+    this.sessionOptions = options.getSessionOptions() == null
+      ? new LockOptions().getSessionOptions()
+      : new SessionOptions(options.getSessionOptions());
+    this.waitTime = options.getWaitTime();
+    long delay = Utils.lockDelayMillis(sessionOptions);
+    this.lockDelay = delay < 0 ? DEFAULT_LOCK_DELAY : delay;
+    this.ttl = Math.max(Utils.ttlMillis(sessionOptions), 0);
+  }
+
+  @Override
+  public Future<Void> acquire() {
+    return attempt(-1).mapEmpty();
+  }
+
+  @Override
+  public Future<Boolean> tryAcquire(long timeout) {
+    return attempt(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(Math.max(timeout, 0)));
+  }
+
+  @Override
+  public Future<Void> release() {
+    String id;
+    synchronized (this) {
+      if (acquiring) {
+        // the pending acquisition is cancelled, its session is destroyed at once
+        acquiring = false;
+        epoch++;
+        return sessionId == null ? Future.succeededFuture() : destroySession(sessionId);
+      }
+      if (!held) {
+        return Future.succeededFuture();
+      }
+      held = false;
+      epoch++;
+      id = sessionId;
+    }
+    // the key is released before the session is destroyed, Consul would apply the lock-delay otherwise
+    return consulClient.putValueWithOptions(key, value, new KeyValueOptions().setReleaseSession(id))
+      .transform(ar -> destroySession(id).transform(v -> ar.succeeded() ? Future.succeededFuture() : Future.failedFuture(ar.cause())));
+  }
+
+  @Override
+  public synchronized boolean isHeld() {
+    return held;
+  }
+
+  @Override
+  public synchronized ConsulLock lostHandler(Handler<Void> handler) {
+    this.lostHandler = handler;
+    return this;
+  }
+
+  private Future<Boolean> attempt(long deadline) {
+    int current;
+    synchronized (this) {
+      if (held || acquiring) {
+        return Future.failedFuture(new IllegalStateException("Lock already held or being acquired"));
+      }
+      acquiring = true;
+      context = vertx.getOrCreateContext();
+      current = epoch;
+    }
+    Promise<Boolean> promise = Promise.promise();
+    consulClient.createSessionWithOptions(sessionOptions).onComplete(ar -> {
+      if (ar.failed()) {
+        synchronized (this) {
+          if (current == epoch) {
+            acquiring = false;
+          }
+        }
+        promise.fail(ar.cause());
+      } else if (startSession(ar.result(), current)) {
+        put(deadline, current, promise);
+      } else {
+        consulClient.destroySession(ar.result());
+        promise.fail(cancelled());
+      }
+    });
+    return promise.future();
+  }
+
+  private void put(long deadline, int current, Promise<Boolean> promise) {
+    String id;
+    synchronized (this) {
+      if (current != epoch) {
+        promise.fail(cancelled());
+        return;
+      }
+      id = sessionId;
+    }
+    consulClient.putValueWithOptions(key, value, new KeyValueOptions().setAcquireSession(id)).onComplete(ar -> {
+      if (ar.failed()) {
+        giveUp(current, promise, ar.cause());
+      } else if (ar.result()) {
+        acquired(current, promise);
+      } else {
+        await(0, deadline, true, current, promise);
+      }
+    });
+  }
+
+  /**
+   * Wait until the key is free, with a blocking query on the key when it is held by another session.
+   *
+   * @param index the modify index of the key held by another session, {@code 0} to read the key at once
+   * @param refused whether the last acquisition was refused
+   */
+  private void await(long index, long deadline, boolean refused, int current, Promise<Boolean> promise) {
+    synchronized (this) {
+      if (current != epoch) {
+        promise.fail(cancelled());
+        return;
+      }
+    }
+    long remaining = deadline < 0 ? waitTime : Math.min(waitTime, remainingMillis(deadline));
+    if (remaining <= 0) {
+      giveUp(current, promise, null);
+      return;
+    }
+    BlockingQueryOptions options = index == 0 ? null : new BlockingQueryOptions()
+      .setIndex(index)
+      .setWait(remaining + "ms");
+    consulClient.getValueWithOptions(key, options).onComplete(ar -> {
+      if (ar.failed()) {
+        giveUp(current, promise, ar.cause());
+        return;
+      }
+      KeyValue kv = ar.result();
+      String holder = kv.isPresent() ? kv.getSession() : null;
+      if (holder != null && holder.equals(sessionId)) {
+        // the response of a previous acquisition was lost
+        acquired(current, promise);
+      } else if (holder != null) {
+        await(WatchPacing.nextIndex(index, kv.getModifyIndex()), deadline, false, current, promise);
+      } else if (!refused) {
+        if (index != 0) {
+          releasedAt = System.nanoTime();
+        }
+        put(deadline, current, promise);
+      } else {
+        // the key is free but the acquisition was refused: the lock-delay of an invalidated session applies
+        long delay = releasedAt != 0
+          ? lockDelay - TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - releasedAt)
+          : Math.min(lockDelay, MAX_REFUSED_DELAY);
+        releasedAt = 0;
+        if (deadline >= 0) {
+          delay = Math.min(delay, remainingMillis(deadline));
+        }
+        vertx.setTimer(Math.max(delay, 1), t -> put(deadline, current, promise));
+      }
+    });
+  }
+
+  private void acquired(int current, Promise<Boolean> promise) {
+    synchronized (this) {
+      if (current != epoch) {
+        // cancelled while the acquisition was in flight, the session is already destroyed
+        promise.fail(cancelled());
+        return;
+      }
+      acquiring = false;
+      held = true;
+    }
+    monitor(0, current);
+    promise.complete(true);
+  }
+
+  private void giveUp(int current, Promise<Boolean> promise, Throwable cause) {
+    String id;
+    synchronized (this) {
+      if (current != epoch) {
+        promise.fail(cancelled());
+        return;
+      }
+      acquiring = false;
+      id = sessionId;
+    }
+    destroySession(id).onComplete(v -> {
+      if (cause == null) {
+        promise.complete(false);
+      } else {
+        promise.fail(cause);
+      }
+    });
+  }
+
+  private static IllegalStateException cancelled() {
+    return new IllegalStateException("Lock acquisition cancelled");
+  }
+
+  /**
+   * Watch the key while the lock is held
+   */
+  private void monitor(long index, int current) {
+    BlockingQueryOptions options = index == 0 ? null : new BlockingQueryOptions()
+      .setIndex(index)
+      .setWait(waitTime + "ms");
+    String id = sessionId;
+    consulClient.getValueWithOptions(key, options).onComplete(ar -> {
+      synchronized (this) {
+        if (current != epoch) {
+          return;
+        }
+      }
+      if (ar.failed()) {
+        vertx.setTimer(MONITOR_RETRY_DELAY, t -> monitor(index, current));
+      } else if (!ar.result().isPresent() || !id.equals(ar.result().getSession())) {
+        lost(current);
+      } else {
+        monitor(WatchPacing.nextIndex(index, ar.result().getModifyIndex()), current);
+      }
+    });
+  }
+
+  private void lost(int current) {
+    Handler<Void> handler;
+    Context ctx;
+    String id;
+    synchronized (this) {
+      if (current != epoch || !held) {
+        return;
+      }
+      held = false;
+      epoch++;
+      handler = lostHandler;
+      ctx = context;
+      id = sessionId;
+    }
+    destroySession(id);
+    if (handler != null) {
+      ctx.runOnContext(handler);
+    }
+  }
+
+  /**
+   * @return whether the acquisition is still in progress, the session is renewed
+   */
+  private synchronized boolean startSession(String id, int current) {
+    if (current != epoch) {
+      return false;
+    }
+    sessionId = id;
+    lastRenewal = System.nanoTime();
+    if (ttl > 0) {
+      renewTimer = vertx.setPeriodic(Math.max(ttl / 2, 1), t -> renew(id));
+    }
+    return true;
+  }
+
+  private void renew(String id) {
+    consulClient.renewSession(id).onComplete(ar -> {
+      int current;
+      synchronized (this) {
+        if (!id.equals(sessionId)) {
+          return;
+        }
+        if (ar.succeeded()) {
+          lastRenewal = System.nanoTime();
+          return;
+        }
+        // Consul invalidates the session later, but the lock can no longer be trusted
+        if (System.nanoTime() - lastRenewal < TimeUnit.MILLISECONDS.toNanos(ttl)) {
+          return;
+        }
+        current = epoch;
+      }
+      lost(current);
+    });
+  }
+
+  /**
+   * Stop the renewal of the session and destroy it, the failures are ignored: an expired session is gone anyway
+   */
+  private Future<Void> destroySession(String id) {
+    synchronized (this) {
+      if (id.equals(sessionId)) {
+        sessionId = null;
+        if (renewTimer >= 0) {
+          vertx.cancelTimer(renewTimer);
+          renewTimer = -1;
+        }
+      }
+    }
+    return consulClient.destroySession(id).transform(ar -> Future.succeededFuture());
+  }
+
+  private long remainingMillis(long deadline) {
+    return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+  }
+}
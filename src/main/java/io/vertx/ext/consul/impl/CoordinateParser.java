@@ -15,11 +15,13 @@
  */
 package io.vertx.ext.consul.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.Coordinate;
 import io.vertx.ext.consul.DcCoordinates;
 
+import java.io.IOException;
 import java.util.stream.Collectors;
 
 /**
@@ -54,6 +56,37 @@ class CoordinateParser {
     return coordinate;
   }
 
+  static Coordinate read(JsonParser parser) throws IOException {
+    Coordinate coordinate = new Coordinate();
+    JsonReader.readFields(parser, name -> {
+      if (NODE_KEY.equals(name)) {
+        coordinate.setNode(JsonReader.string(parser));
+      } else if (COORD_KEY.equals(name)) {
+        JsonReader.readFields(parser, field -> {
+          switch (field) {
+            case ADJ_KEY:
+              coordinate.setAdj(JsonReader.floatValue(parser, 0f));
+              break;
+            case ERR_KEY:
+              coordinate.setErr(JsonReader.floatValue(parser, 0f));
+              break;
+            case HEIGHT_KEY:
+              coordinate.setHeight(JsonReader.floatValue(parser, 0f));
+              break;
+            case VEC_KEY:
+              coordinate.setVec(JsonReader.readList(parser, p -> JsonReader.floatValue(p, 0f)));
+              break;
+            default:
+              parser.skipChildren();
+          }
+        });
+      } else {
+        parser.skipChildren();
+      }
+    });
+    return coordinate;
+  }
+
   static DcCoordinates parseDc(JsonObject json) {
     return new DcCoordinates()
       .setDatacenter(json.getString(DATACENTER_KEY))
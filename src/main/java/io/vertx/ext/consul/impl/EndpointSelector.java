@@ -0,0 +1,164 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.http.HttpClosedException;
+import io.vertx.core.http.HttpMethod;
+
+import java.net.ConnectException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tracks the exponentially weighted moving averages of the latency and of the error rate of each endpoint.
+ * The selected endpoint is the one with the lowest latency weighted by its error rate, an endpoint that cannot
+ * be reached is ejected for a while. The latency of blocking queries is their wait time, it is not recorded:
+ * an endpoint without latency samples is scored with a prior latency so that its errors still count.
+ */
+class EndpointSelector {
+
+  private static final double ALPHA = 0.2;
+  private static final double ERROR_PENALTY = 10;
+  private static final double PRIOR_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+  private static final long EJECTION_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+  static class Endpoint {
+
+    final String host;
+    final int port;
+    private volatile double latency;
+    private volatile double errorRate;
+    private volatile long ejectedUntil;
+
+    private Endpoint(String host, int port) {
+      this.host = host;
+      this.port = port;
+    }
+
+    private double score() {
+      double latency = this.latency;
+      return (latency == 0 ? PRIOR_LATENCY_NANOS : latency) * (1 + ERROR_PENALTY * errorRate);
+    }
+
+    @Override
+    public String toString() {
+      return host + ":" + port;
+    }
+  }
+
+  private final Endpoint[] endpoints;
+
+  EndpointSelector(List<String> addresses) {
+    if (addresses.isEmpty() || addresses.size() > 64) {
+      throw new IllegalArgumentException("Between 1 and 64 endpoints are supported");
+    }
+    endpoints = new Endpoint[addresses.size()];
+    for (int i = 0; i < endpoints.length; i++) {
+      String address = addresses.get(i);
+      int idx = address.lastIndexOf(':');
+      if (idx <= 0 || idx == address.length() - 1) {
+        throw new IllegalArgumentException("Invalid endpoint, host:port expected: " + address);
+      }
+      String host = address.substring(0, idx);
+      if (host.startsWith("[") && host.endsWith("]")) {
+        host = host.substring(1, host.length() - 1);
+      }
+      endpoints[i] = new Endpoint(host, Integer.parseInt(address.substring(idx + 1)));
+    }
+  }
+
+  int size() {
+    return endpoints.length;
+  }
+
+  /**
+   * @param excluded the bit mask of the indexes of the endpoints that must not be selected
+   * @return the index of the best endpoint, {@code -1} if all the endpoints are excluded
+   */
+  int select(long excluded) {
+    long now = System.nanoTime();
+    int best = -1;
+    int fallback = -1;
+    for (int i = 0; i < endpoints.length; i++) {
+      if ((excluded & (1L << i)) != 0) {
+        continue;
+      }
+      Endpoint endpoint = endpoints[i];
+      if (endpoint.ejectedUntil - now > 0) {
+        // the endpoint ejected for the shortest time is used when all of them are ejected
+        if (fallback < 0 || endpoint.ejectedUntil - endpoints[fallback].ejectedUntil < 0) {
+          fallback = i;
+        }
+      } else if (best < 0 || endpoint.score() < endpoints[best].score()) {
+        best = i;
+      }
+    }
+    return best >= 0 ? best : fallback;
+  }
+
+  Endpoint get(int index) {
+    return endpoints[index];
+  }
+
+  /**
+   * Record a response
+   *
+   * @param index the index of the endpoint
+   * @param latencyNanos the time elapsed since the request was sent
+   * @param error whether the response reports a failure of the endpoint
+   * @param blocking whether the request was a blocking query
+   */
+  void onResponse(int index, long latencyNanos, boolean error, boolean blocking) {
+    Endpoint endpoint = endpoints[index];
+    if (!blocking) {
+      endpoint.latency = endpoint.latency == 0 ? latencyNanos : ewma(endpoint.latency, latencyNanos);
+    }
+    endpoint.errorRate = ewma(endpoint.errorRate, error ? 1 : 0);
+    endpoint.ejectedUntil = 0;
+  }
+
+  /**
+   * Record a request that got no response
+   *
+   * @param index the index of the endpoint
+   * @param unreachable whether the endpoint cannot be reached, it is ejected
+   */
+  void onFailure(int index, boolean unreachable) {
+    Endpoint endpoint = endpoints[index];
+    endpoint.errorRate = ewma(endpoint.errorRate, 1);
+    if (unreachable) {
+      endpoint.ejectedUntil = System.nanoTime() + EJECTION_NANOS;
+    }
+  }
+
+  /**
+   * @param method the method of the request
+   * @param failure the failure of the request
+   * @return whether the request can be sent to another endpoint: the connection could not be established,
+   * or it was closed while a read was in flight
+   */
+  static boolean canFailover(HttpMethod method, Throwable failure) {
+    // also covers the connect timeouts of Netty
+    if (failure instanceof ConnectException) {
+      return true;
+    }
+    return failure instanceof HttpClosedException && method == HttpMethod.GET;
+  }
+
+  private static double ewma(double average, double sample) {
+    return average + ALPHA * (sample - average);
+  }
+}
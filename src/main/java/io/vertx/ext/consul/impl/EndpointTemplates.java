@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Maps the paths of the Consul HTTP API to endpoint templates with a bounded cardinality,
+ * e.g. {@code /v1/kv/foo/bar} to {@code /v1/kv/:key}.
+ */
+final class EndpointTemplates {
+
+  static final String OTHER = "/v1/:other";
+
+  private static final Set<String> STATIC = new HashSet<>(Arrays.asList(
+    "/v1/acl/policies",
+    "/v1/acl/policy",
+    "/v1/acl/token",
+    "/v1/acl/tokens",
+    "/v1/agent/check/register",
+    "/v1/agent/checks",
+    "/v1/agent/self",
+    "/v1/agent/service/register",
+    "/v1/agent/services",
+    "/v1/catalog/datacenters",
+    "/v1/catalog/deregister",
+    "/v1/catalog/nodes",
+    "/v1/catalog/register",
+    "/v1/catalog/services",
+    "/v1/coordinate/datacenters",
+    "/v1/coordinate/nodes",
+    "/v1/event/list",
+    "/v1/query",
+    "/v1/session/create",
+    "/v1/session/list",
+    "/v1/status/leader",
+    "/v1/status/peers",
+    "/v1/txn"
+  ));
+
+  private EndpointTemplates() {
+  }
+
+  /**
+   * @param path the path of the request, the query string is ignored
+   * @return the endpoint template
+   */
+  static String of(String path) {
+    int q = path.indexOf('?');
+    if (q >= 0) {
+      path = path.substring(0, q);
+    }
+    if (STATIC.contains(path)) {
+      return path;
+    }
+    for (PathTemplate endpoint : PathTemplate.ALL) {
+      if (path.startsWith(endpoint.prefix)) {
+        String template = endpoint.template;
+        // the slashes of a key are part of the parameter
+        int slash = endpoint.keepSlash ? -1 : path.indexOf('/', endpoint.prefix.length());
+        if (slash >= 0) {
+          String action = path.substring(slash);
+          if (action.equals("/clone") || action.equals("/execute")) {
+            return template + action;
+          }
+        }
+        return template;
+      }
+    }
+    return OTHER;
+  }
+}
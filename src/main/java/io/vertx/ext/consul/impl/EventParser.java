@@ -15,9 +15,11 @@
  */
 package io.vertx.ext.consul.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.Event;
 
+import java.io.IOException;
 
 /**
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
@@ -44,8 +46,46 @@ class EventParser {
       .setLTime(json.getInteger(LTIME_KEY, 0));
     String payload = json.getString(PAYLOAD_KEY);
     if (payload != null) {
-      ev.setPayload(Utils.decode64(payload));
+      ev.setEncodedPayload(payload);
     }
     return ev;
   }
+
+  static Event read(JsonParser parser) throws IOException {
+    Event ev = new Event().setVersion(0).setLTime(0);
+    JsonReader.readFields(parser, name -> {
+      switch (name) {
+        case ID_KEY:
+          ev.setId(JsonReader.string(parser));
+          break;
+        case NAME_KEY:
+          ev.setName(JsonReader.string(parser));
+          break;
+        case PAYLOAD_KEY:
+          String payload = JsonReader.string(parser);
+          if (payload != null) {
+            ev.setEncodedPayload(payload);
+          }
+          break;
+        case NODE_FILTER_KEY:
+          ev.setNode(JsonReader.string(parser));
+          break;
+        case SERVICE_FILTER_KEY:
+          ev.setService(JsonReader.string(parser));
+          break;
+        case TAG_FILTER_KEY:
+          ev.setTag(JsonReader.string(parser));
+          break;
+        case VERSION_KEY:
+          ev.setVersion(JsonReader.intValue(parser, 0));
+          break;
+        case LTIME_KEY:
+          ev.setLTime(JsonReader.intValue(parser, 0));
+          break;
+        default:
+          parser.skipChildren();
+      }
+    });
+    return ev;
+  }
 }
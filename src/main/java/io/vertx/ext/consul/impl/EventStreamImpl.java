@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.DeliveryOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.consul.*;
+
+import java.util.*;
+
+public class EventStreamImpl implements EventStream {
+
+  private final Vertx vertx;
+  private final ConsulClient consulClient;
+  private final WatchImpl<EventList> watch;
+  private final List<String> addresses;
+  private final int windowSize;
+  private final boolean replay;
+  private final Promise<Void> loaded = Promise.promise();
+  private Context context;
+  private Handler<Event> handler;
+  private Handler<Throwable> exceptionHandler;
+  private boolean started;
+  private boolean closed;
+
+  // only accessed by the handler of the watch
+  private final LinkedHashMap<String, Integer> window = new LinkedHashMap<>();
+  // the highest Lamport time of the ids evicted from the window
+  private long floor = -1;
+  private boolean first = true;
+
+  public EventStreamImpl(Vertx vertx, ConsulClientOptions clientOptions, EventStreamOptions options) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(clientOptions);
+    Objects.requireNonNull(options);
+    this.vertx = vertx;
+    this.addresses = options.getAddresses() == null ? Collections.emptyList() : new ArrayList<>(options.getAddresses());
+    this.windowSize = Math.max(options.getWindowSize(), 1);
+    this.replay = options.isReplay();
+    this.consulClient = new ConsulClientImpl(vertx, clientOptions);
+    this.watch = new WatchImpl.Events(options.getName(), vertx, consulClient, clientOptions.getTimeout());
+    watch.setHandler(this::apply);
+  }
+
+  @Override
+  public synchronized EventStream handler(Handler<Event> handler) {
+    this.handler = handler;
+    return this;
+  }
+
+  @Override
+  public synchronized EventStream exceptionHandler(Handler<Throwable> handler) {
+    this.exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public synchronized Future<Void> start() {
+    if (closed) {
+      throw new IllegalStateException("Stream closed");
+    }
+    if (started) {
+      throw new IllegalStateException("Stream already started");
+    }
+    started = true;
+    context = vertx.getOrCreateContext();
+    watch.start();
+    return loaded.future();
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    if (started) {
+      watch.stop();
+    }
+    consulClient.close();
+  }
+
+  private void apply(WatchResult<EventList> result) {
+    if (!result.succeeded()) {
+      // the watch keeps retrying, only the start is failed
+      loaded.tryFail(result.cause());
+      Handler<Throwable> h = exceptionHandler();
+      if (h != null) {
+        context.runOnContext(v -> h.handle(result.cause()));
+      }
+      return;
+    }
+    List<Event> events = new ArrayList<>(result.nextResult().getList());
+    events.sort(Comparator.comparingInt(Event::getLTime));
+    List<Event> emitted = new ArrayList<>();
+    for (Event event : events) {
+      if (window.containsKey(event.getId()) || event.getLTime() <= floor) {
+        continue;
+      }
+      remember(event);
+      if (!first || replay) {
+        emitted.add(event);
+      }
+    }
+    first = false;
+    loaded.tryComplete();
+    if (emitted.isEmpty()) {
+      return;
+    }
+    if (!addresses.isEmpty()) {
+      for (Event event : emitted) {
+        JsonObject json = event.toJson();
+        DeliveryOptions deliveryOptions = new DeliveryOptions().addHeader("name", event.getName());
+        for (String address : addresses) {
+          vertx.eventBus().publish(address, json, deliveryOptions);
+        }
+      }
+    }
+    Handler<Event> h = handler();
+    if (h != null) {
+      context.runOnContext(v -> emitted.forEach(h::handle));
+    }
+  }
+
+  private void remember(Event event) {
+    window.put(event.getId(), event.getLTime());
+    if (window.size() > windowSize) {
+      Iterator<Map.Entry<String, Integer>> it = window.entrySet().iterator();
+      floor = Math.max(floor, it.next().getValue());
+      it.remove();
+    }
+  }
+
+  private synchronized Handler<Event> handler() {
+    return handler;
+  }
+
+  private synchronized Handler<Throwable> exceptionHandler() {
+    return exceptionHandler;
+  }
+}
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class HealthIndexImpl implements HealthIndex {
+
+  private final Vertx vertx;
+  private final ConsulClient consulClient;
+  private final WatchImpl<CheckList> watch;
+  private final Promise<Void> loaded = Promise.promise();
+  private final Map<String, ServiceHealth> health = new ConcurrentHashMap<>();
+  private final Map<Long, Subscription> subscriptions = new ConcurrentHashMap<>();
+  private final Map<String, List<Subscription>> subscribers = new ConcurrentHashMap<>();
+  private final AtomicLong nextId = new AtomicLong();
+  private volatile long lastIndex;
+  private boolean started;
+  private boolean closed;
+
+  // only accessed by the delta handler of the watch
+  private final Map<String, Check> checks = new HashMap<>();
+  private final Map<String, Map<String, Check>> serviceChecks = new HashMap<>();
+  private final Map<String, Map<String, Check>> nodeChecks = new HashMap<>();
+  private final Map<String, Map<String, Integer>> nodeServices = new HashMap<>();
+
+  public HealthIndexImpl(Vertx vertx, ConsulClientOptions options) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(options);
+    this.vertx = vertx;
+    this.consulClient = new ConsulClientImpl(vertx, options);
+    this.watch = new WatchImpl.HealthStates(HealthState.ANY, vertx, consulClient, options.getTimeout());
+    watch.setDeltaHandler(this::apply);
+    // failures are not delivered to the delta handler, the watch keeps retrying
+    watch.setHandler(res -> {
+      if (res.failed()) {
+        loaded.tryFail(res.cause());
+      }
+    });
+  }
+
+  @Override
+  public synchronized Future<Void> start() {
+    if (closed) {
+      throw new IllegalStateException("Index closed");
+    }
+    if (started) {
+      throw new IllegalStateException("Index already started");
+    }
+    started = true;
+    watch.start();
+    return loaded.future();
+  }
+
+  @Override
+  public CheckStatus status(String service) {
+    ServiceHealth h = health.get(service);
+    return h == null ? null : h.status;
+  }
+
+  @Override
+  public List<Check> checks(String service) {
+    ServiceHealth h = health.get(service);
+    return h == null ? Collections.emptyList() : h.checks.getList();
+  }
+
+  @Override
+  public Set<String> services() {
+    return Collections.unmodifiableSet(health.keySet());
+  }
+
+  @Override
+  public long lastIndex() {
+    return lastIndex;
+  }
+
+  @Override
+  public long subscribe(String service, Handler<CheckList> handler) {
+    Subscription subscription = new Subscription(nextId.incrementAndGet(), service, handler, vertx.getOrCreateContext());
+    subscriptions.put(subscription.id, subscription);
+    subscribers.computeIfAbsent(service, s -> new CopyOnWriteArrayList<>()).add(subscription);
+    ServiceHealth current = health.get(service);
+    if (current != null) {
+      subscription.deliver(current.checks);
+    }
+    return subscription.id;
+  }
+
+  @Override
+  public boolean unsubscribe(long id) {
+    Subscription subscription = subscriptions.remove(id);
+    if (subscription == null) {
+      return false;
+    }
+    subscription.cancelled = true;
+    List<Subscription> list = subscribers.get(subscription.service);
+    if (list != null) {
+      list.remove(subscription);
+    }
+    return true;
+  }
+
+  @Override
+  public synchronized void close() {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    subscriptions.clear();
+    subscribers.clear();
+    if (started) {
+      watch.stop();
+    }
+    consulClient.close();
+  }
+
+  private void apply(WatchDelta<CheckList> delta) {
+    Set<String> dirty = new HashSet<>();
+    for (Check check : listOf(delta.removed())) {
+      remove(checks.remove(key(check)), dirty);
+    }
+    for (Check check : listOf(delta.modified())) {
+      remove(checks.put(key(check), check), dirty);
+      add(check, dirty);
+    }
+    for (Check check : listOf(delta.added())) {
+      checks.put(key(check), check);
+      add(check, dirty);
+    }
+    if (delta.added() != null) {
+      lastIndex = delta.added().getIndex();
+    }
+    for (String service : dirty) {
+      rebuild(service);
+    }
+    loaded.tryComplete();
+  }
+
+  private void add(Check check, Set<String> dirty) {
+    String service = check.getServiceName();
+    if (service == null || service.isEmpty()) {
+      nodeChecks.computeIfAbsent(check.getNode(), n -> new HashMap<>()).put(key(check), check);
+      dirty.addAll(nodeServices.getOrDefault(check.getNode(), Collections.emptyMap()).keySet());
+    } else {
+      serviceChecks.computeIfAbsent(service, s -> new HashMap<>()).put(key(check), check);
+      nodeServices.computeIfAbsent(check.getNode(), n -> new HashMap<>()).merge(service, 1, Integer::sum);
+      dirty.add(service);
+    }
+  }
+
+  private void remove(Check check, Set<String> dirty) {
+    if (check == null) {
+      return;
+    }
+    String service = check.getServiceName();
+    if (service == null || service.isEmpty()) {
+      Map<String, Check> map = nodeChecks.get(check.getNode());
+      if (map != null && map.remove(key(check)) != null && map.isEmpty()) {
+        nodeChecks.remove(check.getNode());
+      }
+      dirty.addAll(nodeServices.getOrDefault(check.getNode(), Collections.emptyMap()).keySet());
+    } else {
+      Map<String, Check> map = serviceChecks.get(service);
+      if (map != null && map.remove(key(check)) != null) {
+        if (map.isEmpty()) {
+          serviceChecks.remove(service);
+        }
+        Map<String, Integer> services = nodeServices.get(check.getNode());
+        if (services != null && services.merge(service, -1, Integer::sum) == 0) {
+          services.remove(service);
+          if (services.isEmpty()) {
+            nodeServices.remove(check.getNode());
+          }
+        }
+      }
+      dirty.add(service);
+    }
+  }
+
+  /**
+   * Recompute the checks and the status of a service whose checks or node checks changed
+   */
+  private void rebuild(String service) {
+    Map<String, Check> own = serviceChecks.get(service);
+    CheckList list = new CheckList().setIndex(lastIndex);
+    if (own == null) {
+      health.remove(service);
+      list.setList(Collections.emptyList());
+    } else {
+      List<Check> all = new ArrayList<>(own.values());
+      Set<String> nodes = new HashSet<>();
+      for (Check check : own.values()) {
+        if (nodes.add(check.getNode())) {
+          all.addAll(nodeChecks.getOrDefault(check.getNode(), Collections.emptyMap()).values());
+        }
+      }
+      List<CheckStatus> statuses = new ArrayList<>(all.size());
+      for (Check check : all) {
+        if (check.getStatus() != null) {
+          statuses.add(check.getStatus());
+        }
+      }
+      list.setList(Collections.unmodifiableList(all));
+      health.put(service, new ServiceHealth(list, Utils.aggregateCheckStatus(statuses)));
+    }
+    List<Subscription> targets = subscribers.get(service);
+    if (targets != null) {
+      for (Subscription subscription : targets) {
+        subscription.deliver(list);
+      }
+    }
+  }
+
+  private static String key(Check check) {
+    return check.getNode() + "/" + check.getId();
+  }
+
+  private static List<Check> listOf(CheckList list) {
+    return list == null || list.getList() == null ? Collections.emptyList() : list.getList();
+  }
+
+  /**
+   * The health of a service, replaced when it changes
+   */
+  private static final class ServiceHealth {
+
+    private final CheckList checks;
+    private final CheckStatus status;
+
+    private ServiceHealth(CheckList checks, CheckStatus status) {
+      this.checks = checks;
+      this.status = status;
+    }
+  }
+
+  private static final class Subscription {
+
+    private final long id;
+    private final String service;
+    private final Handler<CheckList> handler;
+    private final Context context;
+    private volatile boolean cancelled;
+
+    private Subscription(long id, String service, Handler<CheckList> handler, Context context) {
+      this.id = id;
+      this.service = service;
+      this.handler = handler;
+      this.context = context;
+    }
+
+    private void deliver(CheckList checks) {
+      context.runOnContext(v -> {
+        if (!cancelled) {
+          handler.handle(checks);
+        }
+      });
+    }
+  }
+}
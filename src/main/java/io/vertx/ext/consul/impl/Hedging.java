@@ -0,0 +1,123 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.http.HttpMethod;
+import io.vertx.ext.consul.HedgingOptions;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decides which reads are hedged and after which delay. The latencies of the recent reads of each endpoint
+ * template are kept in a ring, the percentile is recomputed every {@link #RECOMPUTE} samples.
+ */
+class Hedging {
+
+  private static final int WINDOW = 256;
+  private static final int RECOMPUTE = 32;
+  private static final int MIN_SAMPLES = 32;
+
+  // the reads answered by the servers, the same on every endpoint
+  private static final String[] READS = {
+    "/v1/catalog/",
+    "/v1/coordinate/",
+    "/v1/health/",
+    "/v1/kv/",
+  };
+
+  private final double percentile;
+  private final long minDelayNanos;
+  private final long maxDelayNanos;
+  private final boolean stale;
+  private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+  Hedging(HedgingOptions options) {
+    if (options.getPercentile() <= 0 || options.getPercentile() > 100) {
+      throw new IllegalArgumentException("Invalid percentile " + options.getPercentile());
+    }
+    if (options.getMinDelay() < 1 || options.getMaxDelay() < options.getMinDelay()) {
+      throw new IllegalArgumentException("Invalid delays " + options.getMinDelay() + ", " + options.getMaxDelay());
+    }
+    percentile = options.getPercentile();
+    minDelayNanos = TimeUnit.MILLISECONDS.toNanos(options.getMinDelay());
+    maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(options.getMaxDelay());
+    stale = options.isStale();
+  }
+
+  /**
+   * @return whether a duplicate of the request can be sent: a read answered by the servers that is not a blocking query
+   */
+  static boolean canHedge(HttpMethod method, String path, Query query) {
+    if (method != HttpMethod.GET || query.isBlocking()) {
+      return false;
+    }
+    for (String read : READS) {
+      if (path.startsWith(read)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * @return whether a stale duplicate can be sent to the endpoint of the request
+   */
+  boolean canHedgeStale(Query query) {
+    return stale && !query.isConsistent();
+  }
+
+  /**
+   * @param endpoint the endpoint template
+   * @return the delay before the read is hedged, in milliseconds
+   */
+  long delay(String endpoint) {
+    Window window = windows.get(endpoint);
+    long nanos = window == null ? -1 : window.percentile;
+    nanos = nanos < 0 ? maxDelayNanos : Math.max(minDelayNanos, Math.min(maxDelayNanos, nanos));
+    return Math.max(1, TimeUnit.NANOSECONDS.toMillis(nanos));
+  }
+
+  /**
+   * Record the latency of a read
+   *
+   * @param endpoint the endpoint template
+   * @param latencyNanos the time elapsed since the read was sent
+   */
+  void record(String endpoint, long latencyNanos) {
+    windows.computeIfAbsent(endpoint, e -> new Window()).add(latencyNanos);
+  }
+
+  private class Window {
+
+    private final long[] samples = new long[WINDOW];
+    private long count;
+    private volatile long percentile = -1;
+
+    private synchronized void add(long latencyNanos) {
+      samples[(int) (count++ % WINDOW)] = latencyNanos;
+      if (count >= MIN_SAMPLES && count % RECOMPUTE == 0) {
+        int size = (int) Math.min(count, WINDOW);
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+        int rank = (int) Math.ceil(Hedging.this.percentile / 100 * size) - 1;
+        percentile = sorted[Math.max(0, Math.min(size - 1, rank))];
+      }
+    }
+  }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.DecodeException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads the response bodies with the streaming parser of Jackson, the data objects are built directly
+ * from the tokens rather than from an intermediate tree of {@link io.vertx.core.json.JsonObject}.
+ */
+final class JsonReader {
+
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  /**
+   * Reads a value, the parser is positioned on its first token
+   */
+  @FunctionalInterface
+  interface Reader<T> {
+    T read(JsonParser parser) throws IOException;
+  }
+
+  private JsonReader() {
+  }
+
+  /**
+   * @param body the JSON array, an empty list is returned if the body is absent or the JSON {@code null}
+   * @param reader the reader of the elements
+   * @return the elements
+   * @throws DecodeException if the body is not a valid array
+   */
+  static <T> List<T> readArray(Buffer body, Reader<T> reader) {
+    if (body == null) {
+      return new ArrayList<>();
+    }
+    try (JsonParser parser = FACTORY.createParser(new BufferInputStream(body))) {
+      JsonToken token = parser.nextToken();
+      if (token == null || token == JsonToken.VALUE_NULL) {
+        return new ArrayList<>();
+      }
+      List<T> list = readList(parser, reader);
+      if (list == null) {
+        throw new DecodeException("JSON array expected");
+      }
+      return list;
+    } catch (IOException e) {
+      throw new DecodeException("Failed to decode: " + e.getMessage(), e);
+    }
+  }
+
+  /**
+   * @return the elements of the array the parser is positioned on, {@code null} if it is not on an array
+   */
+  static <T> List<T> readList(JsonParser parser, Reader<T> reader) throws IOException {
+    if (parser.currentToken() != JsonToken.START_ARRAY) {
+      parser.skipChildren();
+      return null;
+    }
+    List<T> list = new ArrayList<>();
+    while (parser.nextToken() != JsonToken.END_ARRAY) {
+      list.add(reader.read(parser));
+    }
+    return list;
+  }
+
+  /**
+   * Reads the fields of the object the parser is positioned on, the handler must consume the value of the field,
+   * e.g. with {@link JsonParser#skipChildren()}
+   *
+   * @return whether the parser was positioned on an object
+   */
+  static boolean readFields(JsonParser parser, FieldHandler handler) throws IOException {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      parser.skipChildren();
+      return false;
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      String name = parser.currentName();
+      parser.nextToken();
+      handler.handle(name);
+    }
+    return true;
+  }
+
+  @FunctionalInterface
+  interface FieldHandler {
+    void handle(String name) throws IOException;
+  }
+
+  /**
+   * @return the string value, {@code null} if the value is not a scalar
+   */
+  static String string(JsonParser parser) throws IOException {
+    if (parser.currentToken().isStructStart()) {
+      parser.skipChildren();
+      return null;
+    }
+    return parser.getValueAsString();
+  }
+
+  static long longValue(JsonParser parser, long def) throws IOException {
+    if (!parser.currentToken().isNumeric()) {
+      parser.skipChildren();
+      return def;
+    }
+    // truncated as Number#longValue does
+    return parser.getNumberType() == JsonParser.NumberType.BIG_INTEGER
+      ? parser.getBigIntegerValue().longValue()
+      : parser.getLongValue();
+  }
+
+  static int intValue(JsonParser parser, int def) throws IOException {
+    return (int) longValue(parser, def);
+  }
+
+  static float floatValue(JsonParser parser, float def) throws IOException {
+    if (!parser.currentToken().isNumeric()) {
+      parser.skipChildren();
+      return def;
+    }
+    return parser.getFloatValue();
+  }
+
+  /**
+   * @return the strings of the array, {@code null} if the value is not an array
+   */
+  static List<String> strings(JsonParser parser) throws IOException {
+    return readList(parser, JsonReader::string);
+  }
+
+  /**
+   * @return the string fields of the object, {@code null} if the value is not an object
+   */
+  static Map<String, String> stringMap(JsonParser parser) throws IOException {
+    Map<String, String> map = new HashMap<>();
+    boolean object = readFields(parser, name -> {
+      if (parser.currentToken() == JsonToken.VALUE_STRING) {
+        map.put(name, parser.getText());
+      } else {
+        parser.skipChildren();
+      }
+    });
+    return object ? map : null;
+  }
+
+  /**
+   * Reads a buffer without copying it in full
+   */
+  private static final class BufferInputStream extends InputStream {
+
+    private final Buffer buffer;
+    private int pos;
+
+    private BufferInputStream(Buffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return pos < buffer.length() ? buffer.getUnsignedByte(pos++) : -1;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) {
+      int remaining = buffer.length() - pos;
+      if (remaining <= 0) {
+        return -1;
+      }
+      int n = Math.min(len, remaining);
+      buffer.getBytes(pos, pos + n, b, off);
+      pos += n;
+      return n;
+    }
+
+    @Override
+    public int available() {
+      return buffer.length() - pos;
+    }
+  }
+}
@@ -15,9 +15,12 @@
  */
 package io.vertx.ext.consul.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.KeyValue;
 
+import java.io.IOException;
+
 
 /**
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
@@ -33,13 +36,49 @@ class KVParser {
   private static final String LOCK_KEY = "LockIndex";
 
   static KeyValue parse(JsonObject json) {
-    return new KeyValue()
+    String value = json.getString(VALUE_KEY);
+    KeyValue kv = value == null || value.isEmpty() ? new KeyValue().setValue("") : new KeyValue().setEncodedValue(value);
+    return kv
       .setKey(json.getString(KEY_KEY))
-      .setValue(Utils.decode64(json.getString(VALUE_KEY)))
       .setSession(json.getString(SESSION_KEY))
       .setFlags(json.getLong(FLAGS_KEY, 0L))
       .setCreateIndex(json.getLong(CREATE_KEY, 0L))
       .setModifyIndex(json.getLong(MODIFY_KEY, 0L))
       .setLockIndex(json.getLong(LOCK_KEY, 0L));
   }
+
+  static KeyValue read(JsonParser parser) throws IOException {
+    KeyValue kv = new KeyValue().setValue("");
+    JsonReader.readFields(parser, name -> {
+      switch (name) {
+        case KEY_KEY:
+          kv.setKey(JsonReader.string(parser));
+          break;
+        case VALUE_KEY:
+          String value = JsonReader.string(parser);
+          if (value != null && !value.isEmpty()) {
+            kv.setEncodedValue(value);
+          }
+          break;
+        case SESSION_KEY:
+          kv.setSession(JsonReader.string(parser));
+          break;
+        case FLAGS_KEY:
+          kv.setFlags(JsonReader.longValue(parser, 0L));
+          break;
+        case CREATE_KEY:
+          kv.setCreateIndex(JsonReader.longValue(parser, 0L));
+          break;
+        case MODIFY_KEY:
+          kv.setModifyIndex(JsonReader.longValue(parser, 0L));
+          break;
+        case LOCK_KEY:
+          kv.setLockIndex(JsonReader.longValue(parser, 0L));
+          break;
+        default:
+          parser.skipChildren();
+      }
+    });
+    return kv;
+  }
 }
@@ -0,0 +1,245 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.VertxException;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.parsetools.JsonEventType;
+import io.vertx.core.parsetools.JsonParser;
+import io.vertx.core.streams.WriteStream;
+import io.vertx.ext.consul.KeyValue;
+import io.vertx.ext.consul.KeyValueStream;
+import io.vertx.ext.web.client.HttpResponse;
+
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Decodes the JSON array of key/value pairs with a {@link JsonParser}. The response body is piped
+ * to the parser, the pipe is paused while too many decoded entries are waiting for demand.
+ */
+class KeyValueStreamImpl implements KeyValueStream {
+
+  private static final String INDEX_HEADER = "X-Consul-Index";
+  private static final int HIGH_WATER_MARK = 128;
+  private static final int LOW_WATER_MARK = HIGH_WATER_MARK / 2;
+
+  private final List<Integer> validCodes;
+  private final Function<WriteStream<Buffer>, Future<HttpResponse<Void>>> sender;
+  private final JsonParser parser = JsonParser.newParser().objectValueMode();
+  private final ArrayDeque<KeyValue> pending = new ArrayDeque<>();
+  private final Sink sink = new Sink();
+
+  private Handler<KeyValue> handler;
+  private Handler<Void> endHandler;
+  private Handler<Throwable> exceptionHandler;
+  private long demand = Long.MAX_VALUE;
+  private long index;
+  private Throwable parseFailure;
+  private boolean started;
+  private boolean ended;
+  private boolean done;
+  private boolean emitting;
+
+  KeyValueStreamImpl(List<Integer> validCodes, Function<WriteStream<Buffer>, Future<HttpResponse<Void>>> sender) {
+    this.validCodes = validCodes;
+    this.sender = sender;
+    parser.handler(event -> {
+      if (event.type() == JsonEventType.VALUE && event.isObject()) {
+        pending.add(KVParser.parse(event.objectValue()));
+      }
+    });
+    parser.exceptionHandler(err -> {
+      if (parseFailure == null) {
+        parseFailure = err;
+      }
+    });
+  }
+
+  @Override
+  public KeyValueStream exceptionHandler(Handler<Throwable> handler) {
+    exceptionHandler = handler;
+    return this;
+  }
+
+  @Override
+  public KeyValueStream handler(Handler<KeyValue> handler) {
+    this.handler = handler;
+    if (handler != null && !started) {
+      started = true;
+      sender.apply(sink).onComplete(this::handleResponse);
+    }
+    return this;
+  }
+
+  @Override
+  public KeyValueStream pause() {
+    demand = 0L;
+    return this;
+  }
+
+  @Override
+  public KeyValueStream resume() {
+    return fetch(Long.MAX_VALUE);
+  }
+
+  @Override
+  public KeyValueStream fetch(long amount) {
+    if (amount < 0L) {
+      throw new IllegalArgumentException("Invalid claim " + amount);
+    }
+    demand += amount;
+    if (demand < 0L) {
+      demand = Long.MAX_VALUE;
+    }
+    checkPending();
+    return this;
+  }
+
+  @Override
+  public KeyValueStream endHandler(Handler<Void> endHandler) {
+    this.endHandler = endHandler;
+    return this;
+  }
+
+  @Override
+  public long getIndex() {
+    return index;
+  }
+
+  private void handleResponse(AsyncResult<HttpResponse<Void>> ar) {
+    if (ar.failed()) {
+      fail(ar.cause());
+      return;
+    }
+    HttpResponse<Void> resp = ar.result();
+    if (!validCodes.contains(resp.statusCode())) {
+      fail(new VertxException(String.format("Status message: '%s'", resp.statusMessage()), true));
+      return;
+    }
+    String idx = resp.getHeader(INDEX_HEADER);
+    if (idx != null) {
+      index = Long.parseLong(idx);
+    }
+    if (parseFailure == null) {
+      parser.end();
+    }
+    if (parseFailure != null) {
+      fail(parseFailure);
+    } else {
+      ended = true;
+      checkPending();
+    }
+  }
+
+  private void checkPending() {
+    if (emitting || done) {
+      return;
+    }
+    emitting = true;
+    try {
+      while (demand > 0L && !pending.isEmpty() && !done) {
+        KeyValue kv = pending.poll();
+        if (demand != Long.MAX_VALUE) {
+          demand--;
+        }
+        Handler<KeyValue> h = handler;
+        if (h != null) {
+          h.handle(kv);
+        }
+      }
+    } finally {
+      emitting = false;
+    }
+    if (done) {
+      return;
+    }
+    if (ended) {
+      if (pending.isEmpty()) {
+        done = true;
+        Handler<Void> h = endHandler;
+        if (h != null) {
+          h.handle(null);
+        }
+      }
+    } else if (pending.size() <= LOW_WATER_MARK) {
+      Handler<Void> h = sink.drainHandler;
+      if (h != null) {
+        sink.drainHandler = null;
+        h.handle(null);
+      }
+    }
+  }
+
+  private void fail(Throwable cause) {
+    if (done) {
+      return;
+    }
+    done = true;
+    pending.clear();
+    Handler<Throwable> h = exceptionHandler;
+    if (h != null) {
+      h.handle(cause);
+    }
+  }
+
+  /**
+   * Receives the response body, it is full when too many entries are waiting for demand.
+   */
+  private class Sink implements WriteStream<Buffer> {
+
+    private Handler<Void> drainHandler;
+
+    @Override
+    public WriteStream<Buffer> exceptionHandler(Handler<Throwable> handler) {
+      return this;
+    }
+
+    @Override
+    public Future<Void> write(Buffer data) {
+      if (parseFailure == null && !done) {
+        parser.handle(data);
+        checkPending();
+      }
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public Future<Void> end() {
+      return Future.succeededFuture();
+    }
+
+    @Override
+    public WriteStream<Buffer> setWriteQueueMaxSize(int maxSize) {
+      return this;
+    }
+
+    @Override
+    public boolean writeQueueFull() {
+      return pending.size() >= HIGH_WATER_MARK;
+    }
+
+    @Override
+    public WriteStream<Buffer> drainHandler(Handler<Void> handler) {
+      drainHandler = handler;
+      return this;
+    }
+  }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.VertxException;
+import io.vertx.ext.consul.*;
+
+import java.util.*;
+
+/**
+ * Operations are numbered as they are buffered, an operation is due when the flush interval started with
+ * the first buffered operation has elapsed or when a flush is requested after it was buffered.
+ */
+public class KvBatcherImpl implements KvBatcher {
+
+  private final Vertx vertx;
+  private final ConsulClient consulClient;
+  private final int maxOperations;
+  private final long flushInterval;
+  private final ArrayDeque<Op> queue = new ArrayDeque<>();
+  private List<Op> inFlight = Collections.emptyList();
+  private long seq;
+  private long flushSeq;
+  private long timerId = -1;
+  private boolean closed;
+
+  public KvBatcherImpl(Vertx vertx, ConsulClient consulClient, KvBatcherOptions options) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(consulClient);
+    Objects.requireNonNull(options);
+    if (options.getMaxOperations() < 1) {
+      throw new IllegalArgumentException("Invalid max operations " + options.getMaxOperations());
+    }
+    this.vertx = vertx;
+    this.consulClient = consulClient;
+    this.maxOperations = options.getMaxOperations();
+    this.flushInterval = Math.max(1, options.getFlushInterval());
+  }
+
+  @Override
+  public Future<Boolean> putValue(String key, String value) {
+    return putValueWithOptions(key, value, null);
+  }
+
+  @Override
+  public Future<Boolean> putValueWithOptions(String key, String value, KeyValueOptions options) {
+    TxnKVOperation operation = new TxnKVOperation().setKey(key).setValue(value);
+    boolean conditional = true;
+    if (options == null) {
+      operation.setType(TxnKVVerb.SET);
+      conditional = false;
+    } else {
+      operation.setFlags(options.getFlags());
+      if (options.getAcquireSession() != null) {
+        operation.setType(TxnKVVerb.LOCK).setSession(options.getAcquireSession());
+      } else if (options.getReleaseSession() != null) {
+        operation.setType(TxnKVVerb.UNLOCK).setSession(options.getReleaseSession());
+      } else if (options.getCasIndex() >= 0) {
+        operation.setType(TxnKVVerb.CAS).setIndex(options.getCasIndex());
+      } else {
+        operation.setType(TxnKVVerb.SET);
+        conditional = false;
+      }
+    }
+    return enqueue(operation, conditional);
+  }
+
+  @Override
+  public Future<Void> deleteValue(String key) {
+    return enqueue(new TxnKVOperation().setType(TxnKVVerb.DELETE).setKey(key), false).mapEmpty();
+  }
+
+  @Override
+  public Future<Void> deleteValues(String keyPrefix) {
+    return enqueue(new TxnKVOperation().setType(TxnKVVerb.DELETE_TREE).setKey(keyPrefix), false).mapEmpty();
+  }
+
+  @Override
+  public Future<Void> flush() {
+    List<Future<?>> futures = new ArrayList<>();
+    synchronized (this) {
+      flushSeq = seq;
+      inFlight.forEach(op -> futures.add(op.promise.future()));
+      queue.forEach(op -> futures.add(op.promise.future()));
+    }
+    drain();
+    return Future.join(futures).transform(ar -> Future.succeededFuture());
+  }
+
+  @Override
+  public synchronized int pending() {
+    return queue.size() + inFlight.size();
+  }
+
+  @Override
+  public Future<Void> close() {
+    synchronized (this) {
+      closed = true;
+    }
+    return flush();
+  }
+
+  private Future<Boolean> enqueue(TxnKVOperation operation, boolean conditional) {
+    Op op;
+    synchronized (this) {
+      if (closed) {
+        return Future.failedFuture(new IllegalStateException("Batcher closed"));
+      }
+      op = new Op(++seq, operation, conditional);
+      queue.add(op);
+    }
+    drain();
+    return op.promise.future();
+  }
+
+  private void drain() {
+    List<Op> chunk;
+    synchronized (this) {
+      if (!inFlight.isEmpty() || queue.isEmpty()) {
+        return;
+      }
+      if (queue.size() < maxOperations && queue.peek().seq > flushSeq) {
+        if (timerId < 0) {
+          timerId = vertx.setTimer(flushInterval, id -> {
+            synchronized (this) {
+              timerId = -1;
+              flushSeq = seq;
+            }
+            drain();
+          });
+        }
+        return;
+      }
+      chunk = new ArrayList<>(Math.min(queue.size(), maxOperations));
+      while (chunk.size() < maxOperations && !queue.isEmpty()) {
+        chunk.add(queue.poll());
+      }
+      inFlight = chunk;
+    }
+    send(chunk);
+  }
+
+  private void send(List<Op> chunk) {
+    TxnRequest request = new TxnRequest();
+    chunk.forEach(op -> request.addOperation(op.operation));
+    consulClient.transaction(request).onComplete(ar -> {
+      List<Op> retry = Collections.emptyList();
+      if (ar.failed()) {
+        chunk.forEach(op -> op.promise.fail(ar.cause()));
+      } else if (ar.result().getErrorsSize() == 0) {
+        chunk.forEach(op -> op.promise.complete(true));
+      } else {
+        retry = complete(chunk, ar.result().getErrors());
+      }
+      synchronized (this) {
+        inFlight = Collections.emptyList();
+        for (int i = retry.size() - 1; i >= 0; i--) {
+          queue.addFirst(retry.get(i));
+        }
+      }
+      drain();
+    });
+  }
+
+  /**
+   * Consul rejected the whole transaction, complete the operations that failed
+   *
+   * @return the operations to send again
+   */
+  private static List<Op> complete(List<Op> chunk, List<TxnError> errors) {
+    Map<Integer, String> failed = new HashMap<>();
+    for (TxnError error : errors) {
+      if (error.getOpIndex() >= 0 && error.getOpIndex() < chunk.size()) {
+        failed.putIfAbsent(error.getOpIndex(), error.getWhat());
+      }
+    }
+    if (failed.isEmpty()) {
+      // not attributable to an operation, retrying would fail again
+      VertxException cause = new VertxException(errors.get(0).getWhat(), true);
+      chunk.forEach(op -> op.promise.fail(cause));
+      return Collections.emptyList();
+    }
+    List<Op> retry = new ArrayList<>(chunk.size() - failed.size());
+    for (int i = 0; i < chunk.size(); i++) {
+      Op op = chunk.get(i);
+      String what = failed.get(i);
+      if (what == null) {
+        retry.add(op);
+      } else if (op.conditional) {
+        op.promise.complete(false);
+      } else {
+        op.promise.fail(new VertxException(what, true));
+      }
+    }
+    return retry;
+  }
+
+  private static class Op {
+
+    private final long seq;
+    private final TxnKVOperation operation;
+    private final boolean conditional;
+    private final Promise<Boolean> promise = Promise.promise();
+
+    private Op(long seq, TxnKVOperation operation, boolean conditional) {
+      this.seq = seq;
+      this.operation = operation;
+      this.conditional = conditional;
+    }
+  }
+}
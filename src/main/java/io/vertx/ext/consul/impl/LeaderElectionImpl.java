@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.ConsulClient;
+import io.vertx.ext.consul.LeaderElection;
+import io.vertx.ext.consul.LockOptions;
+
+import java.util.Objects;
+
+public class LeaderElectionImpl implements LeaderElection {
+
+  private static final long RETRY_DELAY = 1000;
+
+  private final Vertx vertx;
+  private final ConsulLockImpl lock;
+  private final Context context;
+  private Handler<Boolean> leadershipHandler;
+  private boolean running;
+  private boolean leader;
+  private long retryTimer = -1;
+
+  public LeaderElectionImpl(Vertx vertx, ConsulClient consulClient, LockOptions options, Context context) {
+    Objects.requireNonNull(context);
+    this.vertx = vertx;
+    this.context = context;
+    this.lock = new ConsulLockImpl(vertx, consulClient, options);
+    lock.lostHandler(v -> {
+      setLeader(false);
+      campaign();
+    });
+  }
+
+  @Override
+  public synchronized LeaderElection leadershipHandler(Handler<Boolean> handler) {
+    this.leadershipHandler = handler;
+    return this;
+  }
+
+  @Override
+  public synchronized LeaderElection start() {
+    if (running) {
+      throw new IllegalStateException("Election already started");
+    }
+    running = true;
+    context.runOnContext(v -> campaign());
+    return this;
+  }
+
+  @Override
+  public Future<Void> stop() {
+    synchronized (this) {
+      running = false;
+      if (retryTimer >= 0) {
+        vertx.cancelTimer(retryTimer);
+        retryTimer = -1;
+      }
+    }
+    return lock.release().onComplete(ar -> setLeader(false));
+  }
+
+  @Override
+  public synchronized boolean isLeader() {
+    return leader;
+  }
+
+  private synchronized boolean isRunning() {
+    return running;
+  }
+
+  private void campaign() {
+    if (!isRunning()) {
+      return;
+    }
+    lock.acquire().onComplete(ar -> {
+      if (ar.succeeded()) {
+        if (isRunning()) {
+          setLeader(true);
+        }
+      } else {
+        synchronized (this) {
+          // the acquisition fails when it is cancelled by stop()
+          if (running) {
+            retryTimer = vertx.setTimer(RETRY_DELAY, t -> {
+              synchronized (this) {
+                retryTimer = -1;
+              }
+              campaign();
+            });
+          }
+        }
+      }
+    });
+  }
+
+  private void setLeader(boolean value) {
+    Handler<Boolean> handler;
+    synchronized (this) {
+      if (leader == value) {
+        return;
+      }
+      leader = value;
+      handler = leadershipHandler;
+    }
+    if (handler != null) {
+      context.runOnContext(v -> handler.handle(value));
+    }
+  }
+}
@@ -15,9 +15,11 @@
  */
 package io.vertx.ext.consul.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.Node;
 
+import java.io.IOException;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -54,6 +56,41 @@ class NodeParser {
     return node;
   }
 
+  static Node read(JsonParser parser) throws IOException {
+    Node node = new Node();
+    JsonReader.readFields(parser, name -> {
+      switch (name) {
+        case ID_KEY:
+          node.setId(JsonReader.string(parser));
+          break;
+        case NODE_KEY:
+          node.setName(JsonReader.string(parser));
+          break;
+        case ADDRESS_KEY:
+          node.setAddress(JsonReader.string(parser));
+          break;
+        case DATACENTER_KEY:
+          node.setDatacenter(JsonReader.string(parser));
+          break;
+        case TAGGED_ADDRESSES_KEY:
+          Map<String, String> tagged = JsonReader.stringMap(parser);
+          if (tagged != null) {
+            node.setLanAddress(tagged.get(LAN_KEY)).setWanAddress(tagged.get(WAN_KEY));
+          }
+          break;
+        case META_KEY:
+          Map<String, String> meta = JsonReader.stringMap(parser);
+          if (meta != null && !meta.isEmpty()) {
+            node.setNodeMeta(meta);
+          }
+          break;
+        default:
+          parser.skipChildren();
+      }
+    });
+    return node;
+  }
+
   private static Map<String, String> mapOfStringsFromJsonObject(JsonObject jsonObject) {
     Map<String, String> result = new HashMap<>();
     if (jsonObject != null) {
@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+/**
+ * A precompiled endpoint of the Consul HTTP API with a single parameter, e.g. {@code /v1/kv/:key}.
+ * The path of a request is built in a single pre-sized buffer, the parameter is encoded with {@link UriEncoder}.
+ */
+final class PathTemplate {
+
+  static final PathTemplate ACL_POLICY_NAME = new PathTemplate("/v1/acl/policy/name/", ":name");
+  static final PathTemplate ACL_POLICY = new PathTemplate("/v1/acl/policy/", ":id");
+  static final PathTemplate ACL_TOKEN = new PathTemplate("/v1/acl/token/", ":accessor_id");
+  static final PathTemplate AGENT_CHECK_DEREGISTER = new PathTemplate("/v1/agent/check/deregister/", ":check_id");
+  static final PathTemplate AGENT_CHECK_FAIL = new PathTemplate("/v1/agent/check/fail/", ":check_id");
+  static final PathTemplate AGENT_CHECK_PASS = new PathTemplate("/v1/agent/check/pass/", ":check_id");
+  static final PathTemplate AGENT_CHECK_UPDATE = new PathTemplate("/v1/agent/check/update/", ":check_id");
+  static final PathTemplate AGENT_CHECK_WARN = new PathTemplate("/v1/agent/check/warn/", ":check_id");
+  static final PathTemplate AGENT_SERVICE_DEREGISTER = new PathTemplate("/v1/agent/service/deregister/", ":service_id");
+  static final PathTemplate AGENT_SERVICE_MAINTENANCE = new PathTemplate("/v1/agent/service/maintenance/", ":service_id");
+  static final PathTemplate CATALOG_NODE = new PathTemplate("/v1/catalog/node/", ":node");
+  static final PathTemplate CATALOG_SERVICE = new PathTemplate("/v1/catalog/service/", ":service");
+  static final PathTemplate EVENT_FIRE = new PathTemplate("/v1/event/fire/", ":name");
+  static final PathTemplate HEALTH_CHECKS = new PathTemplate("/v1/health/checks/", ":service");
+  static final PathTemplate HEALTH_NODE = new PathTemplate("/v1/health/node/", ":node");
+  static final PathTemplate HEALTH_SERVICE = new PathTemplate("/v1/health/service/", ":service");
+  static final PathTemplate HEALTH_STATE = new PathTemplate("/v1/health/state/", ":state");
+  // the slashes of the keys are kept, they are the separators of the hierarchy of the store
+  static final PathTemplate KV = new PathTemplate("/v1/kv/", ":key", true);
+  static final PathTemplate QUERY = new PathTemplate("/v1/query/", ":uuid");
+  static final PathTemplate SESSION_DESTROY = new PathTemplate("/v1/session/destroy/", ":uuid");
+  static final PathTemplate SESSION_INFO = new PathTemplate("/v1/session/info/", ":uuid");
+  static final PathTemplate SESSION_NODE = new PathTemplate("/v1/session/node/", ":node");
+  static final PathTemplate SESSION_RENEW = new PathTemplate("/v1/session/renew/", ":uuid");
+
+  // the longest prefixes first
+  static final PathTemplate[] ALL = {
+    ACL_POLICY_NAME,
+    ACL_POLICY,
+    ACL_TOKEN,
+    AGENT_CHECK_DEREGISTER,
+    AGENT_CHECK_FAIL,
+    AGENT_CHECK_PASS,
+    AGENT_CHECK_UPDATE,
+    AGENT_CHECK_WARN,
+    AGENT_SERVICE_DEREGISTER,
+    AGENT_SERVICE_MAINTENANCE,
+    CATALOG_NODE,
+    CATALOG_SERVICE,
+    EVENT_FIRE,
+    HEALTH_CHECKS,
+    HEALTH_NODE,
+    HEALTH_SERVICE,
+    HEALTH_STATE,
+    KV,
+    QUERY,
+    SESSION_DESTROY,
+    SESSION_INFO,
+    SESSION_NODE,
+    SESSION_RENEW,
+  };
+
+  final String prefix;
+  final String template;
+  final boolean keepSlash;
+
+  private PathTemplate(String prefix, String parameter) {
+    this(prefix, parameter, false);
+  }
+
+  private PathTemplate(String prefix, String parameter, boolean keepSlash) {
+    this.prefix = prefix;
+    this.template = prefix + parameter;
+    this.keepSlash = keepSlash;
+  }
+
+  /**
+   * @param value the value of the parameter
+   * @return the path
+   */
+  String expand(String value) {
+    return expand(value, null);
+  }
+
+  /**
+   * @param value the value of the parameter
+   * @param action the action following the parameter, e.g. {@code /execute}, or {@code null}
+   * @return the path
+   */
+  String expand(String value, String action) {
+    int actionLength = action == null ? 0 : action.length();
+    StringBuilder sb = new StringBuilder(prefix.length() + value.length() + actionLength + 16);
+    sb.append(prefix);
+    UriEncoder.appendSegment(sb, value, keepSlash);
+    if (action != null) {
+      sb.append(action);
+    }
+    return sb.toString();
+  }
+}
@@ -16,17 +16,23 @@
 package io.vertx.ext.consul.impl;
 
 import io.vertx.ext.consul.BlockingQueryOptions;
+import io.vertx.ext.consul.ConsistencyMode;
 
-import java.util.HashMap;
-import java.util.Map;
-import java.util.Set;
+import java.util.Arrays;
+import java.util.StringJoiner;
 
 /**
+ * The parameters of a request. They are few, they are kept in arrays rather than in a map
+ * and encoded directly into the request URI.
+ *
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
  */
 class Query {
 
-  private final Map<String, String> map = new HashMap<>();
+  private String[] names = new String[4];
+  private String[] values = new String[4];
+  private int size;
+  private String cacheControl;
 
   static Query of(BlockingQueryOptions options) {
     return new Query().put(options);
@@ -42,7 +48,7 @@ class Query {
     }
     String str = value.toString();
     if (!str.isEmpty()) {
-      map.put(key, str);
+      set(key, str);
     }
     return this;
   }
@@ -53,11 +59,144 @@ class Query {
       if (options.getWait() != null) {
         put("wait", options.getWait());
       }
+      ConsistencyMode mode = options.getConsistencyMode();
+      if (mode != null && mode.key != null) {
+        set(mode.key, "");
+        if (mode == ConsistencyMode.STALE) {
+          put("max_stale", options.getMaxStale());
+        }
+      }
     }
     return this;
   }
 
-  Set<Map.Entry<String, String>> entrySet() {
-    return map.entrySet();
+  /**
+   * Read from the cache of the agent, only the endpoints that support agent caching should call it
+   */
+  Query cached(BlockingQueryOptions options) {
+    return options == null ? this : cached(options.isCached(), options.getMaxAge(), options.getStaleIfError());
+  }
+
+  Query cached(boolean cached, long maxAge, long staleIfError) {
+    if (cached) {
+      set("cached", "");
+      StringJoiner directives = new StringJoiner(", ");
+      if (maxAge > 0) {
+        directives.add("max-age=" + maxAge);
+      }
+      if (staleIfError > 0) {
+        directives.add("stale-if-error=" + staleIfError);
+      }
+      cacheControl = directives.length() == 0 ? null : directives.toString();
+    }
+    return this;
+  }
+
+  /**
+   * @return the value of the {@code Cache-Control} header, {@code null} if none
+   */
+  String cacheControl() {
+    return cacheControl;
+  }
+
+  /**
+   * @return a copy of this query that can be answered by any server
+   */
+  Query stale() {
+    Query copy = new Query();
+    copy.names = Arrays.copyOf(names, names.length);
+    copy.values = Arrays.copyOf(values, values.length);
+    copy.size = size;
+    copy.cacheControl = cacheControl;
+    return copy.set(ConsistencyMode.STALE.key, "");
+  }
+
+  /**
+   * @return whether the query requires a consistent read
+   */
+  boolean isConsistent() {
+    return contains(ConsistencyMode.CONSISTENT.key);
+  }
+
+  /**
+   * @return whether the query waits for a change of the index
+   */
+  boolean isBlocking() {
+    String index = get("index");
+    return index != null && !index.equals("0");
+  }
+
+  boolean contains(String key) {
+    return indexOf(key) >= 0;
+  }
+
+  String get(String key) {
+    int idx = indexOf(key);
+    return idx < 0 ? null : values[idx];
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * @return the parameters sorted by name and the cache directives, two queries with the same parameters
+   * have the same canonical form
+   */
+  String canonical() {
+    Integer[] order = new Integer[size];
+    for (int i = 0; i < size; i++) {
+      order[i] = i;
+    }
+    Arrays.sort(order, (a, b) -> names[a].compareTo(names[b]));
+    StringBuilder sb = new StringBuilder();
+    for (int i : order) {
+      if (sb.length() > 0) {
+        sb.append('&');
+      }
+      sb.append(names[i]).append('=').append(values[i]);
+    }
+    if (cacheControl != null) {
+      sb.append('#').append(cacheControl);
+    }
+    return sb.toString();
+  }
+
+  /**
+   * Append the encoded parameters to a request URI, starting with {@code ?}
+   *
+   * @param uri the request URI without query string
+   */
+  void appendTo(StringBuilder uri) {
+    for (int i = 0; i < size; i++) {
+      uri.append(i == 0 ? '?' : '&');
+      UriEncoder.appendComponent(uri, names[i]);
+      uri.append('=');
+      UriEncoder.appendComponent(uri, values[i]);
+    }
+  }
+
+  private int indexOf(String key) {
+    for (int i = 0; i < size; i++) {
+      if (names[i].equals(key)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private Query set(String key, String value) {
+    int idx = indexOf(key);
+    if (idx >= 0) {
+      values[idx] = value;
+      return this;
+    }
+    if (size == names.length) {
+      names = Arrays.copyOf(names, size * 2);
+      values = Arrays.copyOf(values, size * 2);
+    }
+    names[size] = key;
+    values[size++] = value;
+    return this;
   }
 }
@@ -0,0 +1,312 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Promise;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.consul.*;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ServiceDiscoveryCacheImpl implements ServiceDiscoveryCache {
+
+  private static final long COORDINATES_REFRESH_MS = 30_000;
+
+  private final Vertx vertx;
+  private final WatchManagerImpl manager;
+  private final Map<String, Tracked> services = new ConcurrentHashMap<>();
+  private final long timerId;
+  private volatile String agentNode;
+  private volatile Map<String, Coordinate> coordinates = Collections.emptyMap();
+
+  public ServiceDiscoveryCacheImpl(Vertx vertx, ConsulClientOptions options) {
+    this.vertx = vertx;
+    this.manager = new WatchManagerImpl(vertx, options, new PoolOptions().setHttp1MaxSize(WatchManager.DEFAULT_MAX_POOL_SIZE));
+    this.timerId = vertx.setPeriodic(1, COORDINATES_REFRESH_MS, id -> refreshCoordinates());
+  }
+
+  @Override
+  public Future<Void> watch(String service) {
+    // started and stopped within the map operations, so a concurrent unwatch cannot stop a watch
+    // before it is started and leave it running outside of the map
+    Tracked tracked = services.compute(service, (name, current) -> {
+      Tracked t = current != null ? current : new Tracked(name);
+      t.start();
+      return t;
+    });
+    return tracked.loaded.future();
+  }
+
+  @Override
+  public void unwatch(String service) {
+    services.computeIfPresent(service, (name, tracked) -> {
+      tracked.watch.stop();
+      return null;
+    });
+  }
+
+  @Override
+  public ServiceEntry select(String service) {
+    return select(service, LoadBalancingStrategy.ROUND_ROBIN);
+  }
+
+  @Override
+  public ServiceEntry select(String service, LoadBalancingStrategy strategy) {
+    Tracked tracked = services.get(service);
+    if (tracked == null) {
+      return null;
+    }
+    Snapshot snapshot = tracked.snapshot;
+    int size = snapshot.entries.length;
+    if (size == 0) {
+      return null;
+    } else if (size == 1) {
+      return snapshot.entries[0];
+    }
+    int idx;
+    switch (strategy) {
+      case POWER_OF_TWO_CHOICES: {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(size);
+        int j = (i + 1 + random.nextInt(size - 1)) % size;
+        idx = snapshot.rtt[i] <= snapshot.rtt[j] ? i : j;
+        break;
+      }
+      case WEIGHTED_RTT: {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int i = random.nextInt(size);
+        idx = random.nextDouble() < snapshot.prob[i] ? i : snapshot.alias[i];
+        break;
+      }
+      default:
+        idx = Math.floorMod(tracked.next.getAndIncrement(), size);
+    }
+    return snapshot.entries[idx];
+  }
+
+  @Override
+  public List<ServiceEntry> healthyEntries(String service) {
+    Tracked tracked = services.get(service);
+    if (tracked == null) {
+      return Collections.emptyList();
+    }
+    return Collections.unmodifiableList(Arrays.asList(tracked.snapshot.entries));
+  }
+
+  @Override
+  public void close() {
+    vertx.cancelTimer(timerId);
+    services.clear();
+    manager.close();
+  }
+
+  private void refreshCoordinates() {
+    Future<String> node = agentNode != null
+      ? Future.succeededFuture(agentNode)
+      : manager.client().agentInfo().map(info -> {
+          JsonObject config = info.getJsonObject("Config");
+          return config != null ? config.getString("NodeName") : null;
+        });
+    node.compose(name -> {
+      agentNode = name;
+      return manager.client().coordinateNodes();
+    }).onSuccess(list -> {
+      Map<String, Coordinate> map = new HashMap<>();
+      if (list.getList() != null) {
+        list.getList().forEach(c -> map.put(c.getNode(), c));
+      }
+      coordinates = map;
+      services.values().forEach(Tracked::rebuild);
+    });
+  }
+
+  /**
+   * Estimates the round trip time in milliseconds between two nodes
+   *
+   * @see <a href="https://www.consul.io/docs/internals/coordinates.html">Network coordinates</a>
+   */
+  static double rtt(Coordinate a, Coordinate b) {
+    List<Float> va = a.getVec();
+    List<Float> vb = b.getVec();
+    if (va == null || vb == null || va.size() != vb.size()) {
+      return Double.NaN;
+    }
+    double sumsq = 0;
+    for (int i = 0; i < va.size(); i++) {
+      double diff = va.get(i) - vb.get(i);
+      sumsq += diff * diff;
+    }
+    double rtt = Math.sqrt(sumsq) + a.getHeight() + b.getHeight();
+    double adjusted = rtt + a.getAdj() + b.getAdj();
+    if (adjusted > 0) {
+      rtt = adjusted;
+    }
+    return rtt * 1000;
+  }
+
+  /**
+   * Fills the tables of the alias method, an instance is then selected in constant time
+   * with a probability proportional to its weight.
+   */
+  static void aliasTables(double[] weights, double[] prob, int[] alias) {
+    int n = weights.length;
+    double sum = 0;
+    for (double w : weights) {
+      sum += w;
+    }
+    double[] scaled = new double[n];
+    int[] small = new int[n];
+    int[] large = new int[n];
+    int s = 0, l = 0;
+    for (int i = 0; i < n; i++) {
+      scaled[i] = weights[i] * n / sum;
+      if (scaled[i] < 1) {
+        small[s++] = i;
+      } else {
+        large[l++] = i;
+      }
+    }
+    while (s > 0 && l > 0) {
+      int less = small[--s];
+      int more = large[--l];
+      prob[less] = scaled[less];
+      alias[less] = more;
+      scaled[more] = scaled[more] + scaled[less] - 1;
+      if (scaled[more] < 1) {
+        small[s++] = more;
+      } else {
+        large[l++] = more;
+      }
+    }
+    while (l > 0) {
+      int i = large[--l];
+      prob[i] = 1;
+      alias[i] = i;
+    }
+    while (s > 0) {
+      int i = small[--s];
+      prob[i] = 1;
+      alias[i] = i;
+    }
+  }
+
+  private static boolean isPassing(ServiceEntry entry) {
+    return entry.getChecks() == null || entry.aggregatedStatus() == CheckStatus.PASSING;
+  }
+
+  /**
+   * An immutable view of the healthy instances of a service
+   */
+  private static final class Snapshot {
+
+    private static final Snapshot EMPTY = new Snapshot(new ServiceEntry[0], new double[0], new double[0], new int[0]);
+
+    private final ServiceEntry[] entries;
+    private final double[] rtt;
+    private final double[] prob;
+    private final int[] alias;
+
+    private Snapshot(ServiceEntry[] entries, double[] rtt, double[] prob, int[] alias) {
+      this.entries = entries;
+      this.rtt = rtt;
+      this.prob = prob;
+      this.alias = alias;
+    }
+  }
+
+  private class Tracked {
+
+    private final Watch<ServiceEntryList> watch;
+    private final Promise<Void> loaded = Promise.promise();
+    private final AtomicInteger next = new AtomicInteger();
+    private boolean started;
+    private ServiceEntryList last;
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    private Tracked(String service) {
+      this.watch = manager.service(service).setHandler(res -> {
+        if (res.succeeded()) {
+          update(res.nextResult());
+          loaded.tryComplete();
+        } else {
+          // the watch keeps retrying, the entries are updated once Consul answers
+          loaded.tryFail(res.cause());
+        }
+      });
+    }
+
+    private synchronized void start() {
+      if (!started) {
+        started = true;
+        watch.start();
+      }
+    }
+
+    private synchronized void update(ServiceEntryList list) {
+      last = list;
+      rebuild();
+    }
+
+    private synchronized void rebuild() {
+      if (last == null || last.getList() == null) {
+        snapshot = Snapshot.EMPTY;
+        return;
+      }
+      List<ServiceEntry> passing = new ArrayList<>(last.getList().size());
+      for (ServiceEntry entry : last.getList()) {
+        if (isPassing(entry)) {
+          passing.add(entry);
+        }
+      }
+      int n = passing.size();
+      ServiceEntry[] entries = passing.toArray(new ServiceEntry[0]);
+      double[] rtt = new double[n];
+      Map<String, Coordinate> coords = coordinates;
+      Coordinate local = agentNode != null ? coords.get(agentNode) : null;
+      double known = 0;
+      int knownCount = 0;
+      for (int i = 0; i < n; i++) {
+        Coordinate remote = entries[i].getNode() != null ? coords.get(entries[i].getNode().getName()) : null;
+        rtt[i] = local != null && remote != null ? rtt(local, remote) : Double.NaN;
+        if (!Double.isNaN(rtt[i])) {
+          known += rtt[i];
+          knownCount++;
+        }
+      }
+      // unknown distances are assumed to be average
+      double average = knownCount > 0 ? known / knownCount : 1;
+      double[] weights = new double[n];
+      for (int i = 0; i < n; i++) {
+        if (Double.isNaN(rtt[i])) {
+          rtt[i] = average;
+        }
+        weights[i] = 1 / Math.max(rtt[i], 0.01);
+      }
+      double[] prob = new double[n];
+      int[] alias = new int[n];
+      if (n > 0) {
+        aliasTables(weights, prob, alias);
+      }
+      snapshot = new Snapshot(entries, rtt, prob, alias);
+    }
+  }
+}
@@ -15,9 +15,11 @@
  */
 package io.vertx.ext.consul.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.ServiceEntry;
 
+import java.io.IOException;
 import java.util.stream.Collectors;
 
 /**
@@ -35,4 +37,24 @@ class ServiceEntryParser {
       .setService(ServiceParser.parseAgentInfo(json.getJsonObject(SERVICE_KEY)))
       .setChecks(json.getJsonArray(CHECKS_KEY).stream().map(obj -> CheckParser.parse((JsonObject) obj)).collect(Collectors.toList()));
   }
+
+  static ServiceEntry read(JsonParser parser) throws IOException {
+    ServiceEntry entry = new ServiceEntry();
+    JsonReader.readFields(parser, name -> {
+      switch (name) {
+        case NODE_KEY:
+          entry.setNode(NodeParser.read(parser));
+          break;
+        case SERVICE_KEY:
+          entry.setService(ServiceParser.readAgentInfo(parser));
+          break;
+        case CHECKS_KEY:
+          entry.setChecks(JsonReader.readList(parser, CheckParser::read));
+          break;
+        default:
+          parser.skipChildren();
+      }
+    });
+    return entry;
+  }
 }
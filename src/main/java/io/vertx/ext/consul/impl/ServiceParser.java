@@ -15,10 +15,12 @@
  */
 package io.vertx.ext.consul.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.Service;
 
+import java.io.IOException;
 import java.util.Map;
 import java.util.stream.Collectors;
 
@@ -48,6 +50,35 @@ class ServiceParser {
       .setPort(jsonObject.getInteger(AGENT_SERVICE_PORT, 0));
   }
 
+  static Service readAgentInfo(JsonParser parser) throws IOException {
+    Service service = new Service().setPort(0);
+    JsonReader.readFields(parser, name -> {
+      switch (name) {
+        case AGENT_SERVICE_ID:
+          service.setId(JsonReader.string(parser));
+          break;
+        case AGENT_SERVICE_SERVICE:
+          service.setName(JsonReader.string(parser));
+          break;
+        case AGENT_SERVICE_TAGS:
+          service.setTags(JsonReader.strings(parser));
+          break;
+        case AGENT_SERVICE_META:
+          service.setMeta(JsonReader.stringMap(parser));
+          break;
+        case AGENT_SERVICE_ADDRESS:
+          service.setAddress(JsonReader.string(parser));
+          break;
+        case AGENT_SERVICE_PORT:
+          service.setPort(JsonReader.intValue(parser, 0));
+          break;
+        default:
+          parser.skipChildren();
+      }
+    });
+    return service;
+  }
+
   static Service parseCatalogInfo(Map.Entry<String, Object> entry) {
     Object tags = entry.getValue();
     return new Service()
@@ -0,0 +1,244 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+public class SessionKeeperImpl implements SessionKeeper {
+
+  // the fractional part of the golden ratio, the phases n * PHI mod 1 are evenly spread for any number of sessions
+  private static final double PHI = 0.6180339887498949;
+
+  private static class Kept {
+
+    final String id;
+    final long ttl;
+    long lastRenewal;
+    boolean atRisk;
+    TimingWheel.Timeout<Kept> timeout;
+
+    Kept(String id, long ttl) {
+      this.id = id;
+      this.ttl = ttl;
+    }
+
+    long expiry() {
+      return lastRenewal + TimeUnit.MILLISECONDS.toNanos(ttl);
+    }
+  }
+
+  private final Vertx vertx;
+  private final ConsulClient consulClient;
+  private final Context context;
+  private final ConsulMetrics metrics;
+  private final int maxConcurrentRenewals;
+  private final long retryInterval;
+  private final TimingWheel<Kept> wheel;
+  private final long timer;
+  private final Map<String, Kept> sessions = new HashMap<>();
+  private final ArrayDeque<Kept> due = new ArrayDeque<>();
+  private Handler<String> atRiskHandler;
+  private Handler<String> expiredHandler;
+  private int inFlight;
+  private long phases;
+
+  public SessionKeeperImpl(Vertx vertx, ConsulClient consulClient, SessionKeeperOptions options) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(consulClient);
+    Objects.requireNonNull(options);
+    this.vertx = vertx;
+    this.consulClient = consulClient;
+    this.context = vertx.getOrCreateContext();
+    this.metrics = consulClient instanceof ConsulClientImpl ? ((ConsulClientImpl) consulClient).metrics() : ConsulMetrics.NOOP;
+    this.maxConcurrentRenewals = Math.max(options.getMaxConcurrentRenewals(), 1);
+    this.retryInterval = Math.max(options.getRetryInterval(), 1);
+    long tick = Math.max(options.getTickInterval(), 1);
+    this.wheel = new TimingWheel<>(tick);
+    this.timer = vertx.setPeriodic(tick, t -> tick());
+  }
+
+  @Override
+  public Future<String> createSession(SessionOptions options) {
+    long ttl = Utils.ttlMillis(options);
+    if (ttl <= 0) {
+      return Future.failedFuture(new IllegalArgumentException("The session must have a TTL"));
+    }
+    return consulClient.createSessionWithOptions(options).onSuccess(id -> keep(id, TimeUnit.MILLISECONDS.toSeconds(ttl)));
+  }
+
+  @Override
+  public synchronized SessionKeeper keep(String id, long ttl) {
+    if (ttl <= 0) {
+      throw new IllegalArgumentException("The TTL must be positive");
+    }
+    Kept previous = sessions.remove(id);
+    if (previous != null && previous.timeout != null) {
+      previous.timeout.cancel();
+    }
+    Kept kept = new Kept(id, TimeUnit.SECONDS.toMillis(ttl));
+    kept.lastRenewal = System.nanoTime();
+    sessions.put(id, kept);
+    // the first renewal is within the first half of the TTL, at an evenly spread phase
+    double phase = (phases++ * PHI) % 1;
+    schedule(kept, (long) (phase * period(kept)));
+    return this;
+  }
+
+  @Override
+  public synchronized boolean remove(String id) {
+    Kept kept = sessions.remove(id);
+    if (kept == null) {
+      return false;
+    }
+    if (kept.timeout != null) {
+      kept.timeout.cancel();
+    }
+    due.remove(kept);
+    return true;
+  }
+
+  @Override
+  public synchronized Set<String> sessions() {
+    return new HashSet<>(sessions.keySet());
+  }
+
+  @Override
+  public synchronized Set<String> atRisk() {
+    Set<String> ids = new HashSet<>();
+    for (Kept kept : sessions.values()) {
+      if (kept.atRisk) {
+        ids.add(kept.id);
+      }
+    }
+    return ids;
+  }
+
+  @Override
+  public synchronized SessionKeeper atRiskHandler(Handler<String> handler) {
+    this.atRiskHandler = handler;
+    return this;
+  }
+
+  @Override
+  public synchronized SessionKeeper expiredHandler(Handler<String> handler) {
+    this.expiredHandler = handler;
+    return this;
+  }
+
+  @Override
+  public synchronized void close() {
+    vertx.cancelTimer(timer);
+    sessions.clear();
+    due.clear();
+  }
+
+  private static long period(Kept kept) {
+    return kept.ttl / 2;
+  }
+
+  private void schedule(Kept kept, long delay) {
+    kept.timeout = wheel.schedule(kept, delay);
+  }
+
+  private void tick() {
+    synchronized (this) {
+      for (Kept kept : wheel.advance()) {
+        kept.timeout = null;
+        due.add(kept);
+      }
+    }
+    drain();
+  }
+
+  /**
+   * Send the due renewals while the number of renewals in flight is below the limit
+   */
+  private void drain() {
+    List<Kept> renewals = new ArrayList<>();
+    synchronized (this) {
+      while (inFlight < maxConcurrentRenewals && !due.isEmpty()) {
+        inFlight++;
+        renewals.add(due.poll());
+      }
+    }
+    renewals.forEach(this::renew);
+  }
+
+  private void renew(Kept kept) {
+    consulClient.renewSession(kept.id).onComplete(ar -> {
+      long now = System.nanoTime();
+      long margin = kept.expiry() - now;
+      boolean removed;
+      boolean notifyAtRisk = false;
+      boolean expired = false;
+      synchronized (this) {
+        inFlight--;
+        // removed or kept again while the renewal was in flight
+        removed = sessions.get(kept.id) != kept;
+        if (!removed) {
+          if (ar.succeeded()) {
+            kept.lastRenewal = now;
+            kept.atRisk = false;
+            schedule(kept, period(kept));
+          } else if (margin > 0) {
+            notifyAtRisk = !kept.atRisk;
+            kept.atRisk = true;
+            // the last retry lands before the expiry
+            schedule(kept, Math.min(retryInterval, TimeUnit.NANOSECONDS.toMillis(margin) / 2));
+          } else {
+            sessions.remove(kept.id);
+            expired = true;
+          }
+        }
+      }
+      drain();
+      if (removed) {
+        return;
+      }
+      if (ar.succeeded()) {
+        metrics.sessionRenewed(margin);
+      } else {
+        metrics.sessionRenewalFailed(margin, ar.cause());
+        if (notifyAtRisk) {
+          notify(atRiskHandler(), kept.id);
+        } else if (expired) {
+          notify(expiredHandler(), kept.id);
+        }
+      }
+    });
+  }
+
+  private synchronized Handler<String> atRiskHandler() {
+    return atRiskHandler;
+  }
+
+  private synchronized Handler<String> expiredHandler() {
+    return expiredHandler;
+  }
+
+  private void notify(Handler<String> handler, String id) {
+    if (handler != null) {
+      context.runOnContext(v -> handler.handle(id));
+    }
+  }
+}
@@ -15,10 +15,12 @@
  */
 package io.vertx.ext.consul.impl;
 
+import com.fasterxml.jackson.core.JsonParser;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.Session;
 
+import java.io.IOException;
 import java.util.concurrent.TimeUnit;
 
 import static io.vertx.ext.consul.impl.Utils.listOf;
@@ -49,4 +51,30 @@ class SessionParser {
     res.setIndex(index);
     return res;
   }
+
+  static Session read(JsonParser parser) throws IOException {
+    Session session = new Session();
+    JsonReader.readFields(parser, name -> {
+      switch (name) {
+        case LOCK_KEY:
+          session.setLockDelay(TimeUnit.NANOSECONDS.toSeconds(JsonReader.longValue(parser, 0L)));
+          break;
+        case NODE_KEY:
+          session.setNode(JsonReader.string(parser));
+          break;
+        case ID_KEY:
+          session.setId(JsonReader.string(parser));
+          break;
+        case CREATE_INDEX_KEY:
+          session.setCreateIndex(JsonReader.longValue(parser, 0L));
+          break;
+        case CHECKS_KEY:
+          session.setChecks(JsonReader.strings(parser));
+          break;
+        default:
+          parser.skipChildren();
+      }
+    });
+    return session;
+  }
 }
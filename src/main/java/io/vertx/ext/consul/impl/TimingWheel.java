@@ -0,0 +1,108 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A hashed timing wheel: the timeouts are kept in slots of one tick each, a single periodic timer advances the wheel
+ * instead of one timer per timeout. A timeout further than one revolution stays in its slot until its tick is reached.
+ * <p>
+ * The wheel is not thread safe, the callers synchronize on it.
+ */
+class TimingWheel<T> {
+
+  private static final int SLOTS = 512;
+
+  static final class Timeout<T> {
+
+    final T item;
+    private final long deadline;
+    private boolean cancelled;
+
+    private Timeout(T item, long deadline) {
+      this.item = item;
+      this.deadline = deadline;
+    }
+
+    void cancel() {
+      cancelled = true;
+    }
+  }
+
+  private final long tickNanos;
+  private final long start;
+  @SuppressWarnings("unchecked")
+  private final ArrayDeque<Timeout<T>>[] slots = new ArrayDeque[SLOTS];
+  private long tick;
+
+  /**
+   * @param tickMillis the resolution of the wheel
+   */
+  TimingWheel(long tickMillis) {
+    this.tickNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(tickMillis, 1));
+    this.start = System.nanoTime();
+    for (int i = 0; i < SLOTS; i++) {
+      slots[i] = new ArrayDeque<>();
+    }
+  }
+
+  /**
+   * Schedule a timeout, it is rounded up to the next tick
+   *
+   * @param item the item returned when the timeout expires
+   * @param delayMillis the delay
+   * @return the timeout, that can be cancelled
+   */
+  Timeout<T> schedule(T item, long delayMillis) {
+    long elapsed = System.nanoTime() - start + TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0));
+    // never in the slot of the current tick, it has been processed already
+    long deadline = Math.max((elapsed + tickNanos - 1) / tickNanos, tick + 1);
+    Timeout<T> timeout = new Timeout<>(item, deadline);
+    slots[(int) (deadline % SLOTS)].add(timeout);
+    return timeout;
+  }
+
+  /**
+   * Advance the wheel to the current time
+   *
+   * @return the items of the expired timeouts, in the order of their deadlines
+   */
+  List<T> advance() {
+    long now = (System.nanoTime() - start) / tickNanos;
+    List<T> expired = new ArrayList<>();
+    // a late timer processes each missed tick, at most one revolution
+    long from = Math.max(tick + 1, now - SLOTS + 1);
+    for (long t = from; t <= now; t++) {
+      Iterator<Timeout<T>> it = slots[(int) (t % SLOTS)].iterator();
+      while (it.hasNext()) {
+        Timeout<T> timeout = it.next();
+        if (timeout.cancelled) {
+          it.remove();
+        } else if (timeout.deadline <= t) {
+          it.remove();
+          expired.add(timeout.item);
+        }
+      }
+    }
+    tick = Math.max(tick, now);
+    return expired;
+  }
+}
@@ -0,0 +1,264 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+
+import java.util.*;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+public class TtlHeartbeaterImpl implements TtlHeartbeater {
+
+  private static final long RETRY_DELAY = 1000;
+
+  private static class Tracked {
+
+    final String id;
+    final long interval;
+    CheckStatus status;
+    String note;
+    CheckStatus sentStatus;
+    // the time the pending heartbeat is due
+    long dueAt;
+    boolean queued;
+    boolean inFlight;
+    // updated while the heartbeat was in flight
+    boolean dirty;
+    TimingWheel.Timeout<Tracked> timeout;
+
+    Tracked(String id, long interval, CheckStatus status) {
+      this.id = id;
+      this.interval = interval;
+      this.status = status;
+    }
+  }
+
+  private final Vertx vertx;
+  private final ConsulClient consulClient;
+  private final ConsulMetrics metrics;
+  private final double intervalRatio;
+  private final double jitter;
+  private final int maxConcurrentHeartbeats;
+  private final TimingWheel<Tracked> wheel;
+  private final long timer;
+  private final Map<String, Tracked> checks = new HashMap<>();
+  private final ArrayDeque<Tracked> transitions = new ArrayDeque<>();
+  private final ArrayDeque<Tracked> due = new ArrayDeque<>();
+  private int inFlight;
+
+  public TtlHeartbeaterImpl(Vertx vertx, ConsulClient consulClient, TtlHeartbeaterOptions options) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(consulClient);
+    Objects.requireNonNull(options);
+    this.vertx = vertx;
+    this.consulClient = consulClient;
+    this.metrics = consulClient instanceof ConsulClientImpl ? ((ConsulClientImpl) consulClient).metrics() : ConsulMetrics.NOOP;
+    this.intervalRatio = options.getIntervalRatio() > 0 ? Math.min(options.getIntervalRatio(), 1) : TtlHeartbeaterOptions.DEFAULT_INTERVAL_RATIO;
+    this.jitter = Math.min(Math.max(options.getJitter(), 0), 1);
+    this.maxConcurrentHeartbeats = Math.max(options.getMaxConcurrentHeartbeats(), 1);
+    long tick = Math.max(options.getTickInterval(), 1);
+    this.wheel = new TimingWheel<>(tick);
+    this.timer = vertx.setPeriodic(tick, t -> tick());
+  }
+
+  @Override
+  public Future<Void> register(CheckOptions checkOptions) {
+    if (checkOptions.getTtl() == null) {
+      return Future.failedFuture(new IllegalArgumentException("The check must have a TTL"));
+    }
+    String id = checkOptions.getId() != null ? checkOptions.getId() : checkOptions.getName();
+    // Consul registers a check without status as critical
+    CheckStatus status = checkOptions.getStatus() != null ? checkOptions.getStatus() : CheckStatus.CRITICAL;
+    long ttl = Utils.durationMillis(checkOptions.getTtl());
+    return consulClient.registerCheck(checkOptions).onSuccess(v -> {
+      synchronized (this) {
+        Tracked tracked = add(id, ttl, status);
+        tracked.sentStatus = status;
+        schedule(tracked, nextDelay(tracked));
+      }
+    });
+  }
+
+  @Override
+  public TtlHeartbeater track(String checkId, String ttl) {
+    synchronized (this) {
+      Tracked tracked = add(checkId, Utils.durationMillis(ttl), CheckStatus.PASSING);
+      tracked.sentStatus = CheckStatus.PASSING;
+      enqueue(tracked, false);
+    }
+    drain();
+    return this;
+  }
+
+  @Override
+  public TtlHeartbeater update(String checkId, CheckStatus status, String note) {
+    Objects.requireNonNull(status);
+    synchronized (this) {
+      Tracked tracked = checks.get(checkId);
+      if (tracked == null) {
+        throw new IllegalArgumentException("Unknown check: " + checkId);
+      }
+      boolean statusChanged = tracked.status != status;
+      if (!statusChanged && Objects.equals(tracked.note, note)) {
+        // the next heartbeat carries it
+        return this;
+      }
+      tracked.status = status;
+      tracked.note = note;
+      enqueue(tracked, statusChanged);
+    }
+    drain();
+    return this;
+  }
+
+  @Override
+  public synchronized boolean untrack(String checkId) {
+    Tracked tracked = checks.remove(checkId);
+    if (tracked == null) {
+      return false;
+    }
+    cancel(tracked);
+    return true;
+  }
+
+  @Override
+  public synchronized void close() {
+    vertx.cancelTimer(timer);
+    checks.clear();
+    transitions.clear();
+    due.clear();
+  }
+
+  private Tracked add(String id, long ttl, CheckStatus status) {
+    Tracked previous = checks.remove(id);
+    if (previous != null) {
+      cancel(previous);
+    }
+    Tracked tracked = new Tracked(id, Math.max((long) (ttl * intervalRatio), 1), status);
+    checks.put(id, tracked);
+    return tracked;
+  }
+
+  private void cancel(Tracked tracked) {
+    if (tracked.timeout != null) {
+      tracked.timeout.cancel();
+      tracked.timeout = null;
+    }
+    if (tracked.queued) {
+      transitions.remove(tracked);
+      due.remove(tracked);
+      tracked.queued = false;
+    }
+  }
+
+  private long nextDelay(Tracked tracked) {
+    return (long) (tracked.interval * (1 - jitter * ThreadLocalRandom.current().nextDouble()));
+  }
+
+  private void schedule(Tracked tracked, long delay) {
+    tracked.dueAt = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delay);
+    tracked.timeout = wheel.schedule(tracked, delay);
+  }
+
+  /**
+   * Send the heartbeat of the check as soon as possible
+   *
+   * @param transition whether the status changed, it is sent before the periodic heartbeats
+   */
+  private void enqueue(Tracked tracked, boolean transition) {
+    if (tracked.inFlight) {
+      tracked.dirty = true;
+      return;
+    }
+    if (tracked.queued) {
+      if (transition && due.remove(tracked)) {
+        transitions.add(tracked);
+      }
+      return;
+    }
+    if (tracked.timeout != null) {
+      tracked.timeout.cancel();
+      tracked.timeout = null;
+    }
+    tracked.dueAt = System.nanoTime();
+    tracked.queued = true;
+    (transition ? transitions : due).add(tracked);
+  }
+
+  private void tick() {
+    synchronized (this) {
+      for (Tracked tracked : wheel.advance()) {
+        tracked.timeout = null;
+        if (!tracked.queued && !tracked.inFlight) {
+          tracked.queued = true;
+          due.add(tracked);
+        }
+      }
+    }
+    drain();
+  }
+
+  /**
+   * Send the pending heartbeats while the number of heartbeats in flight is below the limit,
+   * the status transitions first
+   */
+  private void drain() {
+    List<Tracked> heartbeats = new ArrayList<>();
+    synchronized (this) {
+      while (inFlight < maxConcurrentHeartbeats && !(transitions.isEmpty() && due.isEmpty())) {
+        Tracked tracked = transitions.isEmpty() ? due.poll() : transitions.poll();
+        tracked.queued = false;
+        tracked.inFlight = true;
+        inFlight++;
+        heartbeats.add(tracked);
+      }
+    }
+    heartbeats.forEach(this::send);
+  }
+
+  private void send(Tracked tracked) {
+    CheckStatus status;
+    String note;
+    boolean transition;
+    synchronized (this) {
+      status = tracked.status;
+      note = tracked.note;
+      transition = status != tracked.sentStatus;
+    }
+    metrics.heartbeatSent(System.nanoTime() - tracked.dueAt, transition);
+    consulClient.updateCheckWithNote(tracked.id, status, note).onComplete(ar -> {
+      synchronized (this) {
+        inFlight--;
+        tracked.inFlight = false;
+        if (checks.get(tracked.id) == tracked) {
+          if (ar.succeeded()) {
+            tracked.sentStatus = status;
+          }
+          if (tracked.dirty) {
+            tracked.dirty = false;
+            enqueue(tracked, tracked.status != tracked.sentStatus);
+          } else {
+            schedule(tracked, ar.succeeded() ? nextDelay(tracked) : Math.min(RETRY_DELAY, tracked.interval / 2));
+          }
+        }
+      }
+      drain();
+    });
+  }
+}
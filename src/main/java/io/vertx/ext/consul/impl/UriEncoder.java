@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+/**
+ * Percent-encodes the path segments and the query components of the requests as defined by RFC 3986:
+ * only the unreserved characters are kept, the others are encoded as UTF-8 bytes. Unlike
+ * {@link java.net.URLEncoder} a space is encoded as {@code %20}, never as {@code +} which Consul would read
+ * literally, and a string that needs no encoding is returned as is.
+ */
+final class UriEncoder {
+
+  private static final char[] HEX = "0123456789ABCDEF".toCharArray();
+  private static final boolean[] UNRESERVED = new boolean[128];
+
+  static {
+    for (char c = 'a'; c <= 'z'; c++) {
+      UNRESERVED[c] = true;
+      UNRESERVED[c - 'a' + 'A'] = true;
+    }
+    for (char c = '0'; c <= '9'; c++) {
+      UNRESERVED[c] = true;
+    }
+    UNRESERVED['-'] = true;
+    UNRESERVED['.'] = true;
+    UNRESERVED['_'] = true;
+    UNRESERVED['~'] = true;
+  }
+
+  private UriEncoder() {
+  }
+
+  /**
+   * @param value the value of the segment
+   * @param keepSlash whether the slashes are kept, e.g. in the keys of the KV store
+   * @return the encoded segment, the value itself when it needs no encoding
+   */
+  static String encodeSegment(String value, boolean keepSlash) {
+    int safe = safePrefix(value, keepSlash);
+    if (safe == value.length()) {
+      return value;
+    }
+    StringBuilder sb = new StringBuilder(value.length() + 16);
+    sb.append(value, 0, safe);
+    encode(sb, value, safe, keepSlash);
+    return sb.toString();
+  }
+
+  /**
+   * Append an encoded path segment
+   *
+   * @param sb the builder
+   * @param value the value of the segment
+   * @param keepSlash whether the slashes are kept
+   */
+  static void appendSegment(StringBuilder sb, String value, boolean keepSlash) {
+    int safe = safePrefix(value, keepSlash);
+    sb.append(value, 0, safe);
+    if (safe < value.length()) {
+      encode(sb, value, safe, keepSlash);
+    }
+  }
+
+  /**
+   * Append an encoded name or value of the query string
+   *
+   * @param sb the builder
+   * @param value the name or the value
+   */
+  static void appendComponent(StringBuilder sb, String value) {
+    appendSegment(sb, value, false);
+  }
+
+  private static int safePrefix(String value, boolean keepSlash) {
+    int len = value.length();
+    for (int i = 0; i < len; i++) {
+      char c = value.charAt(i);
+      if (!(c < 128 && (UNRESERVED[c] || (keepSlash && c == '/')))) {
+        return i;
+      }
+    }
+    return len;
+  }
+
+  private static void encode(StringBuilder sb, String value, int from, boolean keepSlash) {
+    int len = value.length();
+    for (int i = from; i < len; ) {
+      int cp = value.codePointAt(i);
+      i += Character.charCount(cp);
+      if (cp < 0x80) {
+        if (UNRESERVED[cp] || (keepSlash && cp == '/')) {
+          sb.append((char) cp);
+        } else {
+          escape(sb, cp);
+        }
+      } else if (cp < 0x800) {
+        escape(sb, 0xC0 | (cp >> 6));
+        escape(sb, 0x80 | (cp & 0x3F));
+      } else if (cp < 0x10000 && Character.isSurrogate((char) cp)) {
+        // a lone surrogate, encoded as '?' like java.net.URLEncoder does
+        escape(sb, '?');
+      } else if (cp < 0x10000) {
+        escape(sb, 0xE0 | (cp >> 12));
+        escape(sb, 0x80 | ((cp >> 6) & 0x3F));
+        escape(sb, 0x80 | (cp & 0x3F));
+      } else {
+        escape(sb, 0xF0 | (cp >> 18));
+        escape(sb, 0x80 | ((cp >> 12) & 0x3F));
+        escape(sb, 0x80 | ((cp >> 6) & 0x3F));
+        escape(sb, 0x80 | (cp & 0x3F));
+      }
+    }
+  }
+
+  private static void escape(StringBuilder sb, int b) {
+    sb.append('%').append(HEX[(b >> 4) & 0xF]).append(HEX[b & 0xF]);
+  }
+}
@@ -18,10 +18,13 @@ package io.vertx.ext.consul.impl;
 import io.vertx.core.json.JsonArray;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.CheckStatus;
+import io.vertx.ext.consul.SessionOptions;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author <a href="mailto:ruslan.sennov@gmail.com">Ruslan Sennov</a>
@@ -61,7 +64,7 @@ public class Utils {
     if (src == null || src.isEmpty()) {
       return "";
     } else {
-      return new String(Base64.getEncoder().encode(src.getBytes()));
+      return Base64.getEncoder().encodeToString(src.getBytes(StandardCharsets.UTF_8));
     }
   }
 
@@ -69,7 +72,7 @@ public class Utils {
     if (src == null || src.isEmpty()) {
       return "";
     } else {
-      return new String(Base64.getDecoder().decode(src));
+      return new String(Base64.getDecoder().decode(src), StandardCharsets.UTF_8);
     }
   }
 
@@ -100,4 +103,74 @@ public class Utils {
       return (List<T>) arr.getList();
     }
   }
+
+  /**
+   * @return the TTL of the session in milliseconds, {@code -1} if not set
+   */
+  public static long ttlMillis(SessionOptions options) {
+    // the getters of the session options cannot be used when the values are not set
+    return secondsToMillis(options.toJson().getString("TTL"));
+  }
+
+  /**
+   * @return the lock-delay of the session in milliseconds, {@code -1} if not set
+   */
+  public static long lockDelayMillis(SessionOptions options) {
+    return secondsToMillis(options.toJson().getString("LockDelay"));
+  }
+
+  private static long secondsToMillis(String duration) {
+    if (duration == null) {
+      return -1;
+    }
+    return TimeUnit.SECONDS.toMillis(Long.parseLong(duration.substring(0, duration.length() - 1)));
+  }
+
+  /**
+   * Parse a duration in the format of Consul, e.g. {@code 10s}, {@code 500ms} or {@code 1m30s}
+   *
+   * @return the duration in milliseconds
+   */
+  public static long durationMillis(String duration) {
+    double millis = 0;
+    int i = 0;
+    while (i < duration.length()) {
+      int start = i;
+      while (i < duration.length() && (Character.isDigit(duration.charAt(i)) || duration.charAt(i) == '.')) {
+        i++;
+      }
+      int unit = i;
+      while (i < duration.length() && !Character.isDigit(duration.charAt(i))) {
+        i++;
+      }
+      if (start == unit) {
+        throw new IllegalArgumentException("Invalid duration: " + duration);
+      }
+      double value = Double.parseDouble(duration.substring(start, unit));
+      switch (duration.substring(unit, i)) {
+        case "ns":
+          millis += value / 1_000_000;
+          break;
+        case "us":
+        case "\u00b5s":
+          millis += value / 1_000;
+          break;
+        case "ms":
+          millis += value;
+          break;
+        case "s":
+          millis += value * 1_000;
+          break;
+        case "m":
+          millis += value * 60_000;
+          break;
+        case "h":
+          millis += value * 3_600_000;
+          break;
+        default:
+          throw new IllegalArgumentException("Invalid duration: " + duration);
+      }
+    }
+    return (long) millis;
+  }
 }
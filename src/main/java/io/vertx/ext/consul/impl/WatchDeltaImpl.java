@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.ext.consul.WatchDelta;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiPredicate;
+import java.util.function.Function;
+
+class WatchDeltaImpl<T> implements WatchDelta<T> {
+
+  private final T added;
+  private final T removed;
+  private final T modified;
+  private final boolean empty;
+
+  WatchDeltaImpl(T added, T removed, T modified, boolean empty) {
+    this.added = added;
+    this.removed = removed;
+    this.modified = modified;
+    this.empty = empty;
+  }
+
+  /**
+   * Matches the entries of two lists by key, in linear time.
+   *
+   * @param prev the previous entries, can be {@code null}
+   * @param next the new entries, can be {@code null}
+   * @param key the identity of an entry
+   * @param same tells whether an entry has not changed
+   * @param wrap wraps the matched entries into the result type
+   */
+  static <E, T> WatchDelta<T> diff(List<E> prev, List<E> next, Function<E, String> key, BiPredicate<E, E> same,
+                                   Function<List<E>, T> wrap) {
+    if (prev == null) {
+      prev = Collections.emptyList();
+    }
+    if (next == null) {
+      next = Collections.emptyList();
+    }
+    Map<String, E> known = new HashMap<>(prev.size() * 4 / 3 + 1);
+    for (E entry : prev) {
+      known.put(key.apply(entry), entry);
+    }
+    List<E> added = new ArrayList<>();
+    List<E> modified = new ArrayList<>();
+    for (E entry : next) {
+      E old = known.remove(key.apply(entry));
+      if (old == null) {
+        added.add(entry);
+      } else if (!same.test(old, entry)) {
+        modified.add(entry);
+      }
+    }
+    List<E> removed = new ArrayList<>(known.values());
+    boolean empty = added.isEmpty() && removed.isEmpty() && modified.isEmpty();
+    return new WatchDeltaImpl<>(wrap.apply(added), wrap.apply(removed), wrap.apply(modified), empty);
+  }
+
+  @Override
+  public T added() {
+    return added;
+  }
+
+  @Override
+  public T removed() {
+    return removed;
+  }
+
+  @Override
+  public T modified() {
+    return modified;
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return empty;
+  }
+}
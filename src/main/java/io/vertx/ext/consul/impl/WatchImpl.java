@@ -16,8 +16,10 @@
 package io.vertx.ext.consul.impl;
 
 import io.vertx.core.AsyncResult;
+import io.vertx.core.Context;
 import io.vertx.core.Handler;
 import io.vertx.core.Vertx;
+import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.*;
 
 import java.util.Objects;
@@ -29,24 +31,50 @@ import java.util.concurrent.TimeoutException;
 public abstract class WatchImpl<T> implements Watch<T> {
 
   private static final String BLOCKING_WAIT = "10m";
-  private static final int DELAY_LIMIT_SECONDS = 180;
+  private static final long BLOCKING_WAIT_MS = 600_000;
 
   public static class Key extends WatchImpl<KeyValue> {
 
     private final String key;
-    private final String timeout;
 
     public Key(String key, Vertx vertx, ConsulClientOptions options) {
-      super(vertx, ConsulClient.create(vertx, options));
+      super(vertx, options);
       this.key = key;
-      if (options.getTimeout() > 0) {
-        this.timeout = options.getTimeout() + "ms";
-      } else this.timeout = BLOCKING_WAIT;
+    }
+
+    public Key(String key, Vertx vertx, ConsulClient consulClient, long timeoutMs) {
+      super(vertx, consulClient, timeoutMs);
+      this.key = key;
+    }
+
+    @Override
+    String id() {
+      return "/v1/kv/" + key;
+    }
+
+    @Override
+    WatchDelta<KeyValue> diff(KeyValue prev, KeyValue next) {
+      boolean wasPresent = prev != null && prev.isPresent();
+      boolean isPresent = next != null && next.isPresent();
+      KeyValue added = !wasPresent && isPresent ? next : null;
+      KeyValue removed = wasPresent && !isPresent ? prev : null;
+      KeyValue modified = wasPresent && isPresent && prev.getModifyIndex() != next.getModifyIndex() ? next : null;
+      return new WatchDeltaImpl<>(added, removed, modified, added == null && removed == null && modified == null);
+    }
+
+    @Override
+    KeyValue decode(JsonObject json) {
+      return new KeyValue(json);
+    }
+
+    @Override
+    JsonObject encode(KeyValue value) {
+      return value.toJson();
     }
 
     @Override
     void wait(long index, Handler<AsyncResult<State<KeyValue>>> handler) {
-      BlockingQueryOptions options = new BlockingQueryOptions().setWait(timeout).setIndex(index);
+      BlockingQueryOptions options = new BlockingQueryOptions().setWait(waitTime()).setIndex(index);
       consulClient.getValueWithOptions(key, options).onComplete(h ->
         handler.handle(h.map(kv -> new State<>(kv, kv.getModifyIndex()))));
     }
@@ -55,19 +83,41 @@ public abstract class WatchImpl<T> implements Watch<T> {
   public static class KeyPrefix extends WatchImpl<KeyValueList> {
 
     private final String keyPrefix;
-    private final String timeout;
 
     public KeyPrefix(String keyPrefix, Vertx vertx, ConsulClientOptions options) {
-      super(vertx, ConsulClient.create(vertx, options));
+      super(vertx, options);
+      this.keyPrefix = keyPrefix;
+    }
+
+    public KeyPrefix(String keyPrefix, Vertx vertx, ConsulClient consulClient, long timeoutMs) {
+      super(vertx, consulClient, timeoutMs);
       this.keyPrefix = keyPrefix;
-      if (options.getTimeout() > 0) {
-        this.timeout = options.getTimeout() + "ms";
-      } else this.timeout = BLOCKING_WAIT;
+    }
+
+    @Override
+    String id() {
+      return "/v1/kv/" + keyPrefix + "?recurse";
+    }
+
+    @Override
+    WatchDelta<KeyValueList> diff(KeyValueList prev, KeyValueList next) {
+      return WatchDeltaImpl.diff(prev == null ? null : prev.getList(), next.getList(), KeyValue::getKey,
+        (a, b) -> a.getModifyIndex() == b.getModifyIndex(), list -> new KeyValueList().setList(list).setIndex(next.getIndex()));
+    }
+
+    @Override
+    KeyValueList decode(JsonObject json) {
+      return new KeyValueList(json);
+    }
+
+    @Override
+    JsonObject encode(KeyValueList value) {
+      return value.toJson();
     }
 
     @Override
     protected void wait(long index, Handler<AsyncResult<State<KeyValueList>>> handler) {
-      BlockingQueryOptions options = new BlockingQueryOptions().setWait(timeout).setIndex(index);
+      BlockingQueryOptions options = new BlockingQueryOptions().setWait(waitTime()).setIndex(index);
       consulClient.getValuesWithOptions(keyPrefix, options).onComplete(h ->
         handler.handle(h.map(kv -> new State<>(kv, kv.getIndex()))));
     }
@@ -75,18 +125,38 @@ public abstract class WatchImpl<T> implements Watch<T> {
 
   public static class Services extends WatchImpl<ServiceList> {
 
-    private final String timeout;
-
     public Services(Vertx vertx, ConsulClientOptions options) {
-      super(vertx, ConsulClient.create(vertx, options));
-      if (options.getTimeout() > 0) {
-        this.timeout = options.getTimeout() + "ms";
-      } else this.timeout = BLOCKING_WAIT;
+      super(vertx, options);
+    }
+
+    public Services(Vertx vertx, ConsulClient consulClient, long timeoutMs) {
+      super(vertx, consulClient, timeoutMs);
+    }
+
+    @Override
+    String id() {
+      return "/v1/catalog/services";
+    }
+
+    @Override
+    WatchDelta<ServiceList> diff(ServiceList prev, ServiceList next) {
+      return WatchDeltaImpl.diff(prev == null ? null : prev.getList(), next.getList(), io.vertx.ext.consul.Service::getName,
+        Objects::equals, list -> new ServiceList().setList(list).setIndex(next.getIndex()));
+    }
+
+    @Override
+    ServiceList decode(JsonObject json) {
+      return new ServiceList(json);
+    }
+
+    @Override
+    JsonObject encode(ServiceList value) {
+      return value.toJson();
     }
 
     @Override
     void wait(long index, Handler<AsyncResult<State<ServiceList>>> handler) {
-      BlockingQueryOptions options = new BlockingQueryOptions().setWait(timeout).setIndex(index);
+      BlockingQueryOptions options = new BlockingQueryOptions().setWait(waitTime()).setIndex(index);
       consulClient.catalogServicesWithOptions(options).onComplete(h ->
         handler.handle(h.map(services -> new State<>(services, services.getIndex()))));
     }
@@ -95,19 +165,47 @@ public abstract class WatchImpl<T> implements Watch<T> {
   public static class Service extends WatchImpl<ServiceEntryList> {
 
     private final String service;
-    private String timeout = BLOCKING_WAIT;
 
     public Service(String service, Vertx vertx, ConsulClientOptions options) {
-      super(vertx, ConsulClient.create(vertx, options));
+      super(vertx, options);
       this.service = service;
-      if (options.getTimeout() > 0) {
-        this.timeout = options.getTimeout() + "ms";
-      } else this.timeout = BLOCKING_WAIT;
+    }
+
+    public Service(String service, Vertx vertx, ConsulClient consulClient, long timeoutMs) {
+      super(vertx, consulClient, timeoutMs);
+      this.service = service;
+    }
+
+    @Override
+    String id() {
+      return "/v1/health/service/" + service + "?near=_agent";
+    }
+
+    @Override
+    WatchDelta<ServiceEntryList> diff(ServiceEntryList prev, ServiceEntryList next) {
+      return WatchDeltaImpl.diff(prev == null ? null : prev.getList(), next.getList(), Service::entryKey,
+        Objects::equals, list -> new ServiceEntryList().setList(list).setIndex(next.getIndex()));
+    }
+
+    private static String entryKey(ServiceEntry entry) {
+      String node = entry.getNode() != null ? entry.getNode().getName() : null;
+      String id = entry.getService() != null ? entry.getService().getId() : null;
+      return node + "/" + id;
+    }
+
+    @Override
+    ServiceEntryList decode(JsonObject json) {
+      return new ServiceEntryList(json);
+    }
+
+    @Override
+    JsonObject encode(ServiceEntryList value) {
+      return value.toJson();
     }
 
     @Override
     void wait(long index, Handler<AsyncResult<State<ServiceEntryList>>> handler) {
-      BlockingQueryOptions bOpts = new BlockingQueryOptions().setWait(timeout).setIndex(index);
+      BlockingQueryOptions bOpts = new BlockingQueryOptions().setWait(waitTime()).setIndex(index);
       ServiceQueryOptions sOpts = new ServiceQueryOptions().setNear("_agent").setBlockingOptions(bOpts);
       consulClient.healthServiceNodesWithOptions(service, false, sOpts).onComplete(h ->
         handler.handle(h.map(services -> new State<>(services, services.getIndex()))));
@@ -117,19 +215,41 @@ public abstract class WatchImpl<T> implements Watch<T> {
   public static class Events extends WatchImpl<EventList> {
 
     private final String event;
-    private final String timeout;
 
     public Events(String event, Vertx vertx, ConsulClientOptions options) {
-      super(vertx, ConsulClient.create(vertx, options));
+      super(vertx, options);
+      this.event = event;
+    }
+
+    public Events(String event, Vertx vertx, ConsulClient consulClient, long timeoutMs) {
+      super(vertx, consulClient, timeoutMs);
       this.event = event;
-      if (options.getTimeout() > 0) {
-        this.timeout = options.getTimeout() + "ms";
-      } else this.timeout = BLOCKING_WAIT;
+    }
+
+    @Override
+    String id() {
+      return "/v1/event/list?name=" + event;
+    }
+
+    @Override
+    WatchDelta<EventList> diff(EventList prev, EventList next) {
+      return WatchDeltaImpl.diff(prev == null ? null : prev.getList(), next.getList(), Event::getId,
+        (a, b) -> true, list -> new EventList().setList(list).setIndex(next.getIndex()));
+    }
+
+    @Override
+    EventList decode(JsonObject json) {
+      return new EventList(json);
+    }
+
+    @Override
+    JsonObject encode(EventList value) {
+      return value.toJson();
     }
 
     @Override
     void wait(long index, Handler<AsyncResult<State<EventList>>> handler) {
-      BlockingQueryOptions bOpts = new BlockingQueryOptions().setWait(timeout).setIndex(index);
+      BlockingQueryOptions bOpts = new BlockingQueryOptions().setWait(waitTime()).setIndex(index);
       EventListOptions eOpts = new EventListOptions().setBlockingOptions(bOpts).setName(event);
       consulClient.listEventsWithOptions(eOpts).onComplete(h ->
         handler.handle(h.map(events -> new State<>(events, events.getIndex()))));
@@ -137,18 +257,39 @@ public abstract class WatchImpl<T> implements Watch<T> {
   }
 
   public static class Nodes extends WatchImpl<NodeList> {
-    private final String timeout;
 
     public Nodes(Vertx vertx, ConsulClientOptions options) {
-      super(vertx, ConsulClient.create(vertx, options));
-      if (options.getTimeout() > 0) {
-        this.timeout = options.getTimeout() + "ms";
-      } else this.timeout = BLOCKING_WAIT;
+      super(vertx, options);
+    }
+
+    public Nodes(Vertx vertx, ConsulClient consulClient, long timeoutMs) {
+      super(vertx, consulClient, timeoutMs);
+    }
+
+    @Override
+    String id() {
+      return "/v1/catalog/nodes";
+    }
+
+    @Override
+    WatchDelta<NodeList> diff(NodeList prev, NodeList next) {
+      return WatchDeltaImpl.diff(prev == null ? null : prev.getList(), next.getList(), Node::getName,
+        Objects::equals, list -> new NodeList().setList(list).setIndex(next.getIndex()));
+    }
+
+    @Override
+    NodeList decode(JsonObject json) {
+      return new NodeList(json);
+    }
+
+    @Override
+    JsonObject encode(NodeList value) {
+      return value.toJson();
     }
 
     @Override
     void wait(long index, Handler<AsyncResult<State<NodeList>>> handler) {
-      BlockingQueryOptions bOpts = new BlockingQueryOptions().setWait(timeout).setIndex(index);
+      BlockingQueryOptions bOpts = new BlockingQueryOptions().setWait(waitTime()).setIndex(index);
       NodeQueryOptions qOpts = new NodeQueryOptions().setBlockingOptions(bOpts);
       consulClient.catalogNodesWithOptions(qOpts).onComplete(h ->
         handler.handle(h.map(nodes -> new State<>(nodes, nodes.getIndex()))));
@@ -158,20 +299,42 @@ public abstract class WatchImpl<T> implements Watch<T> {
   public static class NodeHealthCheck extends WatchImpl<CheckList> {
     CheckQueryOptions options;
     String node;
-    private final String timeout;
 
     public NodeHealthCheck(String node, CheckQueryOptions check, Vertx vertx, ConsulClientOptions options) {
-      super(vertx, ConsulClient.create(vertx, options));
-      if (options.getTimeout() > 0) {
-        this.timeout = options.getTimeout() + "ms";
-      } else this.timeout = BLOCKING_WAIT;
+      super(vertx, options);
+      this.node = node;
+      this.options = check;
+    }
+
+    public NodeHealthCheck(String node, CheckQueryOptions check, Vertx vertx, ConsulClient consulClient, long timeoutMs) {
+      super(vertx, consulClient, timeoutMs);
       this.node = node;
       this.options = check;
     }
 
+    @Override
+    String id() {
+      return "/v1/health/node/" + node + checkQueryId(options);
+    }
+
+    @Override
+    WatchDelta<CheckList> diff(CheckList prev, CheckList next) {
+      return checkDiff(prev, next);
+    }
+
+    @Override
+    CheckList decode(JsonObject json) {
+      return new CheckList(json);
+    }
+
+    @Override
+    JsonObject encode(CheckList value) {
+      return value.toJson();
+    }
+
     @Override
     void wait(long index, Handler<AsyncResult<State<CheckList>>> handler) {
-      BlockingQueryOptions bOpts = new BlockingQueryOptions().setWait(timeout).setIndex(index);
+      BlockingQueryOptions bOpts = new BlockingQueryOptions().setWait(waitTime()).setIndex(index);
       consulClient.healthNodesWithOptions(node, options.setBlockingOptions(bOpts)).onComplete(h ->
         handler.handle(h.map(nodes -> new State<>(nodes, nodes.getIndex()))));
     }
@@ -180,51 +343,223 @@ public abstract class WatchImpl<T> implements Watch<T> {
   public static class ServiceHealthCheck extends WatchImpl<CheckList> {
     CheckQueryOptions options;
     String serviceName;
-    private final String timeout;
 
     public ServiceHealthCheck(String service, CheckQueryOptions check, Vertx vertx, ConsulClientOptions options) {
-      super(vertx, ConsulClient.create(vertx, options));
-      if (options.getTimeout() > 0) {
-        this.timeout = options.getTimeout() + "ms";
-      } else this.timeout = BLOCKING_WAIT;
+      super(vertx, options);
       this.serviceName = service;
       this.options = check;
     }
 
+    public ServiceHealthCheck(String service, CheckQueryOptions check, Vertx vertx, ConsulClient consulClient, long timeoutMs) {
+      super(vertx, consulClient, timeoutMs);
+      this.serviceName = service;
+      this.options = check;
+    }
+
+    @Override
+    String id() {
+      return "/v1/health/checks/" + serviceName + checkQueryId(options);
+    }
+
+    @Override
+    WatchDelta<CheckList> diff(CheckList prev, CheckList next) {
+      return checkDiff(prev, next);
+    }
+
+    @Override
+    CheckList decode(JsonObject json) {
+      return new CheckList(json);
+    }
+
+    @Override
+    JsonObject encode(CheckList value) {
+      return value.toJson();
+    }
+
     @Override
     void wait(long index, Handler<AsyncResult<State<CheckList>>> handler) {
-      BlockingQueryOptions bOpts = new BlockingQueryOptions().setWait(timeout).setIndex(index);
+      BlockingQueryOptions bOpts = new BlockingQueryOptions().setWait(waitTime()).setIndex(index);
       consulClient.healthChecksWithOptions(serviceName, options.setBlockingOptions(bOpts)).onComplete(h ->
         handler.handle(h.map(nodes -> new State<>(nodes, nodes.getIndex()))));
     }
   }
 
+  public static class HealthStates extends WatchImpl<CheckList> {
+
+    private final HealthState state;
+
+    public HealthStates(HealthState state, Vertx vertx, ConsulClientOptions options) {
+      super(vertx, options);
+      this.state = state;
+    }
+
+    public HealthStates(HealthState state, Vertx vertx, ConsulClient consulClient, long timeoutMs) {
+      super(vertx, consulClient, timeoutMs);
+      this.state = state;
+    }
+
+    @Override
+    String id() {
+      return "/v1/health/state/" + state.key;
+    }
+
+    @Override
+    WatchDelta<CheckList> diff(CheckList prev, CheckList next) {
+      return checkDiff(prev, next);
+    }
+
+    @Override
+    CheckList decode(JsonObject json) {
+      return new CheckList(json);
+    }
+
+    @Override
+    JsonObject encode(CheckList value) {
+      return value.toJson();
+    }
+
+    @Override
+    void wait(long index, Handler<AsyncResult<State<CheckList>>> handler) {
+      BlockingQueryOptions bOpts = new BlockingQueryOptions().setWait(waitTime()).setIndex(index);
+      consulClient.healthStateWithOptions(state, new CheckQueryOptions().setBlockingOptions(bOpts)).onComplete(h ->
+        handler.handle(h.map(checks -> new State<>(checks, checks.getIndex()))));
+    }
+  }
+
   private volatile boolean started = false;
   private volatile boolean stopped = false;
   private Handler<WatchResult<T>> handler;
+  private volatile Handler<WatchDelta<T>> deltaHandler;
   private State<T> current = new State<>(null, 0);
+  private long index;
+  private volatile long lastContact;
+  private volatile boolean reportLag = true;
+  private String endpoint;
 
   protected final Vertx vertx;
   protected final ConsulClient consulClient;
+  protected final String timeout;
+  private final boolean closeClient;
+  private final ConsulMetrics metrics;
+  private final WatchPacing pacing;
+  private final WatchSnapshotStore snapshots;
+
+  private WatchImpl(Vertx vertx, ConsulClientOptions options) {
+    this(vertx, ConsulClient.create(vertx, options), options.getTimeout(), true);
+  }
 
-  private WatchImpl(Vertx vertx, ConsulClient consulClient) {
+  private WatchImpl(Vertx vertx, ConsulClient consulClient, long timeoutMs) {
+    this(vertx, consulClient, timeoutMs, false);
+  }
+
+  private WatchImpl(Vertx vertx, ConsulClient consulClient, long timeoutMs, boolean closeClient) {
     this.vertx = vertx;
     this.consulClient = consulClient;
+    this.timeout = timeoutMs > 0 ? timeoutMs + "ms" : BLOCKING_WAIT;
+    this.closeClient = closeClient;
+    this.metrics = consulClient instanceof ConsulClientImpl ? ((ConsulClientImpl) consulClient).metrics() : ConsulMetrics.NOOP;
+    WatchOptions watchOptions = consulClient instanceof ConsulClientImpl ? ((ConsulClientImpl) consulClient).watchOptions() : new WatchOptions();
+    this.snapshots = consulClient instanceof ConsulClientImpl ? ((ConsulClientImpl) consulClient).snapshots() : null;
+    this.pacing = new WatchPacing(watchOptions, timeoutMs > 0 ? timeoutMs : BLOCKING_WAIT_MS, timeout);
   }
 
+  /**
+   * @return the identity of the underlying query, watches with the same identity observe the same data
+   */
+  abstract String id();
+
   abstract void wait(long index, Handler<AsyncResult<State<T>>> handler);
 
+  /**
+   * @param prev the previous result, {@code null} for the first one
+   * @param next the new result
+   * @return the difference between the results
+   */
+  abstract WatchDelta<T> diff(T prev, T next);
+
+  /**
+   * @param json a result persisted by {@link #encode}
+   * @return the result
+   */
+  abstract T decode(JsonObject json);
+
+  /**
+   * @param value a result
+   * @return the JSON persisted in the snapshot of the watch
+   */
+  abstract JsonObject encode(T value);
+
+  /**
+   * @return the {@code wait} parameter of the next blocking query, jittered when configured
+   */
+  protected String waitTime() {
+    return pacing.waitTime();
+  }
+
+  /**
+   * @return the {@link System#nanoTime()} of the last successful response of Consul, {@code 0} if none
+   */
+  long lastContact() {
+    return lastContact;
+  }
+
+  /**
+   * The results are fanned out to subscribers which report the delivery lag themselves
+   */
+  void disableLagReport() {
+    reportLag = false;
+  }
+
+  /**
+   * @return the metrics of the client of the watch
+   */
+  ConsulMetrics metrics() {
+    return metrics;
+  }
+
+  private static WatchDelta<CheckList> checkDiff(CheckList prev, CheckList next) {
+    return WatchDeltaImpl.diff(prev == null ? null : prev.getList(), next.getList(), c -> c.getNode() + "/" + c.getId(),
+      Objects::equals, list -> new CheckList().setList(list).setIndex(next.getIndex()));
+  }
+
+  private static String checkQueryId(CheckQueryOptions options) {
+    if (options == null) {
+      return "";
+    }
+    return "?near=" + Objects.toString(options.getNear(), "")
+      + "&dc=" + Objects.toString(options.getDc(), "")
+      + "&filter=" + Objects.toString(options.getFilter(), "")
+      + "&ns=" + Objects.toString(options.getNs(), "");
+  }
+
   @Override
   public Watch<T> setHandler(Handler<WatchResult<T>> handler) {
     this.handler = handler;
     return this;
   }
 
+  @Override
+  public Watch<T> setDeltaHandler(Handler<WatchDelta<T>> handler) {
+    this.deltaHandler = handler;
+    return this;
+  }
+
   @Override
   public synchronized Watch<T> start() {
     if (!started) {
       started = true;
-      vertx.runOnContext(v -> go());
+      endpoint = EndpointTemplates.of(id());
+      if (snapshots == null) {
+        vertx.runOnContext(v -> go());
+      } else {
+        Context context = vertx.getOrCreateContext();
+        context.runOnContext(v -> snapshots.load(id()).onComplete(ar -> {
+          if (ar.succeeded() && ar.result() != null) {
+            resume(ar.result());
+          }
+          go();
+        }));
+      }
     } else {
       throw new IllegalStateException("Watch already started");
     }
@@ -240,18 +575,46 @@ public abstract class WatchImpl<T> implements Watch<T> {
       throw new IllegalStateException("Watch already stopped");
     }
     stopped = true;
-    consulClient.close();
+    if (closeClient) {
+      consulClient.close();
+    }
+  }
+
+  /**
+   * Deliver the persisted result, the next blocking query waits for a change of its index
+   */
+  private void resume(WatchSnapshotStore.Snapshot snapshot) {
+    T value;
+    try {
+      value = decode(snapshot.value);
+    } catch (Exception e) {
+      // written by an incompatible version
+      return;
+    }
+    current = new State<>(value, snapshot.index);
+    index = WatchPacing.nextIndex(0, snapshot.index);
+    sendSuccess(null, value);
+    sendDelta(null, value);
   }
 
   private void go() {
     fetch(0, newState -> {
+      long nextIndex = WatchPacing.nextIndex(current.index, newState.index);
+      if (nextIndex == 0) {
+        metrics.watchIndexReset(endpoint, current.index, newState.index);
+      }
+      index = nextIndex;
       if (newState.equals(current)) {
         // avoid floods
-        vertx.setTimer(1000, l -> go());
+        vertx.setTimer(pacing.unchangedDelay(), l -> go());
       } else {
         State<T> prevState = current;
         current = newState;
+        if (snapshots != null && newState.value != null) {
+          snapshots.save(id(), newState.index, encode(newState.value));
+        }
         sendSuccess(prevState.value, newState.value);
+        sendDelta(prevState.value, newState.value);
         vertx.runOnContext(v -> go());
       }
     });
@@ -261,11 +624,24 @@ public abstract class WatchImpl<T> implements Watch<T> {
     if (stopped) {
       return;
     }
-    wait(current.index, h -> {
+    long delay = pacing.acquire();
+    if (delay > 0) {
+      vertx.setTimer(delay, l -> send(cnt, result));
+    } else {
+      send(cnt, result);
+    }
+  }
+
+  private void send(long cnt, Handler<State<T>> result) {
+    if (stopped) {
+      return;
+    }
+    wait(index, h -> {
       if (stopped) {
         return;
       }
       if (h.succeeded()) {
+        lastContact = System.nanoTime();
         result.handle(h.result());
       } else {
         Throwable cause = h.cause();
@@ -274,11 +650,8 @@ public abstract class WatchImpl<T> implements Watch<T> {
         } else {
           sendFail(current.value, h.cause());
           long newCnt = cnt + 1;
-          long delay = newCnt * newCnt;
-          if (delay > DELAY_LIMIT_SECONDS) {
-            delay = DELAY_LIMIT_SECONDS;
-          }
-          vertx.setTimer(delay * 1000, l -> fetch(newCnt, result));
+          metrics.watchRetry(endpoint, newCnt, cause);
+          vertx.setTimer(pacing.retryDelay(newCnt), l -> fetch(newCnt, result));
         }
       }
     });
@@ -286,63 +659,23 @@ public abstract class WatchImpl<T> implements Watch<T> {
 
   private void sendSuccess(T prevValue, T nextValue) {
     if (!stopped && handler != null) {
-      handler.handle(new WatchResult<T>() {
-        @Override
-        public T prevResult() {
-          return prevValue;
-        }
-
-        @Override
-        public T nextResult() {
-          return nextValue;
-        }
-
-        @Override
-        public Throwable cause() {
-          return null;
-        }
-
-        @Override
-        public boolean succeeded() {
-          return true;
-        }
+      if (reportLag && lastContact != 0) {
+        metrics.watchDelivered(endpoint, System.nanoTime() - lastContact);
+      }
+      handler.handle(WatchResultImpl.success(prevValue, nextValue));
+    }
+  }
 
-        @Override
-        public boolean failed() {
-          return false;
-        }
-      });
+  private void sendDelta(T prevValue, T nextValue) {
+    Handler<WatchDelta<T>> h = deltaHandler;
+    if (!stopped && h != null) {
+      h.handle(diff(prevValue, nextValue));
     }
   }
 
   private void sendFail(T prevValue, Throwable cause) {
     if (!stopped && handler != null) {
-      handler.handle(new WatchResult<T>() {
-        @Override
-        public T prevResult() {
-          return prevValue;
-        }
-
-        @Override
-        public T nextResult() {
-          return null;
-        }
-
-        @Override
-        public Throwable cause() {
-          return cause;
-        }
-
-        @Override
-        public boolean succeeded() {
-          return false;
-        }
-
-        @Override
-        public boolean failed() {
-          return true;
-        }
-      });
+      handler.handle(WatchResultImpl.failure(prevValue, cause));
     }
   }
 
@@ -350,23 +683,40 @@ public abstract class WatchImpl<T> implements Watch<T> {
 
     final T value;
     final long index;
+    private int hash;
+    private boolean hashed;
 
     State(T v, long i) {
       value = v;
       index = i;
     }
 
+    /**
+     * @return the hash of the value, computed once
+     */
+    private int contentHash() {
+      if (!hashed) {
+        hash = Objects.hashCode(value);
+        hashed = true;
+      }
+      return hash;
+    }
+
+    /**
+     * States are compared by index and content hash, Consul does not change the content
+     * without changing the index so the values themselves are not compared.
+     */
     @Override
     public boolean equals(Object o) {
       if (this == o) return true;
       if (o == null || getClass() != o.getClass()) return false;
       State<?> state = (State<?>) o;
-      return index == state.index && Objects.equals(value, state.value);
+      return index == state.index && contentHash() == state.contentHash();
     }
 
     @Override
     public int hashCode() {
-      int result = value != null ? value.hashCode() : 0;
+      int result = contentHash();
       result = 31 * result + (int) (index ^ (index >>> 32));
       return result;
     }
@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Context;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.PoolOptions;
+import io.vertx.ext.consul.*;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class WatchManagerImpl implements WatchManager {
+
+  private final Vertx vertx;
+  private final ConsulClientImpl consulClient;
+  private final long timeoutMs;
+  private final int maxPoolSize;
+  private final Map<String, SharedWatch<?>> watches = new HashMap<>();
+  private boolean closed;
+
+  public WatchManagerImpl(Vertx vertx, ConsulClientOptions options, PoolOptions poolOptions) {
+    Objects.requireNonNull(vertx);
+    Objects.requireNonNull(options);
+    Objects.requireNonNull(poolOptions);
+    this.vertx = vertx;
+    this.consulClient = new ConsulClientImpl(vertx, options, poolOptions);
+    this.timeoutMs = options.getTimeout();
+    this.maxPoolSize = poolOptions.getHttp1MaxSize();
+  }
+
+  @Override
+  public Watch<KeyValue> key(String key) {
+    return new Subscription<>(new WatchImpl.Key(key, vertx, consulClient, timeoutMs));
+  }
+
+  @Override
+  public Watch<KeyValueList> keyPrefix(String keyPrefix) {
+    return new Subscription<>(new WatchImpl.KeyPrefix(keyPrefix, vertx, consulClient, timeoutMs));
+  }
+
+  @Override
+  public Watch<ServiceList> services() {
+    return new Subscription<>(new WatchImpl.Services(vertx, consulClient, timeoutMs));
+  }
+
+  @Override
+  public Watch<ServiceEntryList> service(String service) {
+    return new Subscription<>(new WatchImpl.Service(service, vertx, consulClient, timeoutMs));
+  }
+
+  @Override
+  public Watch<EventList> events(String event) {
+    return new Subscription<>(new WatchImpl.Events(event, vertx, consulClient, timeoutMs));
+  }
+
+  @Override
+  public Watch<NodeList> nodes() {
+    return new Subscription<>(new WatchImpl.Nodes(vertx, consulClient, timeoutMs));
+  }
+
+  @Override
+  public Watch<CheckList> nodeHealthChecks(String node, CheckQueryOptions options) {
+    return new Subscription<>(new WatchImpl.NodeHealthCheck(node, options, vertx, consulClient, timeoutMs));
+  }
+
+  @Override
+  public Watch<CheckList> serviceHealthChecks(String service, CheckQueryOptions options) {
+    return new Subscription<>(new WatchImpl.ServiceHealthCheck(service, options, vertx, consulClient, timeoutMs));
+  }
+
+  @Override
+  public synchronized int watchCount() {
+    int count = 0;
+    for (SharedWatch<?> watch : watches.values()) {
+      count += watch.subscriptions.size();
+    }
+    return count;
+  }
+
+  @Override
+  public synchronized int queryCount() {
+    return watches.size();
+  }
+
+  @Override
+  public int inFlightRequests() {
+    return consulClient.inFlightRequests();
+  }
+
+  @Override
+  public int maxPoolSize() {
+    return maxPoolSize;
+  }
+
+  /**
+   * @return the client shared by the watches
+   */
+  ConsulClient client() {
+    return consulClient;
+  }
+
+  @Override
+  public void close() {
+    List<SharedWatch<?>> toStop;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      toStop = new ArrayList<>(watches.values());
+      watches.clear();
+    }
+    toStop.forEach(watch -> watch.upstream.stop());
+    consulClient.close();
+  }
+
+  @SuppressWarnings("unchecked")
+  private synchronized <T> SharedWatch<T> attach(Subscription<T> subscription) {
+    if (closed) {
+      throw new IllegalStateException("Watch manager closed");
+    }
+    WatchImpl<T> candidate = subscription.candidate;
+    SharedWatch<T> shared = (SharedWatch<T>) watches.get(candidate.id());
+    if (shared == null) {
+      shared = new SharedWatch<>(candidate);
+      watches.put(candidate.id(), shared);
+      shared.subscriptions.add(subscription);
+      if (subscription.deltaHandler != null) {
+        shared.enableDeltas();
+      }
+      candidate.start();
+    } else {
+      shared.subscriptions.add(subscription);
+      if (subscription.deltaHandler != null) {
+        shared.enableDeltas();
+      }
+      shared.replay(subscription);
+    }
+    return shared;
+  }
+
+  private void detach(Subscription<?> subscription, SharedWatch<?> shared) {
+    boolean last;
+    synchronized (this) {
+      shared.subscriptions.remove(subscription);
+      last = shared.subscriptions.isEmpty() && watches.remove(shared.upstream.id(), shared);
+    }
+    if (last) {
+      shared.upstream.stop();
+    }
+  }
+
+  /**
+   * A single blocking query shared by the subscriptions with the same identity.
+   */
+  private static class SharedWatch<T> {
+
+    private final WatchImpl<T> upstream;
+    private final List<Subscription<T>> subscriptions = new CopyOnWriteArrayList<>();
+    private volatile boolean hasValue;
+    private volatile T value;
+
+    private SharedWatch(WatchImpl<T> upstream) {
+      this.upstream = upstream;
+      upstream.setHandler(this::handle);
+      upstream.disableLagReport();
+    }
+
+    private void enableDeltas() {
+      upstream.setDeltaHandler(this::handleDelta);
+    }
+
+    private void handle(WatchResult<T> result) {
+      long received = 0;
+      if (result.succeeded()) {
+        value = result.nextResult();
+        hasValue = true;
+        received = upstream.lastContact();
+      }
+      for (Subscription<T> subscription : subscriptions) {
+        subscription.deliver(result, received);
+      }
+    }
+
+    private void handleDelta(WatchDelta<T> delta) {
+      for (Subscription<T> subscription : subscriptions) {
+        subscription.deliverDelta(delta);
+      }
+    }
+
+    private void replay(Subscription<T> subscription) {
+      if (hasValue) {
+        T current = value;
+        subscription.deliver(WatchResultImpl.success(null, current), 0);
+        if (subscription.deltaHandler != null) {
+          subscription.deliverDelta(upstream.diff(null, current));
+        }
+      }
+    }
+  }
+
+  private class Subscription<T> implements Watch<T> {
+
+    private final WatchImpl<T> candidate;
+    private final String endpoint;
+    private volatile Handler<WatchResult<T>> handler;
+    private volatile Handler<WatchDelta<T>> deltaHandler;
+    private volatile boolean stopped;
+    private boolean started;
+    private Context context;
+    private SharedWatch<T> shared;
+
+    private Subscription(WatchImpl<T> candidate) {
+      this.candidate = candidate;
+      this.endpoint = EndpointTemplates.of(candidate.id());
+    }
+
+    @Override
+    public Watch<T> setHandler(Handler<WatchResult<T>> handler) {
+      this.handler = handler;
+      return this;
+    }
+
+    @Override
+    public synchronized Watch<T> setDeltaHandler(Handler<WatchDelta<T>> handler) {
+      this.deltaHandler = handler;
+      if (handler != null && shared != null) {
+        shared.enableDeltas();
+      }
+      return this;
+    }
+
+    @Override
+    public synchronized Watch<T> start() {
+      if (started) {
+        throw new IllegalStateException("Watch already started");
+      }
+      started = true;
+      context = vertx.getOrCreateContext();
+      shared = attach(this);
+      return this;
+    }
+
+    @Override
+    public synchronized void stop() {
+      if (!started) {
+        throw new IllegalStateException("An unstarted watch");
+      }
+      if (stopped) {
+        throw new IllegalStateException("Watch already stopped");
+      }
+      stopped = true;
+      detach(this, shared);
+    }
+
+    /**
+     * @param received the {@link System#nanoTime()} of the reception of a new result, {@code 0} if the lag is not reported
+     */
+    private void deliver(WatchResult<T> result, long received) {
+      context.runOnContext(v -> {
+        Handler<WatchResult<T>> h = handler;
+        if (!stopped && h != null) {
+          if (received != 0) {
+            candidate.metrics().watchDelivered(endpoint, System.nanoTime() - received);
+          }
+          h.handle(result);
+        }
+      });
+    }
+
+    private void deliverDelta(WatchDelta<T> delta) {
+      Handler<WatchDelta<T>> h = deltaHandler;
+      if (h == null) {
+        return;
+      }
+      context.runOnContext(v -> {
+        if (!stopped) {
+          h.handle(delta);
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.ext.consul.WatchOptions;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The pacing of the requests of a watch: minimum interval and rate limit, jittered delays and wait times,
+ * and the index to send according to the blocking query guidance of Consul. A watch sends one request at a time,
+ * it is not thread safe.
+ */
+class WatchPacing {
+
+  private final long minIntervalNanos;
+  private final long emissionNanos;
+  private final long burstNanos;
+  private final long unchangedDelay;
+  private final long maxRetryDelay;
+  private final double jitter;
+  private final long waitMs;
+  private final String wait;
+
+  private long lastSent;
+  private boolean sent;
+  private long arrival;
+
+  /**
+   * @param options the options of the watches
+   * @param waitMs the wait time of the blocking queries in milliseconds
+   * @param wait the {@code wait} parameter matching {@code waitMs}
+   */
+  WatchPacing(WatchOptions options, long waitMs, String wait) {
+    minIntervalNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, options.getMinInterval()));
+    emissionNanos = options.getRateLimit() > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / options.getRateLimit()) : 0;
+    burstNanos = emissionNanos * (Math.max(1, options.getRateBurst()) - 1);
+    unchangedDelay = options.getUnchangedDelay();
+    maxRetryDelay = options.getMaxRetryDelay();
+    jitter = Math.min(1, Math.max(0, options.getJitter()));
+    this.waitMs = waitMs;
+    this.wait = wait;
+  }
+
+  /**
+   * Reserve the next request
+   *
+   * @return the delay before the request can be sent in milliseconds, {@code 0} to send it now
+   */
+  long acquire() {
+    long now = System.nanoTime();
+    long sendAt = now;
+    if (sent && sendAt - (lastSent + minIntervalNanos) < 0) {
+      sendAt = lastSent + minIntervalNanos;
+    }
+    if (emissionNanos > 0) {
+      // generic cell rate algorithm, arrival is the theoretical time of the next request
+      if (!sent || arrival - now < 0) {
+        arrival = now;
+      }
+      if (sendAt - (arrival - burstNanos) < 0) {
+        sendAt = arrival - burstNanos;
+      }
+      arrival = Math.max(arrival, sendAt) + emissionNanos;
+    }
+    sent = true;
+    lastSent = sendAt;
+    long delayNanos = sendAt - now;
+    return delayNanos <= 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(delayNanos));
+  }
+
+  /**
+   * @return the {@code wait} parameter of the next blocking query
+   */
+  String waitTime() {
+    return jitter == 0 ? wait : Math.max(1, jittered(waitMs)) + "ms";
+  }
+
+  /**
+   * @return the delay before querying Consul again after a response that did not change the state
+   */
+  long unchangedDelay() {
+    return Math.max(1, jittered(unchangedDelay));
+  }
+
+  /**
+   * @param attempt the number of consecutive failures
+   * @return the delay before the next attempt in milliseconds
+   */
+  long retryDelay(long attempt) {
+    long delay = attempt > 3037 ? maxRetryDelay : Math.min(attempt * attempt * 1000, maxRetryDelay);
+    return Math.max(1, jittered(delay));
+  }
+
+  /**
+   * Consul recommends to read again without blocking when the index goes backwards, and to never block
+   * on an index lower than {@code 1}, it would return immediately
+   *
+   * @param previous the index of the previous response
+   * @param next the index of the new response
+   * @return the index of the next request
+   */
+  static long nextIndex(long previous, long next) {
+    if (Long.compareUnsigned(next, previous) < 0) {
+      return 0;
+    }
+    return next == 0 ? 1 : next;
+  }
+
+  private long jittered(long delay) {
+    if (jitter == 0 || delay <= 0) {
+      return delay;
+    }
+    return delay - (long) (delay * jitter * ThreadLocalRandom.current().nextDouble());
+  }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.ext.consul.WatchResult;
+
+class WatchResultImpl<T> implements WatchResult<T> {
+
+  private final T prevValue;
+  private final T nextValue;
+  private final Throwable cause;
+
+  static <T> WatchResult<T> success(T prevValue, T nextValue) {
+    return new WatchResultImpl<>(prevValue, nextValue, null);
+  }
+
+  static <T> WatchResult<T> failure(T prevValue, Throwable cause) {
+    return new WatchResultImpl<>(prevValue, null, cause);
+  }
+
+  private WatchResultImpl(T prevValue, T nextValue, Throwable cause) {
+    this.prevValue = prevValue;
+    this.nextValue = nextValue;
+    this.cause = cause;
+  }
+
+  @Override
+  public T prevResult() {
+    return prevValue;
+  }
+
+  @Override
+  public T nextResult() {
+    return nextValue;
+  }
+
+  @Override
+  public Throwable cause() {
+    return cause;
+  }
+
+  @Override
+  public boolean succeeded() {
+    return cause == null;
+  }
+
+  @Override
+  public boolean failed() {
+    return cause != null;
+  }
+}
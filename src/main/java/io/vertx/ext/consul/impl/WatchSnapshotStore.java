@@ -0,0 +1,262 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.impl;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.json.JsonObject;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Persists the last result of each watch of a client, one file per watch. The results are written by batches
+ * on a worker thread: a new result replaces the pending one of the same watch, and all the pending results
+ * are written and synced to the disk together once per sync interval.
+ * <p>
+ * A snapshot is the identity of the watch, the index and the deflated JSON of the result, followed by a CRC-32.
+ * It is written to a temporary file then atomically moved, a truncated or corrupted snapshot is ignored.
+ */
+class WatchSnapshotStore {
+
+  private static final int MAGIC = 0x43575331;
+  private static final String SUFFIX = ".watch";
+
+  static class Snapshot {
+
+    final long index;
+    final JsonObject value;
+
+    Snapshot(long index, JsonObject value) {
+      this.index = index;
+      this.value = value;
+    }
+  }
+
+  private final Vertx vertx;
+  private final Path dir;
+  private final String scope;
+  private final long syncInterval;
+  private final Map<String, Snapshot> pending = new LinkedHashMap<>();
+  private long timer = -1;
+  private boolean closed;
+  private Future<Void> writing = Future.succeededFuture();
+
+  /**
+   * @param vertx the Vert.x instance
+   * @param dir the directory of the snapshots
+   * @param scope the identity of the Consul cluster, the snapshots of other clusters are not loaded
+   * @param syncInterval the interval between two writes in milliseconds
+   */
+  WatchSnapshotStore(Vertx vertx, String dir, String scope, long syncInterval) {
+    this.vertx = vertx;
+    this.dir = Paths.get(dir);
+    this.scope = scope;
+    this.syncInterval = Math.max(1, syncInterval);
+  }
+
+  /**
+   * @param id the identity of the watch
+   * @return the last persisted snapshot of the watch, {@code null} if none
+   */
+  Future<Snapshot> load(String id) {
+    String key = key(id);
+    synchronized (this) {
+      Snapshot snapshot = pending.get(key);
+      if (snapshot != null) {
+        return Future.succeededFuture(snapshot);
+      }
+    }
+    return vertx.executeBlocking(() -> read(key), false);
+  }
+
+  /**
+   * Schedule the write of the new result of a watch
+   *
+   * @param id the identity of the watch
+   * @param index the index of the result
+   * @param value the result
+   */
+  synchronized void save(String id, long index, JsonObject value) {
+    if (closed) {
+      return;
+    }
+    pending.put(key(id), new Snapshot(index, value));
+    if (timer < 0) {
+      timer = vertx.setTimer(syncInterval, t -> flush());
+    }
+  }
+
+  /**
+   * Write the pending results
+   *
+   * @return a future completed when they are synced to the disk
+   */
+  Future<Void> flush() {
+    synchronized (this) {
+      timer = -1;
+      if (pending.isEmpty()) {
+        return writing;
+      }
+      Map<String, Snapshot> batch = new LinkedHashMap<>(pending);
+      pending.clear();
+      // the batches are written one at a time, in order, a failed batch does not prevent the next ones
+      writing = writing.transform(ar -> vertx.executeBlocking(() -> {
+        write(batch);
+        return null;
+      }));
+      return writing;
+    }
+  }
+
+  /**
+   * Write the pending results and stop persisting the new ones
+   *
+   * @return a future completed when the pending results are synced to the disk
+   */
+  Future<Void> close() {
+    synchronized (this) {
+      if (closed) {
+        return Future.succeededFuture();
+      }
+      closed = true;
+      if (timer >= 0) {
+        vertx.cancelTimer(timer);
+      }
+    }
+    return flush();
+  }
+
+  private String key(String id) {
+    return scope + '\n' + id;
+  }
+
+  private Path file(String key) {
+    return dir.resolve(UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)) + SUFFIX);
+  }
+
+  private Snapshot read(String key) throws IOException {
+    byte[] bytes;
+    try {
+      bytes = Files.readAllBytes(file(key));
+    } catch (NoSuchFileException e) {
+      return null;
+    }
+    if (bytes.length < 4) {
+      return null;
+    }
+    CRC32 crc = new CRC32();
+    crc.update(bytes, 0, bytes.length - 4);
+    int expected = ((bytes[bytes.length - 4] & 0xFF) << 24) | ((bytes[bytes.length - 3] & 0xFF) << 16)
+      | ((bytes[bytes.length - 2] & 0xFF) << 8) | (bytes[bytes.length - 1] & 0xFF);
+    if ((int) crc.getValue() != expected) {
+      return null;
+    }
+    try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes, 0, bytes.length - 4))) {
+      if (in.readInt() != MAGIC || !key.equals(in.readUTF())) {
+        return null;
+      }
+      long index = in.readLong();
+      byte[] json = inflate(in, in.readInt());
+      return new Snapshot(index, Buffer.buffer(json).toJsonObject());
+    }
+  }
+
+  private void write(Map<String, Snapshot> batch) throws IOException {
+    Files.createDirectories(dir);
+    for (Map.Entry<String, Snapshot> entry : batch.entrySet()) {
+      Path target = file(entry.getKey());
+      Path tmp = Files.createTempFile(dir, target.getFileName().toString(), ".tmp");
+      try {
+        try (FileChannel channel = FileChannel.open(tmp, StandardOpenOption.WRITE)) {
+          ByteBuffer buffer = ByteBuffer.wrap(encode(entry.getKey(), entry.getValue()));
+          while (buffer.hasRemaining()) {
+            channel.write(buffer);
+          }
+          channel.force(true);
+        }
+        Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      } finally {
+        Files.deleteIfExists(tmp);
+      }
+    }
+    syncDirectory();
+  }
+
+  /**
+   * Sync the directory once per batch, so that the renames survive a crash
+   */
+  private void syncDirectory() {
+    try (FileChannel channel = FileChannel.open(dir, StandardOpenOption.READ)) {
+      channel.force(true);
+    } catch (IOException ignore) {
+      // not supported on every platform
+    }
+  }
+
+  private static byte[] encode(String key, Snapshot snapshot) throws IOException {
+    byte[] json = deflate(snapshot.value.toBuffer().getBytes());
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(json.length + key.length() + 32);
+    CRC32 crc = new CRC32();
+    try (DataOutputStream out = new DataOutputStream(new CheckedOutputStream(bytes, crc))) {
+      out.writeInt(MAGIC);
+      out.writeUTF(key);
+      out.writeLong(snapshot.index);
+      out.writeInt(json.length);
+      out.write(json);
+    }
+    new DataOutputStream(bytes).writeInt((int) crc.getValue());
+    return bytes.toByteArray();
+  }
+
+  private static byte[] deflate(byte[] data) throws IOException {
+    ByteArrayOutputStream bytes = new ByteArrayOutputStream(data.length / 4 + 16);
+    try (OutputStream out = new DeflaterOutputStream(bytes)) {
+      out.write(data);
+    }
+    return bytes.toByteArray();
+  }
+
+  private static byte[] inflate(InputStream in, int length) throws IOException {
+    byte[] deflated = new byte[length];
+    new DataInputStream(in).readFully(deflated);
+    try (InputStream inflater = new InflaterInputStream(new ByteArrayInputStream(deflated))) {
+      return inflater.readAllBytes();
+    }
+  }
+}
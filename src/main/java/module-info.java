@@ -4,6 +4,7 @@ module io.vertx.consul.client {
   requires static io.vertx.codegen.api;
   requires static io.vertx.codegen.json;
 
+  requires com.fasterxml.jackson.core;
   requires io.netty.codec.http;
   requires io.vertx.core;
   requires io.vertx.web.client;
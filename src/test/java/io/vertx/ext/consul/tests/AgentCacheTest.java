@@ -0,0 +1,93 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class AgentCacheTest {
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private ConsulClient client;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess(s -> client = ConsulClient.create(vertx, s.clientOptions())));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void cachedHealthReads(TestContext tc) {
+    ServiceQueryOptions options = new ServiceQueryOptions()
+      .setBlockingOptions(new BlockingQueryOptions().setCached(true).setMaxAge(30).setStaleIfError(60));
+    client.healthServiceNodesWithOptions("web", true, options)
+      .compose(first -> {
+        tc.assertFalse(first.isCacheHit());
+        return client.healthServiceNodesWithOptions("web", true, options);
+      })
+      .onComplete(tc.asyncAssertSuccess(second -> {
+        tc.assertTrue(second.isCacheHit());
+        tc.assertTrue(second.getCacheAge() >= 0);
+      }));
+  }
+
+  @Test
+  public void uncachedReads(TestContext tc) {
+    client.catalogServices()
+      .compose(first -> client.catalogServices())
+      .onComplete(tc.asyncAssertSuccess(second -> {
+        tc.assertFalse(second.isCacheHit());
+        tc.assertEquals(0L, second.getCacheAge());
+      }));
+  }
+
+  @Test
+  public void cachedCatalogReads(TestContext tc) {
+    BlockingQueryOptions options = new BlockingQueryOptions().setCached(true);
+    client.catalogServicesWithOptions(options)
+      .compose(first -> client.catalogServicesWithOptions(options))
+      .onComplete(tc.asyncAssertSuccess(second -> tc.assertTrue(second.isCacheHit())));
+  }
+
+  @Test
+  public void cachedPreparedQueryExecution(TestContext tc) {
+    PreparedQueryExecuteOptions options = new PreparedQueryExecuteOptions().setCached(true).setMaxAge(30);
+    client.executePreparedQueryWithOptions("web", options)
+      .compose(first -> {
+        tc.assertFalse(first.isCacheHit());
+        return client.executePreparedQueryWithOptions("web", options);
+      })
+      .onComplete(tc.asyncAssertSuccess(second -> {
+        tc.assertTrue(second.isCacheHit());
+        tc.assertTrue(second.getCacheAge() >= 0);
+      }));
+  }
+}
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class CoalesceReadsTest {
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.setLatency(100);
+    server.start().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void identicalReadsShareOneRequest(TestContext tc) {
+    AtomicInteger coalesced = new AtomicInteger();
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions()
+      .setCoalesceReads(true)
+      .setMetrics(new ConsulMetrics() {
+        @Override
+        public void requestCoalesced(String method, String endpoint) {
+          tc.assertEquals("/v1/health/service/:service", endpoint);
+          coalesced.incrementAndGet();
+        }
+      }));
+    List<Future<ServiceEntryList>> reads = new ArrayList<>();
+    for (int i = 0; i < 10; i++) {
+      reads.add(client.healthServiceNodes("payments", true));
+    }
+    Future.all(reads).onComplete(tc.asyncAssertSuccess(all -> {
+      tc.assertEquals(1L, server.requestCount());
+      tc.assertEquals(9, coalesced.get());
+      for (Future<ServiceEntryList> read : reads) {
+        tc.assertTrue(read.result() == reads.get(0).result());
+      }
+      // the read is over, the next one sends a new request
+      client.healthServiceNodes("payments", true).onComplete(tc.asyncAssertSuccess(list -> {
+        tc.assertEquals(2L, server.requestCount());
+        client.close();
+      }));
+    }));
+  }
+
+  @Test
+  public void differentReadsAreNotCoalesced(TestContext tc) {
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions().setCoalesceReads(true));
+    Future.all(
+      client.getValues("config/"),
+      client.getKeys("config/"),
+      client.healthServiceNodes("payments", true),
+      client.healthServiceNodes("payments", false)
+    ).onComplete(tc.asyncAssertSuccess(all -> {
+      tc.assertEquals(4L, server.requestCount());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void writesAreNotCoalesced(TestContext tc) {
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions().setCoalesceReads(true));
+    Future.all(client.putValue("foo", "bar"), client.putValue("foo", "bar")).onComplete(tc.asyncAssertSuccess(all -> {
+      tc.assertEquals(2L, server.requestCount());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void failureIsShared(TestContext tc) {
+    server.failNext(1);
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions().setCoalesceReads(true));
+    Future<KeyValueList> first = client.getValues("config/");
+    Future<KeyValueList> second = client.getValues("config/");
+    Future.join(first, second).onComplete(tc.asyncAssertFailure(err -> {
+      tc.assertTrue(first.failed());
+      tc.assertTrue(second.failed());
+      tc.assertEquals(1L, server.requestCount());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void readsAreNotCoalescedByDefault(TestContext tc) {
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions());
+    Future.all(client.getValues("config/"), client.getValues("config/")).onComplete(tc.asyncAssertSuccess(all -> {
+      tc.assertEquals(2L, server.requestCount());
+      client.close();
+    }));
+  }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class ConsulLockTest {
+
+  private static final String KEY = "service/leader";
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private ConsulClient client;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess(s -> client = ConsulClient.create(vertx, server.clientOptions())));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    client.close();
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  private ConsulLock lock(String value, long lockDelay) {
+    return ConsulLock.create(vertx, client, new LockOptions()
+      .setKey(KEY)
+      .setValue(value)
+      .setSessionOptions(new SessionOptions().setTtl(10).setLockDelay(lockDelay).setBehavior(SessionBehavior.RELEASE)));
+  }
+
+  @Test
+  public void acquireRelease(TestContext tc) {
+    ConsulLock lock = lock("first", 0);
+    lock.acquire()
+      .compose(v -> {
+        tc.assertTrue(lock.isHeld());
+        return client.getValue(KEY);
+      })
+      .compose(kv -> {
+        tc.assertEquals("first", kv.getValue());
+        tc.assertNotNull(kv.getSession());
+        return lock.release();
+      })
+      .compose(v -> {
+        tc.assertFalse(lock.isHeld());
+        return client.getValue(KEY);
+      })
+      .compose(kv -> {
+        tc.assertNull(kv.getSession());
+        return client.listSessions();
+      })
+      .onComplete(tc.asyncAssertSuccess(sessions -> tc.assertTrue(sessions.getList().isEmpty())));
+  }
+
+  @Test
+  public void tryAcquireTimeout(TestContext tc) {
+    ConsulLock first = lock("first", 0);
+    ConsulLock second = lock("second", 0);
+    first.acquire()
+      .compose(v -> {
+        long start = System.currentTimeMillis();
+        return second.tryAcquire(300).map(acquired -> {
+          tc.assertTrue(System.currentTimeMillis() - start >= 250);
+          return acquired;
+        });
+      })
+      .compose(acquired -> {
+        tc.assertFalse(acquired);
+        tc.assertFalse(second.isHeld());
+        tc.assertTrue(first.isHeld());
+        return client.listSessions();
+      })
+      .onComplete(tc.asyncAssertSuccess(sessions -> tc.assertEquals(1, sessions.getList().size())));
+  }
+
+  @Test
+  public void acquireOnRelease(TestContext tc) {
+    ConsulLock first = lock("first", 0);
+    ConsulLock second = lock("second", 0);
+    Async async = tc.async();
+    first.acquire().onComplete(tc.asyncAssertSuccess(v -> {
+      second.acquire().onComplete(tc.asyncAssertSuccess(v2 -> {
+        tc.assertTrue(second.isHeld());
+        client.getValue(KEY).onComplete(tc.asyncAssertSuccess(kv -> {
+          tc.assertEquals("second", kv.getValue());
+          async.complete();
+        }));
+      }));
+      // the waiter is held by a single blocking query, it does not poll the key
+      vertx.setTimer(500, t -> {
+        long requests = server.requestCount();
+        vertx.setTimer(500, t2 -> {
+          tc.assertTrue(server.requestCount() - requests <= 2);
+          tc.assertFalse(second.isHeld());
+          first.release().onComplete(tc.asyncAssertSuccess());
+        });
+      });
+    }));
+  }
+
+  @Test
+  public void lockDelay(TestContext tc) {
+    ConsulLock first = lock("first", 1);
+    ConsulLock second = lock("second", 1);
+    Async async = tc.async();
+    first.acquire().onComplete(tc.asyncAssertSuccess(v -> {
+      long[] invalidated = new long[1];
+      second.acquire().onComplete(tc.asyncAssertSuccess(v2 -> {
+        tc.assertTrue(System.currentTimeMillis() - invalidated[0] >= 900);
+        async.complete();
+      }));
+      vertx.setTimer(200, t -> client.getValue(KEY)
+        .compose(kv -> {
+          invalidated[0] = System.currentTimeMillis();
+          return client.destroySession(kv.getSession());
+        })
+        .onComplete(tc.asyncAssertSuccess()));
+    }));
+  }
+
+  @Test
+  public void lost(TestContext tc) {
+    ConsulLock lock = lock("first", 0);
+    Async async = tc.async();
+    lock.lostHandler(v -> {
+      tc.assertFalse(lock.isHeld());
+      async.complete();
+    });
+    lock.acquire()
+      .compose(v -> client.getValue(KEY))
+      .compose(kv -> client.destroySession(kv.getSession()))
+      .onComplete(tc.asyncAssertSuccess());
+  }
+}
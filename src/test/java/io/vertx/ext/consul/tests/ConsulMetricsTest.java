@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@RunWith(VertxUnitRunner.class)
+public class ConsulMetricsTest {
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private final RecordingMetrics metrics = new RecordingMetrics();
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void requestsAreTaggedByTemplate(TestContext tc) {
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions().setMetrics(metrics));
+    client.putValue("foo/bar", "value")
+      .compose(v -> client.getValue("foo/bar"))
+      .compose(kv -> client.getValueWithOptions("foo/bar", new BlockingQueryOptions().setIndex(kv.getModifyIndex()).setWait("50ms")))
+      .compose(kv -> client.healthServiceNodes("web", true))
+      .onComplete(tc.asyncAssertSuccess(v -> {
+        tc.assertEquals(4, metrics.begun.size());
+        tc.assertEquals(List.of(
+          "PUT /v1/kv/:key 200 false",
+          "GET /v1/kv/:key 200 false",
+          "GET /v1/kv/:key 200 true",
+          "GET /v1/health/service/:service 200 false"), metrics.ended);
+        tc.assertEquals(5L, metrics.requestBytes);
+        client.close();
+      }));
+  }
+
+  @Test
+  public void failuresAreReported(TestContext tc) {
+    ConsulClient client = ConsulClient.create(vertx, new ConsulClientOptions().setPort(Utils.getFreePort()).setMetrics(metrics));
+    client.agentInfo().onComplete(tc.asyncAssertFailure(t -> {
+      tc.assertEquals(List.of("GET /v1/agent/self"), metrics.failed);
+      tc.assertTrue(metrics.ended.isEmpty());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void watchRetryAndLag(TestContext tc) {
+    Async async = tc.async();
+    server.failNext(1);
+    Watch<KeyValue> watch = Watch.key("foo", vertx, server.clientOptions().setMetrics(metrics));
+    watch.setHandler(res -> {
+      if (res.succeeded()) {
+        tc.assertEquals(List.of("/v1/kv/:key 1"), metrics.retries);
+        tc.assertEquals(List.of("/v1/kv/:key"), metrics.delivered);
+        watch.stop();
+        async.complete();
+      }
+    }).start();
+  }
+
+  private static class RecordingMetrics implements ConsulMetrics {
+
+    private final List<String> begun = new CopyOnWriteArrayList<>();
+    private final List<String> ended = new CopyOnWriteArrayList<>();
+    private final List<String> failed = new CopyOnWriteArrayList<>();
+    private final List<String> retries = new CopyOnWriteArrayList<>();
+    private final List<String> delivered = new CopyOnWriteArrayList<>();
+    private volatile long requestBytes;
+
+    @Override
+    public void requestBegin(String method, String endpoint) {
+      begun.add(method + " " + endpoint);
+    }
+
+    @Override
+    public void requestEnd(String method, String endpoint, int statusCode, long durationNanos, long requestBytes, long responseBytes, boolean blocking) {
+      ended.add(method + " " + endpoint + " " + statusCode + " " + blocking);
+      this.requestBytes += requestBytes;
+    }
+
+    @Override
+    public void requestFailed(String method, String endpoint, Throwable cause, long durationNanos, boolean blocking) {
+      failed.add(method + " " + endpoint);
+    }
+
+    @Override
+    public void watchRetry(String endpoint, long attempt, Throwable cause) {
+      retries.add(endpoint + " " + attempt);
+    }
+
+    @Override
+    public void watchDelivered(String endpoint, long lagNanos) {
+      delivered.add(endpoint);
+    }
+  }
+}
@@ -15,17 +15,20 @@
  */
 package io.vertx.ext.consul.tests;
 
+import io.vertx.core.buffer.Buffer;
 import io.vertx.core.json.JsonObject;
 import io.vertx.ext.consul.*;
 import io.vertx.ext.consul.token.AclToken;
 import org.junit.Test;
 
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.List;
 
 import static io.vertx.ext.consul.tests.RandomObjects.*;
 import static io.vertx.test.core.TestUtils.randomLong;
 import static io.vertx.test.core.TestUtils.randomPositiveInt;
+import static io.vertx.test.core.TestUtils.randomUnicodeString;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 
@@ -47,6 +50,28 @@ public class CopyTest {
     checkKeyValue(kv, new KeyValue(kv.toJson()));
   }
 
+  @Test
+  public void testKeyValueEncodedValue() {
+    String value = randomUnicodeString(10);
+    Buffer bytes = Buffer.buffer(value);
+    KeyValue encoded = randomKeyValue()
+      .setEncodedValue(Base64.getEncoder().encodeToString(bytes.getBytes()));
+    KeyValue decoded = new KeyValue(encoded).setValue(value);
+    checkKeyValue(decoded, encoded);
+    assertEquals(bytes, encoded.getValueAsBuffer());
+    checkKeyValue(encoded, new KeyValue(encoded));
+    checkKeyValue(encoded, new KeyValue(encoded.toJson()));
+  }
+
+  @Test
+  public void testKeyValueHashKeepsValueEncoded() {
+    // not valid Base64, so hashing or comparing would fail if it decoded the value
+    KeyValue encoded = randomKeyValue().setEncodedValue("#not-base64#");
+    KeyValue copy = new KeyValue(encoded);
+    assertEquals(encoded, copy);
+    assertEquals(encoded.hashCode(), copy.hashCode());
+  }
+
   private void checkKeyValue(KeyValue expected, KeyValue actual) {
     assertEquals(expected, actual);
     assertEquals(expected.hashCode(), actual.hashCode());
@@ -88,6 +113,28 @@ public class CopyTest {
     assertTrue(actualList.containsAll(expectedList));
   }
 
+  @Test
+  public void testListStalenessCopy() {
+    long lastContact = randomLong();
+    KeyValueList kvList = new KeyValueList()
+      .setList(new ArrayList<>())
+      .setIndex(randomLong())
+      .setKnownLeader(true)
+      .setLastContact(lastContact);
+    for (KeyValueList copy : new KeyValueList[]{new KeyValueList(kvList), new KeyValueList(kvList.toJson())}) {
+      assertTrue(copy.isKnownLeader());
+      assertEquals(lastContact, copy.getLastContact());
+    }
+    BlockingQueryOptions options = new BlockingQueryOptions()
+      .setConsistencyMode(ConsistencyMode.STALE)
+      .setMaxStale("10s");
+    for (BlockingQueryOptions copy : new BlockingQueryOptions[]{new BlockingQueryOptions(options), new BlockingQueryOptions(options.toJson())}) {
+      assertEquals(ConsistencyMode.STALE, copy.getConsistencyMode());
+      assertEquals("10s", copy.getMaxStale());
+    }
+    assertEquals(ConsistencyMode.DEFAULT, new BlockingQueryOptions(new JsonObject()).getConsistencyMode());
+  }
+
   @Test
   public void testCoordinateListCopy() {
     List<Coordinate> list = new ArrayList<>();
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
+import io.vertx.core.Vertx;
+import io.vertx.core.eventbus.Message;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@RunWith(VertxUnitRunner.class)
+public class EventStreamTest {
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private ConsulClient client;
+  private EventStream stream;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess(s -> client = ConsulClient.create(vertx, server.clientOptions())));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    if (stream != null) {
+      stream.close();
+    }
+    client.close();
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  private Future<Void> fire(String name, int count) {
+    Future<Void> fut = Future.succeededFuture();
+    for (int i = 0; i < count; i++) {
+      String payload = name + "-" + i;
+      fut = fut.compose(v -> client.fireEventWithOptions(name, new EventOptions().setPayload(payload)).mapEmpty());
+    }
+    return fut;
+  }
+
+  @Test
+  public void exactlyOnce(TestContext tc) {
+    List<Event> events = new CopyOnWriteArrayList<>();
+    Async async = tc.async();
+    stream = EventStream.create(vertx, server.clientOptions(), new EventStreamOptions().setName("deploy"));
+    stream.handler(events::add);
+    stream.start()
+      .compose(v -> fire("deploy", 3))
+      .compose(v -> fire("other", 2))
+      .onComplete(tc.asyncAssertSuccess(v -> vertx.setTimer(500, t -> {
+        tc.assertEquals(3, events.size());
+        for (int i = 0; i < 3; i++) {
+          tc.assertEquals("deploy", events.get(i).getName());
+          tc.assertEquals("deploy-" + i, events.get(i).getPayload());
+        }
+        async.complete();
+      })));
+  }
+
+  @Test
+  public void history(TestContext tc) {
+    List<Event> events = new CopyOnWriteArrayList<>();
+    List<Event> replayed = new CopyOnWriteArrayList<>();
+    Async async = tc.async();
+    fire("deploy", 2)
+      .compose(v -> {
+        stream = EventStream.create(vertx, server.clientOptions(), new EventStreamOptions().setName("deploy"));
+        return stream.handler(events::add).start();
+      })
+      .compose(v -> EventStream.create(vertx, server.clientOptions(), new EventStreamOptions().setName("deploy").setReplay(true))
+        .handler(replayed::add)
+        .start())
+      .compose(v -> fire("deploy", 1))
+      .onComplete(tc.asyncAssertSuccess(v -> vertx.setTimer(500, t -> {
+        // the events fired before the start are not emitted by default
+        tc.assertEquals(1, events.size());
+        tc.assertEquals("deploy-0", events.get(0).getPayload());
+        tc.assertEquals(3, replayed.size());
+        async.complete();
+      })));
+  }
+
+  @Test
+  public void window(TestContext tc) {
+    List<Event> events = new CopyOnWriteArrayList<>();
+    Async async = tc.async();
+    stream = EventStream.create(vertx, server.clientOptions(), new EventStreamOptions().setWindowSize(2));
+    stream.handler(events::add);
+    stream.start()
+      .compose(v -> fire("deploy", 6))
+      .onComplete(tc.asyncAssertSuccess(v -> vertx.setTimer(500, t -> {
+        // the ids evicted from the window are older than the Lamport time of the window
+        tc.assertEquals(6, events.size());
+        for (int i = 1; i < events.size(); i++) {
+          tc.assertTrue(events.get(i).getLTime() > events.get(i - 1).getLTime());
+        }
+        async.complete();
+      })));
+  }
+
+  @Test
+  public void eventBus(TestContext tc) {
+    // two events on each of the two addresses
+    Async async = tc.async(4);
+    Handler<Message<JsonObject>> consumer = msg -> {
+      tc.assertEquals("deploy", msg.headers().get("name"));
+      Event event = new Event(msg.body());
+      tc.assertTrue(event.getPayload().startsWith("deploy-"));
+      async.countDown();
+    };
+    Future<Void> first = vertx.eventBus().consumer("consul.events", consumer).completion();
+    Future<Void> second = vertx.eventBus().consumer("consul.events.audit", consumer).completion();
+    Future.all(first, second)
+      .compose(v -> {
+        stream = EventStream.create(vertx, server.clientOptions(), new EventStreamOptions()
+          .setName("deploy")
+          .addAddress("consul.events")
+          .addAddress("consul.events.audit"));
+        return stream.start();
+      })
+      .compose(v -> fire("deploy", 2))
+      .onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void startFailsWhenUnreachable(TestContext tc) {
+    stream = EventStream.create(vertx, new ConsulClientOptions().setPort(Utils.getFreePort()), new EventStreamOptions());
+    // closed again by the tear down
+    stream.start().onComplete(tc.asyncAssertFailure(err -> stream.close()));
+  }
+}
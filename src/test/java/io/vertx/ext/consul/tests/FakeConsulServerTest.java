@@ -0,0 +1,228 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks the fake Consul server against the client, no container is needed.
+ */
+@RunWith(VertxUnitRunner.class)
+public class FakeConsulServerTest {
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private ConsulClient client;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess(s -> client = ConsulClient.create(vertx, s.clientOptions())));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    client.close();
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void putAndGetValues(TestContext tc) {
+    client.putValue("foo/bar", "value1")
+      .compose(v -> client.putValueWithOptions("foo/baz", "value2", new KeyValueOptions().setFlags(42)))
+      .compose(v -> client.getValue("foo/bar"))
+      .compose(kv -> {
+        tc.assertEquals("value1", kv.getValue());
+        return client.getValues("foo/");
+      })
+      .compose(list -> {
+        tc.assertEquals(2, list.getList().size());
+        tc.assertEquals(42L, list.getList().get(1).getFlags());
+        tc.assertTrue(list.getIndex() > 0);
+        return client.deleteValues("foo/");
+      })
+      .compose(v -> client.getValue("foo/bar"))
+      .onComplete(tc.asyncAssertSuccess(kv -> tc.assertNull(kv.getKey())));
+  }
+
+  @Test
+  public void compareAndSet(TestContext tc) {
+    client.putValue("cas", "first")
+      .compose(ok -> client.getValue("cas"))
+      .compose(kv -> client.putValueWithOptions("cas", "stale", new KeyValueOptions().setCasIndex(kv.getModifyIndex() - 1))
+        .compose(stale -> {
+          tc.assertFalse(stale);
+          return client.putValueWithOptions("cas", "second", new KeyValueOptions().setCasIndex(kv.getModifyIndex()));
+        }))
+      .onComplete(tc.asyncAssertSuccess(tc::assertTrue));
+  }
+
+  @Test
+  public void blockingQueryWakesUpOnWrite(TestContext tc) {
+    Async async = tc.async();
+    client.putValue("blocking", "v1").compose(v -> client.getValue("blocking")).onComplete(tc.asyncAssertSuccess(kv -> {
+      BlockingQueryOptions opts = new BlockingQueryOptions().setIndex(kv.getModifyIndex()).setWait("1m");
+      client.getValueWithOptions("blocking", opts).onComplete(tc.asyncAssertSuccess(next -> {
+        tc.assertEquals("v2", next.getValue());
+        tc.assertTrue(next.getModifyIndex() > kv.getModifyIndex());
+        async.complete();
+      }));
+      vertx.setPeriodic(10, id -> {
+        if (server.blockedQueries() == 1) {
+          vertx.cancelTimer(id);
+          client.putValue("blocking", "v2");
+        }
+      });
+    }));
+  }
+
+  @Test
+  public void blockingQueryTimesOut(TestContext tc) {
+    client.putValue("timeout", "v1").compose(v -> client.getValue("timeout")).compose(kv -> {
+      BlockingQueryOptions opts = new BlockingQueryOptions().setIndex(kv.getModifyIndex()).setWait("100ms");
+      return client.getValueWithOptions("timeout", opts).map(next -> {
+        tc.assertEquals(kv.getModifyIndex(), next.getModifyIndex());
+        return null;
+      });
+    }).onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void watchKeyPrefix(TestContext tc) {
+    Async async = tc.async();
+    Watch<KeyValueList> watch = Watch.keyPrefix("watch/", vertx, server.clientOptions());
+    watch.setHandler(res -> {
+      if (res.succeeded() && res.nextResult().getList() != null && res.nextResult().getList().size() == 2) {
+        watch.stop();
+        async.complete();
+      } else if (res.succeeded()) {
+        int size = res.nextResult().getList() == null ? 0 : res.nextResult().getList().size();
+        client.putValue("watch/" + size, "v");
+      }
+    }).start();
+  }
+
+  @Test
+  public void transaction(TestContext tc) {
+    String value = "v";
+    TxnRequest request = new TxnRequest()
+      .addOperation(new TxnKVOperation().setType(TxnKVVerb.SET).setKey("txn/a").setValue(value))
+      .addOperation(new TxnKVOperation().setType(TxnKVVerb.CAS).setKey("txn/b").setValue(value).setIndex(1));
+    client.transaction(request)
+      .compose(resp -> {
+        tc.assertEquals(1, resp.getErrorsSize());
+        tc.assertEquals(1, resp.getErrors().get(0).getOpIndex());
+        return client.getValues("txn/");
+      })
+      .compose(list -> {
+        tc.assertNull(list.getList());
+        return client.transaction(new TxnRequest()
+          .addOperation(new TxnKVOperation().setType(TxnKVVerb.SET).setKey("txn/a").setValue(value)));
+      })
+      .onComplete(tc.asyncAssertSuccess(resp -> {
+        tc.assertEquals(0, resp.getErrorsSize());
+        tc.assertEquals(1, resp.getResultsSize());
+      }));
+  }
+
+  @Test
+  public void healthOfRegisteredService(TestContext tc) {
+    ServiceOptions service = new ServiceOptions()
+      .setName("web")
+      .setId("web-1")
+      .setPort(8080)
+      .setCheckOptions(new CheckOptions().setTtl("10s").setStatus(CheckStatus.PASSING));
+    client.registerService(service)
+      .compose(v -> client.healthServiceNodes("web", true))
+      .onComplete(tc.asyncAssertSuccess(list -> {
+        tc.assertEquals(1, list.getList().size());
+        tc.assertEquals("web-1", list.getList().get(0).getService().getId());
+        tc.assertEquals(2, list.getList().get(0).getChecks().size());
+      }));
+  }
+
+  @Test
+  public void sessionLock(TestContext tc) {
+    client.createSession()
+      .compose(holder -> client.putValueWithOptions("lock", "held", new KeyValueOptions().setAcquireSession(holder))
+        .compose(acquired -> {
+          tc.assertTrue(acquired);
+          return client.createSession();
+        })
+        .compose(other -> client.putValueWithOptions("lock", "other", new KeyValueOptions().setAcquireSession(other)))
+        .compose(acquired -> {
+          tc.assertFalse(acquired);
+          return client.destroySession(holder);
+        })
+        .compose(v -> client.getValue("lock"))
+        .map(kv -> {
+          tc.assertNull(kv.getSession());
+          tc.assertEquals("held", kv.getValue());
+          return null;
+        }))
+      .onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void injectFailures(TestContext tc) {
+    server.failNext(2);
+    client.agentInfo().onComplete(tc.asyncAssertFailure(t1 ->
+      client.agentInfo().onComplete(tc.asyncAssertFailure(t2 ->
+        client.agentInfo().onComplete(tc.asyncAssertSuccess(info ->
+          tc.assertEquals(3L, server.requestCount())))))));
+  }
+
+  @Test
+  public void seededFailureRateIsReproducible(TestContext tc) {
+    server.setFailureRate(0.5, 42);
+    failureMask(20).compose(first -> {
+      server.setFailureRate(0.5, 42);
+      return failureMask(20).map(second -> {
+        tc.assertEquals(first, second);
+        tc.assertTrue(first != 0 && first != (1 << 20) - 1);
+        return null;
+      });
+    }).onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void latency(TestContext tc) {
+    server.setLatency(200);
+    long start = System.nanoTime();
+    client.agentInfo().onComplete(tc.asyncAssertSuccess(info ->
+      tc.assertTrue(System.nanoTime() - start >= 200_000_000L)));
+  }
+
+  private Future<Integer> failureMask(int count) {
+    Future<Integer> mask = Future.succeededFuture(0);
+    for (int i = 0; i < count; i++) {
+      int bit = 1 << i;
+      mask = mask.compose(m -> client.agentInfo().map(info -> m).otherwise(t -> m | bit));
+    }
+    return mask;
+  }
+}
@@ -0,0 +1,196 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+@RunWith(VertxUnitRunner.class)
+public class HealthIndexTest {
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private ConsulClient client;
+  private HealthIndex index;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start()
+      .compose(s -> {
+        client = ConsulClient.create(vertx, server.clientOptions());
+        return Future.all(register("web", "web-1"), register("db", "db-1"));
+      })
+      .compose(v -> {
+        index = HealthIndex.create(vertx, server.clientOptions());
+        return index.start();
+      })
+      .onComplete(tc.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    index.close();
+    client.close();
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  private Future<Void> register(String name, String id) {
+    return client.registerService(new ServiceOptions()
+      .setName(name)
+      .setId(id)
+      .setCheckOptions(new CheckOptions().setTtl("10s").setStatus(CheckStatus.PASSING)));
+  }
+
+  @Test
+  public void load(TestContext tc) {
+    tc.assertEquals(new HashSet<>(Arrays.asList("web", "db")), index.services());
+    tc.assertEquals(CheckStatus.PASSING, index.status("web"));
+    tc.assertEquals(CheckStatus.PASSING, index.status("db"));
+    // the service check and the node check
+    tc.assertEquals(2, index.checks("web").size());
+    tc.assertNull(index.status("unknown"));
+    tc.assertTrue(index.checks("unknown").isEmpty());
+    tc.assertTrue(index.lastIndex() > 0);
+  }
+
+  @Test
+  public void serviceCheckChange(TestContext tc) {
+    Async async = tc.async();
+    index.subscribe("web", list -> {
+      if (index.status("web") == CheckStatus.WARNING) {
+        tc.assertEquals(2, list.getList().size());
+        tc.assertEquals(CheckStatus.PASSING, index.status("db"));
+        async.complete();
+      }
+    });
+    client.warnCheck("service:web-1").onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void nodeCheckChange(TestContext tc) {
+    Async async = tc.async(2);
+    index.subscribe("web", list -> {
+      if (index.status("web") == CheckStatus.CRITICAL) {
+        async.countDown();
+      }
+    });
+    index.subscribe("db", list -> {
+      if (index.status("db") == CheckStatus.CRITICAL) {
+        async.countDown();
+      }
+    });
+    client.failCheck("serfHealth").onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void deregistration(TestContext tc) {
+    Async async = tc.async();
+    long[] id = new long[1];
+    id[0] = index.subscribe("db", list -> {
+      if (list.getList().isEmpty()) {
+        tc.assertNull(index.status("db"));
+        tc.assertEquals(new HashSet<>(Arrays.asList("web")), index.services());
+        tc.assertTrue(index.unsubscribe(id[0]));
+        tc.assertFalse(index.unsubscribe(id[0]));
+        async.complete();
+      }
+    });
+    client.deregisterService("db-1").onComplete(tc.asyncAssertSuccess());
+  }
+
+  private static JsonObject check(String node, String id, String status, String service) {
+    return new JsonObject()
+      .put("Node", node)
+      .put("CheckID", id)
+      .put("Name", id)
+      .put("Status", status)
+      .put("ServiceID", service == null ? "" : service)
+      .put("ServiceName", service == null ? "" : service);
+  }
+
+  private static JsonArray nodes(String serfHealthB) {
+    return new JsonArray()
+      .add(check("node-a", "serfHealth", "passing", null))
+      .add(check("node-b", "serfHealth", serfHealthB, null))
+      .add(check("node-a", "service:web", "passing", "web"))
+      .add(check("node-b", "service:web", "passing", "web"))
+      .add(check("node-a", "service:db", "passing", "db"))
+      .add(check("node-b", "service:cache", "passing", "cache"));
+  }
+
+  @Test
+  public void multipleNodes(TestContext tc) {
+    // the fake server has a single node, this one answers with the checks of two nodes then fails the second one
+    HttpServer scripted = vertx.createHttpServer().requestHandler(req -> {
+      String idx = req.getParam("index");
+      boolean first = idx == null || idx.equals("0");
+      long delay = first || idx.equals("10") ? 1 : 1000;
+      vertx.setTimer(delay, t -> req.response()
+        .putHeader("X-Consul-Index", first ? "10" : "11")
+        .putHeader("Content-Type", "application/json")
+        .end(nodes(first ? "passing" : "critical").encode()));
+    });
+    Async async = tc.async();
+    scripted.listen(0, "127.0.0.1").onComplete(tc.asyncAssertSuccess(s -> {
+      HealthIndex multi = HealthIndex.create(vertx, new ConsulClientOptions().setHost("127.0.0.1").setPort(s.actualPort()));
+      multi.start().onComplete(tc.asyncAssertSuccess(v -> {
+        tc.assertEquals(new HashSet<>(Arrays.asList("web", "db", "cache")), multi.services());
+        // the service check and the node check of each node
+        tc.assertEquals(4, multi.checks("web").size());
+        tc.assertEquals(2, multi.checks("db").size());
+        multi.subscribe("cache", list -> {
+          if (multi.status("cache") == CheckStatus.CRITICAL) {
+            // only the services running on the failed node
+            tc.assertEquals(CheckStatus.CRITICAL, multi.status("web"));
+            tc.assertEquals(CheckStatus.PASSING, multi.status("db"));
+            multi.close();
+            async.complete();
+          }
+        });
+      }));
+    }));
+  }
+
+  @Test
+  public void closeTwice() {
+    index.close();
+    // closed again by the tear down
+    index.close();
+  }
+
+  @Test
+  public void startFailsWhenUnreachable(TestContext tc) {
+    HealthIndex unreachable = HealthIndex.create(vertx, new ConsulClientOptions().setPort(Utils.getFreePort()));
+    unreachable.start().onComplete(tc.asyncAssertFailure(err -> unreachable.close()));
+  }
+}
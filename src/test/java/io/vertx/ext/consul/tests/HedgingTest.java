@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@RunWith(VertxUnitRunner.class)
+public class HedgingTest {
+
+  private Vertx vertx;
+  private FakeConsulServer slow;
+  private FakeConsulServer fast;
+  private final HedgeMetrics metrics = new HedgeMetrics();
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    slow = new FakeConsulServer(vertx);
+    fast = new FakeConsulServer(vertx);
+    Future.all(slow.start(), fast.start()).onComplete(tc.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  private static HedgingOptions hedging() {
+    return new HedgingOptions().setMinDelay(5).setMaxDelay(20);
+  }
+
+  @Test
+  public void hedgeToAnotherEndpoint(TestContext tc) {
+    slow.setLatency(1000);
+    ConsulClientOptions options = new ConsulClientOptions()
+      .addEndpoint("localhost:" + slow.port())
+      .addEndpoint("localhost:" + fast.port())
+      .setHedgingOptions(hedging())
+      .setMetrics(metrics);
+    ConsulClient client = ConsulClient.create(vertx, options);
+    long start = System.currentTimeMillis();
+    client.healthServiceNodes("web", true).onComplete(tc.asyncAssertSuccess(list -> {
+      tc.assertTrue(System.currentTimeMillis() - start < 500, "the duplicate should have won");
+      tc.assertEquals(1L, fast.requestCount());
+      tc.assertEquals(List.of("/v1/health/service/:service"), metrics.sent);
+      tc.assertEquals(List.of("/v1/health/service/:service"), metrics.won);
+      client.close();
+    }));
+  }
+
+  @Test
+  public void hedgeAsStaleRead(TestContext tc) {
+    slow.setLatency(100);
+    ConsulClient client = ConsulClient.create(vertx, slow.clientOptions().setHedgingOptions(hedging()).setMetrics(metrics));
+    client.catalogServices().onComplete(tc.asyncAssertSuccess(list -> {
+      tc.assertEquals(2L, slow.requestCount());
+      tc.assertEquals(1, metrics.sent.size());
+      tc.assertTrue(metrics.won.isEmpty());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void noStaleHedgeOfConsistentRead(TestContext tc) {
+    slow.setLatency(100);
+    ConsulClient client = ConsulClient.create(vertx, slow.clientOptions().setHedgingOptions(hedging()).setMetrics(metrics));
+    BlockingQueryOptions consistent = new BlockingQueryOptions().setConsistencyMode(ConsistencyMode.CONSISTENT);
+    client.catalogServicesWithOptions(consistent).onComplete(tc.asyncAssertSuccess(list -> {
+      tc.assertEquals(1L, slow.requestCount());
+      tc.assertTrue(metrics.sent.isEmpty());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void noHedgeOfAgentReads(TestContext tc) {
+    slow.setLatency(100);
+    ConsulClient client = ConsulClient.create(vertx, slow.clientOptions().setHedgingOptions(hedging()).setMetrics(metrics));
+    client.agentInfo().onComplete(tc.asyncAssertSuccess(info -> {
+      tc.assertEquals(1L, slow.requestCount());
+      tc.assertTrue(metrics.sent.isEmpty());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void noHedgeOfBlockingQueries(TestContext tc) {
+    ConsulClient client = ConsulClient.create(vertx, slow.clientOptions().setHedgingOptions(hedging()).setMetrics(metrics));
+    client.putValue("foo", "bar")
+      .compose(v -> client.getValue("foo"))
+      .compose(kv -> client.getValueWithOptions("foo", new BlockingQueryOptions().setIndex(kv.getModifyIndex()).setWait("200ms")))
+      .onComplete(tc.asyncAssertSuccess(kv -> {
+        tc.assertEquals(3L, slow.requestCount());
+        tc.assertTrue(metrics.sent.isEmpty());
+        client.close();
+      }));
+  }
+
+  @Test
+  public void hedgeWhenFirstAttemptFails(TestContext tc) {
+    slow.failNext(1);
+    ConsulClient client = ConsulClient.create(vertx, slow.clientOptions()
+      .setHedgingOptions(new HedgingOptions().setMinDelay(1000).setMaxDelay(1000))
+      .setMetrics(metrics));
+    long start = System.currentTimeMillis();
+    client.catalogNodes().onComplete(tc.asyncAssertSuccess(nodes -> {
+      tc.assertTrue(System.currentTimeMillis() - start < 1000, "the duplicate should not wait for the delay");
+      tc.assertEquals(1, nodes.getList().size());
+      tc.assertEquals(List.of("/v1/catalog/nodes"), metrics.won);
+      client.close();
+    }));
+  }
+
+  private static class HedgeMetrics implements ConsulMetrics {
+
+    private final List<String> sent = new CopyOnWriteArrayList<>();
+    private final List<String> won = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void hedgeSent(String endpoint) {
+      sent.add(endpoint);
+    }
+
+    @Override
+    public void hedgeWon(String endpoint) {
+      won.add(endpoint);
+    }
+  }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@RunWith(VertxUnitRunner.class)
+public class KvBatcherTest {
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private ConsulClient client;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess(s -> client = ConsulClient.create(vertx, s.clientOptions())));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    client.close();
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void writesAreChunked(TestContext tc) {
+    KvBatcher batcher = KvBatcher.create(vertx, client, new KvBatcherOptions().setFlushInterval(10_000));
+    List<Future<Boolean>> puts = new ArrayList<>();
+    for (int i = 0; i < 100; i++) {
+      puts.add(batcher.putValue("batch/" + i, "value" + i));
+    }
+    tc.assertEquals(100, batcher.pending());
+    batcher.flush()
+      .compose(v -> {
+        tc.assertEquals(2L, server.requestCount());
+        puts.forEach(put -> tc.assertTrue(put.result()));
+        return client.getValues("batch/");
+      })
+      .onComplete(tc.asyncAssertSuccess(list -> {
+        tc.assertEquals(100, list.getList().size());
+        tc.assertEquals(0, batcher.pending());
+      }));
+  }
+
+  @Test
+  public void writesAreSentAfterInterval(TestContext tc) {
+    KvBatcher batcher = KvBatcher.create(vertx, client, new KvBatcherOptions().setFlushInterval(20));
+    Future<Boolean> first = batcher.putValue("interval/1", "v1");
+    Future<Boolean> second = batcher.putValue("interval/2", "v2");
+    Future.all(first, second).onComplete(tc.asyncAssertSuccess(v -> tc.assertEquals(1L, server.requestCount())));
+  }
+
+  @Test
+  public void failedOperationDoesNotAffectOthers(TestContext tc) {
+    KvBatcher batcher = KvBatcher.create(vertx, client);
+    client.putValue("cas/key", "initial").onComplete(tc.asyncAssertSuccess(ok -> {
+      Future<Boolean> before = batcher.putValue("cas/before", "v");
+      Future<Boolean> stale = batcher.putValueWithOptions("cas/key", "stale", new KeyValueOptions().setCasIndex(1));
+      Future<Void> delete = batcher.deleteValue("cas/missing");
+      Future<Boolean> after = batcher.putValue("cas/after", "v");
+      batcher.close()
+        .compose(v -> {
+          tc.assertTrue(before.result());
+          tc.assertFalse(stale.result());
+          tc.assertTrue(delete.succeeded());
+          tc.assertTrue(after.result());
+          return client.getValues("cas/");
+        })
+        .onComplete(tc.asyncAssertSuccess(list -> {
+          tc.assertEquals(3, list.getList().size());
+          batcher.putValue("cas/closed", "v").onComplete(tc.asyncAssertFailure());
+        }));
+    }));
+  }
+
+  @Test
+  public void transportFailureFailsOperations(TestContext tc) {
+    KvBatcher batcher = KvBatcher.create(vertx, client);
+    server.failNext(1);
+    batcher.putValue("fail", "v").onComplete(tc.asyncAssertFailure(t ->
+      batcher.putValue("fail", "v").onComplete(tc.asyncAssertSuccess(tc::assertTrue))));
+  }
+}
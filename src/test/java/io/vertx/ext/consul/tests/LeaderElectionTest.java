@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Context;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+@RunWith(VertxUnitRunner.class)
+public class LeaderElectionTest {
+
+  private static final String KEY = "service/leader";
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private ConsulClient client;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess(s -> client = ConsulClient.create(vertx, server.clientOptions())));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    client.close();
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  private LeaderElection candidate(String name, long lockDelay, Context context) {
+    LockOptions options = new LockOptions()
+      .setKey(KEY)
+      .setValue(name)
+      .setSessionOptions(new SessionOptions().setTtl(10).setLockDelay(lockDelay).setBehavior(SessionBehavior.RELEASE));
+    return LeaderElection.create(vertx, client, options, context);
+  }
+
+  @Test
+  public void handover(TestContext tc) {
+    Context context = vertx.getOrCreateContext();
+    List<Boolean> events = new CopyOnWriteArrayList<>();
+    Async async = tc.async();
+    // the lock-delay does not apply to a leader that steps down
+    LeaderElection first = candidate("first", 15, context);
+    LeaderElection second = candidate("second", 15, context);
+    first.leadershipHandler(elected -> {
+      tc.assertEquals(context, Vertx.currentContext());
+      events.add(elected);
+      if (elected) {
+        second.start();
+        vertx.setTimer(300, t -> {
+          tc.assertFalse(second.isLeader());
+          first.stop().onComplete(tc.asyncAssertSuccess());
+        });
+      }
+    });
+    long[] stopped = new long[1];
+    second.leadershipHandler(elected -> {
+      tc.assertEquals(context, Vertx.currentContext());
+      tc.assertTrue(elected);
+      stopped[0] = System.currentTimeMillis();
+      client.getValue(KEY).onComplete(tc.asyncAssertSuccess(kv -> {
+        tc.assertEquals("second", kv.getValue());
+        second.stop().onComplete(tc.asyncAssertSuccess(v -> async.complete()));
+      }));
+    });
+    long start = System.currentTimeMillis();
+    first.start();
+    async.awaitSuccess(10_000);
+    tc.assertTrue(stopped[0] - start < 5_000);
+    tc.assertEquals(2, events.size());
+    tc.assertTrue(events.get(0));
+    tc.assertFalse(events.get(1));
+  }
+
+  @Test
+  public void reelection(TestContext tc) {
+    Context context = vertx.getOrCreateContext();
+    List<Boolean> events = new CopyOnWriteArrayList<>();
+    Async async = tc.async();
+    LeaderElection candidate = candidate("first", 0, context);
+    candidate.leadershipHandler(elected -> {
+      events.add(elected);
+      if (events.size() == 1) {
+        // the session is invalidated, the candidate campaigns again
+        client.getValue(KEY)
+          .compose(kv -> client.destroySession(kv.getSession()))
+          .onComplete(tc.asyncAssertSuccess());
+      } else if (events.size() == 3) {
+        tc.assertTrue(events.get(0));
+        tc.assertFalse(events.get(1));
+        tc.assertTrue(events.get(2));
+        tc.assertTrue(candidate.isLeader());
+        candidate.stop().onComplete(tc.asyncAssertSuccess(v -> async.complete()));
+      }
+    });
+    candidate.start();
+  }
+
+  @Test
+  public void stopWhileCampaigning(TestContext tc) {
+    Context context = vertx.getOrCreateContext();
+    Async async = tc.async();
+    LeaderElection first = candidate("first", 0, context);
+    LeaderElection second = candidate("second", 0, context);
+    second.leadershipHandler(elected -> tc.fail("not a leader"));
+    first.leadershipHandler(elected -> {
+      second.start();
+      vertx.setTimer(300, t -> second.stop()
+        .compose(v -> client.listSessions())
+        .onComplete(tc.asyncAssertSuccess(sessions -> {
+          // only the session of the leader is left
+          tc.assertEquals(1, sessions.getList().size());
+          tc.assertTrue(first.isLeader());
+          async.complete();
+        })));
+    }).start();
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+
+@RunWith(VertxUnitRunner.class)
+public class MultiEndpointTest {
+
+  private Vertx vertx;
+  private FakeConsulServer slow;
+  private FakeConsulServer fast;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    slow = new FakeConsulServer(vertx);
+    fast = new FakeConsulServer(vertx);
+    Future.all(slow.start(), fast.start()).onComplete(tc.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void failoverToReachableEndpoint(TestContext tc) {
+    ConsulClientOptions options = new ConsulClientOptions()
+      .setEndpoints(Arrays.asList("localhost:" + Utils.getFreePort(), "localhost:" + fast.port()));
+    ConsulClient client = ConsulClient.create(vertx, options);
+    client.agentInfo()
+      .compose(info -> client.agentInfo())
+      .onComplete(tc.asyncAssertSuccess(info -> {
+        tc.assertEquals(FakeConsulServer.NODE_NAME, info.getJsonObject("Config").getString("NodeName"));
+        tc.assertEquals(2L, fast.requestCount());
+        client.close();
+      }));
+  }
+
+  @Test
+  public void routeToFastestEndpoint(TestContext tc) {
+    slow.setLatency(100);
+    ConsulClientOptions options = new ConsulClientOptions()
+      .addEndpoint("localhost:" + slow.port())
+      .addEndpoint("localhost:" + fast.port());
+    ConsulClient client = ConsulClient.create(vertx, options);
+    Future<Void> chain = Future.succeededFuture();
+    for (int i = 0; i < 20; i++) {
+      chain = chain.compose(v -> client.agentInfo().mapEmpty());
+    }
+    chain.onComplete(tc.asyncAssertSuccess(v -> {
+      tc.assertTrue(slow.requestCount() <= 2, "slow endpoint got " + slow.requestCount() + " requests");
+      tc.assertEquals(20L, slow.requestCount() + fast.requestCount());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void avoidFailingEndpointWithoutLatency(TestContext tc) {
+    // blocking queries record no latency, the errors alone must steer the requests
+    slow.setFailureRate(1, 0);
+    ConsulClientOptions options = new ConsulClientOptions()
+      .addEndpoint("localhost:" + slow.port())
+      .addEndpoint("localhost:" + fast.port());
+    ConsulClient client = ConsulClient.create(vertx, options);
+    BlockingQueryOptions query = new BlockingQueryOptions().setIndex(1).setWait("10ms");
+    Future<Void> chain = Future.succeededFuture();
+    for (int i = 0; i < 20; i++) {
+      chain = chain.compose(v -> client.getValueWithOptions("missing", query).<Void>mapEmpty().recover(err -> Future.succeededFuture()));
+    }
+    chain.onComplete(tc.asyncAssertSuccess(v -> {
+      tc.assertTrue(slow.requestCount() <= 2, "failing endpoint got " + slow.requestCount() + " requests");
+      tc.assertEquals(20L, slow.requestCount() + fast.requestCount());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void watchMovesToAnotherEndpoint(TestContext tc) {
+    Async async = tc.async();
+    ConsulClient slowClient = ConsulClient.create(vertx, slow.clientOptions());
+    ConsulClient fastClient = ConsulClient.create(vertx, fast.clientOptions());
+    ConsulClientOptions options = new ConsulClientOptions()
+      .setEndpoints(Arrays.asList("localhost:" + slow.port(), "localhost:" + fast.port()));
+    slowClient.putValue("moved", "old").onComplete(tc.asyncAssertSuccess(ok -> {
+      Watch<KeyValue> watch = Watch.key("moved", vertx, options);
+      watch.setHandler(res -> {
+        if (res.succeeded() && "value".equals(res.nextResult().getValue())) {
+          watch.stop();
+          slowClient.close();
+          fastClient.close();
+          async.complete();
+        }
+      }).start();
+      vertx.setPeriodic(10, id -> {
+        if (slow.blockedQueries() == 1) {
+          vertx.cancelTimer(id);
+          // the index of the fake agents are not shared, the other one must be ahead of the watch
+          fastClient.putValue("moved", "old")
+            .compose(v -> fastClient.putValue("moved", "value"))
+            .compose(v -> slow.close())
+            .onComplete(tc.asyncAssertSuccess());
+        }
+      });
+    }));
+  }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@RunWith(VertxUnitRunner.class)
+public class RequestEncodingTest {
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void keyKeepsSlashes(TestContext tc) {
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions());
+    String key = "config/feature toggles/café+1";
+    client.putValue(key, "on").onComplete(tc.asyncAssertSuccess(ok -> {
+      tc.assertEquals("/v1/kv/config/feature%20toggles/caf%C3%A9%2B1", server.lastRequestUri());
+      client.getValue(key).onComplete(tc.asyncAssertSuccess(kv -> {
+        tc.assertEquals(key, kv.getKey());
+        tc.assertEquals("on", kv.getValue());
+        client.close();
+      }));
+    }));
+  }
+
+  @Test
+  public void segmentEncodesSlashes(TestContext tc) {
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions());
+    client.healthServiceNodes("web/api", false).onComplete(tc.asyncAssertSuccess(list -> {
+      tc.assertEquals("/v1/health/service/web%2Fapi", server.lastRequestUri());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void parametersAreEncoded(TestContext tc) {
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions().setDc("dc1"));
+    CheckQueryOptions options = new CheckQueryOptions().setFilter("Status == \"passing\"");
+    client.healthChecksWithOptions("web", options).onComplete(tc.asyncAssertSuccess(list -> {
+      tc.assertEquals("/v1/health/checks/web?filter=Status%20%3D%3D%20%22passing%22&dc=dc1", server.lastRequestUri());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void requestDatacenterOverridesClientDatacenter(TestContext tc) {
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions().setDc("dc1"));
+    client.healthChecksWithOptions("web", new CheckQueryOptions().setDc("dc2")).onComplete(tc.asyncAssertSuccess(list -> {
+      tc.assertEquals("/v1/health/checks/web?dc=dc2", server.lastRequestUri());
+      client.close();
+    }));
+  }
+
+  @Test
+  public void noParameters(TestContext tc) {
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions());
+    client.agentInfo().onComplete(tc.asyncAssertSuccess(info -> {
+      tc.assertEquals("/v1/agent/self", server.lastRequestUri());
+      client.close();
+    }));
+  }
+}
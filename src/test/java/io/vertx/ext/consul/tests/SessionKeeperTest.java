@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@RunWith(VertxUnitRunner.class)
+public class SessionKeeperTest {
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private ConsulClient client;
+  private SessionKeeper keeper;
+  private final List<Long> margins = new CopyOnWriteArrayList<>();
+  private final List<Long> renewedAt = new CopyOnWriteArrayList<>();
+  private final AtomicInteger renewing = new AtomicInteger();
+  private final AtomicInteger maxRenewing = new AtomicInteger();
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess(s -> client = ConsulClient.create(vertx, server.clientOptions()
+      .setMetrics(new ConsulMetrics() {
+        @Override
+        public void requestBegin(String method, String endpoint) {
+          if (endpoint.startsWith("/v1/session/renew")) {
+            maxRenewing.accumulateAndGet(renewing.incrementAndGet(), Math::max);
+          }
+        }
+
+        @Override
+        public void requestEnd(String method, String endpoint, int statusCode, long durationNanos,
+                               long requestBytes, long responseBytes, boolean blocking) {
+          if (endpoint.startsWith("/v1/session/renew")) {
+            renewing.decrementAndGet();
+          }
+        }
+
+        @Override
+        public void requestFailed(String method, String endpoint, Throwable cause, long durationNanos, boolean blocking) {
+          if (endpoint.startsWith("/v1/session/renew")) {
+            renewing.decrementAndGet();
+          }
+        }
+
+        @Override
+        public void sessionRenewed(long marginNanos) {
+          margins.add(marginNanos);
+          renewedAt.add(System.nanoTime());
+        }
+      }))));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    if (keeper != null) {
+      keeper.close();
+    }
+    client.close();
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  private Future<Void> createSessions(int count, long ttl) {
+    List<Future<String>> futures = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      futures.add(keeper.createSession(new SessionOptions().setTtl(ttl).setLockDelay(0)));
+    }
+    return Future.all(futures).mapEmpty();
+  }
+
+  @Test
+  public void keepAlive(TestContext tc) {
+    keeper = SessionKeeper.create(vertx, client, new SessionKeeperOptions().setTickInterval(20));
+    Async async = tc.async();
+    createSessions(10, 1).onComplete(tc.asyncAssertSuccess(v -> {
+      // the fake server expires a session twice its TTL after its last renewal
+      vertx.setTimer(3000, t -> client.listSessions().onComplete(tc.asyncAssertSuccess(list -> {
+        tc.assertEquals(10, list.getList().size());
+        tc.assertEquals(10, keeper.sessions().size());
+        tc.assertTrue(keeper.atRisk().isEmpty());
+        tc.assertTrue(margins.size() >= 40);
+        for (long margin : margins) {
+          tc.assertTrue(margin > 0);
+        }
+        async.complete();
+      })));
+    }));
+  }
+
+  @Test
+  public void spread(TestContext tc) {
+    keeper = SessionKeeper.create(vertx, client, new SessionKeeperOptions().setTickInterval(20));
+    Async async = tc.async();
+    long start = System.nanoTime();
+    createSessions(50, 2).onComplete(tc.asyncAssertSuccess(v -> {
+      // the first renewals are spread over the first second, half the TTL
+      vertx.setTimer(1200, t -> {
+        int[] buckets = new int[10];
+        for (long at : renewedAt) {
+          int bucket = (int) (TimeUnit.NANOSECONDS.toMillis(at - start) / 100);
+          if (bucket < buckets.length) {
+            buckets[bucket]++;
+          }
+        }
+        for (int count : buckets) {
+          tc.assertTrue(count <= 15, "renewals in a burst: " + count);
+        }
+        async.complete();
+      });
+    }));
+  }
+
+  @Test
+  public void concurrency(TestContext tc) {
+    keeper = SessionKeeper.create(vertx, client, new SessionKeeperOptions().setTickInterval(20).setMaxConcurrentRenewals(2));
+    Async async = tc.async();
+    createSessions(10, 1).onComplete(tc.asyncAssertSuccess(v -> {
+      server.setLatency(100);
+      vertx.setTimer(1500, t -> {
+        tc.assertTrue(margins.size() > 0);
+        tc.assertTrue(maxRenewing.get() <= 2);
+        async.complete();
+      });
+    }));
+  }
+
+  @Test
+  public void atRiskThenExpired(TestContext tc) {
+    keeper = SessionKeeper.create(vertx, client, new SessionKeeperOptions().setTickInterval(20).setRetryInterval(100));
+    Async async = tc.async();
+    Set<String> atRisk = new HashSet<>();
+    keeper.atRiskHandler(id -> {
+      atRisk.add(id);
+      tc.assertTrue(keeper.atRisk().contains(id));
+    });
+    keeper.expiredHandler(id -> {
+      tc.assertTrue(atRisk.contains(id));
+      tc.assertFalse(keeper.sessions().contains(id));
+      async.complete();
+    });
+    keeper.createSession(new SessionOptions().setTtl(1)).onComplete(tc.asyncAssertSuccess(id -> {
+      server.setFailureRate(1, 0);
+    }));
+  }
+
+  @Test
+  public void noTtl(TestContext tc) {
+    keeper = SessionKeeper.create(vertx, client, new SessionKeeperOptions());
+    keeper.createSession(new SessionOptions()).onComplete(tc.asyncAssertFailure());
+  }
+}
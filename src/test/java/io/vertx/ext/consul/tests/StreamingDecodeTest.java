@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+/**
+ * The list responses are decoded while they are read, the fields of the entries must be the same as
+ * those of the {@code JsonObject} based parsers.
+ */
+@RunWith(VertxUnitRunner.class)
+public class StreamingDecodeTest {
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private ConsulClient client;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess(v -> client = ConsulClient.create(vertx, server.clientOptions())));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    client.close();
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  @Test
+  public void serviceEntries(TestContext tc) {
+    ServiceOptions service = new ServiceOptions()
+      .setName("web")
+      .setId("web-1")
+      .setAddress("10.0.0.1")
+      .setPort(8080)
+      .setTags(Arrays.asList("primary", "v1"))
+      .setMeta(Collections.singletonMap("version", "1.2"))
+      .setCheckOptions(new CheckOptions().setName("web ttl").setTtl("10s").setStatus(CheckStatus.WARNING));
+    client.registerService(service)
+      .compose(v -> client.healthServiceNodes("web", false))
+      .onComplete(tc.asyncAssertSuccess(list -> {
+        tc.assertEquals(1, list.getList().size());
+        ServiceEntry entry = list.getList().get(0);
+        tc.assertEquals(FakeConsulServer.NODE_NAME, entry.getNode().getName());
+        tc.assertEquals(FakeConsulServer.NODE_ADDRESS, entry.getNode().getLanAddress());
+        tc.assertEquals("web-1", entry.getService().getId());
+        tc.assertEquals("web", entry.getService().getName());
+        tc.assertEquals("10.0.0.1", entry.getService().getAddress());
+        tc.assertEquals(8080, entry.getService().getPort());
+        tc.assertEquals(Arrays.asList("primary", "v1"), entry.getService().getTags());
+        tc.assertEquals("1.2", entry.getService().getMeta().get("version"));
+        tc.assertEquals(2, entry.getChecks().size());
+        Check check = entry.getChecks().stream().filter(c -> "web-1".equals(c.getServiceId())).findFirst().get();
+        tc.assertEquals("web ttl", check.getName());
+        tc.assertEquals(CheckStatus.WARNING, check.getStatus());
+        tc.assertTrue(list.getIndex() > 0);
+      }));
+  }
+
+  @Test
+  public void values(TestContext tc) {
+    client.putValue("app/a", "1")
+      .compose(v -> client.putValue("app/b", "two words"))
+      .compose(v -> client.getValues("app"))
+      .onComplete(tc.asyncAssertSuccess(list -> {
+        tc.assertEquals(2, list.getList().size());
+        tc.assertEquals("app/a", list.getList().get(0).getKey());
+        tc.assertEquals("1", list.getList().get(0).getValue());
+        tc.assertEquals("two words", list.getList().get(1).getValue());
+        tc.assertTrue(list.getList().get(1).getModifyIndex() > list.getList().get(0).getModifyIndex());
+      }));
+  }
+
+  @Test
+  public void emptyValues(TestContext tc) {
+    client.getValues("missing").onComplete(tc.asyncAssertSuccess(list -> tc.assertTrue(list.getList() == null || list.getList().isEmpty())));
+  }
+
+  @Test
+  public void nodesAndCoordinates(TestContext tc) {
+    client.catalogNodes()
+      .compose(nodes -> {
+        tc.assertEquals(1, nodes.getList().size());
+        Node node = nodes.getList().get(0);
+        tc.assertEquals(FakeConsulServer.NODE_NAME, node.getName());
+        tc.assertEquals(FakeConsulServer.NODE_ADDRESS, node.getWanAddress());
+        tc.assertEquals("", node.getNodeMeta().get("consul-network-segment"));
+        return client.coordinateNodes();
+      })
+      .onComplete(tc.asyncAssertSuccess(coordinates -> {
+        tc.assertEquals(1, coordinates.getList().size());
+        Coordinate coordinate = coordinates.getList().get(0);
+        tc.assertEquals(FakeConsulServer.NODE_NAME, coordinate.getNode());
+        tc.assertEquals(1.5f, coordinate.getErr());
+        tc.assertEquals(8, coordinate.getVec().size());
+      }));
+  }
+
+  @Test
+  public void sessionsAndEvents(TestContext tc) {
+    client.createSessionWithOptions(new SessionOptions().setLockDelay(5))
+      .compose(id -> client.listSessions().map(sessions -> {
+        tc.assertEquals(1, sessions.getList().size());
+        Session session = sessions.getList().get(0);
+        tc.assertEquals(id, session.getId());
+        tc.assertEquals(5L, session.getLockDelay());
+        tc.assertEquals(FakeConsulServer.NODE_NAME, session.getNode());
+        return null;
+      }))
+      .compose(v -> client.fireEventWithOptions("deploy", new EventOptions().setPayload("v2")))
+      .compose(fired -> client.listEvents().map(events -> {
+        tc.assertEquals(1, events.getList().size());
+        Event event = events.getList().get(0);
+        tc.assertEquals(fired.getId(), event.getId());
+        tc.assertEquals("deploy", event.getName());
+        tc.assertEquals("v2", event.getPayload());
+        tc.assertEquals(1, event.getLTime());
+        return null;
+      }))
+      .onComplete(tc.asyncAssertSuccess());
+  }
+}
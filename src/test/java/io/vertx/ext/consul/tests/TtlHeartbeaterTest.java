@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Future;
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(VertxUnitRunner.class)
+public class TtlHeartbeaterTest {
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private ConsulClient client;
+  private TtlHeartbeater heartbeater;
+  private final List<Long> lags = new CopyOnWriteArrayList<>();
+  private final List<Boolean> transitions = new CopyOnWriteArrayList<>();
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess(s -> client = ConsulClient.create(vertx, server.clientOptions()
+      .setMetrics(new ConsulMetrics() {
+        @Override
+        public void heartbeatSent(long lagNanos, boolean transition) {
+          lags.add(lagNanos);
+          transitions.add(transition);
+        }
+      }))));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    heartbeater.close();
+    client.close();
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  private Future<Void> register(String id) {
+    return heartbeater.register(new CheckOptions().setId(id).setName(id).setTtl("1s").setStatus(CheckStatus.PASSING));
+  }
+
+  private Future<CheckStatus> status(String id) {
+    return client.localChecks().map(checks -> checks.stream()
+      .filter(check -> check.getId().equals(id))
+      .findFirst()
+      .map(Check::getStatus)
+      .orElse(null));
+  }
+
+  @Test
+  public void periodic(TestContext tc) {
+    heartbeater = TtlHeartbeater.create(vertx, client, new TtlHeartbeaterOptions().setJitter(0).setTickInterval(20));
+    Async async = tc.async();
+    register("check").onComplete(tc.asyncAssertSuccess(v -> vertx.setTimer(1250, t -> {
+      // a heartbeat every half TTL
+      tc.assertEquals(2, lags.size());
+      for (long lag : lags) {
+        tc.assertTrue(lag >= 0 && lag < TimeUnit.MILLISECONDS.toNanos(200));
+      }
+      tc.assertFalse(transitions.contains(true));
+      async.complete();
+    })));
+  }
+
+  @Test
+  public void unchangedUpdates(TestContext tc) {
+    heartbeater = TtlHeartbeater.create(vertx, client, new TtlHeartbeaterOptions().setIntervalRatio(0.9));
+    Async async = tc.async();
+    register("check").onComplete(tc.asyncAssertSuccess(v -> {
+      heartbeater.update("check", CheckStatus.PASSING, "ok");
+      vertx.setTimer(100, t -> {
+        for (int i = 0; i < 100; i++) {
+          heartbeater.update("check", CheckStatus.PASSING, "ok");
+        }
+        vertx.setTimer(200, t2 -> {
+          // only the note change was sent
+          tc.assertEquals(1, lags.size());
+          async.complete();
+        });
+      });
+    }));
+  }
+
+  @Test
+  public void transitionFirst(TestContext tc) {
+    heartbeater = TtlHeartbeater.create(vertx, client, new TtlHeartbeaterOptions().setMaxConcurrentHeartbeats(1));
+    Async async = tc.async();
+    List<Future<Void>> futures = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      futures.add(client.registerCheck(new CheckOptions().setId("check-" + i).setName("check-" + i).setTtl("10s")));
+    }
+    Future.all(futures).onComplete(tc.asyncAssertSuccess(v -> {
+      server.setLatency(100);
+      for (int i = 0; i < 5; i++) {
+        heartbeater.track("check-" + i, "10s");
+      }
+      // the first heartbeat is in flight, the transition goes before the other pending heartbeats
+      heartbeater.update("check-3", CheckStatus.CRITICAL, "down");
+      vertx.setTimer(800, t -> status("check-3").onComplete(tc.asyncAssertSuccess(status -> {
+        tc.assertEquals(CheckStatus.CRITICAL, status);
+        tc.assertEquals(5, transitions.size());
+        tc.assertFalse(transitions.get(0));
+        tc.assertTrue(transitions.get(1));
+        tc.assertFalse(transitions.get(2));
+        async.complete();
+      })));
+    }));
+  }
+
+  @Test
+  public void unknownCheck(TestContext tc) {
+    heartbeater = TtlHeartbeater.create(vertx, client, new TtlHeartbeaterOptions());
+    try {
+      heartbeater.update("unknown", CheckStatus.PASSING, null);
+      tc.fail();
+    } catch (IllegalArgumentException ignore) {
+    }
+    heartbeater.register(new CheckOptions().setName("no-ttl")).onComplete(tc.asyncAssertFailure());
+  }
+}
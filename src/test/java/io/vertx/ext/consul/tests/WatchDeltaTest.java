@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * The deltas of the check watches, against a server that answers with the checks of two nodes
+ * sharing the same check ids, then fails the service check of the second node.
+ */
+@RunWith(VertxUnitRunner.class)
+public class WatchDeltaTest {
+
+  private Vertx vertx;
+  private HttpServer server;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer().requestHandler(req -> {
+      String idx = req.getParam("index");
+      boolean first = idx == null || idx.equals("0");
+      long delay = first || idx.equals("10") ? 1 : 1000;
+      vertx.setTimer(delay, t -> req.response()
+        .putHeader("X-Consul-Index", first ? "10" : "11")
+        .putHeader("Content-Type", "application/json")
+        .end(checks(first ? "passing" : "critical").encode()));
+    });
+    server.listen(0, "127.0.0.1").onComplete(tc.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  private static JsonObject check(String node, String status) {
+    return new JsonObject()
+      .put("Node", node)
+      .put("CheckID", "service:web")
+      .put("Name", "web")
+      .put("Status", status)
+      .put("ServiceID", "web")
+      .put("ServiceName", "web");
+  }
+
+  private static JsonArray checks(String statusB) {
+    return new JsonArray().add(check("node-a", "passing")).add(check("node-b", statusB));
+  }
+
+  private static int size(CheckList list) {
+    return list == null || list.getList() == null ? 0 : list.getList().size();
+  }
+
+  @Test
+  public void sameCheckIdOnTwoNodes(TestContext tc) {
+    ConsulClientOptions options = new ConsulClientOptions().setHost("127.0.0.1").setPort(server.actualPort());
+    Watch<CheckList> watch = Watch.serviceHealthChecks("web", new CheckQueryOptions(), vertx, options);
+    List<WatchDelta<CheckList>> deltas = new CopyOnWriteArrayList<>();
+    Async async = tc.async();
+    watch.setDeltaHandler(delta -> {
+      deltas.add(delta);
+      if (deltas.size() == 2) {
+        WatchDelta<CheckList> initial = deltas.get(0);
+        tc.assertEquals(2, size(initial.added()));
+        tc.assertEquals(0, size(initial.removed()));
+        tc.assertEquals(0, size(initial.modified()));
+        WatchDelta<CheckList> change = deltas.get(1);
+        tc.assertEquals(0, size(change.added()));
+        tc.assertEquals(0, size(change.removed()));
+        tc.assertEquals(1, size(change.modified()));
+        Check modified = change.modified().getList().get(0);
+        tc.assertEquals("node-b", modified.getNode());
+        tc.assertEquals(CheckStatus.CRITICAL, modified.getStatus());
+        watch.stop();
+        async.complete();
+      }
+    }).start();
+  }
+}
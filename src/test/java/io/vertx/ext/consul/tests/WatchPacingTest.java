@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Vertx;
+import io.vertx.core.http.HttpServer;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * The watches are run against a server that answers immediately with a scripted {@code X-Consul-Index},
+ * the requests it receives show the pacing of the watch.
+ */
+@RunWith(VertxUnitRunner.class)
+public class WatchPacingTest {
+
+  private Vertx vertx;
+  private HttpServer server;
+  private final List<String> indexes = new CopyOnWriteArrayList<>();
+  private final List<Long> times = new CopyOnWriteArrayList<>();
+  private final List<String> waits = new CopyOnWriteArrayList<>();
+  private volatile IntUnaryOperator script = n -> n * 10;
+  private volatile int status = 200;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = vertx.createHttpServer().requestHandler(req -> {
+      times.add(System.nanoTime());
+      waits.add(String.valueOf(req.getParam("wait")));
+      indexes.add(String.valueOf(req.getParam("index")));
+      req.response()
+        .setStatusCode(status)
+        .putHeader("X-Consul-Index", Integer.toString(script.applyAsInt(indexes.size())))
+        .putHeader("Content-Type", "application/json")
+        .end("{\"consul\":[]}");
+    });
+    server.listen(0, "127.0.0.1").onComplete(tc.asyncAssertSuccess());
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  private ConsulClientOptions options(WatchOptions watchOptions) {
+    return new ConsulClientOptions()
+      .setHost("127.0.0.1")
+      .setPort(server.actualPort())
+      .setWatchOptions(watchOptions);
+  }
+
+  private void awaitRequests(TestContext tc, Watch<?> watch, int count, Runnable assertions) {
+    Async async = tc.async();
+    vertx.setPeriodic(10, id -> {
+      if (indexes.size() >= count) {
+        vertx.cancelTimer(id);
+        watch.stop();
+        assertions.run();
+        async.complete();
+      }
+    });
+  }
+
+  @Test
+  public void indexReset(TestContext tc) {
+    // 0 must not be sent as a blocking index, 5 after 20 is a reset
+    int[] responses = {0, 10, 20, 5, 5, 5, 5};
+    script = n -> responses[Math.min(n, responses.length) - 1];
+    List<String> resets = new CopyOnWriteArrayList<>();
+    ConsulClientOptions options = options(new WatchOptions().setUnchangedDelay(10)).setMetrics(new ConsulMetrics() {
+      @Override
+      public void watchIndexReset(String endpoint, long previous, long next) {
+        resets.add(endpoint + " " + previous + " " + next);
+      }
+    });
+    Watch<ServiceList> watch = Watch.services(vertx, options).start();
+    awaitRequests(tc, watch, 6, () -> {
+      tc.assertEquals(List.of("0", "1", "10", "20", "0", "5"), indexes.subList(0, 6));
+      tc.assertEquals(List.of("/v1/catalog/services 20 5"), resets);
+    });
+  }
+
+  @Test
+  public void minInterval(TestContext tc) {
+    Watch<ServiceList> watch = Watch.services(vertx, options(new WatchOptions().setMinInterval(100))).start();
+    awaitRequests(tc, watch, 5, () -> {
+      for (int i = 1; i < 5; i++) {
+        long gap = TimeUnit.NANOSECONDS.toMillis(times.get(i) - times.get(i - 1));
+        tc.assertTrue(gap >= 95, "Requests " + gap + " ms apart");
+      }
+    });
+  }
+
+  @Test
+  public void rateLimit(TestContext tc) {
+    WatchOptions watchOptions = new WatchOptions().setRateLimit(10).setRateBurst(3);
+    Watch<ServiceList> watch = Watch.services(vertx, options(watchOptions)).start();
+    awaitRequests(tc, watch, 6, () -> {
+      // a burst of 3 requests, then one every 100 ms
+      long elapsed = TimeUnit.NANOSECONDS.toMillis(times.get(5) - times.get(0));
+      tc.assertTrue(elapsed >= 290, "6 requests in " + elapsed + " ms");
+    });
+  }
+
+  @Test
+  public void jitteredWaitTime(TestContext tc) {
+    Watch<ServiceList> watch = Watch.services(vertx, options(new WatchOptions().setJitter(0.5))).start();
+    awaitRequests(tc, watch, 10, () -> {
+      // the default wait time of 10 minutes, shortened by up to a half
+      for (String wait : waits.subList(0, 10)) {
+        tc.assertTrue(wait.endsWith("ms"), wait);
+        long ms = Long.parseLong(wait.substring(0, wait.length() - 2));
+        tc.assertTrue(ms >= 300_000 && ms <= 600_000, "wait " + wait);
+      }
+      tc.assertTrue(waits.stream().distinct().count() > 1, "wait not jittered " + waits);
+    });
+  }
+
+  @Test
+  public void jitteredRetryDelay(TestContext tc) {
+    status = 500;
+    WatchOptions watchOptions = new WatchOptions().setJitter(0.5).setMaxRetryDelay(200);
+    Watch<ServiceList> watch = Watch.services(vertx, options(watchOptions)).start();
+    awaitRequests(tc, watch, 6, () -> {
+      // a retry delay of 200 ms, shortened by up to a half
+      long shortest = Long.MAX_VALUE;
+      for (int i = 1; i < 6; i++) {
+        long gap = TimeUnit.NANOSECONDS.toMillis(times.get(i) - times.get(i - 1));
+        tc.assertTrue(gap >= 95 && gap < 300, "Requests " + gap + " ms apart");
+        shortest = Math.min(shortest, gap);
+      }
+      tc.assertTrue(shortest < 190, "retry delay not jittered, shortest " + shortest + " ms");
+    });
+  }
+}
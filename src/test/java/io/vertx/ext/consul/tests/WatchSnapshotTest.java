@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests;
+
+import io.vertx.core.Vertx;
+import io.vertx.ext.consul.*;
+import io.vertx.ext.consul.tests.fake.FakeConsulServer;
+import io.vertx.ext.unit.Async;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+@RunWith(VertxUnitRunner.class)
+public class WatchSnapshotTest {
+
+  @Rule
+  public TemporaryFolder folder = new TemporaryFolder();
+
+  private Vertx vertx;
+  private FakeConsulServer server;
+  private ConsulClientOptions options;
+
+  @Before
+  public void setUp(TestContext tc) {
+    vertx = Vertx.vertx();
+    server = new FakeConsulServer(vertx);
+    server.start().onComplete(tc.asyncAssertSuccess(s -> {
+      WatchOptions watchOptions = new WatchOptions()
+        .setSnapshotDir(folder.getRoot().getAbsolutePath())
+        .setSnapshotSyncInterval(10);
+      options = server.clientOptions().setWatchOptions(watchOptions);
+    }));
+  }
+
+  @After
+  public void tearDown(TestContext tc) {
+    vertx.close().onComplete(tc.asyncAssertSuccess());
+  }
+
+  /**
+   * Run a watch until it gets a value and wait for its snapshot
+   */
+  private void persist(TestContext tc) {
+    Async async = tc.async();
+    ConsulClient client = ConsulClient.create(vertx, server.clientOptions());
+    client.putValue("app/a", "1").onComplete(tc.asyncAssertSuccess(ok -> {
+      Watch<KeyValueList> watch = Watch.keyPrefix("app", vertx, options);
+      watch.setHandler(res -> {
+        if (res.succeeded()) {
+          watch.stop();
+          vertx.setPeriodic(10, id -> {
+            if (snapshots().length == 1) {
+              vertx.cancelTimer(id);
+              client.close();
+              async.complete();
+            }
+          });
+        }
+      }).start();
+    }));
+    async.await(10_000);
+  }
+
+  private File[] snapshots() {
+    File[] files = folder.getRoot().listFiles((dir, name) -> name.endsWith(".watch"));
+    return files == null ? new File[0] : files;
+  }
+
+  @Test
+  public void resumeFromSnapshot(TestContext tc) {
+    persist(tc);
+    long requests = server.requestCount();
+    Async async = tc.async();
+    Watch<KeyValueList> watch = Watch.keyPrefix("app", vertx, options);
+    watch.setHandler(res -> {
+      tc.assertTrue(res.succeeded());
+      // served from the snapshot, before any request
+      tc.assertEquals(requests, server.requestCount());
+      KeyValueList list = res.nextResult();
+      tc.assertEquals("app/a", list.getList().get(0).getKey());
+      tc.assertEquals("1", list.getList().get(0).getValue());
+      vertx.setPeriodic(10, id -> {
+        if (server.blockedQueries() == 1) {
+          vertx.cancelTimer(id);
+          tc.assertTrue(server.lastRequestUri().contains("index=" + list.getIndex()), server.lastRequestUri());
+          watch.stop();
+          async.complete();
+        }
+      });
+    }).start();
+  }
+
+  @Test
+  public void ignoreCorruptedSnapshot(TestContext tc) throws IOException {
+    persist(tc);
+    File snapshot = snapshots()[0];
+    byte[] bytes = Files.readAllBytes(snapshot.toPath());
+    bytes[bytes.length / 2] ^= 0x5A;
+    Files.write(snapshot.toPath(), bytes);
+    long requests = server.requestCount();
+    Async async = tc.async();
+    Watch<KeyValueList> watch = Watch.keyPrefix("app", vertx, options);
+    watch.setHandler(res -> {
+      tc.assertTrue(res.succeeded());
+      tc.assertTrue(server.requestCount() > requests);
+      tc.assertEquals("1", res.nextResult().getList().get(0).getValue());
+      watch.stop();
+      async.complete();
+    }).start();
+  }
+}
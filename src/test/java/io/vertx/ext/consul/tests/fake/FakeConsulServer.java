@@ -0,0 +1,1026 @@
+/*
+ * Copyright (c) 2016 The original author or authors
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * and Apache License v2.0 which accompanies this distribution.
+ *
+ *      The Eclipse Public License is available at
+ *      http://www.eclipse.org/legal/epl-v10.html
+ *
+ *      The Apache License v2.0 is available at
+ *      http://www.opensource.org/licenses/apache2.0.php
+ *
+ * You may elect to redistribute this code under either of these licenses.
+ */
+package io.vertx.ext.consul.tests.fake;
+
+import io.vertx.core.Future;
+import io.vertx.core.MultiMap;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpMethod;
+import io.vertx.core.http.HttpServer;
+import io.vertx.core.http.HttpServerRequest;
+import io.vertx.core.json.JsonArray;
+import io.vertx.core.json.JsonObject;
+import io.vertx.ext.consul.ConsulClientOptions;
+
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * An in-memory stand-in for a single Consul agent, served by a Vert.x HTTP server.
+ * <p>
+ * The KV, catalog, health, session, event and txn endpoints, as well as the execution of prepared queries, used by the client are implemented
+ * with the semantics of blocking queries: every write advances a single monotonic index, reads return it
+ * in the {@code X-Consul-Index} header and a read with an {@code index} parameter is held until the index
+ * of its result is greater or the {@code wait} time has elapsed.
+ * <p>
+ * Latency and failures can be injected, failures are drawn from a seeded random generator
+ * so that runs are reproducible.
+ */
+public class FakeConsulServer {
+
+  public static final String NODE_NAME = "fake-node";
+  public static final String NODE_ID = "7f6d1d6a-4b2c-4f0c-9c3e-2d1a2c3b4d5e";
+  public static final String NODE_ADDRESS = "127.0.0.1";
+  public static final String DATACENTER = "dc1";
+
+  private static final String INDEX_HEADER = "X-Consul-Index";
+  private static final int MAX_EVENTS = 256;
+  private static final String SERF_HEALTH = "serfHealth";
+  private static final long DEFAULT_WAIT_MS = TimeUnit.MINUTES.toMillis(5);
+  private static final long MAX_WAIT_MS = TimeUnit.MINUTES.toMillis(10);
+
+  private final Vertx vertx;
+  private HttpServer server;
+
+  // state, only accessed from the event loop of the server
+  private long index = 1;
+  private long kvIndex = 1;
+  private long catalogIndex = 1;
+  private long sessionIndex = 1;
+  private long eventIndex = 1;
+  private long eventLTime;
+  private TreeMap<String, JsonObject> kv = new TreeMap<>();
+  private TreeMap<String, Long> tombstones = new TreeMap<>();
+  private final Map<String, JsonObject> services = new LinkedHashMap<>();
+  private final Map<String, JsonObject> checks = new LinkedHashMap<>();
+  private final Map<String, JsonObject> sessions = new LinkedHashMap<>();
+  private final Map<String, Long> sessionTimers = new HashMap<>();
+  private final List<JsonObject> events = new ArrayList<>();
+  private final List<Waiter> waiters = new ArrayList<>();
+  private final Map<String, Long> agentCache = new HashMap<>();
+  private final Map<String, Long> lockDelays = new HashMap<>();
+
+  private final AtomicLong requests = new AtomicLong();
+  private final AtomicInteger blocked = new AtomicInteger();
+  private final AtomicInteger failNext = new AtomicInteger();
+  private volatile long latency;
+  private volatile String lastUri;
+  private volatile double failureRate;
+  private volatile int failureStatus = 500;
+  private Random random = new Random(0);
+
+  public FakeConsulServer(Vertx vertx) {
+    this.vertx = vertx;
+    long now = next();
+    checks.put(SERF_HEALTH, new JsonObject()
+      .put("Node", NODE_NAME)
+      .put("CheckID", SERF_HEALTH)
+      .put("Name", "Serf Health Status")
+      .put("Status", "passing")
+      .put("Notes", "")
+      .put("Output", "Agent alive and reachable")
+      .put("ServiceID", "")
+      .put("ServiceName", "")
+      .put("ServiceTags", new JsonArray())
+      .put("CreateIndex", now)
+      .put("ModifyIndex", now));
+    catalogIndex = now;
+  }
+
+  /**
+   * Start listening on a free port of the loopback interface
+   *
+   * @return a future completed when the server is listening
+   */
+  public Future<FakeConsulServer> start() {
+    server = vertx.createHttpServer().requestHandler(this::handle);
+    return server.listen(0, NODE_ADDRESS).map(s -> this);
+  }
+
+  public Future<Void> close() {
+    return server.close();
+  }
+
+  public int port() {
+    return server.actualPort();
+  }
+
+  /**
+   * @return the options of a client connected to this server
+   */
+  public ConsulClientOptions clientOptions() {
+    return new ConsulClientOptions().setHost(NODE_ADDRESS).setPort(port());
+  }
+
+  /**
+   * Delay every response
+   *
+   * @param latency the delay in milliseconds
+   * @return reference to this, for fluency
+   */
+  public FakeConsulServer setLatency(long latency) {
+    this.latency = latency;
+    return this;
+  }
+
+  /**
+   * Fail a ratio of the requests, failed requests are answered without being processed
+   *
+   * @param failureRate the ratio between {@code 0} and {@code 1}
+   * @param seed the seed of the random generator deciding which requests fail
+   * @return reference to this, for fluency
+   */
+  public FakeConsulServer setFailureRate(double failureRate, long seed) {
+    this.failureRate = failureRate;
+    this.random = new Random(seed);
+    return this;
+  }
+
+  /**
+   * Fail the next requests
+   *
+   * @param count the number of requests to fail
+   * @return reference to this, for fluency
+   */
+  public FakeConsulServer failNext(int count) {
+    failNext.set(count);
+    return this;
+  }
+
+  /**
+   * @param failureStatus the status code of the failed requests, {@code 500} by default
+   * @return reference to this, for fluency
+   */
+  public FakeConsulServer setFailureStatus(int failureStatus) {
+    this.failureStatus = failureStatus;
+    return this;
+  }
+
+  /**
+   * @return the number of requests received so far
+   */
+  public long requestCount() {
+    return requests.get();
+  }
+
+  /**
+   * @return the raw URI of the last request received, {@code null} if none
+   */
+  public String lastRequestUri() {
+    return lastUri;
+  }
+
+  /**
+   * @return the number of blocking queries currently held
+   */
+  public int blockedQueries() {
+    return blocked.get();
+  }
+
+  private long next() {
+    return ++index;
+  }
+
+  private boolean injectFailure() {
+    if (failNext.getAndUpdate(n -> n > 0 ? n - 1 : 0) > 0) {
+      return true;
+    }
+    double rate = failureRate;
+    return rate > 0 && random.nextDouble() < rate;
+  }
+
+  private void handle(HttpServerRequest req) {
+    requests.incrementAndGet();
+    lastUri = req.uri();
+    req.body().onSuccess(body -> {
+      if (injectFailure()) {
+        reply(req, new Result(failureStatus, Buffer.buffer("injected failure"), -1));
+        return;
+      }
+      try {
+        route(req, body);
+      } catch (Exception e) {
+        reply(req, new Result(500, Buffer.buffer(String.valueOf(e.getMessage())), -1));
+      }
+    });
+  }
+
+  private void route(HttpServerRequest req, Buffer body) {
+    String path = req.path();
+    HttpMethod method = req.method();
+    MultiMap params = req.params();
+    if (path.startsWith("/v1/kv/")) {
+      String key = decode(path.substring("/v1/kv/".length()));
+      if (method == HttpMethod.GET) {
+        read(req, () -> kvGet(key, params));
+      } else if (method == HttpMethod.PUT) {
+        write(req, kvPut(key, body, params));
+      } else if (method == HttpMethod.DELETE) {
+        write(req, kvDelete(key, params));
+      } else {
+        reply(req, notFound());
+      }
+    } else if (path.equals("/v1/txn") && method == HttpMethod.PUT) {
+      write(req, txn(body.toJsonArray()));
+    } else if (path.startsWith("/v1/catalog/") || path.startsWith("/v1/health/") || path.startsWith("/v1/coordinate/")) {
+      read(req, () -> catalog(path, params));
+    } else if (path.startsWith("/v1/query/") && path.endsWith("/execute") && method == HttpMethod.GET) {
+      reply(req, executeQuery(path));
+    } else if (path.startsWith("/v1/agent/")) {
+      agent(req, path, body);
+    } else if (path.startsWith("/v1/session/")) {
+      session(req, path, body);
+    } else if (path.startsWith("/v1/event/")) {
+      event(req, path, body, params);
+    } else if (path.equals("/v1/status/leader")) {
+      reply(req, ok("\"" + NODE_ADDRESS + ":8300\"", -1));
+    } else {
+      reply(req, notFound());
+    }
+  }
+
+  // blocking queries
+
+  private void read(HttpServerRequest req, Supplier<Result> query) {
+    String idx = req.getParam("index");
+    long minIndex = idx == null ? 0 : Long.parseUnsignedLong(idx);
+    Result result = query.get();
+    if (minIndex == 0 || result.index > minIndex || result.index < 0) {
+      reply(req, result);
+      return;
+    }
+    long wait = Math.min(parseDuration(req.getParam("wait"), DEFAULT_WAIT_MS), MAX_WAIT_MS);
+    Waiter waiter = new Waiter(req, query, minIndex);
+    waiter.timer = vertx.setTimer(Math.max(wait, 1), t -> {
+      if (release(waiter)) {
+        reply(req, query.get());
+      }
+    });
+    req.response().closeHandler(v -> {
+      if (release(waiter)) {
+        vertx.cancelTimer(waiter.timer);
+      }
+    });
+    waiters.add(waiter);
+    blocked.incrementAndGet();
+  }
+
+  private boolean release(Waiter waiter) {
+    if (waiters.remove(waiter)) {
+      blocked.decrementAndGet();
+      return true;
+    }
+    return false;
+  }
+
+  private void write(HttpServerRequest req, Result result) {
+    reply(req, result);
+    notifyWaiters();
+  }
+
+  private void notifyWaiters() {
+    for (Waiter waiter : new ArrayList<>(waiters)) {
+      Result current = waiter.query.get();
+      if (current.index > waiter.minIndex && release(waiter)) {
+        vertx.cancelTimer(waiter.timer);
+        reply(waiter.request, current);
+      }
+    }
+  }
+
+  private void reply(HttpServerRequest req, Result result) {
+    long delay = latency;
+    if (delay > 0) {
+      vertx.setTimer(delay, t -> send(req, result));
+    } else {
+      send(req, result);
+    }
+  }
+
+  private void send(HttpServerRequest req, Result result) {
+    if (req.response().closed() || req.response().ended()) {
+      return;
+    }
+    req.response().setStatusCode(result.status);
+    if (result.index > 0) {
+      req.response()
+        .putHeader(INDEX_HEADER, Long.toString(result.index))
+        .putHeader("X-Consul-KnownLeader", "true")
+        .putHeader("X-Consul-LastContact", "0");
+    }
+    if (req.params().contains("cached")) {
+      cacheHeaders(req);
+    }
+    req.response().putHeader("Content-Type", "application/json").end(result.body);
+  }
+
+  /**
+   * Emulates the agent cache: the first read of an uri is a miss, the next ones are hits.
+   */
+  private void cacheHeaders(HttpServerRequest req) {
+    long now = System.nanoTime();
+    Long cachedAt;
+    synchronized (agentCache) {
+      cachedAt = agentCache.putIfAbsent(req.uri(), now);
+    }
+    if (cachedAt == null) {
+      req.response().putHeader("X-Cache", "MISS");
+    } else {
+      req.response()
+        .putHeader("X-Cache", "HIT")
+        .putHeader("Age", Long.toString(TimeUnit.NANOSECONDS.toSeconds(now - cachedAt)));
+    }
+  }
+
+  // kv
+
+  private Result kvGet(String key, MultiMap params) {
+    boolean recurse = params.contains("recurse");
+    boolean keys = params.contains("keys");
+    Collection<JsonObject> matches;
+    long idx = 0;
+    if (recurse || keys) {
+      matches = prefixOf(kv, key).values();
+      for (long deleted : prefixOf(tombstones, key).values()) {
+        idx = Math.max(idx, deleted);
+      }
+    } else {
+      JsonObject entry = kv.get(key);
+      matches = entry == null ? Collections.emptyList() : Collections.singletonList(entry);
+      idx = tombstones.getOrDefault(key, 0L);
+    }
+    JsonArray arr = new JsonArray();
+    for (JsonObject entry : matches) {
+      idx = Math.max(idx, entry.getLong("ModifyIndex"));
+      arr.add(keys ? entry.getString("Key") : entry.copy());
+    }
+    if (idx == 0) {
+      idx = kvIndex;
+    }
+    return arr.isEmpty() ? new Result(404, Buffer.buffer(), idx) : new Result(200, arr.toBuffer(), idx);
+  }
+
+  private Result kvPut(String key, Buffer body, MultiMap params) {
+    JsonObject existing = kv.get(key);
+    String cas = params.get("cas");
+    if (cas != null) {
+      long casIndex = Long.parseLong(cas);
+      if (casIndex == 0 ? existing != null : existing == null || existing.getLong("ModifyIndex") != casIndex) {
+        return ok("false", -1);
+      }
+    }
+    String acquire = params.get("acquire");
+    String release = params.get("release");
+    String session = existing == null ? null : existing.getString("Session");
+    if (acquire != null) {
+      if (!sessions.containsKey(acquire)) {
+        return new Result(500, Buffer.buffer("invalid session \"" + acquire + "\""), -1);
+      }
+      if (session != null && !session.equals(acquire)) {
+        return ok("false", -1);
+      }
+      Long delayedUntil = lockDelays.get(key);
+      if (session == null && delayedUntil != null) {
+        if (delayedUntil - System.nanoTime() > 0) {
+          return ok("false", -1);
+        }
+        lockDelays.remove(key);
+      }
+    }
+    if (release != null && (session == null || !session.equals(release))) {
+      return ok("false", -1);
+    }
+    long now = next();
+    JsonObject entry = existing == null
+      ? new JsonObject().put("LockIndex", 0L).put("Key", key).put("CreateIndex", now)
+      : existing.copy();
+    entry
+      .put("Flags", params.contains("flags") ? Long.parseUnsignedLong(params.get("flags")) : 0L)
+      .put("Value", body.length() == 0 ? null : Base64.getEncoder().encodeToString(body.getBytes()))
+      .put("ModifyIndex", now);
+    if (acquire != null && session == null) {
+      entry.put("LockIndex", entry.getLong("LockIndex") + 1).put("Session", acquire);
+    }
+    if (release != null) {
+      entry.remove("Session");
+    }
+    kv.put(key, entry);
+    tombstones.remove(key);
+    kvIndex = now;
+    return ok("true", -1);
+  }
+
+  private Result kvDelete(String key, MultiMap params) {
+    String cas = params.get("cas");
+    JsonObject existing = kv.get(key);
+    if (cas != null && (existing == null || existing.getLong("ModifyIndex") != Long.parseLong(cas))) {
+      return ok("false", -1);
+    }
+    long now = next();
+    if (params.contains("recurse")) {
+      SortedMap<String, JsonObject> removed = prefixOf(kv, key);
+      for (String k : new ArrayList<>(removed.keySet())) {
+        tombstones.put(k, now);
+      }
+      removed.clear();
+    } else if (kv.remove(key) != null) {
+      tombstones.put(key, now);
+    }
+    kvIndex = now;
+    return ok("true", -1);
+  }
+
+  private static <V> SortedMap<String, V> prefixOf(TreeMap<String, V> map, String prefix) {
+    return prefix.isEmpty() ? map : map.subMap(prefix, prefix + Character.MAX_VALUE);
+  }
+
+  // txn
+
+  private Result txn(JsonArray ops) {
+    TreeMap<String, JsonObject> savedKv = new TreeMap<>();
+    kv.forEach((k, v) -> savedKv.put(k, v.copy()));
+    TreeMap<String, Long> savedTombstones = new TreeMap<>(tombstones);
+    long savedIndex = index;
+    long savedKvIndex = kvIndex;
+    JsonArray results = new JsonArray();
+    JsonArray errors = new JsonArray();
+    for (int i = 0; i < ops.size(); i++) {
+      JsonObject op = ops.getJsonObject(i).getJsonObject("KV");
+      String error = op == null ? "unsupported operation" : txnOp(op, results);
+      if (error != null) {
+        errors.add(new JsonObject().put("OpIndex", i).put("What", error));
+      }
+    }
+    if (!errors.isEmpty()) {
+      kv = savedKv;
+      tombstones = savedTombstones;
+      index = savedIndex;
+      kvIndex = savedKvIndex;
+      return new Result(409, new JsonObject().putNull("Results").put("Errors", errors).toBuffer(), -1);
+    }
+    return new Result(200, new JsonObject().put("Results", results).putNull("Errors").toBuffer(), -1);
+  }
+
+  private String txnOp(JsonObject op, JsonArray results) {
+    String verb = op.getString("Verb");
+    String key = orElse(op.getString("Key"), "");
+    long opIndex = orElse(op.getLong("Index"), 0L);
+    String session = op.getString("Session");
+    JsonObject existing = kv.get(key);
+    MultiMap params = MultiMap.caseInsensitiveMultiMap();
+    if (op.getValue("Flags") != null) {
+      params.set("flags", Long.toUnsignedString(op.getLong("Flags")));
+    }
+    String value = op.getString("Value");
+    Buffer body = value == null || value.isEmpty() ? Buffer.buffer() : Buffer.buffer(Base64.getDecoder().decode(value));
+    switch (verb) {
+      case "set":
+        kvPut(key, body, params);
+        break;
+      case "cas":
+        params.set("cas", Long.toString(opIndex));
+        if (!Boolean.parseBoolean(kvPut(key, body, params).body.toString())) {
+          return "failed to set key \"" + key + "\", index is stale";
+        }
+        break;
+      case "lock":
+        params.set("acquire", String.valueOf(session));
+        if (!Boolean.parseBoolean(kvPut(key, body, params).body.toString())) {
+          return "failed to lock key \"" + key + "\", lock is already held";
+        }
+        break;
+      case "unlock":
+        params.set("release", String.valueOf(session));
+        if (!Boolean.parseBoolean(kvPut(key, body, params).body.toString())) {
+          return "failed to unlock key \"" + key + "\", lock isn't held, or is held by another session";
+        }
+        break;
+      case "get":
+        if (existing == null) {
+          return "key \"" + key + "\" doesn't exist";
+        }
+        results.add(new JsonObject().put("KV", existing.copy()));
+        return null;
+      case "get-tree":
+        prefixOf(kv, key).values().forEach(e -> results.add(new JsonObject().put("KV", e.copy())));
+        return null;
+      case "check-index":
+        if (existing == null || existing.getLong("ModifyIndex") != opIndex) {
+          return "current modify index " + (existing == null ? 0 : existing.getLong("ModifyIndex")) + " != " + opIndex;
+        }
+        break;
+      case "check-session":
+        if (existing == null || !Objects.equals(existing.getString("Session"), session)) {
+          return "key \"" + key + "\" is not locked by session \"" + session + "\"";
+        }
+        break;
+      case "check-not-exists":
+        if (existing != null) {
+          return "key \"" + key + "\" exists";
+        }
+        return null;
+      case "delete":
+        kvDelete(key, params);
+        return null;
+      case "delete-tree":
+        params.set("recurse", "true");
+        kvDelete(key, params);
+        return null;
+      case "delete-cas":
+        params.set("cas", Long.toString(opIndex));
+        if (!Boolean.parseBoolean(kvDelete(key, params).body.toString())) {
+          return "failed to delete key \"" + key + "\", index is stale";
+        }
+        return null;
+      default:
+        return "unknown KV verb \"" + verb + "\"";
+    }
+    JsonObject entry = kv.get(key);
+    if (entry != null) {
+      results.add(new JsonObject().put("KV", entry.copy().putNull("Value")));
+    }
+    return null;
+  }
+
+  // catalog and health
+
+  private JsonArray serviceHealth(String name, String tag, boolean passing) {
+    JsonArray arr = new JsonArray();
+    for (JsonObject service : servicesNamed(name, tag)) {
+      JsonArray serviceChecks = new JsonArray().add(checks.get(SERF_HEALTH).copy());
+      checks.values().stream()
+        .filter(c -> service.getString("ID").equals(c.getString("ServiceID")))
+        .forEach(c -> serviceChecks.add(c.copy()));
+      boolean allPassing = serviceChecks.stream().allMatch(c -> "passing".equals(((JsonObject) c).getString("Status")));
+      if (!passing || allPassing) {
+        arr.add(new JsonObject().put("Node", node()).put("Service", service.copy()).put("Checks", serviceChecks));
+      }
+    }
+    return arr;
+  }
+
+  /**
+   * Emulates the execution of a prepared query as the passing instances of the service of the same name.
+   */
+  private Result executeQuery(String path) {
+    String name = decode(path.substring("/v1/query/".length(), path.length() - "/execute".length()));
+    JsonObject obj = new JsonObject()
+      .put("Service", name)
+      .put("Nodes", serviceHealth(name, null, true))
+      .put("DNS", new JsonObject().put("TTL", ""))
+      .put("Datacenter", DATACENTER)
+      .put("Failovers", 0);
+    return new Result(200, obj.toBuffer(), -1);
+  }
+
+  private Result catalog(String path, MultiMap params) {
+    if (path.equals("/v1/catalog/services")) {
+      JsonObject obj = new JsonObject();
+      for (JsonObject service : services.values()) {
+        JsonArray tags = obj.getJsonArray(service.getString("Service"), new JsonArray());
+        service.getJsonArray("Tags").forEach(t -> {
+          if (!tags.contains(t)) {
+            tags.add(t);
+          }
+        });
+        obj.put(service.getString("Service"), tags);
+      }
+      return new Result(200, obj.toBuffer(), catalogIndex);
+    } else if (path.startsWith("/v1/catalog/service/")) {
+      String name = decode(path.substring("/v1/catalog/service/".length()));
+      JsonArray arr = new JsonArray();
+      for (JsonObject service : servicesNamed(name, params.get("tag"))) {
+        arr.add(new JsonObject()
+          .put("ID", NODE_ID)
+          .put("Node", NODE_NAME)
+          .put("Address", NODE_ADDRESS)
+          .put("Datacenter", DATACENTER)
+          .put("ServiceID", service.getString("ID"))
+          .put("ServiceName", service.getString("Service"))
+          .put("ServiceTags", service.getJsonArray("Tags"))
+          .put("ServiceAddress", service.getString("Address"))
+          .put("ServicePort", service.getInteger("Port"))
+          .put("ServiceMeta", service.getJsonObject("Meta"))
+          .put("CreateIndex", service.getLong("CreateIndex"))
+          .put("ModifyIndex", service.getLong("ModifyIndex")));
+      }
+      return new Result(200, arr.toBuffer(), catalogIndex);
+    } else if (path.equals("/v1/catalog/nodes")) {
+      return new Result(200, new JsonArray().add(node()).toBuffer(), catalogIndex);
+    } else if (path.equals("/v1/catalog/node/" + NODE_NAME)) {
+      JsonObject map = new JsonObject();
+      services.forEach((id, service) -> map.put(id, service.copy()));
+      return new Result(200, new JsonObject().put("Node", node()).put("Services", map).toBuffer(), catalogIndex);
+    } else if (path.equals("/v1/catalog/datacenters")) {
+      return new Result(200, new JsonArray().add(DATACENTER).toBuffer(), -1);
+    } else if (path.startsWith("/v1/health/service/")) {
+      String name = decode(path.substring("/v1/health/service/".length()));
+      return new Result(200, serviceHealth(name, params.get("tag"), params.contains("passing")).toBuffer(), catalogIndex);
+    } else if (path.startsWith("/v1/health/checks/")) {
+      String name = decode(path.substring("/v1/health/checks/".length()));
+      return checksMatching(c -> name.equals(c.getString("ServiceName")));
+    } else if (path.startsWith("/v1/health/node/")) {
+      String node = decode(path.substring("/v1/health/node/".length()));
+      return checksMatching(c -> node.equals(c.getString("Node")));
+    } else if (path.startsWith("/v1/health/state/")) {
+      String state = path.substring("/v1/health/state/".length());
+      return checksMatching(c -> state.equals("any") || state.equals(c.getString("Status")));
+    } else if (path.equals("/v1/coordinate/nodes")) {
+      JsonObject coord = new JsonObject()
+        .put("Vec", new JsonArray(Collections.nCopies(8, 0.0)))
+        .put("Error", 1.5)
+        .put("Adjustment", 0.0)
+        .put("Height", 1.0E-5);
+      return new Result(200, new JsonArray().add(new JsonObject().put("Node", NODE_NAME).put("Coord", coord)).toBuffer(), catalogIndex);
+    }
+    return notFound();
+  }
+
+  private List<JsonObject> servicesNamed(String name, String tag) {
+    List<JsonObject> list = new ArrayList<>();
+    for (JsonObject service : services.values()) {
+      if (name.equals(service.getString("Service")) && (tag == null || service.getJsonArray("Tags").contains(tag))) {
+        list.add(service);
+      }
+    }
+    return list;
+  }
+
+  private Result checksMatching(Predicate<JsonObject> filter) {
+    JsonArray arr = new JsonArray();
+    checks.values().stream().filter(filter).forEach(c -> arr.add(c.copy()));
+    return new Result(200, arr.toBuffer(), catalogIndex);
+  }
+
+  private static JsonObject node() {
+    return new JsonObject()
+      .put("ID", NODE_ID)
+      .put("Node", NODE_NAME)
+      .put("Address", NODE_ADDRESS)
+      .put("Datacenter", DATACENTER)
+      .put("TaggedAddresses", new JsonObject().put("lan", NODE_ADDRESS).put("wan", NODE_ADDRESS))
+      .put("Meta", new JsonObject().put("consul-network-segment", ""))
+      .put("CreateIndex", 1L)
+      .put("ModifyIndex", 1L);
+  }
+
+  // agent
+
+  private void agent(HttpServerRequest req, String path, Buffer body) {
+    if (path.equals("/v1/agent/self")) {
+      JsonObject config = new JsonObject().put("NodeName", NODE_NAME).put("NodeID", NODE_ID).put("Datacenter", DATACENTER);
+      reply(req, new Result(200, new JsonObject().put("Config", config).put("Member", new JsonObject()
+        .put("Name", NODE_NAME).put("Addr", NODE_ADDRESS)).toBuffer(), -1));
+    } else if (path.equals("/v1/agent/services")) {
+      JsonObject obj = new JsonObject();
+      services.forEach((id, service) -> obj.put(id, service.copy()));
+      reply(req, new Result(200, obj.toBuffer(), -1));
+    } else if (path.equals("/v1/agent/checks")) {
+      JsonObject obj = new JsonObject();
+      checks.forEach((id, check) -> obj.put(id, check.copy()));
+      reply(req, new Result(200, obj.toBuffer(), -1));
+    } else if (path.equals("/v1/agent/service/register")) {
+      JsonObject def = body.toJsonObject();
+      long now = next();
+      String id = def.getString("ID") != null ? def.getString("ID") : def.getString("Name");
+      JsonObject previous = services.get(id);
+      services.put(id, new JsonObject()
+        .put("ID", id)
+        .put("Service", def.getString("Name"))
+        .put("Tags", orElse(def.getJsonArray("Tags"), new JsonArray()))
+        .put("Address", orElse(def.getString("Address"), ""))
+        .put("Port", orElse(def.getInteger("Port"), 0))
+        .put("Meta", orElse(def.getJsonObject("Meta"), new JsonObject()))
+        .put("CreateIndex", previous == null ? now : previous.getLong("CreateIndex"))
+        .put("ModifyIndex", now));
+      List<JsonObject> defs = new ArrayList<>();
+      if (def.getJsonObject("Check") != null) {
+        defs.add(def.getJsonObject("Check"));
+      }
+      if (def.getJsonArray("Checks") != null) {
+        def.getJsonArray("Checks").forEach(c -> defs.add((JsonObject) c));
+      }
+      for (int i = 0; i < defs.size(); i++) {
+        JsonObject check = defs.get(i);
+        String checkId = orElse(check.getString("CheckID"), "service:" + id + (defs.size() > 1 ? ":" + (i + 1) : ""));
+        putCheck(checkId, orElse(check.getString("Name"), "Service '" + def.getString("Name") + "' check"),
+          orElse(check.getString("Status"), "critical"), orElse(check.getString("Notes"), ""), id, now);
+      }
+      catalogIndex = now;
+      write(req, ok("", -1));
+    } else if (path.startsWith("/v1/agent/service/deregister/")) {
+      String id = decode(path.substring("/v1/agent/service/deregister/".length()));
+      if (services.remove(id) == null) {
+        reply(req, notFound());
+        return;
+      }
+      checks.values().removeIf(c -> id.equals(c.getString("ServiceID")));
+      catalogIndex = next();
+      write(req, ok("", -1));
+    } else if (path.equals("/v1/agent/check/register")) {
+      JsonObject def = body.toJsonObject();
+      long now = next();
+      String id = def.getString("ID") != null ? def.getString("ID") : def.getString("Name");
+      putCheck(id, def.getString("Name"), orElse(def.getString("Status"), "critical"), orElse(def.getString("Notes"), ""),
+        def.getString("ServiceID"), now);
+      catalogIndex = now;
+      write(req, ok("", -1));
+    } else if (path.startsWith("/v1/agent/check/deregister/")) {
+      String id = decode(path.substring("/v1/agent/check/deregister/".length()));
+      if (checks.remove(id) == null) {
+        reply(req, notFound());
+        return;
+      }
+      catalogIndex = next();
+      write(req, ok("", -1));
+    } else if (path.startsWith("/v1/agent/check/")) {
+      String[] parts = path.substring("/v1/agent/check/".length()).split("/", 2);
+      JsonObject check = parts.length == 2 ? checks.get(decode(parts[1])) : null;
+      if (check == null) {
+        reply(req, notFound());
+        return;
+      }
+      String status;
+      String output;
+      switch (parts[0]) {
+        case "pass":
+          status = "passing";
+          output = req.getParam("note", "");
+          break;
+        case "warn":
+          status = "warning";
+          output = req.getParam("note", "");
+          break;
+        case "fail":
+          status = "critical";
+          output = req.getParam("note", "");
+          break;
+        case "update":
+          JsonObject update = body.length() == 0 ? new JsonObject() : body.toJsonObject();
+          status = orElse(update.getString("Status"), check.getString("Status"));
+          output = orElse(update.getString("Output"), "");
+          break;
+        default:
+          reply(req, notFound());
+          return;
+      }
+      long now = next();
+      check.put("Status", status).put("Output", output).put("ModifyIndex", now);
+      catalogIndex = now;
+      write(req, ok("", -1));
+    } else {
+      reply(req, notFound());
+    }
+  }
+
+  private void putCheck(String id, String name, String status, String notes, String serviceId, long now) {
+    JsonObject service = serviceId == null ? null : services.get(serviceId);
+    JsonObject previous = checks.get(id);
+    checks.put(id, new JsonObject()
+      .put("Node", NODE_NAME)
+      .put("CheckID", id)
+      .put("Name", name)
+      .put("Status", status)
+      .put("Notes", notes)
+      .put("Output", "")
+      .put("ServiceID", service == null ? "" : serviceId)
+      .put("ServiceName", service == null ? "" : service.getString("Service"))
+      .put("ServiceTags", service == null ? new JsonArray() : service.getJsonArray("Tags"))
+      .put("CreateIndex", previous == null ? now : previous.getLong("CreateIndex"))
+      .put("ModifyIndex", now));
+  }
+
+  // sessions
+
+  private void session(HttpServerRequest req, String path, Buffer body) {
+    if (path.equals("/v1/session/create")) {
+      JsonObject def = body.length() == 0 ? new JsonObject() : body.toJsonObject();
+      long now = next();
+      String id = UUID.randomUUID().toString();
+      JsonObject session = new JsonObject()
+        .put("ID", id)
+        .put("Name", orElse(def.getString("Name"), ""))
+        .put("Node", orElse(def.getString("Node"), NODE_NAME))
+        .put("Checks", orElse(def.getJsonArray("Checks"), new JsonArray().add(SERF_HEALTH)))
+        .put("LockDelay", TimeUnit.MILLISECONDS.toNanos(parseDuration(def.getString("LockDelay"), 15_000)))
+        .put("Behavior", orElse(def.getString("Behavior"), "release"))
+        .put("TTL", orElse(def.getString("TTL"), ""))
+        .put("CreateIndex", now)
+        .put("ModifyIndex", now);
+      sessions.put(id, session);
+      sessionIndex = now;
+      scheduleExpiry(session);
+      write(req, new Result(200, new JsonObject().put("ID", id).toBuffer(), -1));
+    } else if (path.startsWith("/v1/session/destroy/")) {
+      String id = decode(path.substring("/v1/session/destroy/".length()));
+      invalidate(id);
+      write(req, ok("true", -1));
+    } else if (path.startsWith("/v1/session/renew/")) {
+      String id = decode(path.substring("/v1/session/renew/".length()));
+      JsonObject session = sessions.get(id);
+      if (session == null) {
+        reply(req, new Result(404, Buffer.buffer("Session id '" + id + "' not found"), -1));
+        return;
+      }
+      scheduleExpiry(session);
+      reply(req, new Result(200, new JsonArray().add(session.copy()).toBuffer(), sessionIndex));
+    } else if (path.startsWith("/v1/session/info/")) {
+      String id = decode(path.substring("/v1/session/info/".length()));
+      read(req, () -> {
+        JsonObject session = sessions.get(id);
+        JsonArray arr = session == null ? new JsonArray() : new JsonArray().add(session.copy());
+        return new Result(200, arr.toBuffer(), sessionIndex);
+      });
+    } else if (path.equals("/v1/session/list") || path.startsWith("/v1/session/node/")) {
+      String node = path.startsWith("/v1/session/node/") ? decode(path.substring("/v1/session/node/".length())) : null;
+      read(req, () -> {
+        JsonArray arr = new JsonArray();
+        sessions.values().stream()
+          .filter(s -> node == null || node.equals(s.getString("Node")))
+          .forEach(s -> arr.add(s.copy()));
+        return new Result(200, arr.toBuffer(), sessionIndex);
+      });
+    } else {
+      reply(req, notFound());
+    }
+  }
+
+  /**
+   * Consul invalidates a session once twice its TTL has elapsed without renewal
+   */
+  private void scheduleExpiry(JsonObject session) {
+    String id = session.getString("ID");
+    Long timer = sessionTimers.remove(id);
+    if (timer != null) {
+      vertx.cancelTimer(timer);
+    }
+    long ttl = parseDuration(session.getString("TTL"), 0);
+    if (ttl > 0) {
+      sessionTimers.put(id, vertx.setTimer(2 * ttl, t -> {
+        sessionTimers.remove(id);
+        invalidate(id);
+        notifyWaiters();
+      }));
+    }
+  }
+
+  private void invalidate(String id) {
+    JsonObject session = sessions.remove(id);
+    if (session == null) {
+      return;
+    }
+    Long timer = sessionTimers.remove(id);
+    if (timer != null) {
+      vertx.cancelTimer(timer);
+    }
+    long now = next();
+    boolean delete = "delete".equals(session.getString("Behavior"));
+    for (JsonObject entry : new ArrayList<>(kv.values())) {
+      if (id.equals(entry.getString("Session"))) {
+        if (delete) {
+          kv.remove(entry.getString("Key"));
+          tombstones.put(entry.getString("Key"), now);
+        } else {
+          entry.remove("Session");
+          entry.put("ModifyIndex", now);
+        }
+        // the lock-delay of the invalidated session, a release does not apply it
+        long lockDelay = session.getLong("LockDelay", 0L);
+        if (lockDelay > 0) {
+          lockDelays.put(entry.getString("Key"), System.nanoTime() + lockDelay);
+        }
+        kvIndex = now;
+      }
+    }
+    sessionIndex = now;
+  }
+
+  // events
+
+  private void event(HttpServerRequest req, String path, Buffer body, MultiMap params) {
+    if (path.startsWith("/v1/event/fire/")) {
+      long now = next();
+      JsonObject event = new JsonObject()
+        .put("ID", UUID.randomUUID().toString())
+        .put("Name", decode(path.substring("/v1/event/fire/".length())))
+        .put("Payload", body.length() == 0 ? null : Base64.getEncoder().encodeToString(body.getBytes()))
+        .put("NodeFilter", params.get("node") == null ? "" : params.get("node"))
+        .put("ServiceFilter", params.get("service") == null ? "" : params.get("service"))
+        .put("TagFilter", params.get("tag") == null ? "" : params.get("tag"))
+        .put("Version", 1)
+        .put("LTime", ++eventLTime);
+      events.add(event);
+      // Consul keeps the most recent events only
+      if (events.size() > MAX_EVENTS) {
+        events.remove(0);
+      }
+      eventIndex = now;
+      write(req, new Result(200, event.toBuffer(), -1));
+    } else if (path.equals("/v1/event/list")) {
+      String name = params.get("name");
+      read(req, () -> {
+        JsonArray arr = new JsonArray();
+        events.stream().filter(e -> name == null || name.equals(e.getString("Name"))).forEach(e -> arr.add(e.copy()));
+        return new Result(200, arr.toBuffer(), eventIndex);
+      });
+    } else {
+      reply(req, notFound());
+    }
+  }
+
+  // helpers
+
+  private static Result ok(String body, long index) {
+    return new Result(200, Buffer.buffer(body), index);
+  }
+
+  private static Result notFound() {
+    return new Result(404, Buffer.buffer(), -1);
+  }
+
+  private static <T> T orElse(T value, T defaultValue) {
+    return value == null ? defaultValue : value;
+  }
+
+  private static String decode(String segment) {
+    return URLDecoder.decode(segment.replace("+", "%2B"), StandardCharsets.UTF_8);
+  }
+
+  /**
+   * Parses the Go durations used by Consul, e.g. {@code 10s}, {@code 5m} or {@code 100ms}
+   */
+  static long parseDuration(String duration, long defaultMs) {
+    if (duration == null || duration.isEmpty()) {
+      return defaultMs;
+    }
+    int i = 0;
+    while (i < duration.length() && (Character.isDigit(duration.charAt(i)) || duration.charAt(i) == '.')) {
+      i++;
+    }
+    double value = Double.parseDouble(duration.substring(0, i));
+    switch (duration.substring(i)) {
+      case "ns":
+        return (long) (value / 1_000_000);
+      case "us":
+        return (long) (value / 1_000);
+      case "ms":
+        return (long) value;
+      case "":
+      case "s":
+        return (long) (value * 1000);
+      case "m":
+        return (long) (value * 60_000);
+      case "h":
+        return (long) (value * 3_600_000);
+      default:
+        throw new IllegalArgumentException("Invalid duration: " + duration);
+    }
+  }
+
+  private static class Result {
+
+    private final int status;
+    private final Buffer body;
+    private final long index;
+
+    private Result(int status, Buffer body, long index) {
+      this.status = status;
+      this.body = body;
+      this.index = index;
+    }
+  }
+
+  private static class Waiter {
+
+    private final HttpServerRequest request;
+    private final Supplier<Result> query;
+    private final long minIndex;
+    private long timer;
+
+    private Waiter(HttpServerRequest request, Supplier<Result> query, long minIndex) {
+      this.request = request;
+      this.query = query;
+      this.minIndex = minIndex;
+    }
+  }
+}
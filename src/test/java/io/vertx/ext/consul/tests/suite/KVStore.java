@@ -16,6 +16,7 @@
 package io.vertx.ext.consul.tests.suite;
 
 import io.vertx.core.Handler;
+import io.vertx.core.buffer.Buffer;
 import io.vertx.ext.consul.*;
 import io.vertx.ext.consul.tests.ConsulTestBase;
 import io.vertx.ext.unit.Async;
@@ -24,6 +25,7 @@ import io.vertx.ext.unit.junit.VertxUnitRunner;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -87,6 +89,38 @@ public class KVStore extends ConsulTestBase {
       }));
   }
 
+  @Test
+  public void readClientStaleRead(TestContext tc) {
+    String key = randomFooBarAlpha();
+    BlockingQueryOptions options = new BlockingQueryOptions()
+      .setConsistencyMode(ConsistencyMode.STALE)
+      .setMaxStale("10s");
+    writeClient
+      .putValue(key, "value").onComplete(tc.asyncAssertSuccess(b -> {
+        readClient.getValuesWithOptions(key, options).onComplete(tc.asyncAssertSuccess(list -> {
+          tc.assertEquals(1, list.getList().size());
+          tc.assertTrue(list.isKnownLeader());
+          tc.assertTrue(list.getLastContact() >= 0);
+          writeClient.deleteValue(key).onComplete(tc.asyncAssertSuccess());
+        }));
+      }));
+  }
+
+  @Test
+  public void readClientCanReadBinaryValue(TestContext tc) {
+    String key = randomFooBarAlpha();
+    Buffer value = randomBuffer(256);
+    writeClient
+      .putValue(key, value).onComplete(tc.asyncAssertSuccess(b -> {
+        tc.assertTrue(b);
+        readClient.getValue(key).onComplete(tc.asyncAssertSuccess(pair -> {
+          tc.assertEquals(key, pair.getKey());
+          tc.assertEquals(value, pair.getValueAsBuffer());
+          writeClient.deleteValue(key).onComplete(tc.asyncAssertSuccess());
+        }));
+      }));
+  }
+
   @Test
   public void keyNotFound(TestContext tc) {
     String key = randomFooBarUnicode();
@@ -156,6 +190,49 @@ public class KVStore extends ConsulTestBase {
     }));
   }
 
+  @Test
+  public void streamValues(TestContext tc) {
+    String prefix = randomFooBarAlpha() + "/";
+    int count = 300;
+    Async async = tc.async();
+    putValues(tc, prefix, count, () -> {
+      List<String> keys = new ArrayList<>();
+      KeyValueStream stream = readClient.streamValues(prefix);
+      stream
+        .exceptionHandler(tc::fail)
+        .endHandler(v -> {
+          tc.assertEquals(count, keys.size());
+          tc.assertTrue(stream.getIndex() > 0);
+          writeClient.deleteValues(prefix).onComplete(tc.asyncAssertSuccess(d -> async.complete()));
+        })
+        .handler(kv -> {
+          tc.assertEquals(kv.getKey().substring(prefix.length()), kv.getValue());
+          keys.add(kv.getKey());
+          stream.pause();
+          vertx.runOnContext(n -> stream.fetch(1));
+        });
+    });
+  }
+
+  @Test
+  public void streamValuesNotFound(TestContext tc) {
+    Async async = tc.async();
+    readClient.streamValues(randomFooBarAlpha())
+      .exceptionHandler(tc::fail)
+      .handler(kv -> tc.fail("unexpected " + kv.getKey()))
+      .endHandler(v -> async.complete());
+  }
+
+  private void putValues(TestContext tc, String prefix, int count, Runnable done) {
+    if (count == 0) {
+      done.run();
+    } else {
+      String suffix = String.valueOf(count);
+      writeClient.putValue(prefix + suffix, suffix).onComplete(tc.asyncAssertSuccess(b ->
+        putValues(tc, prefix, count - 1, done)));
+    }
+  }
+
   @Test
   public void canSetAllFlags(TestContext tc) {
     String key = randomFooBarAlpha();
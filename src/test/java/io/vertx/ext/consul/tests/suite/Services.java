@@ -93,6 +93,47 @@ public class Services extends ChecksBase {
     async.await();
   }
 
+  @Test
+  public void discoveryCacheSelectsHealthyInstances(TestContext tc) {
+    String serviceName = randomAlphaString(10);
+    String id1 = serviceName + "-1";
+    String id2 = serviceName + "-2";
+    runAsync(() -> writeClient.registerService(new ServiceOptions().setName(serviceName).setId(id1).setPort(randomPortInt())));
+    runAsync(() -> writeClient.registerService(new ServiceOptions().setName(serviceName).setId(id2).setPort(randomPortInt())));
+
+    ServiceDiscoveryCache cache = ServiceDiscoveryCache.create(vertx, consul.consulClientOptions(consul.dc().readToken()));
+    tc.assertNull(cache.select(serviceName));
+    getAsync(() -> cache.watch(serviceName));
+    tc.assertEquals(2, cache.healthyEntries(serviceName).size());
+
+    Set<String> selected = new HashSet<>();
+    selected.add(cache.select(serviceName).getService().getId());
+    selected.add(cache.select(serviceName).getService().getId());
+    tc.assertEquals(new HashSet<>(Arrays.asList(id1, id2)), selected);
+    tc.assertNotNull(cache.select(serviceName, LoadBalancingStrategy.POWER_OF_TWO_CHOICES));
+    tc.assertNotNull(cache.select(serviceName, LoadBalancingStrategy.WEIGHTED_RTT));
+
+    runAsync(() -> writeClient.deregisterService(id1));
+    Async async = tc.async();
+    vertx.setPeriodic(50, id -> {
+      if (cache.healthyEntries(serviceName).size() == 1) {
+        vertx.cancelTimer(id);
+        tc.assertEquals(id2, cache.select(serviceName).getService().getId());
+        async.complete();
+      }
+    });
+    async.await(2000);
+
+    cache.close();
+    runAsync(() -> writeClient.deregisterService(id2));
+  }
+
+  @Test
+  public void discoveryCacheWatchFailsWhenUnreachable(TestContext tc) {
+    ServiceDiscoveryCache cache = ServiceDiscoveryCache.create(vertx, new ConsulClientOptions().setPort(Utils.getFreePort()));
+    cache.watch(randomAlphaString(10)).onComplete(tc.asyncAssertFailure(err -> cache.close()));
+  }
+
   @Test
   public void createLocalService(TestContext tc) {
     String serviceName = randomAlphaString(10);
@@ -15,6 +15,7 @@
  */
 package io.vertx.ext.consul.tests.suite;
 
+import io.vertx.core.Handler;
 import io.vertx.ext.consul.*;
 import io.vertx.ext.consul.tests.ConsulTestBase;
 import io.vertx.ext.consul.tests.Utils;
@@ -618,4 +619,142 @@ public class Watches extends ConsulTestBase {
     watch.stop();
     runAsync(() -> writeClient.deregisterService(opts.getId()));
   }
+
+  @Test
+  public void watchManagerSharesQuery(TestContext tc) {
+    String key = KEY_RW_PREFIX + randomAlphaString(10);
+    String v1 = randomAlphaString(10);
+    String v2 = randomAlphaString(10);
+
+    tc.assertTrue(getAsync(() -> writeClient.putValue(key, v1)));
+
+    WatchManager manager = WatchManager.create(vertx, consul.consulClientOptions(consul.dc().readToken()));
+    Async firstValue = tc.async(2);
+    Async secondValue = tc.async(2);
+    Handler<WatchResult<KeyValue>> handler = kv -> {
+      if (kv.succeeded()) {
+        if (v1.equals(kv.nextResult().getValue())) {
+          firstValue.countDown();
+        } else if (v2.equals(kv.nextResult().getValue())) {
+          secondValue.countDown();
+        }
+      } else tc.fail(kv.cause().getMessage());
+    };
+    Watch<KeyValue> w1 = manager.key(key).setHandler(handler).start();
+    Watch<KeyValue> w2 = manager.key(key).setHandler(handler).start();
+    Watch<KeyValueList> w3 = manager.keyPrefix(key).start();
+
+    firstValue.await(1000);
+    tc.assertEquals(3, manager.watchCount());
+    tc.assertEquals(2, manager.queryCount());
+
+    tc.assertTrue(getAsync(() -> writeClient.putValue(key, v2)));
+    secondValue.await(1000);
+
+    w1.stop();
+    tc.assertEquals(2, manager.queryCount());
+    w2.stop();
+    tc.assertEquals(1, manager.queryCount());
+    w3.stop();
+    tc.assertEquals(0, manager.watchCount());
+    manager.close();
+    runAsync(() -> writeClient.deleteValue(key));
+  }
+
+  @Test
+  public void watchKeyPrefixDelta(TestContext tc) {
+    String prefix = KEY_RW_PREFIX + randomAlphaString(10) + "/";
+    String k1 = prefix + "k1";
+    String k2 = prefix + "k2";
+
+    tc.assertTrue(getAsync(() -> writeClient.putValue(k1, randomAlphaString(10))));
+
+    List<WatchDelta<KeyValueList>> deltas = new ArrayList<>();
+    Async initial = tc.async(1);
+    Async added = tc.async(2);
+    Async modified = tc.async(3);
+    Async removed = tc.async(4);
+    Watch<KeyValueList> watch = Watch.keyPrefix(prefix, vertx, consul.consulClientOptions(consul.dc().readToken()))
+      .setDeltaHandler(delta -> {
+        deltas.add(delta);
+        initial.countDown();
+        added.countDown();
+        modified.countDown();
+        removed.countDown();
+      })
+      .start();
+
+    initial.await(1000);
+    tc.assertEquals(1, deltas.get(0).added().getList().size());
+    tc.assertEquals(k1, deltas.get(0).added().getList().get(0).getKey());
+
+    tc.assertTrue(getAsync(() -> writeClient.putValue(k2, randomAlphaString(10))));
+    added.await(1000);
+    tc.assertEquals(k2, deltas.get(1).added().getList().get(0).getKey());
+    tc.assertTrue(deltas.get(1).modified().getList().isEmpty());
+    tc.assertTrue(deltas.get(1).removed().getList().isEmpty());
+
+    String v = randomAlphaString(10);
+    tc.assertTrue(getAsync(() -> writeClient.putValue(k1, v)));
+    modified.await(1000);
+    tc.assertTrue(deltas.get(2).added().getList().isEmpty());
+    tc.assertEquals(v, deltas.get(2).modified().getList().get(0).getValue());
+
+    runAsync(() -> writeClient.deleteValue(k2));
+    removed.await(1000);
+    tc.assertEquals(k2, deltas.get(3).removed().getList().get(0).getKey());
+    tc.assertFalse(deltas.get(3).isEmpty());
+
+    watch.stop();
+    runAsync(() -> writeClient.deleteValues(prefix));
+  }
+
+  @Test
+  public void kvCacheMirrorsPrefix(TestContext tc) {
+    String prefix = KEY_RW_PREFIX + randomAlphaString(10) + "/";
+    String k1 = prefix + "k1";
+    String k2 = prefix + "k2";
+    String v1 = randomAlphaString(10);
+    String v2 = randomAlphaString(10);
+
+    tc.assertTrue(getAsync(() -> writeClient.putValue(k1, v1)));
+
+    ConsulKvCache cache = ConsulKvCache.create(vertx, consul.consulClientOptions(consul.dc().readToken()),
+      Collections.singletonList(prefix));
+    getAsync(cache::start);
+    tc.assertEquals(v1, cache.getValue(k1));
+    tc.assertNull(cache.get(k2));
+    tc.assertEquals(1L, cache.hits());
+    tc.assertEquals(1L, cache.misses());
+    long index = cache.lastIndex(prefix);
+    tc.assertTrue(index > 0);
+
+    tc.assertTrue(getAsync(() -> writeClient.putValue(k2, v2)));
+    runAsync(() -> writeClient.deleteValue(k1));
+    Async updated = tc.async();
+    vertx.setPeriodic(50, id -> {
+      if (cache.get(k1) == null && v2.equals(cache.getValue(k2))) {
+        vertx.cancelTimer(id);
+        updated.complete();
+      }
+    });
+    updated.await(2000);
+    tc.assertTrue(cache.lastIndex(prefix) > index);
+    tc.assertTrue(cache.age() < 2000);
+
+    cache.close();
+    runAsync(() -> writeClient.deleteValues(prefix));
+  }
+
+  @Test
+  public void kvCacheStartFailsWhenUnreachable(TestContext tc) {
+    ConsulKvCache cache = ConsulKvCache.create(vertx, new ConsulClientOptions().setPort(Utils.getFreePort()),
+      Collections.singletonList(KEY_RW_PREFIX + randomAlphaString(10) + "/"));
+    cache.start().onComplete(tc.asyncAssertFailure(err -> {
+      tc.assertTrue(err.getMessage().contains(CONNECTION_REFUSED), err.getMessage());
+      cache.close();
+      // idempotent
+      cache.close();
+    }));
+  }
 }